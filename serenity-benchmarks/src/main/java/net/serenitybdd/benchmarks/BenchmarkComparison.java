@@ -0,0 +1,243 @@
+package net.serenitybdd.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Compares two JMH result files (produced with -rf json, ideally with -prof gc) and reports the score and allocation changes
+ * for each benchmark.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar net.serenitybdd.benchmarks.BenchmarkComparison baseline.json current.json [max-regression-percent]}
+ * <p>
+ * If a maximum regression percentage is given, the process exits with a non-zero status when any benchmark score
+ * gets worse by more than this amount, so that it can be used as a CI check.
+ */
+public class BenchmarkComparison {
+
+    private static final List<String> ALLOCATION_METRICS = Arrays.asList("gc.alloc.rate.norm", "·gc.alloc.rate.norm");
+
+    private final Map<String, BenchmarkResult> baseline;
+    private final Map<String, BenchmarkResult> current;
+
+    public BenchmarkComparison(Map<String, BenchmarkResult> baseline, Map<String, BenchmarkResult> current) {
+        this.baseline = baseline;
+        this.current = current;
+    }
+
+    public static BenchmarkComparison between(Path baselineResults, Path currentResults) throws IOException {
+        return new BenchmarkComparison(resultsIn(baselineResults), resultsIn(currentResults));
+    }
+
+    public static Map<String, BenchmarkResult> resultsIn(Path jmhResults) throws IOException {
+        try (Reader reader = Files.newBufferedReader(jmhResults, StandardCharsets.UTF_8)) {
+            return resultsFrom(JsonParser.parseReader(reader).getAsJsonArray());
+        }
+    }
+
+    static Map<String, BenchmarkResult> resultsFrom(JsonArray jmhResults) {
+        Map<String, BenchmarkResult> results = new TreeMap<>();
+        for (JsonElement element : jmhResults) {
+            BenchmarkResult result = BenchmarkResult.from(element.getAsJsonObject());
+            results.put(result.getName(), result);
+        }
+        return results;
+    }
+
+    public List<BenchmarkDelta> getDeltas() {
+        return current.values().stream()
+                .filter(result -> baseline.containsKey(result.getName()))
+                .map(result -> new BenchmarkDelta(baseline.get(result.getName()), result))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Benchmarks that only appear in one of the two runs.
+     */
+    public Set<String> getUnmatchedBenchmarks() {
+        Set<String> unmatched = new TreeSet<>(baseline.keySet());
+        unmatched.addAll(current.keySet());
+        unmatched.removeIf(name -> baseline.containsKey(name) && current.containsKey(name));
+        return unmatched;
+    }
+
+    public List<BenchmarkDelta> regressionsOver(double maxRegressionPercent) {
+        return getDeltas().stream()
+                .filter(delta -> delta.getScoreImprovementPercent() < -maxRegressionPercent)
+                .collect(Collectors.toList());
+    }
+
+    public void printTo(PrintStream out) {
+        out.println(String.format("%-70s %14s %14s %9s %14s %14s %9s",
+                "Benchmark", "Baseline", "Current", "Change", "Alloc before", "Alloc after", "Change"));
+        for (BenchmarkDelta delta : getDeltas()) {
+            out.println(String.format("%-70s %14.3f %14.3f %8.1f%% %14s %14s %9s",
+                    delta.getName(),
+                    delta.getBaseline().getScore(),
+                    delta.getCurrent().getScore(),
+                    delta.getScoreImprovementPercent(),
+                    allocationOf(delta.getBaseline()),
+                    allocationOf(delta.getCurrent()),
+                    delta.getAllocationChangePercent().map(change -> String.format("%8.1f%%", change)).orElse("-")));
+        }
+        out.println("Score units: " + getDeltas().stream()
+                .map(delta -> delta.getCurrent().getMode() + "=" + delta.getCurrent().getScoreUnit())
+                .distinct()
+                .collect(Collectors.joining(", "))
+                + ". A positive score change is an improvement; allocations are in bytes per operation.");
+        if (!getUnmatchedBenchmarks().isEmpty()) {
+            out.println("Only in one of the runs: " + String.join(", ", getUnmatchedBenchmarks()));
+        }
+    }
+
+    private static String allocationOf(BenchmarkResult result) {
+        return result.getAllocatedBytesPerOperation().map(bytes -> String.format("%.1f", bytes)).orElse("-");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [max-regression-percent]");
+            System.exit(2);
+        }
+        BenchmarkComparison comparison = between(Paths.get(args[0]), Paths.get(args[1]));
+        comparison.printTo(System.out);
+        if (args.length > 2) {
+            List<BenchmarkDelta> regressions = comparison.regressionsOver(Double.parseDouble(args[2]));
+            if (!regressions.isEmpty()) {
+                System.err.println("Benchmarks regressed by more than " + args[2] + "%: "
+                        + regressions.stream().map(BenchmarkDelta::getName).collect(Collectors.joining(", ")));
+                System.exit(1);
+            }
+        }
+    }
+
+    public static class BenchmarkResult {
+        private final String name;
+        private final String mode;
+        private final double score;
+        private final String scoreUnit;
+        private final Double allocatedBytesPerOperation;
+
+        public BenchmarkResult(String name, String mode, double score, String scoreUnit, Double allocatedBytesPerOperation) {
+            this.name = name;
+            this.mode = mode;
+            this.score = score;
+            this.scoreUnit = scoreUnit;
+            this.allocatedBytesPerOperation = allocatedBytesPerOperation;
+        }
+
+        static BenchmarkResult from(JsonObject jmhResult) {
+            String name = jmhResult.get("benchmark").getAsString() + parametersOf(jmhResult);
+            JsonObject primaryMetric = jmhResult.getAsJsonObject("primaryMetric");
+            Double allocation = null;
+            if (jmhResult.has("secondaryMetrics")) {
+                JsonObject secondaryMetrics = jmhResult.getAsJsonObject("secondaryMetrics");
+                for (String metric : ALLOCATION_METRICS) {
+                    if (secondaryMetrics.has(metric)) {
+                        allocation = secondaryMetrics.getAsJsonObject(metric).get("score").getAsDouble();
+                    }
+                }
+            }
+            return new BenchmarkResult(name,
+                    jmhResult.get("mode").getAsString(),
+                    primaryMetric.get("score").getAsDouble(),
+                    primaryMetric.get("scoreUnit").getAsString(),
+                    allocation);
+        }
+
+        private static String parametersOf(JsonObject jmhResult) {
+            if (!jmhResult.has("params")) {
+                return "";
+            }
+            return jmhResult.getAsJsonObject("params").entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(param -> param.getKey() + "=" + param.getValue().getAsString())
+                    .collect(Collectors.joining(",", "[", "]"));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public String getScoreUnit() {
+            return scoreUnit;
+        }
+
+        /**
+         * True for throughput benchmarks, where a higher score is better. For the time-based modes, lower is better.
+         */
+        public boolean isHigherBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        public Optional<Double> getAllocatedBytesPerOperation() {
+            return Optional.ofNullable(allocatedBytesPerOperation);
+        }
+    }
+
+    public static class BenchmarkDelta {
+        private final BenchmarkResult baseline;
+        private final BenchmarkResult current;
+
+        public BenchmarkDelta(BenchmarkResult baseline, BenchmarkResult current) {
+            this.baseline = baseline;
+            this.current = current;
+        }
+
+        public String getName() {
+            return current.getName();
+        }
+
+        public BenchmarkResult getBaseline() {
+            return baseline;
+        }
+
+        public BenchmarkResult getCurrent() {
+            return current;
+        }
+
+        /**
+         * How much better (positive) or worse (negative) the current score is than the baseline, as a percentage,
+         * whichever benchmark mode was used.
+         */
+        public double getScoreImprovementPercent() {
+            if (baseline.getScore() == 0) {
+                return 0;
+            }
+            double change = (current.getScore() - baseline.getScore()) / baseline.getScore() * 100;
+            return current.isHigherBetter() ? change : -change;
+        }
+
+        /**
+         * The change in bytes allocated per operation as a percentage, if both runs used the GC profiler.
+         * A negative value means fewer allocations.
+         */
+        public Optional<Double> getAllocationChangePercent() {
+            if (!baseline.getAllocatedBytesPerOperation().isPresent() || !current.getAllocatedBytesPerOperation().isPresent()) {
+                return Optional.empty();
+            }
+            double before = baseline.getAllocatedBytesPerOperation().get();
+            double after = current.getAllocatedBytesPerOperation().get();
+            return Optional.of(before == 0 ? 0 : (after - before) / before * 100);
+        }
+    }
+}
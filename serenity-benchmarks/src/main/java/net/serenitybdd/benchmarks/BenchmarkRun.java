@@ -0,0 +1,41 @@
+package net.serenitybdd.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes the results as JSON, ready to be compared with another run.
+ * If a baseline result file is given, the new results are compared with it when the run finishes.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar net.serenitybdd.benchmarks.BenchmarkRun <results.json> [baseline.json] [benchmark-regex]}
+ */
+public class BenchmarkRun {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BenchmarkRun <results.json> [baseline.json] [benchmark-regex]");
+            System.exit(2);
+        }
+        Path results = Paths.get(args[0]);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(args.length > 2 ? args[2] : BenchmarkRun.class.getPackage().getName() + ".*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString());
+
+        new Runner(options.build()).run();
+
+        if (args.length > 1 && Files.exists(Paths.get(args[1]))) {
+            BenchmarkComparison.between(Paths.get(args[1]), results).printTo(System.out);
+        }
+    }
+}
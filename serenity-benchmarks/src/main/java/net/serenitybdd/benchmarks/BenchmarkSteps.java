@@ -0,0 +1,35 @@
+package net.serenitybdd.benchmarks;
+
+import net.serenitybdd.annotations.Step;
+
+/**
+ * A step library with cheap steps, so that the step benchmarks measure the cost of the step instrumentation rather than the steps.
+ */
+public class BenchmarkSteps {
+
+    private int itemsInBasket;
+
+    @Step("Given the customer has {0} items in their basket")
+    public void customerHasItemsInTheirBasket(int items) {
+        itemsInBasket = items;
+    }
+
+    @Step
+    public void customerChecksOut() {
+        itemsInBasket = 0;
+    }
+
+    @Step("Then the basket should contain {0} items")
+    public void basketShouldContain(int items) {
+        if (itemsInBasket != items) {
+            throw new AssertionError("Expected " + items + " items but found " + itemsInBasket);
+        }
+    }
+
+    @Step
+    public void checkoutScenario(int items) {
+        customerHasItemsInTheirBasket(items);
+        customerChecksOut();
+        basketShouldContain(0);
+    }
+}
@@ -0,0 +1,23 @@
+package net.serenitybdd.benchmarks;
+
+import net.serenitybdd.annotations.Step;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.Task;
+
+/**
+ * A task with a few fields to copy, used to measure the cost of instrumenting tasks.
+ */
+public class BenchmarkTask implements Task {
+    private String fruit = "apples";
+    private int quantity = 6;
+    private String shop = "the market";
+    private boolean organic = true;
+    private Double budget = 12.5;
+
+    public BenchmarkTask() {
+    }
+
+    @Step("{0} buys #quantity #fruit at #shop")
+    public <T extends Actor> void performAs(T actor) {
+    }
+}
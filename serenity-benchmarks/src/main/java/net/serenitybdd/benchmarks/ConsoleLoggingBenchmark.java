@@ -0,0 +1,163 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.logging.AsyncConsoleLoggingListener;
+import net.thucydides.model.logging.ConsoleEventQueue;
+import net.thucydides.model.logging.ConsoleLoggingListener;
+import net.thucydides.model.steps.ExecutedStepDescription;
+import net.thucydides.model.steps.StepListener;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Marker;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the time a test thread spends logging a test to the console, with the ConsoleLoggingListener writing
+ * each line on the test thread ("sync"), or with the AsyncConsoleLoggingListener handing the events to the console
+ * writer thread ("async-block" and "async-drop", for the two overflow policies). The console is simulated by a
+ * logger that appends every line to a single shared buffer, as a console appender would. Run with several threads
+ * (for example -t 8) to see the effect of contention. The step events dropped in "async-drop" are reported in the
+ * droppedEvents column.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ConsoleLoggingBenchmark {
+
+    private static final String[] STEP_TITLES = new String[10];
+
+    static {
+        for (int stepNumber = 0; stepNumber < STEP_TITLES.length; stepNumber++) {
+            STEP_TITLES[stepNumber] = "Given the customer has " + stepNumber + " items in their basket";
+        }
+    }
+
+    /**
+     * A logger writing to one shared buffer, standing in for the console appender.
+     */
+    static class SharedConsoleLogger extends LegacyAbstractLogger {
+        private static final StringBuilder CONSOLE = new StringBuilder();
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(org.slf4j.event.Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable) {
+            String line = MessageFormatter.basicArrayFormat(messagePattern, arguments);
+            synchronized (CONSOLE) {
+                CONSOLE.append(line).append('\n');
+                if (CONSOLE.length() > 1 << 16) {
+                    CONSOLE.setLength(0);
+                }
+            }
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Console {
+
+        @Param({"sync", "async-block", "async-drop"})
+        public String mode;
+
+        MockEnvironmentVariables environmentVariables;
+        ConsoleEventQueue queue;
+        final AtomicLong countedDroppedEvents = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void startConsole() {
+            environmentVariables = new MockEnvironmentVariables();
+            environmentVariables.setProperty("serenity.logging", "VERBOSE");
+            environmentVariables.setProperty("serenity.console.colors", "true");
+            if (mode.equals("async-block")) {
+                queue = new ConsoleEventQueue(ConsoleEventQueue.DEFAULT_CAPACITY, ConsoleEventQueue.OverflowPolicy.BLOCK);
+            } else if (mode.equals("async-drop")) {
+                queue = new ConsoleEventQueue(ConsoleEventQueue.DEFAULT_CAPACITY, ConsoleEventQueue.OverflowPolicy.DROP);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stopConsole() throws InterruptedException {
+            if (queue != null) {
+                queue.close();
+            }
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class TestThread {
+        public long droppedEvents;
+
+        StepListener listener;
+        Console console;
+
+        @Setup(Level.Trial)
+        public void createListener(Console console) {
+            ConsoleLoggingListener consoleLoggingListener = new ConsoleLoggingListener(console.environmentVariables, new SharedConsoleLogger());
+            listener = (console.queue == null) ? consoleLoggingListener : new AsyncConsoleLoggingListener(consoleLoggingListener, console.queue);
+            this.console = console;
+        }
+
+        @Setup(Level.Iteration)
+        public void resetDroppedEvents() {
+            droppedEvents = 0;
+        }
+
+        /**
+         * Counts the events dropped since any thread last counted them, so that each dropped event is counted once.
+         */
+        @TearDown(Level.Iteration)
+        public void countDroppedEvents() {
+            if (console.queue != null) {
+                long dropped = console.queue.getDroppedEventCount();
+                long alreadyCounted = console.countedDroppedEvents.getAndAccumulate(dropped, Math::max);
+                droppedEvents = Math.max(0, dropped - alreadyCounted);
+            }
+        }
+    }
+
+    @Benchmark
+    public StepListener logATest(TestThread testThread) {
+        StepListener listener = testThread.listener;
+        listener.testStarted("a test with ten steps");
+        for (String stepTitle : STEP_TITLES) {
+            listener.stepStarted(ExecutedStepDescription.withTitle(stepTitle));
+            listener.stepFinished();
+        }
+        listener.testIgnored();
+        return listener;
+    }
+}
@@ -0,0 +1,61 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.core.reports.html.Formatter;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the text rendering done by the Formatter for every step, description and error message in the HTML reports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatterBenchmark {
+
+    private static final String STEP_DESCRIPTION = "Given the customer has 3 items in their basket";
+
+    private static final String STEP_WITH_TABLE = "Then the order should be confirmed with the following details:\n"
+            + "| item  | quantity | price |\n"
+            + "| apple | 3        | 1.20  |\n"
+            + "| pear  | 2        | 0.80  |";
+
+    private static final String MARKDOWN_NARRATIVE = "## Checking out\n"
+            + "In order to *buy* the items in my basket\n"
+            + "As a **customer**\n"
+            + "I want to be able to check out my order\n\n"
+            + "* pay by card\n"
+            + "* pay on delivery\n\n"
+            + "See [the checkout rules](http://example.com/rules) for details.";
+
+    private Formatter formatter;
+
+    @Setup
+    public void createFormatter() {
+        formatter = new Formatter(new MockEnvironmentVariables());
+    }
+
+    @Benchmark
+    public String stepDescription() {
+        return formatter.htmlCompatibleStepDescription(STEP_DESCRIPTION);
+    }
+
+    @Benchmark
+    public String stepDescriptionWithTable() {
+        return formatter.htmlCompatibleStepDescription(STEP_WITH_TABLE);
+    }
+
+    @Benchmark
+    public String markdownNarrative() {
+        return formatter.renderMarkdown(MARKDOWN_NARRATIVE);
+    }
+
+    @Benchmark
+    public String descriptionWithTable() {
+        return formatter.renderDescription(STEP_WITH_TABLE);
+    }
+}
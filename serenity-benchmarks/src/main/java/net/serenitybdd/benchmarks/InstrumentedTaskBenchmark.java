@@ -0,0 +1,76 @@
+package net.serenitybdd.benchmarks;
+
+import net.serenitybdd.screenplay.InstrumentedTask;
+import net.serenitybdd.screenplay.Performable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating an instrumented copy of a task, which happens every time an actor performs a task.
+ * The "cold" case loads the task class afresh for each invocation, so the instrumentation plan for the class has to be
+ * built from scratch, as it is the first time a task class is performed. The "warm" case instruments the same task
+ * class every time, using the plan cached for that class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentedTaskBenchmark {
+
+    @Param({"cold", "warm"})
+    public String plan;
+
+    private byte[] taskClassBytes;
+    private Class<?> taskClass;
+
+    @Setup(Level.Trial)
+    public void readTheTaskClass() throws IOException {
+        taskClassBytes = classFileFor(BenchmarkTask.class);
+        taskClass = BenchmarkTask.class;
+    }
+
+    @Setup(Level.Invocation)
+    public void loadTheTaskClass() {
+        if (plan.equals("cold")) {
+            taskClass = new FreshClassLoader(getClass().getClassLoader()).define(BenchmarkTask.class.getName(), taskClassBytes);
+        }
+    }
+
+    @Benchmark
+    public Performable instrumentATask() throws ReflectiveOperationException {
+        Performable task = (Performable) taskClass.getConstructor().newInstance();
+        return InstrumentedTask.of(task);
+    }
+
+    private static byte[] classFileFor(Class<?> type) throws IOException {
+        String classFile = type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getClassLoader().getResourceAsStream(classFile)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Defines a new copy of a class each time it is used, so that nothing cached against the original class applies.
+     */
+    static class FreshClassLoader extends ClassLoader {
+        FreshClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] classFile) {
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
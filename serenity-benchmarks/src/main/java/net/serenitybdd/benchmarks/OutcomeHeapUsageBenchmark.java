@@ -0,0 +1,83 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.ReportType;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.reports.TestOutcomeLoader;
+import net.thucydides.model.reports.json.gson.GsonJSONConverter;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how much heap a loaded set of test outcomes retains, with and without the compact outcome form used for
+ * report generation (see serenity.compactOutcomes). The retained heap per outcome is reported as the
+ * {@code retainedBytesPerOutcome} secondary result, alongside the time taken to load the outcomes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OutcomeHeapUsageBenchmark {
+
+    @Param({"1000", "10000"})
+    public int numberOfOutcomes;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private File outputDirectory;
+    private TestOutcomeLoader loader;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapUsage {
+        public long retainedBytesPerOutcome;
+    }
+
+    @Setup(Level.Trial)
+    public void writeOutcomes() throws IOException {
+        EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        GsonJSONConverter converter = new GsonJSONConverter(environmentVariables);
+        outputDirectory = Files.createTempDirectory("serenity-benchmark-outcomes").toFile();
+        for (TestOutcome outcome : SyntheticOutcomes.withSeed(1).withScreenshotsPerStep(2).generate(numberOfOutcomes)) {
+            File outcomeFile = new File(outputDirectory, outcome.getReportName(ReportType.JSON));
+            try (OutputStream outputStream = Files.newOutputStream(outcomeFile.toPath())) {
+                converter.toJson(outcome, outputStream);
+            }
+        }
+        TestOutcomeLoader outcomeLoader = new TestOutcomeLoader(environmentVariables);
+        loader = compact ? outcomeLoader.inCompactForm() : outcomeLoader;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutcomes() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory);
+    }
+
+    @Benchmark
+    public List<TestOutcome> loadAndRetainOutcomes(HeapUsage heapUsage) {
+        long heapBefore = usedHeapAfterGarbageCollection();
+        List<TestOutcome> outcomes = loader.loadFrom(outputDirectory);
+        long heapAfter = usedHeapAfterGarbageCollection();
+        heapUsage.retainedBytesPerOutcome = (heapAfter - heapBefore) / outcomes.size();
+        return outcomes;
+    }
+
+    private static long usedHeapAfterGarbageCollection() {
+        for (int collection = 0; collection < 3; collection++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,59 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.ReportType;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.reports.TestOutcomeLoader;
+import net.thucydides.model.reports.json.gson.GsonJSONConverter;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the TestOutcomeLoader takes to load a directory of JSON test outcomes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutcomeLoadingBenchmark {
+
+    @Param({"100", "1000"})
+    public int numberOfOutcomes;
+
+    private File outputDirectory;
+    private TestOutcomeLoader loader;
+
+    @Setup(Level.Trial)
+    public void writeOutcomes() throws IOException {
+        EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        GsonJSONConverter converter = new GsonJSONConverter(environmentVariables);
+        outputDirectory = Files.createTempDirectory("serenity-benchmark-outcomes").toFile();
+        for (TestOutcome outcome : SyntheticOutcomes.withSeed(1).generate(numberOfOutcomes)) {
+            File outcomeFile = new File(outputDirectory, outcome.getReportName(ReportType.JSON));
+            try (OutputStream outputStream = Files.newOutputStream(outcomeFile.toPath())) {
+                converter.toJson(outcome, outputStream);
+            }
+        }
+        loader = new TestOutcomeLoader(environmentVariables);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteOutcomes() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory);
+    }
+
+    @Benchmark
+    public List<TestOutcome> loadOutcomes() {
+        return loader.loadFrom(outputDirectory);
+    }
+}
@@ -0,0 +1,52 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.reports.json.gson.GsonJSONConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast test outcomes are written to and read from JSON with the GsonJSONConverter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutcomeSerialisationBenchmark {
+
+    @Param({"10", "100"})
+    public int stepsPerTest;
+
+    private GsonJSONConverter converter;
+    private TestOutcome outcome;
+    private byte[] json;
+
+    @Setup
+    public void prepareOutcome() throws IOException {
+        converter = new GsonJSONConverter(new MockEnvironmentVariables());
+        outcome = SyntheticOutcomes.withSeed(1).withStepsPerTest(stepsPerTest).generate(1).get(0);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        converter.toJson(outcome, outputStream);
+        json = outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeOutcomeAsJson() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length);
+        converter.toJson(outcome, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public Optional<TestOutcome> readOutcomeFromJson() throws IOException {
+        return converter.fromJson(new ByteArrayInputStream(json));
+    }
+}
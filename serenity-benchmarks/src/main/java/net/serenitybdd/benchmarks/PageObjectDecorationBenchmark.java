@@ -0,0 +1,226 @@
+package net.serenitybdd.benchmarks;
+
+import net.serenitybdd.core.annotations.findby.FindBy;
+import net.serenitybdd.core.pages.PageObject;
+import net.serenitybdd.core.pages.WebElementFacade;
+import net.thucydides.core.annotations.locators.PageDecorationPlan;
+import net.thucydides.core.annotations.locators.SmartElementLocatorFactory;
+import net.thucydides.core.annotations.locators.SmartFieldDecorator;
+import net.thucydides.core.webdriver.MobilePlatform;
+import net.thucydides.core.webdriver.WebdriverProxyFactory;
+import net.thucydides.core.webdriver.stubs.WebDriverStub;
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of proxying the web element fields of a large page object, which happens every time a page object
+ * is created. The fields are either decorated using the cached plan for the page class, or by walking the class and
+ * reading the field annotations each time, as Selenium's PageFactory does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageObjectDecorationBenchmark {
+
+    @Param({"planned", "reflective"})
+    public String decoration;
+
+    private WebDriver driver;
+    private SmartElementLocatorFactory locatorFactory;
+
+    @Setup(Level.Trial)
+    public void createDriver() {
+        driver = WebdriverProxyFactory.getFactory().proxyFor(new WebDriverStub());
+        locatorFactory = new SmartElementLocatorFactory(driver, MobilePlatform.NONE);
+    }
+
+    @Benchmark
+    public LargePage decorateALargePage() {
+        LargePage page = new LargePage();
+        SmartFieldDecorator decorator = new SmartFieldDecorator(locatorFactory, driver, page);
+        if (decoration.equals("planned")) {
+            PageDecorationPlan.decorate(page, locatorFactory, decorator);
+        } else {
+            PageFactory.initElements(decorator, page);
+        }
+        return page;
+    }
+
+    public static class PageHeader extends PageObject {
+        @FindBy(css = "#header .item-1")
+        public WebElementFacade headerItem1;
+
+        @FindBy(css = "#header .item-2")
+        public WebElementFacade headerItem2;
+
+        @FindBy(css = "#header .item-3")
+        public WebElementFacade headerItem3;
+
+        @FindBy(css = "#header .item-4")
+        public WebElementFacade headerItem4;
+
+        @FindBy(css = "#header .item-5")
+        public WebElementFacade headerItem5;
+
+        @FindBy(css = "#header .item-6")
+        public WebElementFacade headerItem6;
+
+        @FindBy(css = "#header .item-7")
+        public WebElementFacade headerItem7;
+
+        @FindBy(css = "#header .item-8")
+        public WebElementFacade headerItem8;
+
+        @FindBy(css = "#header .item-9")
+        public WebElementFacade headerItem9;
+
+        @FindBy(css = "#header .item-10")
+        public WebElementFacade headerItem10;
+
+        @FindBy(css = "#header .item-11")
+        public WebElementFacade headerItem11;
+
+        @FindBy(css = "#header .item-12")
+        public WebElementFacade headerItem12;
+
+        @FindBy(css = "#header .item-13")
+        public WebElementFacade headerItem13;
+
+        @FindBy(css = "#header .item-14")
+        public WebElementFacade headerItem14;
+
+        @FindBy(css = "#header .item-15")
+        public WebElementFacade headerItem15;
+
+        @FindBy(css = "#header .item-16")
+        public WebElementFacade headerItem16;
+
+        @FindBy(css = "#header .item-17")
+        public WebElementFacade headerItem17;
+
+        @FindBy(css = "#header .item-18")
+        public WebElementFacade headerItem18;
+
+        @FindBy(css = "#header .item-19")
+        public WebElementFacade headerItem19;
+
+        @FindBy(css = "#header .item-20")
+        public WebElementFacade headerItem20;
+    }
+
+    public static class LargePage extends PageHeader {
+        @FindBy(id = "field-1")
+        public WebElementFacade field1;
+
+        @FindBy(id = "field-2")
+        public WebElementFacade field2;
+
+        @FindBy(id = "field-3")
+        public WebElementFacade field3;
+
+        @FindBy(id = "field-4")
+        public WebElementFacade field4;
+
+        @FindBy(id = "field-5")
+        public WebElementFacade field5;
+
+        @FindBy(id = "field-6")
+        public WebElementFacade field6;
+
+        @FindBy(id = "field-7")
+        public WebElementFacade field7;
+
+        @FindBy(id = "field-8")
+        public WebElementFacade field8;
+
+        @FindBy(id = "field-9")
+        public WebElementFacade field9;
+
+        @FindBy(id = "field-10")
+        public WebElementFacade field10;
+
+        @FindBy(id = "field-11")
+        public WebElementFacade field11;
+
+        @FindBy(id = "field-12")
+        public WebElementFacade field12;
+
+        @FindBy(id = "field-13")
+        public WebElementFacade field13;
+
+        @FindBy(id = "field-14")
+        public WebElementFacade field14;
+
+        @FindBy(id = "field-15")
+        public WebElementFacade field15;
+
+        @FindBy(id = "field-16")
+        public WebElementFacade field16;
+
+        @FindBy(id = "field-17")
+        public WebElementFacade field17;
+
+        @FindBy(id = "field-18")
+        public WebElementFacade field18;
+
+        @FindBy(id = "field-19")
+        public WebElementFacade field19;
+
+        @FindBy(id = "field-20")
+        public WebElementFacade field20;
+
+        @FindBy(id = "field-21")
+        public WebElementFacade field21;
+
+        @FindBy(id = "field-22")
+        public WebElementFacade field22;
+
+        @FindBy(id = "field-23")
+        public WebElementFacade field23;
+
+        @FindBy(id = "field-24")
+        public WebElementFacade field24;
+
+        @FindBy(id = "field-25")
+        public WebElementFacade field25;
+
+        @FindBy(id = "field-26")
+        public WebElementFacade field26;
+
+        @FindBy(id = "field-27")
+        public WebElementFacade field27;
+
+        @FindBy(id = "field-28")
+        public WebElementFacade field28;
+
+        @FindBy(id = "field-29")
+        public WebElementFacade field29;
+
+        @FindBy(id = "field-30")
+        public WebElementFacade field30;
+
+        @FindBy(css = ".row-1 td")
+        public List<WebElementFacade> rowCells1;
+
+        @FindBy(css = ".row-2 td")
+        public List<WebElementFacade> rowCells2;
+
+        @FindBy(css = ".row-3 td")
+        public List<WebElementFacade> rowCells3;
+
+        @FindBy(css = ".row-4 td")
+        public List<WebElementFacade> rowCells4;
+
+        @FindBy(css = ".row-5 td")
+        public List<WebElementFacade> rowCells5;
+
+        public String title = "Large page";
+    }
+}
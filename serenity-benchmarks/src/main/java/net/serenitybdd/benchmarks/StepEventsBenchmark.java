@@ -0,0 +1,89 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.core.steps.BaseStepListener;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.steps.StepFactory;
+import net.thucydides.model.steps.ExecutedStepDescription;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of recording a test with the StepEventBus, either by sending step events directly
+ * or by calling the methods of an instrumented step library, which go through the StepInterceptor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepEventsBenchmark {
+
+    @Param({"10"})
+    public int stepsPerTest;
+
+    private File outputDirectory;
+    private BaseStepListener listener;
+    private StepEventBus eventBus;
+    private BenchmarkSteps steps;
+
+    @Setup(Level.Trial)
+    public void registerListener() throws IOException {
+        outputDirectory = Files.createTempDirectory("serenity-benchmark-steps").toFile();
+        listener = new BaseStepListener(outputDirectory);
+        eventBus = StepEventBus.getEventBus();
+        eventBus.clear();
+        eventBus.registerListener(listener);
+        eventBus.testSuiteStarted(StepEventsBenchmark.class);
+        steps = StepFactory.getFactory().getNewStepLibraryFor(BenchmarkSteps.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void dropListener() throws IOException {
+        eventBus.dropListener(listener);
+        FileUtils.deleteDirectory(outputDirectory);
+    }
+
+    @Benchmark
+    public int recordStepEvents() {
+        eventBus.testStarted("a test with step events");
+        for (int stepNumber = 0; stepNumber < stepsPerTest; stepNumber++) {
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Step number " + stepNumber));
+            eventBus.stepFinished();
+        }
+        return finishTest();
+    }
+
+    @Benchmark
+    public int runInstrumentedSteps() {
+        eventBus.testStarted("a test with instrumented steps");
+        for (int stepNumber = 0; stepNumber < stepsPerTest; stepNumber++) {
+            steps.customerHasItemsInTheirBasket(stepNumber);
+        }
+        return finishTest();
+    }
+
+    @Benchmark
+    public int runNestedInstrumentedSteps() {
+        eventBus.testStarted("a test with nested instrumented steps");
+        for (int stepNumber = 0; stepNumber < stepsPerTest; stepNumber++) {
+            steps.checkoutScenario(stepNumber);
+        }
+        return finishTest();
+    }
+
+    /**
+     * Finish the test and forget it, so that recorded outcomes do not pile up in the listener during a benchmark iteration.
+     */
+    private int finishTest() {
+        eventBus.testFinished();
+        int recordedSteps = listener.getCurrentTestOutcome().getTestSteps().size();
+        listener.cancelPreviousTest();
+        return recordedSteps;
+    }
+}
@@ -0,0 +1,141 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.Story;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.domain.TestStep;
+import net.thucydides.model.domain.TestTag;
+import net.thucydides.model.screenshots.ScreenshotAndHtmlSource;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Generates realistic-looking test outcomes for the benchmarks.
+ * The same seed and settings always produce the same outcomes, so that two benchmark runs work on the same data.
+ */
+public class SyntheticOutcomes {
+
+    private static final ZonedDateTime FIRST_TEST_START = ZonedDateTime.of(2023, 1, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final String[] TAG_TYPES = {"feature", "capability", "tag", "component", "release"};
+
+    private final long seed;
+    private int stepsPerTest = 10;
+    private int tagsPerTest = 3;
+    private int distinctTags = 50;
+    private int screenshotsPerStep = 1;
+    private double failureRate = 0.1;
+    private int numberOfFeatures = 20;
+
+    private SyntheticOutcomes(long seed) {
+        this.seed = seed;
+    }
+
+    public static SyntheticOutcomes withSeed(long seed) {
+        return new SyntheticOutcomes(seed);
+    }
+
+    public SyntheticOutcomes withStepsPerTest(int stepsPerTest) {
+        this.stepsPerTest = stepsPerTest;
+        return this;
+    }
+
+    public SyntheticOutcomes withTagsPerTest(int tagsPerTest) {
+        this.tagsPerTest = tagsPerTest;
+        return this;
+    }
+
+    /**
+     * The number of different tags that the tags of each test are picked from.
+     */
+    public SyntheticOutcomes withDistinctTags(int distinctTags) {
+        this.distinctTags = distinctTags;
+        return this;
+    }
+
+    public SyntheticOutcomes withScreenshotsPerStep(int screenshotsPerStep) {
+        this.screenshotsPerStep = screenshotsPerStep;
+        return this;
+    }
+
+    /**
+     * The proportion of tests (between 0 and 1) that fail in their last step.
+     */
+    public SyntheticOutcomes withFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public SyntheticOutcomes withNumberOfFeatures(int numberOfFeatures) {
+        this.numberOfFeatures = numberOfFeatures;
+        return this;
+    }
+
+    public List<TestOutcome> generate(int numberOfOutcomes) {
+        Random random = new Random(seed);
+        List<TestOutcome> outcomes = new ArrayList<>(numberOfOutcomes);
+        for (int testNumber = 0; testNumber < numberOfOutcomes; testNumber++) {
+            outcomes.add(outcomeNumber(testNumber, random));
+        }
+        return outcomes;
+    }
+
+    private TestOutcome outcomeNumber(int testNumber, Random random) {
+        int featureNumber = testNumber % numberOfFeatures;
+        Story story = Story.withId("feature-" + featureNumber, "Feature number " + featureNumber);
+        TestOutcome outcome = TestOutcome.forTestInStory("Scenario " + testNumber + " of feature " + featureNumber, story);
+
+        ZonedDateTime startTime = FIRST_TEST_START.plusMinutes(testNumber);
+        outcome.setStartTime(startTime);
+
+        List<TestStep> steps = new ArrayList<>(stepsPerTest);
+        long totalDuration = 0;
+        for (int stepNumber = 0; stepNumber < stepsPerTest; stepNumber++) {
+            long duration = 10 + random.nextInt(500);
+            TestStep step = new TestStep(startTime.plusNanos(totalDuration * 1_000_000), stepDescription(testNumber, stepNumber));
+            step.setDuration(duration);
+            step.setResult(TestResult.SUCCESS);
+            for (int screenshotNumber = 0; screenshotNumber < screenshotsPerStep; screenshotNumber++) {
+                step.addScreenshot(new ScreenshotAndHtmlSource(
+                        "screenshot-" + testNumber + "-" + stepNumber + "-" + screenshotNumber + ".png", null));
+            }
+            steps.add(step);
+            totalDuration += duration;
+        }
+        outcome.recordSteps(steps);
+        outcome.setDuration(totalDuration);
+        outcome.setTags(tagsFor(featureNumber, random));
+
+        if (!steps.isEmpty() && random.nextDouble() < failureRate) {
+            outcome.lastStepFailedWith(
+                    new AssertionError("Expected order total of " + random.nextInt(1000) + " but was " + random.nextInt(1000)));
+        }
+        return outcome;
+    }
+
+    private String stepDescription(int testNumber, int stepNumber) {
+        switch (stepNumber % 3) {
+            case 0:
+                return "Given the customer has " + stepNumber + " items in their basket";
+            case 1:
+                return "When the customer checks out order #" + testNumber;
+            default:
+                return "Then the order should be confirmed with the following details:\n"
+                        + "| item | quantity | price |\n"
+                        + "| apple | " + stepNumber + " | 1.20 |\n"
+                        + "| pear | " + testNumber % 10 + " | 0.80 |";
+        }
+    }
+
+    private Set<TestTag> tagsFor(int featureNumber, Random random) {
+        Set<TestTag> tags = new HashSet<>();
+        tags.add(TestTag.withName("Feature number " + featureNumber).andType("feature"));
+        for (int tagNumber = 0; tagNumber < tagsPerTest; tagNumber++) {
+            int tagIndex = random.nextInt(distinctTags);
+            tags.add(TestTag.withName("tag " + tagIndex).andType(TAG_TYPES[tagIndex % TAG_TYPES.length]));
+        }
+        return tags;
+    }
+}
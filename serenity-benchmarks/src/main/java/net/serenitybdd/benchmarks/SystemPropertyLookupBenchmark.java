@@ -0,0 +1,57 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.ThucydidesSystemProperty;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading configuration values through ThucydidesSystemProperty, which happens many times for every test and step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemPropertyLookupBenchmark {
+
+    private EnvironmentVariables environmentVariables;
+
+    @Setup
+    public void configureEnvironment() {
+        MockEnvironmentVariables mockEnvironmentVariables = new MockEnvironmentVariables();
+        mockEnvironmentVariables.setProperty("serenity.project.name", "Benchmarks");
+        mockEnvironmentVariables.setProperty("serenity.take.screenshots", "FOR_FAILURES");
+        mockEnvironmentVariables.setProperty("serenity.timeout", "60");
+        mockEnvironmentVariables.setProperty("serenity.console.colors", "true");
+        environmentVariables = mockEnvironmentVariables;
+    }
+
+    @Benchmark
+    public String definedStringProperty() {
+        return ThucydidesSystemProperty.SERENITY_PROJECT_NAME.from(environmentVariables);
+    }
+
+    @Benchmark
+    public String undefinedPropertyWithDefault() {
+        return ThucydidesSystemProperty.SERENITY_LOGGING.from(environmentVariables, "NORMAL");
+    }
+
+    @Benchmark
+    public int integerProperty() {
+        return ThucydidesSystemProperty.SERENITY_TIMEOUT.integerFrom(environmentVariables, 30);
+    }
+
+    @Benchmark
+    public boolean booleanProperty() {
+        return ThucydidesSystemProperty.SERENITY_CONSOLE_COLORS.booleanFrom(environmentVariables, false);
+    }
+
+    @Benchmark
+    public String propertyName() {
+        return ThucydidesSystemProperty.SERENITY_TAKE_SCREENSHOTS.getPropertyName();
+    }
+}
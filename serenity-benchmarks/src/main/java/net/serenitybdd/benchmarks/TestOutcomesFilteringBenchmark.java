@@ -0,0 +1,53 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestTag;
+import net.thucydides.model.reports.TestOutcomes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the TestOutcomes filtering and aggregation that the report generators run for every tag, requirement and result page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestOutcomesFilteringBenchmark {
+
+    @Param({"1000", "10000"})
+    public int numberOfOutcomes;
+
+    private List<TestOutcome> outcomes;
+    private TestTag tag;
+
+    @Setup
+    public void generateOutcomes() {
+        outcomes = SyntheticOutcomes.withSeed(1).withStepsPerTest(5).withScreenshotsPerStep(0).generate(numberOfOutcomes);
+        tag = TestTag.withName("tag 7").andType("release");
+    }
+
+    @Benchmark
+    public int filterByTag() {
+        return TestOutcomes.of(outcomes).withTag(tag).getTotal();
+    }
+
+    @Benchmark
+    public int filterByTagType() {
+        return TestOutcomes.of(outcomes).withTagType("feature").getTotal();
+    }
+
+    @Benchmark
+    public int failingTests() {
+        return TestOutcomes.of(outcomes).getFailingTests().getTotal();
+    }
+
+    @Benchmark
+    public int distinctTags() {
+        return TestOutcomes.of(outcomes).getTags().size();
+    }
+}
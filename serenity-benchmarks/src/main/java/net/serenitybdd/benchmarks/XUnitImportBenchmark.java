@@ -0,0 +1,120 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.reports.adaptors.xunit.BasicXUnitLoader;
+import net.thucydides.model.reports.adaptors.xunit.DefaultXUnitAdaptor;
+import net.thucydides.model.reports.adaptors.xunit.StreamingXUnitLoader;
+import net.thucydides.model.reports.adaptors.xunit.XUnitLoader;
+import net.thucydides.model.reports.adaptors.xunit.model.TestSuite;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the DOM-based and streaming xUnit loaders on generated Surefire-style reports of a few megabytes each,
+ * and measures a whole-directory import through the xUnit adaptor.
+ * Run with -prof gc to compare the memory allocated by each loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XUnitImportBenchmark {
+
+    private static final int NUMBER_OF_FILES = 8;
+
+    @Param({"dom", "stax"})
+    public String loaderType;
+
+    @Param({"2000"})
+    public int testCasesPerFile;
+
+    private File xunitDirectory;
+    private File[] xunitFiles;
+    private XUnitLoader loader;
+    private DefaultXUnitAdaptor adaptor;
+
+    @Setup(Level.Trial)
+    public void writeXUnitFiles() throws IOException {
+        xunitDirectory = Files.createTempDirectory("serenity-benchmark-xunit").toFile();
+        Random random = new Random(1);
+        for (int fileNumber = 0; fileNumber < NUMBER_OF_FILES; fileNumber++) {
+            writeXUnitFile(new File(xunitDirectory, "TEST-net.example.SomeTest" + fileNumber + ".xml"), fileNumber, random);
+        }
+        xunitFiles = xunitDirectory.listFiles();
+        loader = "dom".equals(loaderType) ? new BasicXUnitLoader() : new StreamingXUnitLoader();
+        adaptor = new DefaultXUnitAdaptor(loader);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteXUnitFiles() throws IOException {
+        FileUtils.deleteDirectory(xunitDirectory);
+    }
+
+    @Benchmark
+    public int loadEachFile() throws IOException {
+        int testCases = 0;
+        for (File xunitFile : xunitFiles) {
+            for (TestSuite testSuite : loader.loadFrom(xunitFile)) {
+                testCases += testSuite.getTestCases().size();
+            }
+        }
+        return testCases;
+    }
+
+    @Benchmark
+    public List<TestOutcome> importDirectory() throws IOException {
+        return adaptor.loadOutcomesFrom(xunitDirectory);
+    }
+
+    private void writeXUnitFile(File xunitFile, int fileNumber, Random random) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(xunitFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<testsuite name=\"net.example.SomeTest" + fileNumber + "\" tests=\"" + testCasesPerFile + "\">\n");
+            writer.write("  <properties>\n");
+            for (int property = 0; property < 50; property++) {
+                writer.write("    <property name=\"some.property." + property + "\" value=\"some value " + property + "\"/>\n");
+            }
+            writer.write("  </properties>\n");
+            for (int testNumber = 0; testNumber < testCasesPerFile; testNumber++) {
+                writer.write("  <testcase name=\"should_do_something_" + testNumber + "\" classname=\"net.example.SomeTest"
+                        + fileNumber + "\" time=\"" + random.nextInt(5000) / 1000.0 + "\">\n");
+                int outcome = random.nextInt(20);
+                if (outcome == 0) {
+                    writer.write("    <failure message=\"Expected " + random.nextInt(100) + " but was " + random.nextInt(100)
+                            + "\" type=\"java.lang.AssertionError\">" + stackTrace(testNumber) + "</failure>\n");
+                } else if (outcome == 1) {
+                    writer.write("    <error message=\"Something broke\" type=\"java.lang.IllegalStateException\">"
+                            + stackTrace(testNumber) + "</error>\n");
+                } else if (outcome == 2) {
+                    writer.write("    <skipped/>\n");
+                }
+                writer.write("    <system-out><![CDATA[");
+                for (int line = 0; line < 10; line++) {
+                    writer.write("INFO  [main] net.example.SomeTest - step " + line + " of test " + testNumber + " completed\n");
+                }
+                writer.write("]]></system-out>\n");
+                writer.write("  </testcase>\n");
+            }
+            writer.write("</testsuite>\n");
+        }
+    }
+
+    private String stackTrace(int testNumber) {
+        StringBuilder stackTrace = new StringBuilder("java.lang.AssertionError: test " + testNumber + "\n");
+        for (int frame = 0; frame < 30; frame++) {
+            stackTrace.append("\tat net.example.SomeClass.someMethod").append(frame).append("(SomeClass.java:").append(frame + 10).append(")\n");
+        }
+        return stackTrace.toString();
+    }
+}
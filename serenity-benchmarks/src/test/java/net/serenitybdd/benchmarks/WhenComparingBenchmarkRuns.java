@@ -0,0 +1,66 @@
+package net.serenitybdd.benchmarks;
+
+import com.google.gson.JsonParser;
+import net.serenitybdd.benchmarks.BenchmarkComparison.BenchmarkDelta;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WhenComparingBenchmarkRuns {
+
+    private static String result(String benchmark, String mode, double score, double allocation) {
+        return "{\"benchmark\":\"" + benchmark + "\",\"mode\":\"" + mode + "\",\"params\":{\"stepsPerTest\":\"10\"},"
+                + "\"primaryMetric\":{\"score\":" + score + ",\"scoreUnit\":\"ops/s\"},"
+                + "\"secondaryMetrics\":{\"gc.alloc.rate.norm\":{\"score\":" + allocation + ",\"scoreUnit\":\"B/op\"}}}";
+    }
+
+    private static BenchmarkComparison comparisonOf(String baseline, String current) {
+        return new BenchmarkComparison(
+                BenchmarkComparison.resultsFrom(JsonParser.parseString(baseline).getAsJsonArray()),
+                BenchmarkComparison.resultsFrom(JsonParser.parseString(current).getAsJsonArray()));
+    }
+
+    @Test
+    void should_report_throughput_and_allocation_changes() {
+        BenchmarkComparison comparison = comparisonOf(
+                "[" + result("a.Throughput", "thrpt", 100, 2000) + "]",
+                "[" + result("a.Throughput", "thrpt", 125, 1000) + "]");
+
+        List<BenchmarkDelta> deltas = comparison.getDeltas();
+
+        assertThat(deltas).hasSize(1);
+        assertThat(deltas.get(0).getName()).isEqualTo("a.Throughput[stepsPerTest=10]");
+        assertThat(deltas.get(0).getScoreImprovementPercent()).isCloseTo(25.0, within(0.001));
+        assertThat(deltas.get(0).getAllocationChangePercent()).hasValueSatisfying(change -> assertThat(change).isCloseTo(-50.0, within(0.001)));
+    }
+
+    @Test
+    void a_longer_average_time_should_count_as_a_regression() {
+        BenchmarkComparison comparison = comparisonOf(
+                "[" + result("a.AverageTime", "avgt", 10, 100) + "," + result("a.Stable", "thrpt", 10, 100) + "]",
+                "[" + result("a.AverageTime", "avgt", 12, 100) + "," + result("a.Stable", "thrpt", 10, 100) + "]");
+
+        assertThat(comparison.regressionsOver(10)).extracting(BenchmarkDelta::getName)
+                .containsExactly("a.AverageTime[stepsPerTest=10]");
+        assertThat(comparison.regressionsOver(25)).isEmpty();
+    }
+
+    @Test
+    void should_list_benchmarks_that_only_appear_in_one_run() {
+        BenchmarkComparison comparison = comparisonOf(
+                "[" + result("a.Removed", "thrpt", 10, 100) + "]",
+                "[" + result("a.Added", "thrpt", 10, 100) + "]");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        comparison.printTo(new PrintStream(output));
+
+        assertThat(comparison.getDeltas()).isEmpty();
+        assertThat(comparison.getUnmatchedBenchmarks()).containsExactly("a.Added[stepsPerTest=10]", "a.Removed[stepsPerTest=10]");
+        assertThat(output.toString()).contains("Only in one of the runs");
+    }
+}
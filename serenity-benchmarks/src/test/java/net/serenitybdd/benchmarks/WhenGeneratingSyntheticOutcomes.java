@@ -0,0 +1,52 @@
+package net.serenitybdd.benchmarks;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WhenGeneratingSyntheticOutcomes {
+
+    @Test
+    void the_same_seed_should_always_produce_the_same_outcomes() {
+        List<TestOutcome> firstRun = SyntheticOutcomes.withSeed(42).generate(50);
+        List<TestOutcome> secondRun = SyntheticOutcomes.withSeed(42).generate(50);
+
+        assertThat(summaryOf(secondRun)).isEqualTo(summaryOf(firstRun));
+    }
+
+    @Test
+    void outcomes_should_have_the_requested_steps_tags_and_screenshots() {
+        List<TestOutcome> outcomes = SyntheticOutcomes.withSeed(1)
+                .withStepsPerTest(7)
+                .withTagsPerTest(2)
+                .withScreenshotsPerStep(2)
+                .withFailureRate(0)
+                .generate(10);
+
+        assertThat(outcomes).hasSize(10);
+        assertThat(outcomes).allSatisfy(outcome -> {
+            assertThat(outcome.getTestSteps()).hasSize(7);
+            assertThat(outcome.getScreenshots()).hasSize(14);
+            assertThat(outcome.getTags().size()).isBetween(2, 3);
+            assertThat(outcome.getResult()).isEqualTo(TestResult.SUCCESS);
+        });
+    }
+
+    @Test
+    void the_failure_rate_should_control_how_many_outcomes_fail() {
+        List<TestOutcome> outcomes = SyntheticOutcomes.withSeed(1).withFailureRate(1).generate(10);
+
+        assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome.getResult()).isEqualTo(TestResult.FAILURE));
+    }
+
+    private List<String> summaryOf(List<TestOutcome> outcomes) {
+        return outcomes.stream()
+                .map(outcome -> outcome.getName() + "|" + outcome.getResult() + "|" + outcome.getDuration() + "|" + outcome.getTags())
+                .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,8 @@
 package net.serenitybdd.cli;
 
+import net.serenitybdd.cli.reporters.CLIMergedShardsReportGenerator;
+import net.serenitybdd.cli.reporters.CLIPartialAggregateWriter;
+import net.serenitybdd.cli.reporters.CLIWatchModeReportGenerator;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
@@ -8,6 +11,7 @@ import org.kohsuke.args4j.OptionHandlerFilter;
 import java.io.PrintWriter;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 public class Serenity {
 
@@ -72,6 +76,34 @@ public class Serenity {
             metaVar = "<string>")
     String tags;
 
+    @Option(name = "--watch",
+            usage = "Keep the report up to date while the tests are running, then generate the full report once no new test outcomes appear")
+    boolean watch;
+
+    @Option(name = "--watchDebounce",
+            usage = "In watch mode, how long to wait for further test outcomes before refreshing the report (defaults to 2000 ms)",
+            metaVar = "<milliseconds>")
+    long watchDebounce = 2000;
+
+    @Option(name = "--watchMaxPages",
+            usage = "In watch mode, the maximum number of test outcome pages to rewrite in each refresh (defaults to 100)",
+            metaVar = "<number>")
+    int watchMaxPages = 100;
+
+    @Option(name = "--watchIdleTimeout",
+            usage = "In watch mode, stop watching once no new test outcomes have appeared for this long (defaults to 600 seconds)",
+            metaVar = "<seconds>")
+    long watchIdleTimeout = 600;
+
+    @Option(name = "--shard",
+            usage = "Also write a partial aggregate of the test outcomes in the source directory, for this shard of a multi-node test run",
+            metaVar = "<string>")
+    String shard;
+
+    @Option(name = "--mergeShards",
+            usage = "Merge the partial aggregates found in the shard directories under the source directory, and generate a summary of the whole test run instead of the full report")
+    boolean mergeShards;
+
 
     private final PrintWriter printWriter;
 
@@ -113,6 +145,25 @@ public class Serenity {
                 jiraUrl, jiraProject, jiraUsername, jiraPassword, jiraWorkflowActive, jiraWorkflow,
                 requirementsDirectory.toAbsolutePath().toFile().toString(), tags);
 
+        if (watch) {
+            reporter.watchBeforeReportingWith(new CLIWatchModeReportGenerator(destination,
+                    (project != null) ? project : workingDirectoryName(),
+                    issueTrackerUrl,
+                    requirementsDirectory.toAbsolutePath().toFile().toString(),
+                    Duration.ofMillis(watchDebounce),
+                    watchMaxPages,
+                    Duration.ofSeconds(watchIdleTimeout)));
+        }
+
+        if (shard != null) {
+            reporter.writePartialAggregateWith(new CLIPartialAggregateWriter(shard));
+        }
+
+        if (mergeShards) {
+            reporter.reportOnMergedShardsWith(new CLIMergedShardsReportGenerator(destination,
+                    (project != null) ? project : workingDirectoryName()));
+        }
+
         reporter.execute();
 
     }
@@ -41,6 +41,28 @@ public class SerenityCLIReportCoordinator {
     }
 
 
+    /**
+     * Keep a live report up to date while the tests are running, before generating the full reports.
+     */
+    public void watchBeforeReportingWith(CLIReportGenerator liveReportGenerator) {
+        reportGenerators.add(0, liveReportGenerator);
+    }
+
+    /**
+     * Also write a partial aggregate of the test outcomes, once the reports have been generated.
+     */
+    public void writePartialAggregateWith(CLIReportGenerator partialAggregateWriter) {
+        reportGenerators.add(partialAggregateWriter);
+    }
+
+    /**
+     * Generate the merged summary of a sharded test run instead of the full reports.
+     */
+    public void reportOnMergedShardsWith(CLIReportGenerator mergedShardsReportGenerator) {
+        reportGenerators.clear();
+        reportGenerators.add(mergedShardsReportGenerator);
+    }
+
     public void execute() {
         try {
 
@@ -0,0 +1,34 @@
+package net.serenitybdd.cli.reporters;
+
+import net.serenitybdd.model.aggregates.PartialAggregate;
+import net.thucydides.core.reports.html.HtmlAggregateStoryReporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Merges the partial aggregates found in the shard directories under the source directory, and generates the
+ * summary pages for the whole test run from them.
+ */
+public class CLIMergedShardsReportGenerator implements CLIReportGenerator {
+
+    private final Path destinationDirectory;
+    private final String project;
+
+    public CLIMergedShardsReportGenerator(Path destinationDirectory, String project) {
+        this.destinationDirectory = destinationDirectory;
+        this.project = project;
+    }
+
+    @Override
+    public void generateReportsFrom(Path sourceDirectory) throws IOException {
+        List<Path> shardDirectories = PartialAggregate.shardDirectoriesIn(sourceDirectory);
+        if (shardDirectories.isEmpty()) {
+            throw new IOException("No partial aggregates found under " + sourceDirectory);
+        }
+        HtmlAggregateStoryReporter reporter = new HtmlAggregateStoryReporter(project);
+        reporter.setOutputDirectory(destinationDirectory.toFile());
+        reporter.generateReportsForMergedShards(PartialAggregate.mergeFrom(shardDirectories));
+    }
+}
@@ -0,0 +1,30 @@
+package net.serenitybdd.cli.reporters;
+
+import net.serenitybdd.model.aggregates.PartialAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes a partial aggregate of the test outcomes in the source directory, so that the results of this shard of a
+ * multi-node test run can later be merged with those of the other shards.
+ */
+public class CLIPartialAggregateWriter implements CLIReportGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CLIPartialAggregateWriter.class);
+
+    private final String shard;
+
+    public CLIPartialAggregateWriter(String shard) {
+        this.shard = shard;
+    }
+
+    @Override
+    public void generateReportsFrom(Path sourceDirectory) throws IOException {
+        PartialAggregate aggregate = PartialAggregate.recordFor(shard, sourceDirectory);
+        LOGGER.info("Partial aggregate for shard {} written to {} ({} test outcomes)",
+                shard, sourceDirectory, aggregate.getResults().getTotal());
+    }
+}
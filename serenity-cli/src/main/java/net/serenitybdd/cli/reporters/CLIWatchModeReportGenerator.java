@@ -0,0 +1,202 @@
+package net.serenitybdd.cli.reporters;
+
+import net.thucydides.core.reports.html.HtmlAggregateStoryReporter;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.reports.TestOutcomeLoader;
+import net.thucydides.model.reports.TestOutcomes;
+import net.thucydides.model.requirements.Requirements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a report up to date while the tests are still running, by watching the source directory for new or updated
+ * test outcome files. Each outcome is added to an in-memory aggregate as soon as it appears. Once no new outcomes have
+ * appeared for the debounce period, the summary pages and the pages of the new outcomes are rewritten, up to a
+ * maximum number of outcome pages per refresh. Watching stops once no new outcomes have appeared for the idle timeout.
+ */
+public class CLIWatchModeReportGenerator implements CLIReportGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CLIWatchModeReportGenerator.class);
+
+    private final HtmlAggregateStoryReporter reporter;
+    private final TestOutcomeLoader outcomeLoader = new TestOutcomeLoader();
+    private final Duration debounce;
+    private final int maxOutcomePagesPerRefresh;
+    private final Duration idleTimeout;
+
+    private final Map<Path, FileSignature> knownFiles = new HashMap<>();
+    private final Map<Path, TestOutcome> outcomes = new LinkedHashMap<>();
+    private final Map<Path, Long> pendingOutcomes = new LinkedHashMap<>();
+    private final List<LiveReportRefresh> refreshes = new ArrayList<>();
+    private long lastChangeNoticed = System.nanoTime();
+
+    public CLIWatchModeReportGenerator(Path destinationDirectory,
+                                       String project,
+                                       String issueTrackerUrl,
+                                       String requirementsDirectory,
+                                       Duration debounce,
+                                       int maxOutcomePagesPerRefresh,
+                                       Duration idleTimeout) {
+        Requirements requirements = RequirementsStrategy.forDirectory(requirementsDirectory);
+        this.reporter = new HtmlAggregateStoryReporter(project, requirements);
+        this.reporter.setOutputDirectory(destinationDirectory.toFile());
+        this.reporter.setIssueTrackerUrl(issueTrackerUrl);
+        this.debounce = debounce;
+        this.maxOutcomePagesPerRefresh = Math.max(1, maxOutcomePagesPerRefresh);
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void generateReportsFrom(Path sourceDirectory) throws IOException {
+        LOGGER.info("Watching {} for new test outcomes", sourceDirectory);
+        long pollIntervalInMillis = Math.max(10, Math.min(debounce.toMillis() / 4, 500));
+        while (!Thread.currentThread().isInterrupted()) {
+            pollForChanges(sourceDirectory);
+            refreshIfDue();
+            if (pendingOutcomes.isEmpty() && System.nanoTime() - lastChangeNoticed > idleTimeout.toNanos()) {
+                break;
+            }
+            try {
+                Thread.sleep(pollIntervalInMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        while (!pendingOutcomes.isEmpty()) {
+            refresh();
+        }
+        LOGGER.info("Stopped watching {}: {} outcomes in {} refreshes", sourceDirectory, outcomes.size(), refreshes.size());
+    }
+
+    /**
+     * Reads any test outcome files that have appeared or changed since the last time the directory was checked.
+     *
+     * @return the number of new or updated test outcomes
+     */
+    public int pollForChanges(Path sourceDirectory) {
+        List<Path> changedFiles = changedOutcomeFilesIn(sourceDirectory);
+        int changedOutcomes = 0;
+        for (Path changedFile : changedFiles) {
+            // A file that is still being written cannot be read yet; it will be read again when it next changes
+            Optional<TestOutcome> outcome = outcomeLoader.loadFrom(Collections.singletonList(changedFile)).stream().findFirst();
+            if (outcome.isPresent()) {
+                outcomes.put(changedFile, outcome.get());
+                pendingOutcomes.putIfAbsent(changedFile, System.nanoTime());
+                changedOutcomes++;
+            }
+        }
+        if (changedOutcomes > 0) {
+            lastChangeNoticed = System.nanoTime();
+        }
+        return changedOutcomes;
+    }
+
+    /**
+     * Refreshes the report if there are new outcomes and none have appeared for the debounce period, or if the oldest
+     * new outcome has been waiting for more than four debounce periods.
+     */
+    public Optional<LiveReportRefresh> refreshIfDue() {
+        if (pendingOutcomes.isEmpty()) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        long oldestPendingOutcome = pendingOutcomes.values().iterator().next();
+        boolean quietForDebouncePeriod = now - lastChangeNoticed >= debounce.toNanos();
+        boolean waitedTooLong = now - oldestPendingOutcome >= debounce.toNanos() * 4;
+        if (quietForDebouncePeriod || waitedTooLong) {
+            return Optional.of(refresh());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The refreshes done so far, oldest first.
+     */
+    public List<LiveReportRefresh> getRefreshes() {
+        return new ArrayList<>(refreshes);
+    }
+
+    public TestOutcomes getTestOutcomes() {
+        return TestOutcomes.of(outcomes.values());
+    }
+
+    private LiveReportRefresh refresh() {
+        List<Path> refreshedFiles = pendingOutcomes.keySet().stream()
+                .limit(maxOutcomePagesPerRefresh)
+                .collect(Collectors.toList());
+        long oldestRefreshedOutcome = pendingOutcomes.get(refreshedFiles.get(0));
+        List<TestOutcome> refreshedOutcomes = refreshedFiles.stream().map(outcomes::get).collect(Collectors.toList());
+        refreshedFiles.forEach(pendingOutcomes::remove);
+
+        long refreshStart = System.nanoTime();
+        long pagesWritten = reporter.generateLiveReportsFor(getTestOutcomes(), refreshedOutcomes);
+        long refreshEnd = System.nanoTime();
+
+        LiveReportRefresh refresh = new LiveReportRefresh(refreshedOutcomes.size(),
+                pagesWritten,
+                pendingOutcomes.size(),
+                Duration.ofNanos(refreshEnd - oldestRefreshedOutcome),
+                Duration.ofNanos(refreshEnd - refreshStart));
+        refreshes.add(refresh);
+        LOGGER.info("Live report refreshed: {}", refresh);
+        return refresh;
+    }
+
+    private List<Path> changedOutcomeFilesIn(Path sourceDirectory) {
+        if (!Files.isDirectory(sourceDirectory)) {
+            return Collections.emptyList();
+        }
+        List<Path> changedFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(sourceDirectory)) {
+            files.filter(outcomeLoader::isATestOutcomeFile).sorted().forEach(file -> {
+                FileSignature signature = FileSignature.of(file);
+                if (signature != null && !signature.equals(knownFiles.put(file, signature))) {
+                    changedFiles.add(file);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test outcomes from " + sourceDirectory, e);
+        }
+        return changedFiles;
+    }
+
+    private static class FileSignature {
+        private final long lastModified;
+        private final long size;
+
+        private FileSignature(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        static FileSignature of(Path file) {
+            try {
+                return new FileSignature(Files.getLastModifiedTime(file).toMillis(), Files.size(file));
+            } catch (IOException fileWasRemoved) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof FileSignature)) return false;
+            FileSignature that = (FileSignature) other;
+            return lastModified == that.lastModified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.serenitybdd.cli.reporters;
+
+import java.time.Duration;
+
+/**
+ * What happened during one refresh of a live report in watch mode.
+ */
+public class LiveReportRefresh {
+
+    private final int refreshedOutcomes;
+    private final long pagesWritten;
+    private final int pendingOutcomes;
+    private final Duration latency;
+    private final Duration refreshTime;
+
+    LiveReportRefresh(int refreshedOutcomes, long pagesWritten, int pendingOutcomes, Duration latency, Duration refreshTime) {
+        this.refreshedOutcomes = refreshedOutcomes;
+        this.pagesWritten = pagesWritten;
+        this.pendingOutcomes = pendingOutcomes;
+        this.latency = latency;
+        this.refreshTime = refreshTime;
+    }
+
+    /**
+     * The number of new or updated test outcomes whose pages were rewritten.
+     */
+    public int getRefreshedOutcomes() {
+        return refreshedOutcomes;
+    }
+
+    /**
+     * The number of report pages written: the pages of each refreshed test outcome, the text summary, and the home
+     * page and the other aggregate summary pages.
+     */
+    public long getPagesWritten() {
+        return pagesWritten;
+    }
+
+    /**
+     * The number of changed test outcomes left for a later refresh because they did not fit in this one.
+     */
+    public int getPendingOutcomes() {
+        return pendingOutcomes;
+    }
+
+    /**
+     * The time between the oldest refreshed test outcome file being noticed and the refresh finishing.
+     */
+    public Duration getLatency() {
+        return latency;
+    }
+
+    /**
+     * The time spent writing the report pages.
+     */
+    public Duration getRefreshTime() {
+        return refreshTime;
+    }
+
+    @Override
+    public String toString() {
+        return pagesWritten + " pages written for " + refreshedOutcomes + " outcomes in " + refreshTime.toMillis()
+                + " ms (latency " + latency.toMillis() + " ms, " + pendingOutcomes + " outcomes pending)";
+    }
+}
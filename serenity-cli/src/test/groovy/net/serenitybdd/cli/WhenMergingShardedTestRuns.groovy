@@ -0,0 +1,49 @@
+package net.serenitybdd.cli
+
+import net.serenitybdd.model.aggregates.PartialAggregate
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class WhenMergingShardedTestRuns extends Specification {
+
+    static final List<Path> SAMPLE_OUTCOMES = Files.list(Paths.get("src/test/resources/test-outcomes")).withCloseable { files ->
+        files.filter { it.fileName.toString().endsWith(".json") }.sorted().collect()
+    }
+
+    Path runDirectory = Files.createTempDirectory("sharded-run")
+    Path outputDirectory = Files.createTempDirectory("merged-report")
+
+    def "should write a partial aggregate for each shard and merge them into a summary of the whole run"() {
+        given:
+            def shardDirectories = (0..1).collect { shard ->
+                def shardDirectory = Files.createDirectories(runDirectory.resolve("agent-$shard"))
+                SAMPLE_OUTCOMES.findAll { SAMPLE_OUTCOMES.indexOf(it) % 2 == shard }.each {
+                    Files.copy(it, shardDirectory.resolve(it.fileName.toString()))
+                }
+                shardDirectory
+            }
+        when: "each shard reports on its own outcomes"
+            shardDirectories.eachWithIndex { shardDirectory, shard ->
+                new Serenity().executeWith("--source", shardDirectory.toAbsolutePath().toString(),
+                        "--destination", shardDirectory.resolve("report").toAbsolutePath().toString(),
+                        "--shard", "agent-$shard")
+            }
+        then:
+            shardDirectories.every { Files.exists(it.resolve(PartialAggregate.FILE_NAME)) }
+        when: "the shards are merged"
+            new Serenity().executeWith("--source", runDirectory.toAbsolutePath().toString(),
+                    "--destination", outputDirectory.toAbsolutePath().toString(),
+                    "--project", "Sharded project",
+                    "--mergeShards")
+        then:
+            def merged = PartialAggregate.readFrom(outputDirectory)
+            merged.shards == ["agent-0", "agent-1"]
+            merged.results.total == SAMPLE_OUTCOMES.size()
+        and:
+            Files.readString(outputDirectory.resolve("index.html")).contains("Sharded project")
+            Files.readString(outputDirectory.resolve("summary.txt")).contains("${SAMPLE_OUTCOMES.size()}")
+    }
+}
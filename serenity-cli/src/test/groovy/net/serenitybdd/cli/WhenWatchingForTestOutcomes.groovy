@@ -0,0 +1,123 @@
+package net.serenitybdd.cli
+
+import net.serenitybdd.cli.reporters.CLIWatchModeReportGenerator
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.Duration
+
+class WhenWatchingForTestOutcomes extends Specification {
+
+    static final List<Path> SAMPLE_OUTCOMES = Files.list(Paths.get("src/test/resources/test-outcomes")).withCloseable { files ->
+        files.filter { it.fileName.toString().endsWith(".json") }.sorted().collect()
+    }
+
+    Path sourceDirectory = Files.createTempDirectory("outcomes")
+    Path outputDirectory = Files.createTempDirectory("reports")
+
+    def "should refresh the summary and the new outcome pages once no new outcomes have appeared for a while"() {
+        given:
+            def watcher = watcher(Duration.ofMillis(200), 100)
+        when:
+            arrive(SAMPLE_OUTCOMES[0..4])
+        then:
+            watcher.pollForChanges(sourceDirectory) == 5
+            !watcher.refreshIfDue().isPresent()
+        when:
+            sleep(250)
+            def refresh = watcher.refreshIfDue().get()
+        then:
+            refresh.refreshedOutcomes == 5
+            refresh.pagesWritten == 5 + 3
+            refresh.pendingOutcomes == 0
+            refresh.latency >= Duration.ofMillis(200)
+            Files.exists(outputDirectory.resolve("index.html"))
+            watcher.testOutcomes.outcomes.every { Files.exists(outputDirectory.resolve(it.htmlReport)) }
+        when: "more outcomes arrive"
+            arrive(SAMPLE_OUTCOMES[5..7])
+            watcher.pollForChanges(sourceDirectory)
+            sleep(250)
+            def nextRefresh = watcher.refreshIfDue().get()
+        then: "only their pages and the summary pages are rewritten, one of them with a screenshots page"
+            nextRefresh.refreshedOutcomes == 3
+            nextRefresh.pagesWritten == 3 + 1 + 3
+            watcher.testOutcomes.outcomes.size() == 8
+        and:
+            watcher.refreshes.size() == 2
+    }
+
+    def "should not rewrite more outcome pages in a refresh than the refresh budget allows"() {
+        given:
+            def watcher = watcher(Duration.ZERO, 2)
+            arrive(SAMPLE_OUTCOMES[0..4])
+            watcher.pollForChanges(sourceDirectory)
+        when:
+            def refreshes = (1..4).collect { watcher.refreshIfDue() }.findAll { it.isPresent() }*.get()
+        then:
+            refreshes*.refreshedOutcomes == [2, 2, 1]
+            refreshes*.pendingOutcomes == [3, 1, 0]
+        and: "each refresh shows all of the outcomes seen so far in the summary"
+            watcher.testOutcomes.outcomes.size() == 5
+    }
+
+    def "should read an outcome file that was still being written once it is complete"() {
+        given:
+            def watcher = watcher(Duration.ZERO, 100)
+            def outcomeFile = sourceDirectory.resolve(SAMPLE_OUTCOMES[0].fileName.toString())
+            def content = Files.readString(SAMPLE_OUTCOMES[0])
+        when:
+            Files.writeString(outcomeFile, content.substring(0, content.length() / 2 as int))
+        then:
+            watcher.pollForChanges(sourceDirectory) == 0
+        when:
+            Files.writeString(outcomeFile, content)
+        then:
+            watcher.pollForChanges(sourceDirectory) == 1
+        and: "unchanged files are not read again"
+            watcher.pollForChanges(sourceDirectory) == 0
+    }
+
+    def "should keep refreshing the report while outcomes arrive and stop once they no longer do"() {
+        given:
+            def watcher = watcher(Duration.ofMillis(100), 4)
+            def testRun = Thread.start {
+                SAMPLE_OUTCOMES.each {
+                    arrive([it])
+                    sleep(40)
+                }
+            }
+        when:
+            watcher.generateReportsFrom(sourceDirectory)
+            testRun.join()
+        then:
+            watcher.testOutcomes.outcomes.size() == SAMPLE_OUTCOMES.size()
+            watcher.refreshes.size() > 1
+            watcher.refreshes.sum { it.refreshedOutcomes } == SAMPLE_OUTCOMES.size()
+            watcher.refreshes.every { it.refreshedOutcomes <= 4 }
+            Files.exists(outputDirectory.resolve("index.html"))
+    }
+
+    def "should generate the full report after watching from the command line"() {
+        given:
+            arrive(SAMPLE_OUTCOMES)
+        when:
+            new Serenity().executeWith("--source", sourceDirectory.toAbsolutePath().toString(),
+                    "--destination", outputDirectory.toAbsolutePath().toString(),
+                    "--watch", "--watchDebounce", "50", "--watchIdleTimeout", "1")
+        then:
+            Files.exists(outputDirectory.resolve("index.html"))
+            outputDirectory.toFile().list().any { it.startsWith("tag_") || it.startsWith("capabilities") }
+    }
+
+    private CLIWatchModeReportGenerator watcher(Duration debounce, int maxPages) {
+        new CLIWatchModeReportGenerator(outputDirectory, "Watched project", null,
+                Paths.get("src/test/resources/features").toAbsolutePath().toString(),
+                debounce, maxPages, Duration.ofMillis(500))
+    }
+
+    private void arrive(List<Path> outcomes) {
+        outcomes.each { Files.copy(it, sourceDirectory.resolve(it.fileName.toString())) }
+    }
+}
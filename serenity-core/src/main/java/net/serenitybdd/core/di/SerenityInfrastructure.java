@@ -48,7 +48,7 @@ public class SerenityInfrastructure {
 
     private static final FixtureProviderService fixtureProviderService = new ClasspathFixtureProviderService();
 
-    private static final ThreadLocal<ConsoleLoggingListener> consoleLoggingListener = ThreadLocal.withInitial(() -> new ConsoleLoggingListener(getEnvironmentVariables()));
+    private static final ThreadLocal<StepListener> consoleLoggingListener = ThreadLocal.withInitial(() -> ConsoleLoggingListener.configuredIn(getEnvironmentVariables()));
 
     private static final ThreadLocal<Formatter> formatter = ThreadLocal.withInitial(() -> new Formatter(getEnvironmentVariables()));
 
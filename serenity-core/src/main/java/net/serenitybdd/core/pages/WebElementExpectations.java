@@ -51,6 +51,26 @@ public class WebElementExpectations {
         }.forElement(element);
     }
 
+    public static ExpectedCondition<Boolean> elementContainsText(final WebElementFacade element, final String expectedText) {
+        return new ExpectedCondition<Boolean>() {
+            private WebElementFacade element;
+            public ExpectedCondition<Boolean> forElement(WebElementFacade element) {
+                this.element = element;
+                return this;
+            }
+
+            public Boolean apply(WebDriver driver) {
+                return element.isCurrentlyVisible() && element.containsText(expectedText);
+            }
+
+            @Override
+            public String toString() {
+                return element.toString() + " to contain the text '" + expectedText + "'";
+            }
+
+        }.forElement(element);
+    }
+
     public static ExpectedCondition<Boolean> elementIsEnabled(final WebElementFacadeImpl element) {
         return new ExpectedCondition<Boolean>() {
             private WebElementFacadeImpl element;
@@ -110,6 +110,11 @@ public interface WebElementFacade extends WebElement, WrapsElement, WebElementSt
 
     <T extends WebElementFacade> T waitUntilPresent();
 
+    /**
+     * Wait for the element to be visible and to contain the given text.
+     */
+    <T extends WebElementFacade> T waitUntilTextContains(String expectedText);
+
     Wait<WebDriver> waitForCondition();
 
     <T extends WebElementFacade> T waitUntilNotVisible();
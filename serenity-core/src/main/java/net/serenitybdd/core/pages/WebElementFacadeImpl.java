@@ -3,6 +3,7 @@ package net.serenitybdd.core.pages;
 import com.google.common.base.Splitter;
 import net.serenitybdd.core.Serenity;
 import net.serenitybdd.core.SystemTimeouts;
+import net.serenitybdd.core.pages.waits.*;
 import net.serenitybdd.model.time.InternalSystemClock;
 import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.core.annotations.locators.MethodTiming;
@@ -32,6 +33,7 @@ import java.time.Duration;
 import java.time.temporal.TemporalUnit;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static net.serenitybdd.core.pages.ParameterisedLocator.withArguments;
@@ -366,7 +368,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
             }
 
             if (shouldWaitForResult()) {
-                return waitForCondition().until(ExpectedConditions.visibilityOf(element)).isDisplayed();
+                return waitUntil(WaitCondition.VISIBLE, ExpectedConditions.visibilityOf(element)).isDisplayed();
             } else {
                 return element.isDisplayed();
             }
@@ -690,7 +692,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
 
         if (shouldWaitForResult()) {
             try {
-                waitForCondition().until(webDriver -> getElement().isEnabled());
+                waitUntil(WaitCondition.ENABLED, webDriver -> getElement().isEnabled());
             } catch (TimeoutException timeout) {
                 return false;
             }
@@ -716,7 +718,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
     public boolean isClickable() {
         try {
             if (!driverIsDisabled() && shouldWaitForResult() && getElement() != null) {
-                waitForCondition().until(elementToBeClickable(getElement()));
+                waitUntil(WaitCondition.CLICKABLE, elementToBeClickable(getElement()));
                 return true;
             }
         } catch (ElementNotInteractableException | NoSuchElementException | StaleElementReferenceException | TimeoutException e) {
@@ -981,7 +983,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
     private void checkPresenceOfWebElement() {
         try {
             if (!driverIsDisabled() && shouldWaitForResult()) {
-                waitForCondition().until(elementIsDisplayed(this));
+                waitInThePageUntil(WaitCondition.VISIBLE, elementIsDisplayed(this), null);
             }
         } catch (Throwable error) {
             if (webElement != null) {
@@ -1002,7 +1004,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
     public WebElementFacade waitUntilPresent() {
         try {
             if (!driverIsDisabled()) {
-                waitForCondition().until(WebElementExpectations.elementIsPresent(this));
+                waitInThePageUntil(WaitCondition.PRESENT, WebElementExpectations.elementIsPresent(this), null);
             }
         } catch (TimeoutException timeout) {
             throwShouldBePresentErrorWithCauseIfPresent(timeout, timeout.getMessage());
@@ -1045,7 +1047,91 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
 
     @Override
     public Wait<WebDriver> waitForCondition() {
-        return new FluentWait<>(driver, webdriverClock, sleeper).withTimeout(Duration.ofMillis(waitForTimeoutInMilliseconds)).pollingEvery(Duration.ofMillis(WAIT_FOR_ELEMENT_PAUSE_LENGTH)).ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+        return waitForCondition(waitStrategy(), Duration.ofMillis(waitForTimeoutInMilliseconds), Duration.ZERO);
+    }
+
+    private Wait<WebDriver> waitForCondition(WaitStrategy strategy, Duration timeout, Duration alreadyWaited) {
+        if (strategy.pollsAdaptively()) {
+            return new AdaptiveWait<>(driver, timeout, AdaptivePolling.definedIn(environmentVariables), webdriverClock, sleeper)
+                    .reportingATimeoutOf(alreadyWaited.plus(timeout))
+                    .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+        }
+        return new FluentWait<>(driver, webdriverClock, sleeper).withTimeout(timeout).pollingEvery(Duration.ofMillis(WAIT_FOR_ELEMENT_PAUSE_LENGTH)).ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+    }
+
+    private WaitStrategy waitStrategy() {
+        return WaitStrategy.definedIn(environmentVariables);
+    }
+
+    private <V> V waitUntil(WaitCondition condition, Function<? super WebDriver, V> expectation) {
+        return waitUntil(condition, waitStrategy(), expectation, Duration.ofMillis(waitForTimeoutInMilliseconds), Duration.ZERO);
+    }
+
+    /**
+     * Wait for a condition, recording how long the wait took (including any time already spent waiting in the page).
+     */
+    private <V> V waitUntil(WaitCondition condition, WaitStrategy strategy, Function<? super WebDriver, V> expectation,
+                            Duration timeout, Duration alreadyWaited) {
+        long startTime = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return waitForCondition(strategy, timeout, alreadyWaited).until(expectation);
+        } catch (TimeoutException timeoutException) {
+            timedOut = true;
+            throw timeoutException;
+        } finally {
+            WaitTimes.record(condition, strategy, alreadyWaited.plusNanos(System.nanoTime() - startTime), timedOut, false);
+        }
+    }
+
+    /**
+     * With the observer wait strategy, wait for visibility, presence or text inside the page, and confirm the result
+     * with WebDriver. Otherwise, or if the page cannot wait for the condition, poll for the rest of the timeout.
+     */
+    private void waitInThePageUntil(WaitCondition condition, ExpectedCondition<Boolean> expectation, String expectedText) {
+        WaitStrategy strategy = waitStrategy();
+        Duration timeout = Duration.ofMillis(waitForTimeoutInMilliseconds);
+        if (strategy != WaitStrategy.OBSERVER || !DomMutationWait.canWaitFor(driver, searchContext(), condition, bySelector)) {
+            waitUntil(condition, strategy, expectation, timeout, Duration.ZERO);
+            return;
+        }
+        long startTime = System.nanoTime();
+        boolean metInThePage = DomMutationWait.waitFor(driver, searchContext(), condition, bySelector, expectedText, timeout).orElse(false);
+        Duration waitedInThePage = Duration.ofNanos(System.nanoTime() - startTime);
+        if (metInThePage && isMet(expectation)) {
+            WaitTimes.record(condition, strategy, waitedInThePage, false, true);
+            return;
+        }
+        Duration remaining = timeout.minus(waitedInThePage);
+        waitUntil(condition, strategy, expectation, remaining.isNegative() ? Duration.ZERO : remaining, waitedInThePage);
+    }
+
+    /**
+     * Where this element is looked for: elements located by a By selector are resolved from the driver
+     * (see {@link WebElementResolver#by(By)}).
+     */
+    private SearchContext searchContext() {
+        return driver;
+    }
+
+    private boolean isMet(ExpectedCondition<Boolean> expectation) {
+        try {
+            return Boolean.TRUE.equals(expectation.apply(driver));
+        } catch (WebDriverException notYetMet) {
+            return false;
+        }
+    }
+
+    @Override
+    public WebElementFacade waitUntilTextContains(String expectedText) {
+        try {
+            if (driverIsActive()) {
+                waitInThePageUntil(WaitCondition.TEXT, elementContainsText(this, expectedText), expectedText);
+            }
+        } catch (TimeoutException timeout) {
+            throw new ElementShouldContainTextException(String.format("Expected text '%s' was not found in %s", expectedText, this), timeout);
+        }
+        return this;
     }
 
     @Override
@@ -1059,7 +1145,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
         }
 
         try {
-            waitForCondition().until(elementIsNotDisplayed(this));
+            waitUntil(WaitCondition.NOT_VISIBLE, elementIsNotDisplayed(this));
         } catch (TimeoutException timeout) {
             throwShouldBeInvisibleErrorWithCauseIfPresent(timeout, "Expected hidden element was displayed");
         }
@@ -1114,7 +1200,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
     public WebElementFacade waitUntilEnabled() {
         try {
             if (driverIsActive()) {
-                waitForCondition().until(elementIsEnabled(this));
+                waitUntil(WaitCondition.ENABLED, elementIsEnabled(this));
             }
         } catch (TimeoutException timeout) {
             throw new ElementShouldBeEnabledException("Expected enabled element was not enabled", timeout);
@@ -1126,7 +1212,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
     public WebElementFacade waitUntilClickable() {
         try {
             if (driverIsActive()) {
-                waitForCondition().until(elementIsClickable(this));
+                waitUntil(WaitCondition.CLICKABLE, elementIsClickable(this));
             }
         } catch (TimeoutException timeout) {
             throw new ElementShouldBeEnabledException("Expected enabled element was not enabled", timeout);
@@ -1138,7 +1224,7 @@ public class WebElementFacadeImpl implements WebElementFacade, net.thucydides.co
     public WebElementFacade waitUntilDisabled() {
         try {
             if (driverIsActive()) {
-                waitForCondition().until(elementIsNotEnabled(this));
+                waitUntil(WaitCondition.DISABLED, elementIsNotEnabled(this));
             }
         } catch (TimeoutException timeout) {
             throw new ElementShouldBeDisabledException("Expected disabled element was not disabled", timeout);
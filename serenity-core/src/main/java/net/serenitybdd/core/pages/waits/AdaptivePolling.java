@@ -0,0 +1,51 @@
+package net.serenitybdd.core.pages.waits;
+
+import net.thucydides.model.util.EnvironmentVariables;
+
+import java.time.Duration;
+
+import static net.thucydides.model.ThucydidesSystemProperty.WEBDRIVER_WAIT_POLLING_MAX;
+
+/**
+ * A polling schedule that starts with a short interval and doubles it after each poll, up to a maximum interval.
+ * Conditions that are met quickly are therefore noticed quickly, while slow conditions are not polled more often
+ * than they would be with a fixed interval.
+ */
+public class AdaptivePolling {
+
+    static final Duration INITIAL_INTERVAL = Duration.ofMillis(10);
+    static final int DEFAULT_MAXIMUM_INTERVAL_IN_MILLIS = 250;
+
+    private final long initialIntervalInMillis;
+    private final long maximumIntervalInMillis;
+
+    private AdaptivePolling(Duration initialInterval, Duration maximumInterval) {
+        this.initialIntervalInMillis = Math.max(1, initialInterval.toMillis());
+        this.maximumIntervalInMillis = Math.max(initialIntervalInMillis, maximumInterval.toMillis());
+    }
+
+    public static AdaptivePolling upTo(Duration maximumInterval) {
+        return new AdaptivePolling(INITIAL_INTERVAL, maximumInterval);
+    }
+
+    public static AdaptivePolling definedIn(EnvironmentVariables environmentVariables) {
+        return upTo(Duration.ofMillis(WEBDRIVER_WAIT_POLLING_MAX.integerFrom(environmentVariables, DEFAULT_MAXIMUM_INTERVAL_IN_MILLIS)));
+    }
+
+    public AdaptivePolling startingAt(Duration initialInterval) {
+        return new AdaptivePolling(initialInterval, getMaximumInterval());
+    }
+
+    /**
+     * How long to wait after the given number of previous polls (starting at 0).
+     */
+    public Duration intervalAfter(int previousPolls) {
+        int doublings = Math.min(Math.max(previousPolls, 0), 30);
+        long interval = initialIntervalInMillis << doublings;
+        return Duration.ofMillis((interval <= 0 || interval > maximumIntervalInMillis) ? maximumIntervalInMillis : interval);
+    }
+
+    public Duration getMaximumInterval() {
+        return Duration.ofMillis(maximumIntervalInMillis);
+    }
+}
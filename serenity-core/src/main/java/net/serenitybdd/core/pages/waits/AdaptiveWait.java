@@ -0,0 +1,110 @@
+package net.serenitybdd.core.pages.waits;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A wait that works like a FluentWait, but polls according to an {@link AdaptivePolling} schedule rather than at a
+ * fixed interval. The condition is always checked at least once, and once more when the timeout expires.
+ */
+public class AdaptiveWait<T> implements Wait<T> {
+
+    private final T input;
+    private final Duration timeout;
+    private final AdaptivePolling polling;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final List<Class<? extends Throwable>> ignoredExceptions = new ArrayList<>();
+    private Duration reportedTimeout;
+
+    public AdaptiveWait(T input, Duration timeout, AdaptivePolling polling) {
+        this(input, timeout, polling, Clock.systemDefaultZone(), Sleeper.SYSTEM_SLEEPER);
+    }
+
+    public AdaptiveWait(T input, Duration timeout, AdaptivePolling polling, Clock clock, Sleeper sleeper) {
+        this.input = input;
+        this.timeout = timeout;
+        this.polling = polling;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.reportedTimeout = timeout;
+    }
+
+    @SafeVarargs
+    public final AdaptiveWait<T> ignoring(Class<? extends Throwable>... exceptionTypes) {
+        ignoredExceptions.addAll(Arrays.asList(exceptionTypes));
+        return this;
+    }
+
+    /**
+     * Report a longer timeout if the wait times out, for a wait that carries on from an earlier wait for the same
+     * condition.
+     */
+    public AdaptiveWait<T> reportingATimeoutOf(Duration totalTimeout) {
+        this.reportedTimeout = totalTimeout;
+        return this;
+    }
+
+    @Override
+    public <V> V until(Function<? super T, V> isTrue) {
+        Instant end = clock.instant().plus(timeout);
+        Throwable lastException;
+        for (int previousPolls = 0; ; previousPolls++) {
+            try {
+                V value = isTrue.apply(input);
+                if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+                    return value;
+                }
+                lastException = null;
+            } catch (Throwable e) {
+                lastException = propagateIfNotIgnored(e);
+            }
+
+            Duration remaining = Duration.between(clock.instant(), end);
+            if (remaining.isNegative() || remaining.isZero()) {
+                String message = String.format("Expected condition failed: %s (tried for %d second(s) with adaptive polling of up to %d milliseconds)",
+                        isTrue, reportedTimeout.getSeconds(), polling.getMaximumInterval().toMillis());
+                throw new TimeoutException(message, lastException);
+            }
+            sleep(shortestOf(polling.intervalAfter(previousPolls), remaining));
+        }
+    }
+
+    private Throwable propagateIfNotIgnored(Throwable e) {
+        for (Class<? extends Throwable> ignoredException : ignoredExceptions) {
+            if (ignoredException.isInstance(e)) {
+                return e;
+            }
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new WebDriverException(e);
+    }
+
+    private static Duration shortestOf(Duration interval, Duration remaining) {
+        return (interval.compareTo(remaining) < 0) ? interval : remaining;
+    }
+
+    private void sleep(Duration interval) {
+        try {
+            sleeper.sleep(interval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package net.serenitybdd.core.pages.waits;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Waits for an element to be present, visible or to contain a given text inside the page itself, rather than by
+ * polling through WebDriver. A script installs a MutationObserver that checks the condition each time the DOM
+ * changes (and at a short interval, to catch style changes the observer cannot see), and reports back through a
+ * single asynchronous script call.
+ * <p>
+ * The in-page checks are approximations of the WebDriver checks, so callers should confirm the result using WebDriver
+ * once the page reports that the condition is met.
+ * Only elements located by id, name, class name, tag name, CSS selector or XPath expression can be waited for in this
+ * way, and only within the whole page or within a parent element.
+ */
+public class DomMutationWait {
+
+    /**
+     * Each asynchronous script call waits for at most this long, so that a page that stops responding is noticed.
+     */
+    private static final Duration LONGEST_SCRIPT_CALL = Duration.ofSeconds(10);
+
+    /**
+     * Extra time given to the WebDriver script timeout, so the script can report a timeout before WebDriver does.
+     */
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(2);
+
+    private static final String CSS_SELECTOR = "css selector";
+    private static final String XPATH = "xpath";
+    private static final Map<String, Function<String, String>> CSS_SELECTORS_BY_LOCATOR_TYPE = new HashMap<>();
+
+    static {
+        CSS_SELECTORS_BY_LOCATOR_TYPE.put(CSS_SELECTOR, selector -> selector);
+        CSS_SELECTORS_BY_LOCATOR_TYPE.put("tag name", tagName -> tagName);
+        CSS_SELECTORS_BY_LOCATOR_TYPE.put("id", id -> "[id=" + quoted(id) + "]");
+        CSS_SELECTORS_BY_LOCATOR_TYPE.put("name", name -> "[name=" + quoted(name) + "]");
+        CSS_SELECTORS_BY_LOCATOR_TYPE.put("class name", className -> "[class~=" + quoted(className) + "]");
+    }
+
+    private static final String WAIT_FOR_CONDITION =
+            "var done = arguments[arguments.length - 1];\n" +
+            "var condition = arguments[0], using = arguments[1], selector = arguments[2], expectedText = arguments[3], timeout = arguments[4];\n" +
+            "var parent = (arguments.length > 6) ? arguments[5] : document;\n" +
+            "if (typeof MutationObserver === 'undefined') { done(null); return; }\n" +
+            "function find() {\n" +
+            "  if (using === 'xpath') {\n" +
+            "    return document.evaluate(selector, parent, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;\n" +
+            "  }\n" +
+            "  return parent.querySelector(selector);\n" +
+            "}\n" +
+            "function isShown(element) {\n" +
+            "  if (window.getComputedStyle(element).visibility === 'hidden') { return false; }\n" +
+            "  for (var node = element; node && node.nodeType === 1; node = node.parentNode) {\n" +
+            "    if (window.getComputedStyle(node).display === 'none') { return false; }\n" +
+            "  }\n" +
+            "  return true;\n" +
+            "}\n" +
+            "function isSatisfied() {\n" +
+            "  var element = find();\n" +
+            "  if (!element) { return false; }\n" +
+            "  if (condition === 'present') { return true; }\n" +
+            "  if (!isShown(element)) { return false; }\n" +
+            "  if (condition === 'visible') { return true; }\n" +
+            "  var text = (element.innerText !== undefined) ? element.innerText : element.textContent;\n" +
+            "  return (text || '').indexOf(expectedText) >= 0;\n" +
+            "}\n" +
+            "var finished = false, observer, interval, timer;\n" +
+            "function finish(result) {\n" +
+            "  if (finished) { return; }\n" +
+            "  finished = true;\n" +
+            "  if (observer) { observer.disconnect(); }\n" +
+            "  clearInterval(interval);\n" +
+            "  clearTimeout(timer);\n" +
+            "  done(result);\n" +
+            "}\n" +
+            "function check() {\n" +
+            "  try { if (isSatisfied()) { finish(true); } } catch (e) { finish(null); }\n" +
+            "}\n" +
+            "check();\n" +
+            "if (finished) { return; }\n" +
+            "observer = new MutationObserver(check);\n" +
+            "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});\n" +
+            "interval = setInterval(check, 100);\n" +
+            "timer = setTimeout(function () { finish(false); }, timeout);\n";
+
+    private DomMutationWait() {
+    }
+
+    /**
+     * Can this condition be waited for in the page, for an element located by the given selector within the parent?
+     */
+    public static boolean canWaitFor(WebDriver driver, SearchContext parent, WaitCondition condition, By selector) {
+        return (driver instanceof JavascriptExecutor)
+                && (parent instanceof WebDriver || parent instanceof WebElement)
+                && (condition == WaitCondition.PRESENT || condition == WaitCondition.VISIBLE || condition == WaitCondition.TEXT)
+                && inPageSelectorFor(selector).isPresent();
+    }
+
+    /**
+     * Wait in the page until the condition is met or the timeout expires. The element is looked for within the parent,
+     * which is either the driver itself (the whole page) or an element of the page.
+     *
+     * @return true if the condition was met, false if the timeout expired, or empty if the page could not wait for the
+     * condition (for example because JavaScript is disabled), in which case the caller should poll instead.
+     */
+    public static Optional<Boolean> waitFor(WebDriver driver, SearchContext parent, WaitCondition condition, By selector,
+                                            String expectedText, Duration timeout) {
+        if (!canWaitFor(driver, parent, condition, selector)) {
+            return Optional.empty();
+        }
+        By.Remotable.Parameters parameters = inPageSelectorFor(selector).get();
+        WebDriver.Timeouts timeouts;
+        Duration previousScriptTimeout;
+        try {
+            timeouts = driver.manage().timeouts();
+            previousScriptTimeout = timeouts.getScriptTimeout();
+        } catch (RuntimeException scriptTimeoutNotSupported) {
+            return Optional.empty();
+        }
+        long end = System.nanoTime() + timeout.toNanos();
+        try {
+            do {
+                long remainingMillis = Math.max(0, (end - System.nanoTime()) / 1_000_000);
+                long scriptCallMillis = Math.min(remainingMillis, LONGEST_SCRIPT_CALL.toMillis());
+                timeouts.scriptTimeout(Duration.ofMillis(scriptCallMillis).plus(SCRIPT_TIMEOUT_MARGIN));
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_FOR_CONDITION,
+                        scriptArguments(condition, parameters, expectedText, scriptCallMillis, parent));
+                if (!(result instanceof Boolean)) {
+                    return Optional.empty();
+                }
+                if ((Boolean) result) {
+                    return Optional.of(true);
+                }
+            } while (System.nanoTime() < end);
+            return Optional.of(false);
+        } catch (RuntimeException couldNotWaitInThePage) {
+            return Optional.empty();
+        } finally {
+            restore(timeouts, previousScriptTimeout);
+        }
+    }
+
+    /**
+     * The parent element is only passed to the script when there is one, as not every driver can pass a null argument.
+     */
+    private static Object[] scriptArguments(WaitCondition condition, By.Remotable.Parameters parameters,
+                                            String expectedText, long scriptCallMillis, SearchContext parent) {
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(conditionNameOf(condition));
+        arguments.add(parameters.using());
+        arguments.add(parameters.value());
+        arguments.add((expectedText == null) ? "" : expectedText);
+        arguments.add(scriptCallMillis);
+        if (parent instanceof WebElement) {
+            arguments.add(parent);
+        }
+        return arguments.toArray();
+    }
+
+    private static void restore(WebDriver.Timeouts timeouts, Duration scriptTimeout) {
+        try {
+            timeouts.scriptTimeout(scriptTimeout);
+        } catch (RuntimeException couldNotRestoreTheScriptTimeout) {
+            // The driver session has probably ended, so there is nothing left to restore
+        }
+    }
+
+    private static String conditionNameOf(WaitCondition condition) {
+        switch (condition) {
+            case PRESENT:
+                return "present";
+            case VISIBLE:
+                return "visible";
+            default:
+                return "text";
+        }
+    }
+
+    /**
+     * The XPath expression or CSS selector the page can use to find the element.
+     */
+    private static Optional<By.Remotable.Parameters> inPageSelectorFor(By selector) {
+        if (!(selector instanceof By.Remotable)) {
+            return Optional.empty();
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) selector).getRemoteParameters();
+        if (!(parameters.value() instanceof String)) {
+            return Optional.empty();
+        }
+        String value = (String) parameters.value();
+        if (XPATH.equals(parameters.using())) {
+            return Optional.of(parameters);
+        }
+        return Optional.ofNullable(CSS_SELECTORS_BY_LOCATOR_TYPE.get(parameters.using()))
+                .map(toCssSelector -> new By.Remotable.Parameters(CSS_SELECTOR, toCssSelector.apply(value)));
+    }
+
+    private static String quoted(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,25 @@
+package net.serenitybdd.core.pages.waits;
+
+/**
+ * The kinds of condition a web element facade can wait for, used to group the recorded wait times.
+ */
+public enum WaitCondition {
+    VISIBLE("visible"),
+    NOT_VISIBLE("not visible"),
+    PRESENT("present"),
+    TEXT("text"),
+    ENABLED("enabled"),
+    DISABLED("disabled"),
+    CLICKABLE("clickable");
+
+    private final String label;
+
+    WaitCondition(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,38 @@
+package net.serenitybdd.core.pages.waits;
+
+import net.thucydides.model.util.EnvironmentVariables;
+
+import static net.thucydides.model.ThucydidesSystemProperty.WEBDRIVER_WAIT_STRATEGY;
+
+/**
+ * How web element facades poll while they wait for a condition, as configured by the webdriver.wait.strategy property.
+ */
+public enum WaitStrategy {
+    /**
+     * Poll at a fixed interval.
+     */
+    FIXED,
+    /**
+     * Poll quickly at first, then back off exponentially up to a maximum interval (see {@link AdaptivePolling}).
+     */
+    ADAPTIVE,
+    /**
+     * Wait for visibility, presence and text in the page itself (see {@link DomMutationWait}), and poll adaptively
+     * for the other conditions.
+     */
+    OBSERVER;
+
+    public static WaitStrategy definedIn(EnvironmentVariables environmentVariables) {
+        String strategy = WEBDRIVER_WAIT_STRATEGY.from(environmentVariables, "fixed").trim().toUpperCase();
+        for (WaitStrategy waitStrategy : values()) {
+            if (waitStrategy.name().equals(strategy)) {
+                return waitStrategy;
+            }
+        }
+        return FIXED;
+    }
+
+    public boolean pollsAdaptively() {
+        return this != FIXED;
+    }
+}
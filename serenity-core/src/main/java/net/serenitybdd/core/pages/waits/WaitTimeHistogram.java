@@ -0,0 +1,94 @@
+package net.serenitybdd.core.pages.waits;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how long the waits for one kind of condition took, in fixed buckets, along with how many of them timed out
+ * and how many were resolved in the page rather than by polling.
+ */
+public class WaitTimeHistogram {
+
+    /**
+     * The upper bound of each bucket, in milliseconds. The last bucket holds every longer wait.
+     */
+    static final long[] BUCKET_LIMITS_IN_MILLIS = {10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_LIMITS_IN_MILLIS.length + 1);
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong resolvedInPage = new AtomicLong();
+
+    void record(Duration waitTime, boolean timedOut, boolean inPage) {
+        long millis = waitTime.toMillis();
+        int bucket = Arrays.binarySearch(BUCKET_LIMITS_IN_MILLIS, millis);
+        counts.incrementAndGet((bucket >= 0) ? bucket : -bucket - 1);
+        totalMillis.addAndGet(millis);
+        if (timedOut) {
+            timeouts.incrementAndGet();
+        }
+        if (inPage) {
+            resolvedInPage.incrementAndGet();
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            count += counts.get(bucket);
+        }
+        return count;
+    }
+
+    /**
+     * The number of waits in each bucket; see getBucketLimits() for the upper bound of each bucket.
+     */
+    public long[] getCounts() {
+        long[] bucketCounts = new long[counts.length()];
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            bucketCounts[bucket] = counts.get(bucket);
+        }
+        return bucketCounts;
+    }
+
+    public long[] getBucketLimits() {
+        return BUCKET_LIMITS_IN_MILLIS.clone();
+    }
+
+    public Duration getTotalWaitTime() {
+        return Duration.ofMillis(totalMillis.get());
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getResolvedInPage() {
+        return resolvedInPage.get();
+    }
+
+    void reset() {
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            counts.set(bucket, 0);
+        }
+        totalMillis.set(0);
+        timeouts.set(0);
+        resolvedInPage.set(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder histogram = new StringBuilder();
+        long[] bucketCounts = getCounts();
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            if (bucketCounts[bucket] > 0) {
+                String limit = (bucket < BUCKET_LIMITS_IN_MILLIS.length) ? "<=" + BUCKET_LIMITS_IN_MILLIS[bucket] : ">" + BUCKET_LIMITS_IN_MILLIS[bucket - 1];
+                histogram.append(' ').append(limit).append("ms:").append(bucketCounts[bucket]);
+            }
+        }
+        return String.format("%d waits, %d ms in total, %d timed out, %d resolved in the page;%s",
+                getCount(), totalMillis.get(), getTimeouts(), getResolvedInPage(), histogram);
+    }
+}
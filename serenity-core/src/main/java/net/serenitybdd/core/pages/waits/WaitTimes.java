@@ -0,0 +1,63 @@
+package net.serenitybdd.core.pages.waits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records how long web element facades wait for each kind of condition, when the adaptive or observer wait strategy
+ * is used (see the webdriver.wait.strategy property). A summary of the wait times is logged when the JVM shuts down,
+ * once a wait has been recorded.
+ */
+public class WaitTimes {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitTimes.class);
+
+    private static final Map<WaitCondition, WaitTimeHistogram> HISTOGRAMS = new EnumMap<>(WaitCondition.class);
+
+    private static final AtomicBoolean SUMMARY_SCHEDULED = new AtomicBoolean(false);
+
+    static {
+        for (WaitCondition condition : WaitCondition.values()) {
+            HISTOGRAMS.put(condition, new WaitTimeHistogram());
+        }
+    }
+
+    private WaitTimes() {
+    }
+
+    public static void record(WaitCondition condition, WaitStrategy strategy, Duration waitTime, boolean timedOut, boolean inPage) {
+        if (!strategy.pollsAdaptively()) {
+            return;
+        }
+        HISTOGRAMS.get(condition).record(waitTime, timedOut, inPage);
+        if (SUMMARY_SCHEDULED.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(WaitTimes::logSummary, "Log Serenity wait times"));
+        }
+    }
+
+    public static WaitTimeHistogram forCondition(WaitCondition condition) {
+        return HISTOGRAMS.get(condition);
+    }
+
+    public static void reset() {
+        HISTOGRAMS.values().forEach(WaitTimeHistogram::reset);
+    }
+
+    public static String summary() {
+        StringBuilder summary = new StringBuilder("Wait times by condition:");
+        HISTOGRAMS.forEach((condition, histogram) -> {
+            if (histogram.getCount() > 0) {
+                summary.append(System.lineSeparator()).append("  - ").append(condition).append(": ").append(histogram);
+            }
+        });
+        return summary.toString();
+    }
+
+    private static void logSummary() {
+        LOGGER.info(summary());
+    }
+}
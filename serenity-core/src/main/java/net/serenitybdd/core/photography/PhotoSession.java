@@ -1,5 +1,7 @@
 package net.serenitybdd.core.photography;
 
+import net.serenitybdd.model.flightrecorder.RecordedPhase;
+import net.serenitybdd.model.flightrecorder.SerenityFlightRecorder;
 import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.model.environment.SystemEnvironmentVariables;
 import net.serenitybdd.annotations.BlurLevel;
@@ -52,7 +54,7 @@ public class PhotoSession {
     }
 
     private ScreenshotPhoto captureAndRecordScreenshotData() {
-        try {
+        try (RecordedPhase screenshot = SerenityFlightRecorder.screenshot(lens)) {
             byte[] screenshotData = screenShooterFactory.buildScreenShooter(lens).takeScreenshot();
             if (shouldIgnore(screenshotData)) {
                 return ScreenshotPhoto.None;
@@ -0,0 +1,311 @@
+package net.serenitybdd.core.rerun;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The failing tests recorded in a rerun directory, with the number of times each one has failed and how long it
+ * took.
+ * <p>
+ * Each JVM (typically one Surefire or Failsafe fork) records its failures in its own index file,
+ * rerun-index-&lt;fork id&gt;.json, which is rewritten atomically after each test class, so forks never write to the
+ * same file. When failures are replayed, the fork index also records the replayed tests that passed.
+ * <p>
+ * The fork indexes are merged into a single rerun-index.json by {@link #consolidate(Path)}, which the aggregate goal
+ * of the Serenity Maven plugin calls once every fork of the test run has finished. Builds that do not use the Maven
+ * plugin should call it themselves after each test run. Each failure adds one to the retry count of the test, and
+ * each pass removes the test from the index.
+ * <p>
+ * When failures are replayed, each JVM reads the consolidated rerun-index.json, and any per-class _rerun.json files
+ * written by earlier versions, once. The fork indexes are not read, as the other forks of the same run may still be
+ * writing them, so every fork of a run works out its {@link RerunSchedule} from the same failing tests.
+ */
+public class RerunIndex {
+
+    public static final String DEFAULT_RERUN_DIRECTORY = "rerun";
+
+    static final String CONSOLIDATED_INDEX = "rerun-index.json";
+    private static final String INDEX_PREFIX = "rerun-index";
+    private static final String LEGACY_RERUN_FILE_SUFFIX = "_rerun.json";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RerunIndex.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final TypeReference<List<RerunnableClass>> RERUNNABLE_CLASSES = new TypeReference<List<RerunnableClass>>() {};
+
+    private static final String FORK_ID = ProcessHandle.current().pid() + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+
+    private static final Map<Path, RerunIndex> LOADED_INDEXES = new ConcurrentHashMap<>();
+    private static final Map<Path, RerunIndex> FORK_INDEXES = new ConcurrentHashMap<>();
+
+    private final Map<String, RerunnableClass> rerunnableClasses = new TreeMap<>();
+    private final Map<Integer, RerunSchedule> schedules = new ConcurrentHashMap<>();
+
+    RerunIndex() {
+    }
+
+    /**
+     * The failing tests recorded in the consolidated index of the rerun directory, read the first time they are
+     * needed in this JVM.
+     */
+    public static RerunIndex loadedFrom(Path rerunDirectory) {
+        return LOADED_INDEXES.computeIfAbsent(rerunDirectory.toAbsolutePath().normalize(), RerunIndex::readFrom);
+    }
+
+    static void forgetLoadedIndexes() {
+        LOADED_INDEXES.clear();
+        FORK_INDEXES.clear();
+    }
+
+    /**
+     * Add failing tests to the index of this fork, and write it to the rerun directory.
+     *
+     * @param failedTests map keys are class names, values lists with failed method names
+     * @param durations   how long each failing test took, in milliseconds, keyed by class name and method name
+     *                    as returned by {@link #testIdOf(String, String)}
+     */
+    public static void recordFailures(Path rerunDirectory,
+                                      Map<String, List<String>> failedTests,
+                                      Map<String, Long> durations) throws IOException {
+        recordResults(rerunDirectory, failedTests, Collections.emptyMap(), durations);
+    }
+
+    /**
+     * Add failing tests, and replayed tests that now pass, to the index of this fork, and write it to the rerun
+     * directory.
+     *
+     * @param failedTests map keys are class names, values lists with failed method names
+     * @param passedTests map keys are class names, values lists with the names of replayed methods that passed
+     * @param durations   how long each failing test took, in milliseconds, keyed by class name and method name
+     *                    as returned by {@link #testIdOf(String, String)}
+     */
+    public static void recordResults(Path rerunDirectory,
+                                     Map<String, List<String>> failedTests,
+                                     Map<String, List<String>> passedTests,
+                                     Map<String, Long> durations) throws IOException {
+        Path directory = rerunDirectory.toAbsolutePath().normalize();
+        RerunIndex forkIndex = FORK_INDEXES.computeIfAbsent(directory, dir -> new RerunIndex());
+        synchronized (forkIndex) {
+            failedTests.forEach((className, methodNames) -> {
+                String rerunClassName = className.replace("$", ".");
+                methodNames.forEach(methodName -> forkIndex.recordFailure(rerunClassName, methodName,
+                        durations.get(testIdOf(rerunClassName, methodName))));
+            });
+            passedTests.forEach((className, methodNames) -> {
+                String rerunClassName = className.replace("$", ".");
+                methodNames.forEach(methodName -> forkIndex.recordPass(rerunClassName, methodName));
+            });
+            forkIndex.writeTo(directory.resolve(INDEX_PREFIX + "-" + FORK_ID + ".json"));
+        }
+    }
+
+    /**
+     * Merge the indexes written by each fork (and any per-class rerun files) into a single rerun-index.json file,
+     * and delete the files that were merged.
+     * <p>
+     * This should be called once every fork of a test run has finished, and before the next test run starts: calling
+     * it while forks are still recording failures would count their earlier failures twice.
+     */
+    public static RerunIndex consolidate(Path rerunDirectory) throws IOException {
+        List<Path> indexFiles = indexFilesIn(rerunDirectory, true);
+        RerunIndex consolidatedIndex = readFrom(indexFiles);
+        consolidatedIndex.writeTo(rerunDirectory.resolve(CONSOLIDATED_INDEX));
+        for (Path indexFile : indexFiles) {
+            if (!indexFile.getFileName().toString().equals(CONSOLIDATED_INDEX)) {
+                Files.deleteIfExists(indexFile);
+            }
+        }
+        return consolidatedIndex;
+    }
+
+    static RerunIndex readFrom(Path rerunDirectory) {
+        if (!Files.isDirectory(rerunDirectory)) {
+            return new RerunIndex();
+        }
+        try {
+            return readFrom(indexFilesIn(rerunDirectory, false));
+        } catch (IOException e) {
+            LOGGER.error("Could not read the rerun files in {}", rerunDirectory, e);
+            return new RerunIndex();
+        }
+    }
+
+    private static RerunIndex readFrom(List<Path> indexFiles) {
+        RerunIndex index = new RerunIndex();
+        for (Path indexFile : indexFiles) {
+            try {
+                if (indexFile.getFileName().toString().endsWith(LEGACY_RERUN_FILE_SUFFIX)) {
+                    index.merge(OBJECT_MAPPER.readValue(indexFile.toFile(), RerunnableClass.class));
+                } else {
+                    OBJECT_MAPPER.readValue(indexFile.toFile(), RERUNNABLE_CLASSES).forEach(index::merge);
+                }
+            } catch (IOException e) {
+                LOGGER.error("Could not read the rerun file {}", indexFile, e);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The index files in the order they should be applied: the consolidated index, then the others oldest first.
+     */
+    private static List<Path> indexFilesIn(Path rerunDirectory, boolean includeForkIndexes) throws IOException {
+        Map<Path, FileTime> lastModifiedTimes = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(rerunDirectory, "*.json")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                boolean isIndex = fileName.equals(CONSOLIDATED_INDEX)
+                        || fileName.endsWith(LEGACY_RERUN_FILE_SUFFIX)
+                        || (includeForkIndexes && fileName.startsWith(INDEX_PREFIX));
+                if (isIndex) {
+                    lastModifiedTimes.put(file, Files.getLastModifiedTime(file));
+                }
+            }
+        }
+        List<Path> indexFiles = new ArrayList<>(lastModifiedTimes.keySet());
+        indexFiles.sort(Comparator.comparing((Path file) -> !file.getFileName().toString().equals(CONSOLIDATED_INDEX))
+                .thenComparing(lastModifiedTimes::get)
+                .thenComparing(Comparator.naturalOrder()));
+        return indexFiles;
+    }
+
+    public static String testIdOf(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    synchronized void recordFailure(String className, String methodName, Long duration) {
+        RerunnableClass rerunnableClass = rerunnableClassCalled(className);
+        rerunnableClass.getPassedMethodNames().remove(methodName);
+        if (!rerunnableClass.getMethodNames().add(methodName)) {
+            rerunnableClass.getRetryCounts().merge(methodName, 2, (previousCount, ignored) -> previousCount + 1);
+        }
+        if (duration != null) {
+            rerunnableClass.getDurations().put(methodName, duration);
+        }
+    }
+
+    synchronized void recordPass(String className, String methodName) {
+        RerunnableClass rerunnableClass = rerunnableClassCalled(className);
+        forgetFailure(rerunnableClass, methodName);
+        rerunnableClass.getPassedMethodNames().add(methodName);
+    }
+
+    private void forgetFailure(RerunnableClass rerunnableClass, String methodName) {
+        rerunnableClass.getMethodNames().remove(methodName);
+        rerunnableClass.getRetryCounts().remove(methodName);
+        rerunnableClass.getDurations().remove(methodName);
+    }
+
+    /**
+     * Apply the failures and passes recorded in a later index file: failures add to the retry count, and passes
+     * remove the test from the index.
+     */
+    private synchronized void merge(RerunnableClass recordedClass) {
+        if (recordedClass == null || recordedClass.getClassName() == null) {
+            return;
+        }
+        RerunnableClass rerunnableClass = rerunnableClassCalled(recordedClass.getClassName());
+        for (String methodName : recordedClass.getMethodNames()) {
+            int recordedCount = recordedClass.getRetryCounts().getOrDefault(methodName, 1);
+            if (!rerunnableClass.getMethodNames().add(methodName)) {
+                int previousCount = rerunnableClass.getRetryCounts().getOrDefault(methodName, 1);
+                rerunnableClass.getRetryCounts().put(methodName, previousCount + recordedCount);
+            } else if (recordedCount > 1) {
+                rerunnableClass.getRetryCounts().put(methodName, recordedCount);
+            }
+        }
+        recordedClass.getDurations().forEach((methodName, duration) -> rerunnableClass.getDurations().merge(methodName, duration, Math::max));
+        recordedClass.getPassedMethodNames().forEach(methodName -> forgetFailure(rerunnableClass, methodName));
+        if (rerunnableClass.getMethodNames().isEmpty()) {
+            rerunnableClasses.remove(rerunnableClass.getClassName());
+        }
+    }
+
+    private RerunnableClass rerunnableClassCalled(String className) {
+        return rerunnableClasses.computeIfAbsent(className, name -> {
+            RerunnableClass rerunnableClass = new RerunnableClass();
+            rerunnableClass.setClassName(name);
+            return rerunnableClass;
+        });
+    }
+
+    /**
+     * Write the index to a temporary file and move it into place, so that other forks never see a partly written
+     * index.
+     */
+    private synchronized void writeTo(Path indexFile) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try {
+            OBJECT_MAPPER.writeValue(temporaryFile.toFile(), new ArrayList<>(rerunnableClasses.values()));
+            try {
+                Files.move(temporaryFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException atomicMoveNotSupported) {
+                Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    public synchronized boolean contains(String className, String methodName) {
+        RerunnableClass rerunnableClass = rerunnableClasses.get(className);
+        return rerunnableClass != null && rerunnableClass.getMethodNames().contains(methodName);
+    }
+
+    /**
+     * The number of times a test has been recorded as failing, or 0 if it has not failed.
+     */
+    public synchronized int retryCountFor(String className, String methodName) {
+        if (!contains(className, methodName)) {
+            return 0;
+        }
+        return rerunnableClasses.get(className).getRetryCounts().getOrDefault(methodName, 1);
+    }
+
+    /**
+     * How long a failing test took to run, in milliseconds, if this was recorded.
+     */
+    public synchronized Optional<Long> durationOf(String className, String methodName) {
+        RerunnableClass rerunnableClass = rerunnableClasses.get(className);
+        return (rerunnableClass == null) ? Optional.empty() : Optional.ofNullable(rerunnableClass.getDurations().get(methodName));
+    }
+
+    /**
+     * The retry count of each failing test, by class name and then method name.
+     */
+    public synchronized Map<String, Map<String, Integer>> getRetryCounts() {
+        Map<String, Map<String, Integer>> retryCounts = new TreeMap<>();
+        rerunnableClasses.forEach((className, rerunnableClass) -> {
+            Map<String, Integer> methodRetryCounts = new TreeMap<>();
+            rerunnableClass.getMethodNames().forEach(methodName -> methodRetryCounts.put(methodName, retryCountFor(className, methodName)));
+            retryCounts.put(className, methodRetryCounts);
+        });
+        return retryCounts;
+    }
+
+    public synchronized int size() {
+        return rerunnableClasses.values().stream().mapToInt(rerunnableClass -> rerunnableClass.getMethodNames().size()).sum();
+    }
+
+    /**
+     * How the failing tests are shared between the given number of forks.
+     */
+    public RerunSchedule scheduleFor(int forkCount) {
+        return schedules.computeIfAbsent(forkCount, count -> RerunSchedule.of(this, count));
+    }
+}
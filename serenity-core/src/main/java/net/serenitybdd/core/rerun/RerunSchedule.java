@@ -0,0 +1,80 @@
+package net.serenitybdd.core.rerun;
+
+import java.util.*;
+
+/**
+ * Shares the failing tests in a {@link RerunIndex} between a number of forks, so that each fork reruns about the same
+ * total duration of tests. The longest tests are placed first, each on the fork with the least work so far; tests
+ * whose duration was not recorded are assumed to take the average recorded duration. The schedule only depends on
+ * the index, so every fork that reads the same index works out the same schedule.
+ */
+public class RerunSchedule {
+
+    private final int forkCount;
+    private final Map<String, Integer> forkNumbers = new HashMap<>();
+    private final long[] forkDurations;
+
+    private RerunSchedule(int forkCount) {
+        this.forkCount = forkCount;
+        this.forkDurations = new long[forkCount];
+    }
+
+    static RerunSchedule of(RerunIndex index, int forkCount) {
+        if (forkCount < 1) {
+            throw new IllegalArgumentException("The number of forks must be at least 1, but was " + forkCount);
+        }
+        RerunSchedule schedule = new RerunSchedule(forkCount);
+
+        Map<String, Long> recordedDurations = new TreeMap<>();
+        List<String> testsWithoutDurations = new ArrayList<>();
+        index.getRetryCounts().forEach((className, methods) -> methods.keySet().forEach(methodName -> {
+            String testId = RerunIndex.testIdOf(className, methodName);
+            Optional<Long> duration = index.durationOf(className, methodName);
+            if (duration.isPresent()) {
+                recordedDurations.put(testId, duration.get());
+            } else {
+                testsWithoutDurations.add(testId);
+            }
+        }));
+
+        long assumedDuration = Math.max(1, Math.round(recordedDurations.values().stream().mapToLong(Long::longValue).average().orElse(1)));
+        Map<String, Long> durations = new TreeMap<>(recordedDurations);
+        testsWithoutDurations.forEach(testId -> durations.put(testId, assumedDuration));
+
+        durations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(test -> schedule.assignToLeastBusyFork(test.getKey(), test.getValue()));
+
+        return schedule;
+    }
+
+    private void assignToLeastBusyFork(String testId, long duration) {
+        int leastBusyFork = 0;
+        for (int fork = 1; fork < forkCount; fork++) {
+            if (forkDurations[fork] < forkDurations[leastBusyFork]) {
+                leastBusyFork = fork;
+            }
+        }
+        forkDurations[leastBusyFork] += duration;
+        forkNumbers.put(testId, leastBusyFork + 1);
+    }
+
+    /**
+     * @param forkNumber the fork number, from 1 to the number of forks
+     */
+    public boolean isScheduledFor(int forkNumber, String className, String methodName) {
+        Integer scheduledFork = forkNumbers.get(RerunIndex.testIdOf(className, methodName));
+        return scheduledFork != null && scheduledFork == forkNumber;
+    }
+
+    /**
+     * The estimated time that the given fork will spend rerunning its tests, in milliseconds.
+     */
+    public long getDurationOf(int forkNumber) {
+        return forkDurations[forkNumber - 1];
+    }
+
+    public int getForkCount() {
+        return forkCount;
+    }
+}
@@ -0,0 +1,66 @@
+package net.serenitybdd.core.rerun;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class RerunnableClass {
+
+    @JsonProperty
+    String className;
+
+    @JsonProperty("methodName")
+    Set<String> methodNames = new HashSet<>();
+
+    /**
+     * How many times each method has been recorded as failing. Methods that are not listed have failed once.
+     */
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    Map<String, Integer> retryCounts = new HashMap<>();
+
+    /**
+     * How long each method took the last time it failed, in milliseconds.
+     */
+    @JsonProperty
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    Map<String, Long> durations = new HashMap<>();
+
+    /**
+     * Methods that failed in an earlier run and passed when they were replayed, so are no longer failing.
+     */
+    @JsonProperty("passed")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    Set<String> passedMethodNames = new HashSet<>();
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public Set<String> getMethodNames() {
+        return methodNames;
+    }
+
+    public void setMethodNames(Set<String> methodNames) {
+        this.methodNames = methodNames;
+    }
+
+    public Map<String, Integer> getRetryCounts() {
+        return retryCounts;
+    }
+
+    public Map<String, Long> getDurations() {
+        return durations;
+    }
+
+    public Set<String> getPassedMethodNames() {
+        return passedMethodNames;
+    }
+}
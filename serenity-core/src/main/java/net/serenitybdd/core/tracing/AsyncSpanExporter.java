@@ -0,0 +1,114 @@
+package net.serenitybdd.core.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands spans over to another exporter on a background thread, through a bounded queue. Exporting a span never
+ * blocks the test thread: when the queue is full, the span is dropped and counted instead.
+ */
+public class AsyncSpanExporter implements SpanExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncSpanExporter.class);
+
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SpanExporter delegate;
+    private final BlockingQueue<Span> queue;
+    private final AtomicInteger pendingSpans = new AtomicInteger();
+    private final AtomicLong droppedSpans = new AtomicLong();
+    private final AtomicLong exportedSpans = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public AsyncSpanExporter(SpanExporter delegate, int maxQueueSize) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, maxQueueSize));
+        this.worker = new Thread(this::exportQueuedSpans, "serenity-span-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void export(Collection<Span> spans) {
+        for (Span span : spans) {
+            pendingSpans.incrementAndGet();
+            if (closed || !queue.offer(span)) {
+                pendingSpans.decrementAndGet();
+                droppedSpans.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Waits until the spans queued so far have been handed over, then flushes the underlying exporter.
+     */
+    @Override
+    public void flush() throws IOException {
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT.toNanos();
+        while (pendingSpans.get() > 0 && System.nanoTime() < deadline && worker.isAlive()) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        closed = true;
+        worker.interrupt();
+        delegate.close();
+    }
+
+    /**
+     * The number of spans that were dropped because the queue was full.
+     */
+    public long getDroppedSpans() {
+        return droppedSpans.get();
+    }
+
+    public long getExportedSpans() {
+        return exportedSpans.get();
+    }
+
+    private void exportQueuedSpans() {
+        List<Span> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (!closed) {
+            try {
+                Span first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                delegate.export(batch);
+                exportedSpans.addAndGet(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Could not export {} trace spans", batch.size(), e);
+            } finally {
+                pendingSpans.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package net.serenitybdd.core.tracing;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Appends spans to a file as JSON lines, each line holding one OTLP trace export request (the format written by the
+ * OpenTelemetry Collector file exporter), so that the file can be replayed into a collector or loaded by tracing tools.
+ */
+public class OtlpJsonLinesFileExporter implements SpanExporter {
+
+    private static final String INSTRUMENTATION_SCOPE = "serenity-bdd";
+    private static final int SPAN_KIND_INTERNAL = 1;
+
+    private final Path file;
+    private final String serviceName;
+    private final Gson gson = new Gson();
+    private BufferedWriter writer;
+
+    public OtlpJsonLinesFileExporter(Path file, String serviceName) {
+        this.file = file;
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public synchronized void export(Collection<Span> spans) throws IOException {
+        if (spans.isEmpty()) {
+            return;
+        }
+        writer().write(gson.toJson(exportRequestFor(spans)));
+        writer().newLine();
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, CREATE, APPEND);
+        }
+        return writer;
+    }
+
+    private JsonObject exportRequestFor(Collection<Span> spans) {
+        JsonArray spanList = new JsonArray();
+        spans.forEach(span -> spanList.add(toJson(span)));
+
+        JsonObject scope = new JsonObject();
+        scope.addProperty("name", INSTRUMENTATION_SCOPE);
+
+        JsonObject scopeSpans = new JsonObject();
+        scopeSpans.add("scope", scope);
+        scopeSpans.add("spans", spanList);
+
+        JsonObject resource = new JsonObject();
+        JsonArray resourceAttributes = new JsonArray();
+        resourceAttributes.add(attribute("service.name", serviceName));
+        resource.add("attributes", resourceAttributes);
+
+        JsonObject resourceSpans = new JsonObject();
+        resourceSpans.add("resource", resource);
+        resourceSpans.add("scopeSpans", singleton(scopeSpans));
+
+        JsonObject exportRequest = new JsonObject();
+        exportRequest.add("resourceSpans", singleton(resourceSpans));
+        return exportRequest;
+    }
+
+    private JsonObject toJson(Span span) {
+        JsonObject json = new JsonObject();
+        json.addProperty("traceId", span.getTraceId());
+        json.addProperty("spanId", span.getSpanId());
+        span.getParentSpanId().ifPresent(parentSpanId -> json.addProperty("parentSpanId", parentSpanId));
+        json.addProperty("name", span.getName());
+        json.addProperty("kind", SPAN_KIND_INTERNAL);
+        json.addProperty("startTimeUnixNano", Long.toString(span.getStartTimeUnixNano()));
+        json.addProperty("endTimeUnixNano", Long.toString(span.getEndTimeUnixNano()));
+
+        JsonArray attributes = new JsonArray();
+        for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+            attributes.add(attribute(attribute.getKey(), attribute.getValue()));
+        }
+        json.add("attributes", attributes);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("code", span.getStatus().ordinal());
+        span.getStatusMessage().ifPresent(message -> status.addProperty("message", message));
+        json.add("status", status);
+        return json;
+    }
+
+    private JsonObject attribute(String key, Object value) {
+        JsonObject attribute = new JsonObject();
+        attribute.addProperty("key", key);
+        attribute.add("value", valueOf(value));
+        return attribute;
+    }
+
+    private JsonObject valueOf(Object value) {
+        JsonObject anyValue = new JsonObject();
+        if (value instanceof Boolean) {
+            anyValue.addProperty("boolValue", (Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            anyValue.addProperty("intValue", value.toString());
+        } else if (value instanceof Number) {
+            anyValue.addProperty("doubleValue", (Number) value);
+        } else if (value instanceof Collection) {
+            JsonArray values = new JsonArray();
+            ((Collection<?>) value).forEach(element -> values.add(valueOf(element)));
+            JsonObject arrayValue = new JsonObject();
+            arrayValue.add("values", values);
+            anyValue.add("arrayValue", arrayValue);
+        } else {
+            anyValue.addProperty("stringValue", String.valueOf(value));
+        }
+        return anyValue;
+    }
+
+    private JsonArray singleton(JsonObject element) {
+        JsonArray array = new JsonArray();
+        array.add(element);
+        return array;
+    }
+}
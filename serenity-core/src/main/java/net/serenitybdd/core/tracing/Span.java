@@ -0,0 +1,125 @@
+package net.serenitybdd.core.tracing;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A timed span of test activity, such as a test suite, a test, a step or a Screenplay task, in the form used by
+ * OpenTelemetry traces. A span is exported once it has ended.
+ */
+public class Span {
+
+    public enum Status {UNSET, OK, ERROR}
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final long startTimeUnixNano;
+    private long endTimeUnixNano;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private Status status = Status.UNSET;
+    private String statusMessage;
+
+    private Span(String traceId, String parentSpanId, String name) {
+        this.traceId = traceId;
+        this.spanId = randomHex(8);
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startTimeUnixNano = nowInUnixNanos();
+    }
+
+    /**
+     * Starts a span at the root of a new trace.
+     */
+    public static Span startRoot(String name) {
+        return new Span(randomHex(16), null, name);
+    }
+
+    /**
+     * Starts a span nested inside this one.
+     */
+    public Span startChild(String name) {
+        return new Span(traceId, spanId, name);
+    }
+
+    public Span withAttribute(String key, Object value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public Span withStatus(Status status, String message) {
+        this.status = status;
+        this.statusMessage = message;
+        return this;
+    }
+
+    public Span end() {
+        if (endTimeUnixNano == 0) {
+            endTimeUnixNano = Math.max(startTimeUnixNano, nowInUnixNanos());
+        }
+        return this;
+    }
+
+    public boolean hasEnded() {
+        return endTimeUnixNano != 0;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public Optional<String> getParentSpanId() {
+        return Optional.ofNullable(parentSpanId);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartTimeUnixNano() {
+        return startTimeUnixNano;
+    }
+
+    public long getEndTimeUnixNano() {
+        return endTimeUnixNano;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Optional<String> getStatusMessage() {
+        return Optional.ofNullable(statusMessage);
+    }
+
+    private static long nowInUnixNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            hex.append(String.format("%02x", random.nextInt(256)));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + spanId + ")";
+    }
+}
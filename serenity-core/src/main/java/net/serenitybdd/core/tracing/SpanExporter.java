@@ -0,0 +1,20 @@
+package net.serenitybdd.core.tracing;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Sends finished spans somewhere they can be read, such as a file.
+ */
+public interface SpanExporter extends AutoCloseable {
+
+    void export(Collection<Span> spans) throws IOException;
+
+    default void flush() throws IOException {
+    }
+
+    @Override
+    default void close() throws IOException {
+        flush();
+    }
+}
@@ -0,0 +1,337 @@
+package net.serenitybdd.core.tracing;
+
+import net.serenitybdd.core.Serenity;
+import net.serenitybdd.core.listeners.AbstractStepListener;
+import net.serenitybdd.core.parallel.Agent;
+import net.thucydides.model.domain.CastMember;
+import net.thucydides.model.domain.Story;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.screenshots.ScreenshotAndHtmlSource;
+import net.thucydides.model.steps.ExecutedStepDescription;
+import net.thucydides.model.steps.StepFailure;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_TRACE_SPANS_FILE;
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_TRACE_SPANS_QUEUE_SIZE;
+
+/**
+ * Records test suites, tests, steps and Screenplay tasks as nested trace spans while the tests run, so that their
+ * timings can be seen next to application traces. Test spans carry the test tags, result and actors, and step spans
+ * carry the result and the actor performing them.
+ * <p>
+ * The listener is registered automatically, but only records spans when the serenity.traceSpansFile property is set.
+ * Spans are written to that file as OTLP JSON lines by a background thread.
+ */
+public class TraceSpanListener extends AbstractStepListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TraceSpanListener.class);
+
+    private static final String PERFORMABLE = "net.serenitybdd.screenplay.Performable";
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private static final Map<Path, SpanExporter> SHARED_EXPORTERS = new ConcurrentHashMap<>();
+
+    private final SpanExporter exporter;
+
+    private Span suiteSpan;
+    private Span testSpan;
+    private final Deque<Span> stepSpans = new ArrayDeque<>();
+
+    public TraceSpanListener() {
+        this(SystemEnvironmentVariables.currentEnvironmentVariables());
+    }
+
+    public TraceSpanListener(EnvironmentVariables environmentVariables) {
+        this(sharedExporterFor(environmentVariables));
+    }
+
+    public TraceSpanListener(SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    private static SpanExporter sharedExporterFor(EnvironmentVariables environmentVariables) {
+        String traceSpansFile = SERENITY_TRACE_SPANS_FILE.from(environmentVariables);
+        if (traceSpansFile == null || traceSpansFile.trim().isEmpty()) {
+            return null;
+        }
+        int queueSize = SERENITY_TRACE_SPANS_QUEUE_SIZE.integerFrom(environmentVariables, DEFAULT_QUEUE_SIZE);
+        return SHARED_EXPORTERS.computeIfAbsent(Paths.get(traceSpansFile).toAbsolutePath(), file -> {
+            AsyncSpanExporter exporter = new AsyncSpanExporter(new OtlpJsonLinesFileExporter(file, "serenity-bdd"), queueSize);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(exporter)));
+            return exporter;
+        });
+    }
+
+    private boolean isRecording() {
+        return exporter != null;
+    }
+
+    @Override
+    public void testSuiteStarted(Class<?> storyClass) {
+        startSuite(storyClass.getSimpleName());
+    }
+
+    @Override
+    public void testSuiteStarted(Class<?> storyClass, String storyName) {
+        startSuite(storyName);
+    }
+
+    @Override
+    public void testSuiteStarted(Story story) {
+        startSuite(story.getName());
+    }
+
+    private void startSuite(String name) {
+        if (!isRecording()) {
+            return;
+        }
+        endSuite();
+        suiteSpan = Span.startRoot(name).withAttribute("serenity.span.kind", "suite");
+    }
+
+    @Override
+    public void testSuiteFinished() {
+        endSuite();
+    }
+
+    private void endSuite() {
+        endTest(null);
+        if (suiteSpan != null) {
+            export(suiteSpan.end());
+            suiteSpan = null;
+        }
+    }
+
+    @Override
+    public void testStarted(String description) {
+        startTest(description, null);
+    }
+
+    @Override
+    public void testStarted(String description, String id) {
+        startTest(description, id);
+    }
+
+    @Override
+    public void testStarted(String description, String id, ZonedDateTime startTime) {
+        startTest(description, id);
+    }
+
+    private void startTest(String name, String id) {
+        if (!isRecording()) {
+            return;
+        }
+        endTest(null);
+        testSpan = ((suiteSpan != null) ? suiteSpan.startChild(name) : Span.startRoot(name))
+                .withAttribute("serenity.span.kind", "test")
+                .withAttribute("serenity.test.id", id);
+    }
+
+    @Override
+    public void testFinished(TestOutcome result) {
+        endTest(result);
+    }
+
+    @Override
+    public void testFinished(TestOutcome result, boolean isInDataDrivenTest, ZonedDateTime finishTime) {
+        endTest(result);
+    }
+
+    private void endTest(TestOutcome outcome) {
+        while (!stepSpans.isEmpty()) {
+            export(stepSpans.pop().end());
+        }
+        if (testSpan == null) {
+            return;
+        }
+        if (outcome != null) {
+            TestResult result = outcome.getResult();
+            testSpan.withAttribute("serenity.result", (result != null) ? result.name() : null)
+                    .withAttribute("serenity.tags", tagsOf(outcome))
+                    .withAttribute("serenity.actors", outcome.getActors().stream().map(CastMember::getName).collect(Collectors.toList()))
+                    .withStatus(statusFor(result), outcome.getTestFailureMessage());
+        }
+        export(testSpan.end());
+        testSpan = null;
+    }
+
+    @Override
+    public void stepStarted(ExecutedStepDescription description) {
+        startStep(description);
+    }
+
+    @Override
+    public void skippedStepStarted(ExecutedStepDescription description) {
+        startStep(description);
+    }
+
+    private void startStep(ExecutedStepDescription description) {
+        if (!isRecording()) {
+            return;
+        }
+        Span parent = !stepSpans.isEmpty() ? stepSpans.peek() : (testSpan != null) ? testSpan : suiteSpan;
+        String name = description.getTitle();
+        Span stepSpan = ((parent != null) ? parent.startChild(name) : Span.startRoot(name))
+                .withAttribute("serenity.span.kind", kindOf(description))
+                .withAttribute("serenity.actor", currentActor().orElse(null));
+        stepSpans.push(stepSpan);
+    }
+
+    @Override
+    public void stepFinished() {
+        endStep(TestResult.SUCCESS, null);
+    }
+
+    @Override
+    public void stepFinished(List<ScreenshotAndHtmlSource> screenshotList, ZonedDateTime time) {
+        endStep(TestResult.SUCCESS, null);
+    }
+
+    @Override
+    public void stepFailed(StepFailure failure) {
+        endStep(TestResult.FAILURE, failure.getMessage());
+    }
+
+    @Override
+    public void stepFailed(StepFailure failure, List<ScreenshotAndHtmlSource> screenshotList) {
+        endStep(TestResult.FAILURE, failure.getMessage());
+    }
+
+    @Override
+    public void stepIgnored() {
+        endStep(TestResult.IGNORED, null);
+    }
+
+    @Override
+    public void stepPending() {
+        endStep(TestResult.PENDING, null);
+    }
+
+    @Override
+    public void stepPending(String message) {
+        endStep(TestResult.PENDING, message);
+    }
+
+    @Override
+    public void assumptionViolated(String message) {
+        endStep(TestResult.ABORTED, message);
+    }
+
+    private void endStep(TestResult result, String message) {
+        if (stepSpans.isEmpty()) {
+            return;
+        }
+        Span stepSpan = stepSpans.pop()
+                .withAttribute("serenity.result", result.name())
+                .withStatus(statusFor(result), message);
+        export(stepSpan.end());
+    }
+
+    @Override
+    public void testRunFinished() {
+        endSuite();
+        if (isRecording()) {
+            try {
+                exporter.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Could not write the trace spans", e);
+            }
+        }
+    }
+
+    @Override
+    public void lastStepFailed(StepFailure failure) {
+    }
+
+    @Override
+    public void takeScreenshots(List<ScreenshotAndHtmlSource> screenshots) {
+    }
+
+    @Override
+    public void takeScreenshots(TestResult testResult, List<ScreenshotAndHtmlSource> screenshots) {
+    }
+
+    private void export(Span span) {
+        try {
+            exporter.export(Collections.singletonList(span));
+        } catch (IOException e) {
+            LOGGER.warn("Could not export trace span {}", span, e);
+        }
+    }
+
+    private static Span.Status statusFor(TestResult result) {
+        if (result == null) {
+            return Span.Status.UNSET;
+        }
+        switch (result) {
+            case SUCCESS:
+                return Span.Status.OK;
+            case FAILURE:
+            case ERROR:
+            case COMPROMISED:
+                return Span.Status.ERROR;
+            default:
+                return Span.Status.UNSET;
+        }
+    }
+
+    private static List<String> tagsOf(TestOutcome outcome) {
+        try {
+            return outcome.getTags().stream().map(tag -> tag.getType() + ":" + tag.getName()).sorted().collect(Collectors.toList());
+        } catch (RuntimeException tagsCouldNotBeRead) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static String kindOf(ExecutedStepDescription description) {
+        if (description.isAQuestion()) {
+            return "question";
+        }
+        return isAPerformable(description.getStepClass()) ? "performable" : "step";
+    }
+
+    private static boolean isAPerformable(Class<?> stepClass) {
+        for (Class<?> type = stepClass; type != null; type = type.getSuperclass()) {
+            for (Class<?> implemented : type.getInterfaces()) {
+                if (implemented.getName().equals(PERFORMABLE) || isAPerformable(implemented)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Optional<String> currentActor() {
+        try {
+            if (Serenity.hasASessionVariableCalled(Agent.IN_THE_CURRENT_SESSION)) {
+                Object agent = Serenity.sessionVariableCalled(Agent.IN_THE_CURRENT_SESSION);
+                if (agent instanceof Agent) {
+                    return Optional.ofNullable(((Agent) agent).getName());
+                }
+            }
+        } catch (RuntimeException noSessionAvailable) {
+            LOGGER.trace("No actor available for the current step", noSessionAvailable);
+        }
+        return Optional.empty();
+    }
+
+    private static void closeQuietly(SpanExporter exporter) {
+        try {
+            exporter.close();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close the trace spans file", e);
+        }
+    }
+}
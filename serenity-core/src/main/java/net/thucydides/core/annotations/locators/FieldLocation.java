@@ -0,0 +1,59 @@
+package net.thucydides.core.annotations.locators;
+
+import net.serenitybdd.core.annotations.findby.FindBy;
+import net.serenitybdd.core.annotations.locators.SmartAnnotations;
+import net.thucydides.core.webdriver.MobilePlatform;
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.By;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+/**
+ * How to locate the element or elements held in a page object field, as read from the field's annotations.
+ * Reading the annotations is relatively expensive, so the locations are read once for each field and platform,
+ * and shared by all of the locators created for that field (see {@link PageDecorationPlan}).
+ */
+public class FieldLocation {
+    private final Field field;
+    private final By by;
+    private final boolean lookupCached;
+    private final Optional<Integer> annotatedTimeoutInSeconds;
+
+    FieldLocation(Field field, By by, boolean lookupCached, Optional<Integer> annotatedTimeoutInSeconds) {
+        this.field = field;
+        this.by = by;
+        this.lookupCached = lookupCached;
+        this.annotatedTimeoutInSeconds = annotatedTimeoutInSeconds;
+    }
+
+    public static FieldLocation of(Field field, MobilePlatform platform) {
+        SmartAnnotations annotations = new SmartAnnotations(field, platform);
+        return new FieldLocation(field, annotations.buildBy(), annotations.isLookupCached(), timeoutFrom(field));
+    }
+
+    private static Optional<Integer> timeoutFrom(Field field) {
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        if ((findBy != null) && (StringUtils.isNotEmpty(findBy.timeoutInSeconds()))) {
+            return Optional.of(Integer.valueOf(findBy.timeoutInSeconds()));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public By getBy() {
+        return by;
+    }
+
+    public boolean isLookupCached() {
+        return lookupCached;
+    }
+
+    public Optional<Integer> getAnnotatedTimeoutInSeconds() {
+        return annotatedTimeoutInSeconds;
+    }
+}
@@ -0,0 +1,241 @@
+package net.thucydides.core.annotations.locators;
+
+import net.thucydides.core.webdriver.WebDriverFacade;
+import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the element found by a page object field's locator, so that using the field again does not need another
+ * round trip to the browser. The element is forgotten when the driver navigates or switches to another window or
+ * frame. If the page changes in a way that makes the remembered element stale, the element is located again the next
+ * time it is used, and the call that failed is retried once.
+ */
+class LocatedElementCache {
+    private final WebDriverFacade driver;
+    private final Supplier<WebElement> locateElement;
+
+    private CachedWebElement cachedElement;
+    private int navigationCount;
+
+    /**
+     * @param driver        the driver whose navigation makes the cached element out of date
+     * @param locateElement locates the element when it has not been located yet or has become stale
+     */
+    LocatedElementCache(WebDriverFacade driver, Supplier<WebElement> locateElement) {
+        this.driver = driver;
+        this.locateElement = locateElement;
+    }
+
+    /**
+     * The element located earlier, if the driver has not navigated since it was located.
+     *
+     * @param roundTripsSaved the number of WebDriver calls avoided if the cached element can be used
+     */
+    Optional<WebElement> cachedElement(int roundTripsSaved) {
+        if (cachedElement != null && driver.getNavigationCount() != navigationCount) {
+            cachedElement = null;
+            LocatedElementCacheStatistics.recordInvalidation();
+        }
+        if (cachedElement == null) {
+            LocatedElementCacheStatistics.recordMiss();
+            return Optional.empty();
+        }
+        LocatedElementCacheStatistics.recordHit(roundTripsSaved);
+        return Optional.of(cachedElement);
+    }
+
+    /**
+     * Locate the element and remember it.
+     */
+    WebElement locateAndRemember() {
+        int navigationCountBeforeLocating = driver.getNavigationCount();
+        WebElement element = locateElement.get();
+        if (element == null) {
+            return null;
+        }
+        navigationCount = navigationCountBeforeLocating;
+        cachedElement = new CachedWebElement(element);
+        return cachedElement;
+    }
+
+    /**
+     * A located element that is located again if it becomes stale.
+     */
+    private class CachedWebElement implements WebElement, WrapsElement, Locatable {
+        private WebElement element;
+
+        CachedWebElement(WebElement element) {
+            this.element = element;
+        }
+
+        private <T> T withElement(Function<WebElement, T> action) {
+            try {
+                return action.apply(element);
+            } catch (StaleElementReferenceException staleElement) {
+                LocatedElementCacheStatistics.recordStaleRevalidation();
+                element = locateAgain();
+                return action.apply(element);
+            }
+        }
+
+        private void onElement(Consumer<WebElement> action) {
+            withElement(webElement -> {
+                action.accept(webElement);
+                return null;
+            });
+        }
+
+        private WebElement locateAgain() {
+            int navigationCountBeforeLocating = driver.getNavigationCount();
+            WebElement relocatedElement = locateElement.get();
+            navigationCount = navigationCountBeforeLocating;
+            cachedElement = this;
+            return relocatedElement;
+        }
+
+        @Override
+        public WebElement getWrappedElement() {
+            return element;
+        }
+
+        @Override
+        public void click() {
+            onElement(WebElement::click);
+        }
+
+        @Override
+        public void submit() {
+            onElement(WebElement::submit);
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            onElement(webElement -> webElement.sendKeys(keysToSend));
+        }
+
+        @Override
+        public void clear() {
+            onElement(WebElement::clear);
+        }
+
+        @Override
+        public String getTagName() {
+            return withElement(WebElement::getTagName);
+        }
+
+        @Override
+        public String getDomProperty(String name) {
+            return withElement(webElement -> webElement.getDomProperty(name));
+        }
+
+        @Override
+        public String getDomAttribute(String name) {
+            return withElement(webElement -> webElement.getDomAttribute(name));
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return withElement(webElement -> webElement.getAttribute(name));
+        }
+
+        @Override
+        public String getAriaRole() {
+            return withElement(WebElement::getAriaRole);
+        }
+
+        @Override
+        public String getAccessibleName() {
+            return withElement(WebElement::getAccessibleName);
+        }
+
+        @Override
+        public boolean isSelected() {
+            return withElement(WebElement::isSelected);
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return withElement(WebElement::isEnabled);
+        }
+
+        @Override
+        public String getText() {
+            return withElement(WebElement::getText);
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return withElement(webElement -> webElement.findElements(by));
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return withElement(webElement -> webElement.findElement(by));
+        }
+
+        @Override
+        public SearchContext getShadowRoot() {
+            return withElement(WebElement::getShadowRoot);
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return withElement(WebElement::isDisplayed);
+        }
+
+        @Override
+        public Point getLocation() {
+            return withElement(WebElement::getLocation);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return withElement(WebElement::getSize);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return withElement(WebElement::getRect);
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return withElement(webElement -> webElement.getCssValue(propertyName));
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return withElement(webElement -> webElement.getScreenshotAs(target));
+        }
+
+        @Override
+        public Coordinates getCoordinates() {
+            return withElement(webElement -> ((Locatable) webElement).getCoordinates());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other instanceof CachedWebElement) {
+                return element.equals(((CachedWebElement) other).element);
+            }
+            return element.equals(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return element.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return element.toString();
+        }
+    }
+}
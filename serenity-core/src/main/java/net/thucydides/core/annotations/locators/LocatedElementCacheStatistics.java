@@ -0,0 +1,98 @@
+package net.thucydides.core.annotations.locators;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how often page object fields reused a located element instead of looking it up again
+ * (see the serenity.locator.cache property). The counts are logged when the JVM shuts down, if the cache was used.
+ */
+public class LocatedElementCacheStatistics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocatedElementCacheStatistics.class);
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong INVALIDATIONS = new AtomicLong();
+    private static final AtomicLong STALE_REVALIDATIONS = new AtomicLong();
+    private static final AtomicLong ROUND_TRIPS_SAVED = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatedElementCacheStatistics::logSummary, "Log Serenity located element cache statistics"));
+    }
+
+    private LocatedElementCacheStatistics() {
+    }
+
+    static void recordHit(int roundTripsSaved) {
+        HITS.incrementAndGet();
+        ROUND_TRIPS_SAVED.addAndGet(roundTripsSaved);
+    }
+
+    static void recordMiss() {
+        MISSES.incrementAndGet();
+    }
+
+    static void recordInvalidation() {
+        INVALIDATIONS.incrementAndGet();
+    }
+
+    static void recordStaleRevalidation() {
+        STALE_REVALIDATIONS.incrementAndGet();
+    }
+
+    /**
+     * The number of times a field used the element it had already located.
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * The number of times a field had to locate its element, because it had not located it yet or had forgotten it.
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * The number of located elements that were forgotten because the driver navigated or switched windows or frames.
+     */
+    public static long getInvalidations() {
+        return INVALIDATIONS.get();
+    }
+
+    /**
+     * The number of located elements that had become stale, and were located again.
+     */
+    public static long getStaleRevalidations() {
+        return STALE_REVALIDATIONS.get();
+    }
+
+    /**
+     * The number of WebDriver calls (finding the element and checking that it is displayed) that the cache avoided.
+     */
+    public static long getRoundTripsSaved() {
+        return ROUND_TRIPS_SAVED.get();
+    }
+
+    public static void reset() {
+        HITS.set(0);
+        MISSES.set(0);
+        INVALIDATIONS.set(0);
+        STALE_REVALIDATIONS.set(0);
+        ROUND_TRIPS_SAVED.set(0);
+    }
+
+    public static String summary() {
+        return String.format("Located element cache: %d hits, %d misses, %d invalidated on navigation, %d stale elements located again, %d WebDriver round trips saved",
+                getHits(), getMisses(), getInvalidations(), getStaleRevalidations(), getRoundTripsSaved());
+    }
+
+    private static void logSummary() {
+        if (getHits() + getMisses() > 0) {
+            LOGGER.info(summary());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package net.thucydides.core.annotations.locators;
+
+import net.thucydides.core.webdriver.MobilePlatform;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fields of a page object (or widget object) class that need to be proxied, and how to locate their elements.
+ * <p>
+ * Working this out means walking the class hierarchy and reading and parsing the annotations of every field, which
+ * used to happen each time a page object was created. The plan for each class is now worked out the first time an
+ * instance of the class is decorated, and later instances only need new locators and proxies bound to the current
+ * driver. The plans are attached to the class itself (through a {@link ClassValue}), so they do not keep page
+ * classes, or the class loaders that loaded them, from being unloaded.
+ */
+public class PageDecorationPlan {
+
+    private static volatile ClassValue<Map<MobilePlatform, PageDecorationPlan>> PLANS = newPlanCache();
+
+    private final ClassLoader classLoader;
+    private final List<FieldLocation> decoratedFields;
+
+    private PageDecorationPlan(ClassLoader classLoader, List<FieldLocation> decoratedFields) {
+        this.classLoader = classLoader;
+        this.decoratedFields = decoratedFields;
+    }
+
+    /**
+     * Proxy the web element fields of a page or widget object.
+     * The cached plan for the object's class is used when the fields are located by a {@link SmartElementLocatorFactory};
+     * other locator factories are left to Selenium's {@link PageFactory}.
+     */
+    public static void decorate(Object pageOrWidget, ElementLocatorFactory locatorFactory, SmartFieldDecorator decorator) {
+        if (locatorFactory instanceof SmartElementLocatorFactory) {
+            SmartElementLocatorFactory smartLocatorFactory = (SmartElementLocatorFactory) locatorFactory;
+            forClass(pageOrWidget.getClass(), smartLocatorFactory.getPlatform(), decorator)
+                    .applyTo(pageOrWidget, smartLocatorFactory, decorator);
+        } else {
+            PageFactory.initElements(decorator, pageOrWidget);
+        }
+    }
+
+    /**
+     * The plan for a class on a given platform, worked out using the decorator to decide which fields need proxies.
+     * Plans are not cached for classes whose annotations are invalid, so that the error is reported every time.
+     */
+    public static PageDecorationPlan forClass(Class<?> decoratedClass, MobilePlatform platform, SmartFieldDecorator decorator) {
+        return PLANS.get(decoratedClass).computeIfAbsent(platform, onPlatform -> planFor(decoratedClass, onPlatform, decorator));
+    }
+
+    static void clearCachedPlans() {
+        PLANS = newPlanCache();
+    }
+
+    private static ClassValue<Map<MobilePlatform, PageDecorationPlan>> newPlanCache() {
+        return new ClassValue<Map<MobilePlatform, PageDecorationPlan>>() {
+            @Override
+            protected Map<MobilePlatform, PageDecorationPlan> computeValue(Class<?> decoratedClass) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private static PageDecorationPlan planFor(Class<?> decoratedClass, MobilePlatform platform, SmartFieldDecorator decorator) {
+        List<FieldLocation> decoratedFields = new ArrayList<>();
+        for (Class<?> type = decoratedClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (decorator.canDecorate(field)) {
+                    field.setAccessible(true);
+                    decoratedFields.add(FieldLocation.of(field, platform));
+                }
+            }
+        }
+        return new PageDecorationPlan(decoratedClass.getClassLoader(), Collections.unmodifiableList(decoratedFields));
+    }
+
+    /**
+     * Bind a new locator and proxy for each planned field of the page or widget object.
+     */
+    public void applyTo(Object pageOrWidget, SmartElementLocatorFactory locatorFactory, SmartFieldDecorator decorator) {
+        for (FieldLocation location : decoratedFields) {
+            Object proxy = decorator.proxyForField(classLoader, location.getField(), locatorFactory.createLocator(location));
+            if (proxy != null) {
+                try {
+                    location.getField().set(pageOrWidget, proxy);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    public List<FieldLocation> getDecoratedFields() {
+        return decoratedFields;
+    }
+}
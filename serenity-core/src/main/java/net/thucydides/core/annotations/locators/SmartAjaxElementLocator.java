@@ -1,12 +1,13 @@
 package net.thucydides.core.annotations.locators;
 
-import net.serenitybdd.core.annotations.findby.FindBy;
-import net.serenitybdd.core.annotations.locators.SmartAnnotations;
 import net.serenitybdd.model.environment.ConfiguredEnvironment;
 import net.serenitybdd.core.pages.WebElementFacade;
+import net.serenitybdd.core.pages.waits.AdaptivePolling;
+import net.serenitybdd.core.pages.waits.WaitStrategy;
 import net.thucydides.core.WebdriverCollectionStrategy;
 import net.thucydides.core.annotations.ElementIsUsable;
 import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.model.util.EnvironmentVariables;
 import net.thucydides.core.webdriver.ConfigurableTimeouts;
 import net.thucydides.core.webdriver.MobilePlatform;
@@ -15,7 +16,6 @@ import net.thucydides.core.webdriver.WebdriverProxyFactory;
 import net.thucydides.core.webdriver.exceptions.ElementNotFoundAfterTimeoutError;
 import net.thucydides.core.webdriver.exceptions.ElementNotVisibleAfterTimeoutError;
 import net.thucydides.core.webdriver.stubs.WebElementFacadeStub;
-import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.SlowLoadableComponent;
@@ -35,9 +35,20 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
     private final Clock clock;
 
     private final Field field;
+    private final By by;
     private final SearchContext searchContext;
-    private final MobilePlatform platform;
     private final EnvironmentVariables environmentVariables;
+    private final Optional<LocatedElementCache> locatedElementCache;
+
+    /**
+     * Using a remembered element saves looking for it, and checking that it is displayed.
+     */
+    private static final int ROUND_TRIPS_SAVED_BY_A_CACHED_ELEMENT = 2;
+
+    /**
+     * Elements are looked up without checking that they are displayed in quick methods such as isPresent().
+     */
+    private static final int ROUND_TRIPS_SAVED_BY_A_CACHED_ELEMENT_IN_A_QUICK_METHOD = 1;
 
     /**
      * Main constructor.
@@ -50,6 +61,28 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
 
     }
 
+    /**
+     * Create a locator for a field whose annotations have already been read.
+     *
+     * @param searchContext    The SearchContext to use when locating elements
+     * @param location         How to locate the element represented by the field
+     */
+    public SmartAjaxElementLocator(SearchContext searchContext, FieldLocation location) {
+        this(Clock.systemDefaultZone(), searchContext, location, ConfiguredEnvironment.getEnvironmentVariables());
+    }
+
+    /**
+     * Create a locator for a field whose annotations have already been read, using configuration values that may be
+     * shared with the other locators of the same page.
+     *
+     * @param searchContext        The SearchContext to use when locating elements
+     * @param location             How to locate the element represented by the field
+     * @param environmentVariables The configuration values used when waiting for the element
+     */
+    public SmartAjaxElementLocator(SearchContext searchContext, FieldLocation location, EnvironmentVariables environmentVariables) {
+        this(Clock.systemDefaultZone(), searchContext, location, environmentVariables);
+    }
+
     private interface SearchContextProvider extends BiFunction<SearchContext, java.util.Optional<Integer>, SearchContext> {}
 
     private final static SearchContextProvider UNMODIFIED_SEARCH_CONTEXT = (context, timeout) -> context;
@@ -77,17 +110,34 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
     }
 
     SmartAjaxElementLocator(Clock clock, SearchContext searchContext, Field field, MobilePlatform platform) {
-        super(searchContext, field, platform);
-        this.annotatedTimeoutInSeconds = timeoutFrom(field);
+        this(clock, searchContext, FieldLocation.of(field, platform), ConfiguredEnvironment.getEnvironmentVariables());
+    }
+
+    SmartAjaxElementLocator(Clock clock, SearchContext searchContext, FieldLocation location, EnvironmentVariables environmentVariables) {
+        super(searchContext, location);
+        this.annotatedTimeoutInSeconds = location.getAnnotatedTimeoutInSeconds();
         this.clock = clock;
-        this.field = field;
+        this.field = location.getField();
+        this.by = location.getBy();
 
         this.searchContext = SEARCH_CONTEXTS.get(typeOf(searchContext)).apply(searchContext, annotatedTimeoutInSeconds);
-        this.platform = platform;
-        this.environmentVariables = ConfiguredEnvironment.getEnvironmentVariables();
+        this.environmentVariables = environmentVariables;
+        this.locatedElementCache = locatedElementCacheFor(this.searchContext);
     }
 
 
+    /**
+     * Located elements are only remembered if the serenity.locator.cache property is set, and only for fields located
+     * directly in a WebDriverFacade, which tells the cache when the driver navigates.
+     */
+    private Optional<LocatedElementCache> locatedElementCacheFor(SearchContext searchContext) {
+        if ((searchContext instanceof WebDriverFacade)
+                && ThucydidesSystemProperty.SERENITY_LOCATOR_CACHE.booleanFrom(environmentVariables, false)) {
+            return Optional.of(new LocatedElementCache((WebDriverFacade) searchContext, this::locateElement));
+        }
+        return Optional.empty();
+    }
+
     private SearchContextType typeOf(SearchContext searchContext) {
         if (searchContext instanceof WebDriverFacade) return WebDriverFacadeContext;
         if (searchContext instanceof WebDriver) return WebDriverContext;
@@ -96,27 +146,33 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
         return OtherContext;
     }
 
-
-    private java.util.Optional<Integer> timeoutFrom(Field field) {
-        FindBy findBy = field.getAnnotation(FindBy.class);
-        if ((findBy != null) && (StringUtils.isNotEmpty(findBy.timeoutInSeconds()))) {
-            return java.util.Optional.of(Integer.valueOf(findBy.timeoutInSeconds()));
-        } else {
-            return java.util.Optional.empty();
-        }
-    }
-
     @Override
     public WebElement findElement() {
         if (inADisabledStep()) {
             return new WebElementFacadeStub();
         } else if (shouldFindElementImmediately()) {
-            return findElementImmediately();
+            return cachedElement(ROUND_TRIPS_SAVED_BY_A_CACHED_ELEMENT_IN_A_QUICK_METHOD)
+                    .orElseGet(this::findElementImmediately);
+        } else if (locatedElementCache.isPresent()) {
+            return cachedElement(ROUND_TRIPS_SAVED_BY_A_CACHED_ELEMENT)
+                    .orElseGet(() -> locatedElementCache.get().locateAndRemember());
         } else {
             return ajaxFindElement();
         }
     }
 
+    private Optional<WebElement> cachedElement(int roundTripsSaved) {
+        return locatedElementCache.flatMap(cache -> cache.cachedElement(roundTripsSaved));
+    }
+
+    /**
+     * Locate the element for the cache, either for the first time or because the remembered element has become stale.
+     * In a quick method such as isCurrentlyVisible(), the element is looked for once rather than waited for.
+     */
+    private WebElement locateElement() {
+        return shouldFindElementImmediately() ? findElementImmediately() : ajaxFindElement();
+    }
+
     @Deprecated
     public void setTimeOutInSeconds(int timeOutInSeconds) {
     }
@@ -126,8 +182,6 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
     }
 
     public WebElement findElementImmediately() {
-        SmartAnnotations annotations = new SmartAnnotations(field, platform);
-        By by = annotations.buildBy();
         if (searchContext instanceof ConfigurableTimeouts) {
             ((ConfigurableTimeouts) searchContext).setImplicitTimeout(ZERO_SECONDS);
         }
@@ -209,8 +263,23 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
         return 250;
     }
 
+    /**
+     * With the adaptive or observer wait strategy (see webdriver.wait.strategy), we start by polling quickly and then
+     * back off, up to sleepFor() between polls. Otherwise, we always sleep for sleepFor().
+     *
+     * @param previousPolls the number of times the element has been polled so far
+     * @return Duration to sleep in milliseconds
+     */
+    protected long sleepFor(int previousPolls) {
+        if (WaitStrategy.definedIn(environmentVariables).pollsAdaptively()) {
+            return Math.min(AdaptivePolling.definedIn(environmentVariables).intervalAfter(previousPolls).toMillis(), sleepFor());
+        }
+        return sleepFor();
+    }
+
     private class SlowLoadingElement extends SlowLoadableComponent<SlowLoadingElement> {
         private Optional<WebDriverException> lastException = Optional.empty();
+        private int previousPolls = 0;
         private WebElement element;
 
         public SlowLoadingElement(Clock clock, int timeOutInSeconds) {
@@ -231,7 +300,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
 
         @Override
         protected long sleepFor() {
-            return SmartAjaxElementLocator.this.sleepFor();
+            return SmartAjaxElementLocator.this.sleepFor(previousPolls++);
         }
 
         @Override
@@ -255,6 +324,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
 
     private class SlowLoadingElementList extends SlowLoadableComponent<SlowLoadingElementList> {
         private Optional<WebDriverException> lastException = Optional.empty();
+        private int previousPolls = 0;
         private List<WebElement> elements;
 
         public SlowLoadingElementList(Clock clock, int timeOutInSeconds) {
@@ -275,7 +345,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
 
         @Override
         protected long sleepFor() {
-            return SmartAjaxElementLocator.this.sleepFor();
+            return SmartAjaxElementLocator.this.sleepFor(previousPolls++);
         }
 
         @Override
@@ -304,8 +374,6 @@ public class SmartAjaxElementLocator extends SmartElementLocator implements With
 
         @Override
         public String toString() {
-            SmartAnnotations annotations = new SmartAnnotations(field, platform);
-            By by = annotations.buildBy();
             return by.toString();
         }
     }
@@ -18,11 +18,13 @@ public class SmartElementLocator implements ElementLocator {
     private List<WebElement> cachedElementList;
 
     public SmartElementLocator(SearchContext searchContext, Field field, MobilePlatform mobilePlatform) {
+        this(searchContext, FieldLocation.of(field, mobilePlatform));
+    }
+
+    public SmartElementLocator(SearchContext searchContext, FieldLocation location) {
         this.searchContext = searchContext;
-        net.serenitybdd.core.annotations.locators.SmartAnnotations annotations =
-                new net.serenitybdd.core.annotations.locators.SmartAnnotations(field, mobilePlatform);
-        shouldCache = annotations.isLookupCached();
-        by = annotations.buildBy();
+        this.shouldCache = location.isLookupCached();
+        this.by = location.getBy();
     }
 
     /**
@@ -1,6 +1,8 @@
 package net.thucydides.core.annotations.locators;
 
+import net.serenitybdd.model.environment.ConfiguredEnvironment;
 import net.thucydides.core.webdriver.MobilePlatform;
+import net.thucydides.model.util.EnvironmentVariables;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
@@ -10,6 +12,7 @@ import java.lang.reflect.Field;
 public final class SmartElementLocatorFactory implements ElementLocatorFactory {
     private final SearchContext searchContext;
     private MobilePlatform platform;
+    private EnvironmentVariables environmentVariables;
 
     public SmartElementLocatorFactory(SearchContext searchContext, MobilePlatform platform) {
         this.searchContext = searchContext;
@@ -20,4 +23,20 @@ public final class SmartElementLocatorFactory implements ElementLocatorFactory {
         // FIXME: Need to pass through the appium platform either here, or in both ElementLocator instances
         return new SmartAjaxElementLocator(searchContext, field, platform);
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a locator for a field whose annotations have already been read for this factory's platform.
+     * The locators created this way share a single copy of the current environment variables, as copying them is
+     * much more expensive than creating the locator itself.
+     */
+    public ElementLocator createLocator(FieldLocation location) {
+        if (environmentVariables == null) {
+            environmentVariables = ConfiguredEnvironment.getEnvironmentVariables();
+        }
+        return new SmartAjaxElementLocator(searchContext, location, environmentVariables);
+    }
+
+    public MobilePlatform getPlatform() {
+        return platform;
+    }
+}
@@ -6,20 +6,20 @@ import net.thucydides.model.webdriver.Configuration;
 import net.thucydides.core.webdriver.ElementLocatorFactorySelector;
 import net.thucydides.core.webdriver.ElementProxyCreator;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
 
 public class SmartElementProxyCreator implements ElementProxyCreator {
 
     @Override
     public void proxyElements(PageObject pageObject, WebDriver driver) {
-        PageFactory.initElements(new SmartFieldDecorator(locatorFactories().getLocatorFor(driver), driver, pageObject), pageObject);
+        ElementLocatorFactory finder = locatorFactories().getLocatorFor(driver);
+        PageDecorationPlan.decorate(pageObject, finder, new SmartFieldDecorator(finder, driver, pageObject));
     }
 
     @Override
     public void proxyElements(PageObject pageObject, WebDriver driver, int timeoutInSeconds) {
         ElementLocatorFactory finder = locatorFactories().withTimeout(timeoutInSeconds).getLocatorFor(driver);
-        PageFactory.initElements(new SmartFieldDecorator(finder, driver, pageObject), pageObject);
+        PageDecorationPlan.decorate(pageObject, finder, new SmartFieldDecorator(finder, driver, pageObject));
     }
 
     private ElementLocatorFactorySelector locatorFactories() {
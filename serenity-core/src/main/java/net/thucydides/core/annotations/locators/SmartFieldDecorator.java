@@ -45,16 +45,29 @@ public class SmartFieldDecorator implements FieldDecorator {
     }
 
     public Object decorate(ClassLoader loader, Field field) {
-        if (!(WebElement.class.isAssignableFrom(field.getType()) || isDecoratableList(field))
-        		// skip members of the base class
-        		|| field.getDeclaringClass() == WebElementFacadeImpl.class) {
+        if (!canDecorate(field)) {
             return null;
         }
         ElementLocator locator = factory.createLocator(field);
         if (locator == null) {
             return null;
         }
+        return proxyForField(loader, field, locator);
+    }
+
+    /**
+     * Is this field a web element, or a list of web elements located by a FindBy annotation, that should be proxied?
+     */
+    public boolean canDecorate(Field field) {
+        return (WebElement.class.isAssignableFrom(field.getType()) || isDecoratableList(field))
+                // skip members of the base class
+                && field.getDeclaringClass() != WebElementFacadeImpl.class;
+    }
 
+    /**
+     * Create the proxy for a decoratable field, which finds its element or elements using the given locator.
+     */
+    public Object proxyForField(ClassLoader loader, Field field, ElementLocator locator) {
         Class<?> fieldType = field.getType();
 
         if (WebElement.class.isAssignableFrom(fieldType)) {
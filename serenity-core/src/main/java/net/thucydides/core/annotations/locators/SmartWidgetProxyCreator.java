@@ -6,9 +6,7 @@ import net.thucydides.model.webdriver.Configuration;
 import net.thucydides.core.webdriver.ElementLocatorFactorySelector;
 import net.thucydides.core.webdriver.WidgetProxyCreator;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
-import org.openqa.selenium.support.pagefactory.FieldDecorator;
 
 /**
  * Initializes {@link WidgetObject} fields with contextual locators.
@@ -20,15 +18,15 @@ public class SmartWidgetProxyCreator implements WidgetProxyCreator {
 	@Override
 	public void proxyElements(WidgetObject widget, WebDriver driver) {
 		ElementLocatorFactory finder = getElementLocatorFactorySelector().getLocatorFor(widget, driver);
-		FieldDecorator decorator = new SmartFieldDecorator(finder, driver, widget.getPage());
-		PageFactory.initElements(decorator, widget);
+		SmartFieldDecorator decorator = new SmartFieldDecorator(finder, driver, widget.getPage());
+		PageDecorationPlan.decorate(widget, finder, decorator);
 	}
 	
 	@Override
 	public void proxyElements(WidgetObject widget, WebDriver driver, int timeoutInSeconds) {
 		ElementLocatorFactory finder = getElementLocatorFactorySelector().withTimeout(timeoutInSeconds).getLocatorFor(widget, driver);
-		FieldDecorator decorator = new SmartFieldDecorator(finder, driver, widget.getPage());
-		PageFactory.initElements(decorator, widget);
+		SmartFieldDecorator decorator = new SmartFieldDecorator(finder, driver, widget.getPage());
+		PageDecorationPlan.decorate(widget, finder, decorator);
 	}
 
 	private ElementLocatorFactorySelector getElementLocatorFactorySelector() {
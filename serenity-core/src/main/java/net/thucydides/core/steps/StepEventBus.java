@@ -6,6 +6,8 @@ import io.cucumber.core.resource.ClassLoaders;
 import net.serenitybdd.core.Serenity;
 import net.serenitybdd.model.collect.NewList;
 import net.serenitybdd.model.environment.ConfiguredEnvironment;
+import net.serenitybdd.model.flightrecorder.RecordedPhase;
+import net.serenitybdd.model.flightrecorder.SerenityFlightRecorder;
 import net.serenitybdd.core.eventbus.Broadcaster;
 import net.serenitybdd.core.parallel.Agency;
 import net.serenitybdd.core.parallel.Agent;
@@ -127,6 +129,10 @@ public class StepEventBus {
     }
 
     private List<StepListener> registeredListeners = new ArrayList<>();
+    /**
+     * The flight recorder wrapper of each listener, so that each listener is only wrapped once.
+     */
+    private final Map<StepListener, StepListener> recordingDispatchers = new IdentityHashMap<>();
     /**
      * A reference to the base step listener, if registered.
      */
@@ -135,6 +141,8 @@ public class StepEventBus {
     private TestResultTally resultTally;
 
     private final Stack<String> stepStack = new Stack<>();
+    private final Deque<RecordedPhase> recordedSteps = new ArrayDeque<>();
+    private RecordedPhase recordedTest;
     private final Stack<Boolean> webdriverSuspensions = new Stack<>();
 
     private Set<StepListener> customListeners;
@@ -221,6 +229,7 @@ public class StepEventBus {
 
     public void testStarted(final String testName) {
         clear();
+        startRecordingTest(testName);
         for (StepListener stepListener : getAllListeners()) {
             stepListener.testStarted(testName);
         }
@@ -230,6 +239,7 @@ public class StepEventBus {
 
     public void testScenarioStarted(String testName, String testMethod, String testId, String scenarioId) {
         clear();
+        startRecordingTest(testName);
         for (StepListener stepListener : getAllListeners()) {
             stepListener.testStarted(testName, testMethod, testId, scenarioId);
         }
@@ -239,6 +249,7 @@ public class StepEventBus {
 
     public void testStarted(final String testName, final String id) {
         clear();
+        startRecordingTest(testName);
         for (StepListener stepListener : getAllListeners()) {
             stepListener.testStarted(testName, id);
         }
@@ -247,6 +258,7 @@ public class StepEventBus {
 
     public void testStarted(final String testName, ZonedDateTime startTime) {
         clear();
+        startRecordingTest(testName);
         for (StepListener stepListener : getAllListeners()) {
             stepListener.testStarted(testName, startTime);
         }
@@ -255,6 +267,7 @@ public class StepEventBus {
 
     public void testStarted(final String testName, final String id, ZonedDateTime startTime) {
         clear();
+        startRecordingTest(testName);
         for (StepListener stepListener : getAllListeners()) {
             stepListener.testStarted(testName, id, startTime);
         }
@@ -307,9 +320,25 @@ public class StepEventBus {
     protected List<StepListener> getAllListeners() {
         List<StepListener> allListeners = registeredListeners();
         allListeners.addAll(getCustomListeners());
+        if (SerenityFlightRecorder.isEnabled()) {
+            return recordingDispatchTo(allListeners);
+        }
         return NewList.copyOf(allListeners);
     }
 
+    private List<StepListener> recordingDispatchTo(List<StepListener> listeners) {
+        synchronized (recordingDispatchers) {
+            if (recordingDispatchers.size() > listeners.size()) {
+                recordingDispatchers.keySet().retainAll(listeners);
+            }
+            List<StepListener> wrappedListeners = new ArrayList<>(listeners.size());
+            for (StepListener listener : listeners) {
+                wrappedListeners.add(recordingDispatchers.computeIfAbsent(listener, SerenityFlightRecorder::recordingDispatchTo));
+            }
+            return wrappedListeners;
+        }
+    }
+
     private List<StepListener> registeredListeners() {
         List<StepListener> listeners = new ArrayList<>(registeredListeners);
 
@@ -401,6 +430,7 @@ public class StepEventBus {
 
     public void clear() {
         stepStack.clear();
+        recordedSteps.clear();
         clearStepFailures();
         currentTestIsNotSuspended();
         noAssumptionsViolated();
@@ -471,6 +501,7 @@ public class StepEventBus {
         }
 
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testFinished());
+        finishRecordingTest(outcome);
 
         SystemEnvironmentVariables.currentEnvironment().reset();
         TestLocalEnvironmentVariables.clear();
@@ -511,6 +542,7 @@ public class StepEventBus {
             stepListener.testFinished(result);
         }
         TestLifecycleEvents.postEvent(TestLifecycleEvents.testFinished());
+        finishRecordingTest(result);
         clear();
     }
 
@@ -523,10 +555,25 @@ public class StepEventBus {
 
     private void pushStep(String stepName) {
         stepStack.push(stepName);
+        recordedSteps.push(SerenityFlightRecorder.step(stepName));
     }
 
-    private void popStep() {
+    private void popStep(TestResult result) {
         stepStack.pop();
+        if (!recordedSteps.isEmpty()) {
+            recordedSteps.pop().withResult(result).close();
+        }
+    }
+
+    private void startRecordingTest(String testName) {
+        recordedTest = SerenityFlightRecorder.test(testName);
+    }
+
+    private void finishRecordingTest(TestOutcome outcome) {
+        if (recordedTest != null) {
+            recordedTest.withResult((outcome != null) ? outcome.getResult() : null).close();
+            recordedTest = null;
+        }
     }
 
     public void clearStepFailures() {
@@ -583,7 +630,7 @@ public class StepEventBus {
     }
 
     public void stepFinished() {
-        stepDone();
+        stepDone(TestResult.SUCCESS);
         getResultTally().logExecutedTest();
         for (StepListener stepListener : getAllListeners()) {
             stepListener.stepFinished();
@@ -595,22 +642,22 @@ public class StepEventBus {
      * @param screenshots - screenshots that were recorded when the step was finished
      */
     public void stepFinished(List<ScreenshotAndHtmlSource> screenshots, ZonedDateTime time) {
-        stepDone();
+        stepDone(TestResult.SUCCESS);
         getResultTally().logExecutedTest();
         for (StepListener stepListener : getAllListeners()) {
             stepListener.stepFinished(screenshots, time);
         }
     }
 
-    private void stepDone() {
+    private void stepDone(TestResult result) {
         if (!stepStack.empty()) {
-            popStep();
+            popStep(result);
         }
     }
 
     public void stepFailed(final StepFailure failure) {
 
-        stepDone();
+        stepDone(TestResult.FAILURE);
         getResultTally().logFailure(failure);
 
         for (StepListener stepListener : getAllListeners()) {
@@ -621,7 +668,7 @@ public class StepEventBus {
 
     public void stepFailed(final StepFailure failure, List<ScreenshotAndHtmlSource> screenshotList) {
 
-        stepDone();
+        stepDone(TestResult.FAILURE);
         getResultTally().logFailure(failure);
 
         for (StepListener stepListener : getAllListeners()) {
@@ -643,7 +690,7 @@ public class StepEventBus {
 
     public void stepIgnored() {
 
-        stepDone();
+        stepDone(TestResult.IGNORED);
         getResultTally().logIgnoredTest();
 
         for (StepListener stepListener : getAllListeners()) {
@@ -657,7 +704,7 @@ public class StepEventBus {
 
     public void stepPending(String message) {
         testPending();
-        stepDone();
+        stepDone(TestResult.PENDING);
         getResultTally().logIgnoredTest();
 
         for (StepListener stepListener : getAllListeners()) {
@@ -672,7 +719,7 @@ public class StepEventBus {
     public void assumptionViolated(String message) {
         testIgnored();
         suspendTest();
-        stepDone();
+        stepDone(TestResult.ABORTED);
         getResultTally().logIgnoredTest();
 
         for (StepListener stepListener : getAllListeners()) {
@@ -26,6 +26,8 @@ import net.thucydides.model.steps.di.DependencyInjectorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -59,6 +61,23 @@ public class StepFactory {
     private final ByteBuddy byteBuddy;
     private final TypeCache<TypeCache.SimpleKey> proxyCache;
 
+    /**
+     * The default constructors of the generated proxy classes, resolved once per proxy class so that creating a
+     * step library or an instrumented task does not need a reflective constructor call.
+     */
+    private static final ClassValue<MethodHandle> DEFAULT_CONSTRUCTORS = new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> proxyClass) {
+            try {
+                Constructor<?> defaultConstructor = proxyClass.getDeclaredConstructor();
+                defaultConstructor.setAccessible(true);
+                return MethodHandles.lookup().unreflectConstructor(defaultConstructor);
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException noUsableDefaultConstructor) {
+                return null;
+            }
+        }
+    };
+
     /**
      * Create a new step factory.
      * All web-testing step factories need a Pages object, which is passed to ScenarioSteps objects when they
@@ -252,7 +271,7 @@ public class StepFactory {
             } else if (INNER_CLASS_CONSTRUCTOR.equals(strategy)) {
                 return immutableStepLibrary(scenarioStepsClass, proxyClass, EnclosingClass.of(scenarioStepsClass).asParameters(),interceptor);
             } else {
-                final ProxyConfiguration proxy = (ProxyConfiguration)proxyClass.getDeclaredConstructor().newInstance();
+                final ProxyConfiguration proxy = newProxyInstance(proxyClass);
                 proxy.$$_serenity_set_interceptor(interceptor);
                 return (T) proxy;
             }
@@ -262,6 +281,22 @@ public class StepFactory {
         }
     }
 
+    static MethodHandle defaultConstructorFor(Class<?> proxyClass) {
+        return DEFAULT_CONSTRUCTORS.get(proxyClass);
+    }
+
+    private static ProxyConfiguration newProxyInstance(Class<?> proxyClass) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
+        MethodHandle defaultConstructor = defaultConstructorFor(proxyClass);
+        if (defaultConstructor == null) {
+            return (ProxyConfiguration) proxyClass.getDeclaredConstructor().newInstance();
+        }
+        try {
+            return (ProxyConfiguration) defaultConstructor.invoke();
+        } catch (Throwable constructorFailed) {
+            throw new InvocationTargetException(constructorFailed);
+        }
+    }
+
     private Class<?> load(Class<?> referenceClass, TypeCache<TypeCache.SimpleKey> cache,
                           TypeCache.SimpleKey cacheKey, Function<ByteBuddy, DynamicType.Builder<?>> makeProxyFunction) {
         return cache.findOrInsert(
@@ -350,14 +385,14 @@ public class StepFactory {
             proxy.$$_serenity_set_interceptor(interceptor);
             return (T) proxy;
         } else {
-            final ProxyConfiguration newStepLibrary = (ProxyConfiguration)proxyClass.newInstance();
+            final ProxyConfiguration newStepLibrary = newProxyInstance(proxyClass);
             newStepLibrary.$$_serenity_set_interceptor(interceptor);
             return injectPagesInto(scenarioStepsClass, (T)newStepLibrary);
         }
     }
 
-    private <T> T stepLibraryWithPages(final Class<T> scenarioStepsClass, final Class proxyClass, final Interceptor interceptor) throws IllegalAccessException, InstantiationException {
-        final ProxyConfiguration newStepLibrary = (ProxyConfiguration) proxyClass.newInstance();
+    private <T> T stepLibraryWithPages(final Class<T> scenarioStepsClass, final Class proxyClass, final Interceptor interceptor) throws IllegalAccessException, InstantiationException, NoSuchMethodException, InvocationTargetException {
+        final ProxyConfiguration newStepLibrary = newProxyInstance(proxyClass);
         newStepLibrary.$$_serenity_set_interceptor(interceptor);
         return injectPagesInto(scenarioStepsClass, (T)newStepLibrary);
     }
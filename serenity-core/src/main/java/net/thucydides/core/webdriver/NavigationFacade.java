@@ -0,0 +1,51 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.WebDriver;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts each navigation made through the WebDriver navigation interface, even when the interface is kept and used
+ * again, so that the elements located before the navigation can be forgotten (see {@link WebDriverFacade#getNavigationCount()}).
+ */
+public class NavigationFacade implements WebDriver.Navigation {
+
+    private final WebDriver.Navigation navigation;
+    private final AtomicInteger navigations;
+
+    public NavigationFacade(WebDriver.Navigation navigation, AtomicInteger navigations) {
+        this.navigation = navigation;
+        this.navigations = navigations;
+    }
+
+    @Override
+    public void back() {
+        navigations.incrementAndGet();
+        navigation.back();
+    }
+
+    @Override
+    public void forward() {
+        navigations.incrementAndGet();
+        navigation.forward();
+    }
+
+    @Override
+    public void to(String url) {
+        navigations.incrementAndGet();
+        navigation.to(url);
+    }
+
+    @Override
+    public void to(URL url) {
+        navigations.incrementAndGet();
+        navigation.to(url);
+    }
+
+    @Override
+    public void refresh() {
+        navigations.incrementAndGet();
+        navigation.refresh();
+    }
+}
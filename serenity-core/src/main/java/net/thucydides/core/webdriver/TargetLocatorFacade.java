@@ -0,0 +1,76 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts each switch to another window or frame, even when the target locator is kept and used again, so that the
+ * elements located before the switch can be forgotten (see {@link WebDriverFacade#getNavigationCount()}).
+ * Looking up the active element or an alert does not leave the current page, so is not counted.
+ */
+public class TargetLocatorFacade implements WebDriver.TargetLocator {
+
+    private final WebDriver.TargetLocator targetLocator;
+    private final AtomicInteger navigations;
+
+    public TargetLocatorFacade(WebDriver.TargetLocator targetLocator, AtomicInteger navigations) {
+        this.targetLocator = targetLocator;
+        this.navigations = navigations;
+    }
+
+    @Override
+    public WebDriver frame(int index) {
+        navigations.incrementAndGet();
+        return targetLocator.frame(index);
+    }
+
+    @Override
+    public WebDriver frame(String nameOrId) {
+        navigations.incrementAndGet();
+        return targetLocator.frame(nameOrId);
+    }
+
+    @Override
+    public WebDriver frame(WebElement frameElement) {
+        navigations.incrementAndGet();
+        return targetLocator.frame(frameElement);
+    }
+
+    @Override
+    public WebDriver parentFrame() {
+        navigations.incrementAndGet();
+        return targetLocator.parentFrame();
+    }
+
+    @Override
+    public WebDriver window(String nameOrHandle) {
+        navigations.incrementAndGet();
+        return targetLocator.window(nameOrHandle);
+    }
+
+    @Override
+    public WebDriver newWindow(WindowType typeHint) {
+        navigations.incrementAndGet();
+        return targetLocator.newWindow(typeHint);
+    }
+
+    @Override
+    public WebDriver defaultContent() {
+        navigations.incrementAndGet();
+        return targetLocator.defaultContent();
+    }
+
+    @Override
+    public WebElement activeElement() {
+        return targetLocator.activeElement();
+    }
+
+    @Override
+    public Alert alert() {
+        return targetLocator.alert();
+    }
+}
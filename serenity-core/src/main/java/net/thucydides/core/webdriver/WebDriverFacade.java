@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -40,6 +41,12 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
 
     private String options = "";
 
+    /**
+     * Counts the calls that may have taken the driver to another page, window or frame, so that elements located
+     * before these calls can be forgotten. Shared with the copies of this facade that use different timeouts.
+     */
+    private AtomicInteger navigations = new AtomicInteger();
+
     private EnvironmentVariables getEnvironmentVariables() {
         if (environmentVariables != null) {
             return environmentVariables;
@@ -97,7 +104,9 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
 
 
     public WebDriverFacade withTimeoutOf(Duration implicitTimeout) {
-        return new WebDriverFacade(driverClass, webDriverFactory, proxiedWebDriver, implicitTimeout);
+        WebDriverFacade facadeWithTimeout = new WebDriverFacade(driverClass, webDriverFactory, proxiedWebDriver, implicitTimeout);
+        facadeWithTimeout.navigations = navigations;
+        return facadeWithTimeout;
     }
 
     public Class<? extends WebDriver> getDriverClass() {
@@ -130,6 +139,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
     }
 
     public void reset() {
+        navigations.incrementAndGet();
         if (proxiedWebDriver != null) {
             forcedQuit();
         }
@@ -206,6 +216,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
             return;
         }
 
+        navigations.incrementAndGet();
         getProxiedDriver().get(url);
         setTimeouts();
     }
@@ -295,6 +306,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
     }
 
     public void close() {
+        navigations.incrementAndGet();
         if (proxyInstanciated()) {
             //if there is only one window closing it means quitting the web driver
             if (areWindowHandlesAllowed(getDriverInstance()) &&
@@ -312,6 +324,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
     }
 
     public void quit() {
+        navigations.incrementAndGet();
         if (proxyInstanciated()) {
             try {
                 getDriverInstance().quit();
@@ -351,7 +364,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
             return new TargetLocatorStub(this);
         }
 
-        return getProxiedDriver().switchTo();
+        return new TargetLocatorFacade(getProxiedDriver().switchTo(), navigations);
     }
 
     public Navigation navigate() {
@@ -359,7 +372,16 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot, JavascriptEx
             return new NavigationStub();
         }
 
-        return getProxiedDriver().navigate();
+        return new NavigationFacade(getProxiedDriver().navigate(), navigations);
+    }
+
+    /**
+     * The number of calls so far that may have taken the driver to another page, window or frame: loading a page,
+     * navigating, switching windows or frames, or closing the driver. Navigation and switching are counted each time
+     * a method of the object returned by navigate() or switchTo() is called, just before they happen.
+     */
+    public int getNavigationCount() {
+        return navigations.get();
     }
 
     public Options manage() {
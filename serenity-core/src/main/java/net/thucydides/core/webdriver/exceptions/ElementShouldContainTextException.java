@@ -0,0 +1,10 @@
+package net.thucydides.core.webdriver.exceptions;
+
+import net.serenitybdd.model.exceptions.CausesAssertionFailure;
+import org.openqa.selenium.TimeoutException;
+
+public class ElementShouldContainTextException extends TimeoutException implements CausesAssertionFailure {
+    public ElementShouldContainTextException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
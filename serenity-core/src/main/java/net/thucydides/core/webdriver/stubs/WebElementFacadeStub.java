@@ -442,6 +442,11 @@ public class WebElementFacadeStub implements WebElementFacade, WebElementState {
         return this;
     }
 
+    @Override
+    public WebElementFacade waitUntilTextContains(String expectedText) {
+        return this;
+    }
+
 
     @Override
     public Wait<WebDriver> waitForCondition() {
@@ -0,0 +1,147 @@
+package net.serenitybdd.core.flightrecorder
+
+import jdk.jfr.Recording
+import net.serenitybdd.annotations.BlurLevel
+import net.serenitybdd.core.photography.Darkroom
+import net.serenitybdd.core.photography.PhotoSession
+import net.serenitybdd.core.photography.WebDriverPhotoLens
+import net.serenitybdd.model.environment.ConfiguredEnvironment
+import net.serenitybdd.model.flightrecorder.FlightRecordingAnalyser
+import net.serenitybdd.model.flightrecorder.SerenityFlightRecorder
+import net.thucydides.core.steps.BaseStepListener
+import net.thucydides.core.steps.StepEventBus
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.reports.ReportService
+import net.thucydides.model.reports.json.JSONTestOutcomeReporter
+import net.thucydides.model.steps.ExecutedStepDescription
+import net.thucydides.model.steps.StepFailure
+import org.openqa.selenium.OutputType
+import org.openqa.selenium.TakesScreenshot
+import org.openqa.selenium.WebDriverException
+import org.openqa.selenium.htmlunit.HtmlUnitDriver
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class WhenRecordingFlightRecorderEvents extends Specification {
+
+    static final List<String> SERENITY_EVENTS = ["serenity.Test", "serenity.Step", "serenity.ListenerDispatch",
+                                                 "serenity.Screenshot", "serenity.OutcomeWrite", "serenity.ReportGeneration"]
+
+    static final Path STATIC_SITE = Paths.get("src/test/resources/static-site/index.html").toAbsolutePath()
+
+    static final Path SCREENSHOT = Paths.get("src/test/resources/screenshots/amazon.png")
+
+    /**
+     * HtmlUnit cannot take screenshots, so this one hands out a slightly different copy of a sample screenshot each time
+     */
+    static class ScreenshottingHtmlUnitDriver extends HtmlUnitDriver implements TakesScreenshot {
+        private int screenshotNumber = 0
+
+        @Override
+        <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+            target.convertFromPngBytes(Files.readAllBytes(SCREENSHOT) + ([(byte) screenshotNumber++] as byte[]))
+        }
+    }
+
+    Path outputDirectory = Files.createTempDirectory("flight-recorder")
+    Path recordingFile = outputDirectory.resolve("run.jfr")
+    Recording recording = new Recording()
+    StepEventBus eventBus = new StepEventBus(new MockEnvironmentVariables(), ConfiguredEnvironment.getConfiguration())
+    BaseStepListener listener = new BaseStepListener(outputDirectory.toFile())
+    HtmlUnitDriver driver = new ScreenshottingHtmlUnitDriver()
+    Darkroom darkroom = new Darkroom()
+    boolean flightRecorderWasEnabled = SerenityFlightRecorder.enabled
+
+    def setup() {
+        SERENITY_EVENTS.each { recording.enable(it) }
+        eventBus.registerListener(listener)
+    }
+
+    def cleanup() {
+        SerenityFlightRecorder.enabled = flightRecorderWasEnabled
+        recording.close()
+        driver.quit()
+        darkroom.waitUntilClose()
+    }
+
+    def "should record an event for each test, step, listener call, screenshot and report"() {
+        given:
+            SerenityFlightRecorder.enabled = true
+        when:
+            recordTestRun(3)
+            def analysis = FlightRecordingAnalyser.analyse(recordingFile)
+        then:
+            analysis.getEventCount("serenity.Test") == 3
+            analysis.getEventCount("serenity.Step") == 6
+            analysis.getEventCount("serenity.Screenshot") == 3
+            analysis.getEventCount("serenity.OutcomeWrite") == 3
+            analysis.getEventCount("serenity.ReportGeneration") == 1
+        and: "every listener call made by the event bus is timed"
+            analysis.getEventCount("serenity.ListenerDispatch") >= 3 * 6
+            analysis.getHotspotsFor("serenity.ListenerDispatch", 100)*.subject.contains("BaseStepListener.stepStarted")
+        and: "the steps are summarised by name"
+            def stepHotspots = analysis.getHotspotsFor("serenity.Step", 10)
+            stepHotspots*.subject as Set == ["Open the home page", "Check the title"] as Set
+            stepHotspots.every { it.count == 3 }
+            analysis.summary(5).contains("serenity.Step: 6 events")
+    }
+
+    def "should wrap each listener only once for the flight recorder"() {
+        given:
+            SerenityFlightRecorder.enabled = true
+        when:
+            def firstDispatch = eventBus.getAllListeners()
+            def secondDispatch = eventBus.getAllListeners()
+        then:
+            !firstDispatch.isEmpty()
+            !firstDispatch.contains(listener)
+            firstDispatch.size() == secondDispatch.size()
+            [firstDispatch, secondDispatch].transpose().every { first, second -> first.is(second) }
+    }
+
+    def "should not record any events when flight recorder events are disabled"() {
+        given:
+            SerenityFlightRecorder.enabled = false
+        when:
+            recordTestRun(2)
+            def analysis = FlightRecordingAnalyser.analyse(recordingFile)
+        then:
+            analysis.eventCounts.isEmpty()
+        and: "the listeners are called directly"
+            eventBus.getAllListeners().contains(listener)
+    }
+
+    private void recordTestRun(int tests) {
+        recording.start()
+        def photoSession = new PhotoSession(new WebDriverPhotoLens(driver), darkroom, outputDirectory, BlurLevel.NONE)
+
+        eventBus.testSuiteStarted(WhenRecordingFlightRecorderEvents)
+        (1..tests).each { test ->
+            eventBus.testStarted("test_$test")
+
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Open the home page"))
+            driver.get(STATIC_SITE.toUri().toString())
+            sleep(60)
+            photoSession.takeScreenshot()
+            eventBus.stepFinished()
+
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Check the title"))
+            if (test == tests) {
+                eventBus.stepFailed(new StepFailure(ExecutedStepDescription.withTitle("Check the title"), new AssertionError("Wrong title")))
+            } else {
+                assert driver.title != null
+                eventBus.stepFinished()
+            }
+            eventBus.testFinished()
+        }
+        eventBus.testSuiteFinished()
+
+        new ReportService(outputDirectory.toFile(), [new JSONTestOutcomeReporter()]).generateReportsFor(listener.testOutcomes)
+
+        recording.stop()
+        recording.dump(recordingFile)
+    }
+}
@@ -0,0 +1,165 @@
+package net.serenitybdd.core.pages.waits
+
+import net.serenitybdd.core.pages.WebElementFacade
+import net.serenitybdd.core.pages.WebElementFacadeImpl
+import net.thucydides.core.webdriver.exceptions.ElementShouldContainTextException
+import net.thucydides.model.environment.TestLocalEnvironmentVariables
+import org.openqa.selenium.By
+import org.openqa.selenium.NoSuchElementException
+import org.openqa.selenium.TimeoutException
+import org.openqa.selenium.htmlunit.HtmlUnitDriver
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Paths
+import java.time.Duration
+
+class WhenWaitingForElementsAdaptively extends Specification {
+
+    static final String DELAYED_CHANGES = Paths.get("src/test/resources/static-site/delayed-changes.html").toUri().toString()
+
+    HtmlUnitDriver driver = new HtmlUnitDriver(true)
+
+    def setup() {
+        WaitTimes.reset()
+    }
+
+    def cleanup() {
+        driver.quit()
+        TestLocalEnvironmentVariables.clear()
+    }
+
+    private WebElementFacade elementLocatedBy(By selector, long timeoutInMilliseconds = 2000) {
+        WebElementFacadeImpl.wrapWebElement(driver, selector, 0, timeoutInMilliseconds, selector.toString())
+    }
+
+    private void useTheWaitStrategy(String strategy) {
+        TestLocalEnvironmentVariables.setProperty("webdriver.wait.strategy", strategy)
+    }
+
+    def "should wait for delayed DOM changes using the fixed wait strategy, without recording the wait times"() {
+        given:
+            useTheWaitStrategy("fixed")
+            driver.get(DELAYED_CHANGES)
+        when:
+            elementLocatedBy(By.id("late-element")).waitUntilPresent()
+            elementLocatedBy(By.cssSelector("#hidden-message")).waitUntilVisible()
+            elementLocatedBy(By.xpath("//p[@id='status']")).waitUntilTextContains("Finished loading")
+        then:
+            WaitCondition.values().every { WaitTimes.forCondition(it).count == 0 }
+    }
+
+    @Unroll
+    def "should wait for delayed DOM changes using the #strategy wait strategy"() {
+        given:
+            useTheWaitStrategy(strategy)
+            driver.get(DELAYED_CHANGES)
+        when:
+            elementLocatedBy(By.id("late-element")).waitUntilPresent()
+            elementLocatedBy(By.cssSelector("#hidden-message")).waitUntilVisible()
+            elementLocatedBy(By.xpath("//p[@id='status']")).waitUntilTextContains("Finished loading")
+        then:
+            [WaitCondition.PRESENT, WaitCondition.VISIBLE, WaitCondition.TEXT].every { WaitTimes.forCondition(it).count >= 1 }
+            WaitTimes.forCondition(WaitCondition.TEXT).timeouts == 0
+        and:
+            WaitTimes.forCondition(WaitCondition.PRESENT).resolvedInPage == (strategy == "observer" ? 1 : 0)
+            WaitTimes.forCondition(WaitCondition.TEXT).resolvedInPage == (strategy == "observer" ? 1 : 0)
+        where:
+            strategy << ["adaptive", "observer"]
+    }
+
+    def "should report a timeout when a condition is never met in the page"() {
+        given:
+            useTheWaitStrategy("observer")
+            driver.get(DELAYED_CHANGES)
+        when:
+            elementLocatedBy(By.id("never-shown"), 500).waitUntilVisible()
+        then:
+            def error = thrown(NoSuchElementException)
+            error.message.contains("never-shown")
+            WaitTimes.forCondition(WaitCondition.VISIBLE).timeouts == 1
+            WaitTimes.forCondition(WaitCondition.VISIBLE).totalWaitTime >= Duration.ofMillis(500)
+    }
+
+    def "should report the missing text when the text never appears"() {
+        given:
+            useTheWaitStrategy("observer")
+            driver.get(DELAYED_CHANGES)
+        when:
+            elementLocatedBy(By.id("status"), 500).waitUntilTextContains("Failed")
+        then:
+            def error = thrown(ElementShouldContainTextException)
+            error.message.contains("Expected text 'Failed' was not found")
+    }
+
+    def "should poll when the page cannot run JavaScript"() {
+        given:
+            useTheWaitStrategy("observer")
+            def driverWithoutJavaScript = new HtmlUnitDriver(false)
+            driverWithoutJavaScript.get(DELAYED_CHANGES)
+        when:
+            WebElementFacadeImpl.wrapWebElement(driverWithoutJavaScript, By.id("status"), 0, 1000, "status").waitUntilPresent()
+        then:
+            WaitTimes.forCondition(WaitCondition.PRESENT).count == 1
+            WaitTimes.forCondition(WaitCondition.PRESENT).resolvedInPage == 0
+        cleanup:
+            driverWithoutJavaScript.quit()
+    }
+
+    def "should only wait in the page for elements located by CSS selectors or XPath expressions"() {
+        expect:
+            DomMutationWait.canWaitFor(driver, driver, WaitCondition.VISIBLE, By.id("status"))
+            DomMutationWait.canWaitFor(driver, driver, WaitCondition.TEXT, By.xpath("//p"))
+            !DomMutationWait.canWaitFor(driver, driver, WaitCondition.VISIBLE, By.linkText("Home"))
+            !DomMutationWait.canWaitFor(driver, driver, WaitCondition.ENABLED, By.id("status"))
+    }
+
+    def "should only look for the element within the parent element when waiting in the page"() {
+        given:
+            driver.get(DELAYED_CHANGES)
+            def container = driver.findElement(By.id("container"))
+        expect:
+            DomMutationWait.waitFor(driver, container, WaitCondition.PRESENT, By.tagName("div"), null, Duration.ofSeconds(2)) == Optional.of(true)
+            DomMutationWait.waitFor(driver, container, WaitCondition.PRESENT, By.id("status"), null, Duration.ofMillis(300)) == Optional.of(false)
+            DomMutationWait.waitFor(driver, driver, WaitCondition.PRESENT, By.id("status"), null, Duration.ofMillis(300)) == Optional.of(true)
+    }
+
+    def "adaptive polling should start quickly and back off up to the maximum interval"() {
+        given:
+            def polling = AdaptivePolling.upTo(Duration.ofMillis(250))
+        expect:
+            (0..7).collect { polling.intervalAfter(it).toMillis() } == [10, 20, 40, 80, 160, 250, 250, 250]
+            polling.intervalAfter(1000).toMillis() == 250
+    }
+
+    def "an adaptive wait should describe the condition when it times out"() {
+        given:
+            def wait = new AdaptiveWait<String>("input", Duration.ofMillis(100), AdaptivePolling.upTo(Duration.ofMillis(50)))
+            def neverTrue = new java.util.function.Function<String, Boolean>() {
+                Boolean apply(String input) { false }
+
+                String toString() { "the impossible" }
+            }
+        when:
+            wait.until(neverTrue)
+        then:
+            def timeout = thrown(TimeoutException)
+            timeout.message.startsWith("Expected condition failed: the impossible")
+    }
+
+    def "should record the wait times of each condition in a histogram"() {
+        given:
+            def histogram = new WaitTimeHistogram()
+        when:
+            histogram.record(Duration.ofMillis(5), false, true)
+            histogram.record(Duration.ofMillis(40), false, false)
+            histogram.record(Duration.ofMillis(30_000), true, false)
+        then:
+            histogram.count == 3
+            histogram.counts[0] == 1
+            histogram.counts[2] == 1
+            histogram.counts[histogram.counts.length - 1] == 1
+            histogram.timeouts == 1
+            histogram.resolvedInPage == 1
+    }
+}
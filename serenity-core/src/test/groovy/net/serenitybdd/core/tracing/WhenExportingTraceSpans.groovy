@@ -0,0 +1,170 @@
+package net.serenitybdd.core.tracing
+
+import com.google.gson.Gson
+import net.serenitybdd.core.Serenity
+import net.serenitybdd.core.parallel.Agent
+import net.serenitybdd.model.environment.ConfiguredEnvironment
+import net.thucydides.core.steps.BaseStepListener
+import net.thucydides.core.steps.StepEventBus
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.steps.ExecutedStepDescription
+import net.thucydides.model.steps.StepFailure
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class WhenExportingTraceSpans extends Specification {
+
+    static class Toby implements Agent {
+        String getId() { "toby" }
+        String getName() { "Toby" }
+    }
+
+    Path traceFile = Files.createTempDirectory("traces").resolve("spans.jsonl")
+    AsyncSpanExporter exporter = new AsyncSpanExporter(new OtlpJsonLinesFileExporter(traceFile, "todo-tests"), 100)
+    StepEventBus eventBus = new StepEventBus(new MockEnvironmentVariables(), ConfiguredEnvironment.getConfiguration())
+
+    def setup() {
+        eventBus.registerListener(new BaseStepListener(Files.createTempDirectory("outcomes").toFile()))
+        eventBus.registerListener(new TraceSpanListener(exporter))
+    }
+
+    def cleanup() {
+        Serenity.clearCurrentSession()
+        exporter.close()
+    }
+
+    def "should nest step spans inside the test span, inside the suite span"() {
+        when:
+            eventBus.testSuiteStarted(WhenExportingTraceSpans)
+            eventBus.testStarted("adds_a_todo_item")
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Open the application"))
+            sleep(20)
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Wait for the page to load"))
+            sleep(30)
+            eventBus.stepFinished()
+            eventBus.stepFinished()
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Check the todo list"))
+            eventBus.stepFailed(new StepFailure(ExecutedStepDescription.withTitle("Check the todo list"), new AssertionError("The list was empty")))
+            eventBus.testFinished()
+            eventBus.testSuiteFinished()
+            eventBus.testRunFinished()
+        and:
+            def spans = exportedSpans()
+            def suite = spans.find { it.name == "WhenExportingTraceSpans" }
+            def test = spans.find { it.name == "adds_a_todo_item" }
+            def open = spans.find { it.name == "Open the application" }
+            def wait = spans.find { it.name == "Wait for the page to load" }
+            def check = spans.find { it.name == "Check the todo list" }
+        then:
+            spans.size() == 5
+            spans*.traceId.unique().size() == 1
+        and: "each span is a child of the one it happened in"
+            suite.parentSpanId == null
+            test.parentSpanId == suite.spanId
+            open.parentSpanId == test.spanId
+            wait.parentSpanId == open.spanId
+            check.parentSpanId == test.spanId
+        and: "each span happened within its parent"
+            [[suite, test], [test, open], [open, wait], [test, check]].every { parent, child -> within(child, parent) }
+            durationInMillis(wait) >= 30
+            durationInMillis(open) >= 50
+            startOf(check) >= endOf(open)
+        and: "spans record how the test and each step ended"
+            attribute(open, "serenity.result") == "SUCCESS"
+            attribute(check, "serenity.result") == "FAILURE"
+            check.status.code == 2
+            check.status.message.contains("The list was empty")
+            attribute(test, "serenity.result") == "FAILURE"
+            attribute(test, "serenity.span.kind") == "test"
+            attribute(test, "serenity.tags") != null
+    }
+
+    def "should record the actor performing each step"() {
+        when:
+            eventBus.testStarted("an_actor_performs_a_task")
+            Serenity.setSessionVariable(Agent.IN_THE_CURRENT_SESSION).to(new Toby())
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("Toby adds a todo item"))
+            eventBus.stepFinished()
+            eventBus.testFinished()
+            eventBus.testRunFinished()
+        then:
+            def step = exportedSpans().find { it.name == "Toby adds a todo item" }
+            attribute(step, "serenity.actor") == "Toby"
+    }
+
+    def "should write spans as OTLP export requests, one per line"() {
+        when:
+            eventBus.testStarted("a_simple_test")
+            eventBus.stepStarted(ExecutedStepDescription.withTitle("A step"))
+            eventBus.stepFinished()
+            eventBus.testFinished()
+            eventBus.testRunFinished()
+        then:
+            def lines = Files.readAllLines(traceFile)
+            lines.every {
+                def request = new Gson().fromJson(it, Map)
+                request.resourceSpans[0].resource.attributes.find { it.key == "service.name" }.value.stringValue == "todo-tests" &&
+                        request.resourceSpans[0].scopeSpans[0].scope.name == "serenity-bdd"
+            }
+            exportedSpans().every { it.traceId.length() == 32 && it.spanId.length() == 16 && it.kind == 1 }
+    }
+
+    def "should never block the test thread when spans cannot be written fast enough"() {
+        given:
+            def release = new CountDownLatch(1)
+            def blockedExporter = new AsyncSpanExporter({ spans -> release.await(5, TimeUnit.SECONDS) } as SpanExporter, 10)
+            def listener = new TraceSpanListener(blockedExporter)
+        when:
+            def start = System.nanoTime()
+            listener.testStarted("a_test_with_many_steps")
+            (1..100).each {
+                listener.stepStarted(ExecutedStepDescription.withTitle("Step $it"))
+                listener.stepFinished()
+            }
+            def elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        then:
+            elapsed < 1000
+            blockedExporter.droppedSpans > 0
+        cleanup:
+            release.countDown()
+            blockedExporter.close()
+    }
+
+    def "should not record anything unless a trace spans file is configured"() {
+        given:
+            def listener = new TraceSpanListener(new MockEnvironmentVariables())
+        when:
+            listener.testStarted("an_untraced_test")
+            listener.stepStarted(ExecutedStepDescription.withTitle("A step"))
+            listener.stepFinished()
+            listener.testFinished(null)
+            listener.testRunFinished()
+        then:
+            noExceptionThrown()
+    }
+
+    private List<Map> exportedSpans() {
+        Files.readAllLines(traceFile).collectMany { line ->
+            new Gson().fromJson(line, Map).resourceSpans.collectMany { it.scopeSpans.collectMany { it.spans } }
+        }
+    }
+
+    private static Object attribute(Map span, String key) {
+        def value = span.attributes.find { it.key == key }?.value
+        value?.stringValue ?: value?.arrayValue
+    }
+
+    private static long startOf(Map span) { Long.parseLong(span.startTimeUnixNano) }
+
+    private static long endOf(Map span) { Long.parseLong(span.endTimeUnixNano) }
+
+    private static long durationInMillis(Map span) { TimeUnit.NANOSECONDS.toMillis(endOf(span) - startOf(span)) }
+
+    private static boolean within(Map child, Map parent) {
+        startOf(child) >= startOf(parent) && endOf(child) <= endOf(parent)
+    }
+}
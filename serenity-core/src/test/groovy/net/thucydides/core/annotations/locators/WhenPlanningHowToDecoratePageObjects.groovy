@@ -0,0 +1,126 @@
+package net.thucydides.core.annotations.locators
+
+import net.serenitybdd.core.annotations.findby.FindBy
+import net.serenitybdd.core.pages.PageObject
+import net.serenitybdd.core.pages.WebElementFacade
+import net.thucydides.core.webdriver.MobilePlatform
+import org.openqa.selenium.By
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.htmlunit.HtmlUnitDriver
+import org.openqa.selenium.support.FindBys
+import spock.lang.Specification
+
+import java.nio.file.Paths
+
+class WhenPlanningHowToDecoratePageObjects extends Specification {
+
+    static final String DELAYED_CHANGES = Paths.get("src/test/resources/static-site/delayed-changes.html").toUri().toString()
+
+    static class StatusPage extends PageObject {
+        @FindBy(id = "status")
+        WebElementFacade status
+
+        @FindBy(css = "p", timeoutInSeconds = "3")
+        List<WebElementFacade> paragraphs
+
+        @org.openqa.selenium.support.FindBy(tagName = "h1")
+        WebElement heading
+
+        List<WebElementFacade> unannotatedList
+
+        String title = "Status"
+
+        StatusPage(WebDriver driver) {
+            super(driver)
+        }
+    }
+
+    static class DetailedStatusPage extends StatusPage {
+        @FindBy(id = "hidden-message")
+        WebElementFacade hiddenMessage
+
+        DetailedStatusPage(WebDriver driver) {
+            super(driver)
+        }
+    }
+
+    static class BrokenPage extends PageObject {
+        @FindBy(id = "status")
+        @FindBys([@org.openqa.selenium.support.FindBy(id = "status")])
+        WebElementFacade status
+
+        BrokenPage(WebDriver driver) {
+            super(driver)
+        }
+    }
+
+    HtmlUnitDriver driver = new HtmlUnitDriver(true)
+
+    def setup() {
+        PageDecorationPlan.clearCachedPlans()
+    }
+
+    def cleanup() {
+        driver.quit()
+    }
+
+    private static SmartFieldDecorator decorator() {
+        new SmartFieldDecorator(null, null, null)
+    }
+
+    def "should plan to proxy the annotated web element fields of the page and its parent classes"() {
+        when:
+            def plan = PageDecorationPlan.forClass(DetailedStatusPage, MobilePlatform.NONE, decorator())
+        then:
+            plan.decoratedFields*.field*.name.containsAll(["hiddenMessage", "status", "paragraphs", "heading"])
+            !plan.decoratedFields*.field*.name.contains("unannotatedList")
+            !plan.decoratedFields*.field*.name.contains("title")
+    }
+
+    def "should read the locator and timeout of each field when the plan is made"() {
+        when:
+            def plan = PageDecorationPlan.forClass(StatusPage, MobilePlatform.NONE, decorator())
+            def locations = plan.decoratedFields.collectEntries { [(it.field.name): it] }
+        then:
+            locations["status"].by == By.id("status")
+            locations["paragraphs"].by == By.cssSelector("p")
+            locations["paragraphs"].annotatedTimeoutInSeconds == Optional.of(3)
+            !locations["status"].annotatedTimeoutInSeconds.isPresent()
+    }
+
+    def "should only plan the decoration of each class once"() {
+        expect:
+            PageDecorationPlan.forClass(StatusPage, MobilePlatform.NONE, decorator()).is(PageDecorationPlan.forClass(StatusPage, MobilePlatform.NONE, decorator()))
+            !PageDecorationPlan.forClass(StatusPage, MobilePlatform.NONE, decorator()).is(PageDecorationPlan.forClass(StatusPage, MobilePlatform.ANDROID, decorator()))
+    }
+
+    def "page objects decorated using a plan should find their elements with their own driver"() {
+        given:
+            driver.get(DELAYED_CHANGES)
+            def otherDriver = new HtmlUnitDriver(true)
+            otherDriver.get(DELAYED_CHANGES + "#60000")
+        when:
+            def firstPage = new DetailedStatusPage(driver)
+            def secondPage = new DetailedStatusPage(otherDriver)
+        then:
+            firstPage.status.waitUntilTextContains("Finished loading").text == "Finished loading"
+            secondPage.status.text == "Loading..."
+            firstPage.paragraphs.size() == 3
+            firstPage.heading.text == "Delayed changes"
+            secondPage.title == "Status"
+        cleanup:
+            otherDriver.quit()
+    }
+
+    def "should report invalid annotations every time a page object is created"() {
+        when:
+            new BrokenPage(driver)
+        then:
+            thrown(IllegalArgumentException)
+        when:
+            new BrokenPage(driver)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
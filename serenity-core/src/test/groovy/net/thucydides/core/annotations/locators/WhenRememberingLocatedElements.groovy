@@ -0,0 +1,183 @@
+package net.thucydides.core.annotations.locators
+
+import net.serenitybdd.core.annotations.findby.FindBy
+import net.serenitybdd.core.pages.PageObject
+import net.serenitybdd.core.pages.WebElementFacade
+import net.thucydides.core.webdriver.WebDriverFacade
+import net.thucydides.core.webdriver.WebDriverFactory
+import net.thucydides.model.environment.TestLocalEnvironmentVariables
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.htmlunit.HtmlUnitDriver
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.file.Paths
+
+class WhenRememberingLocatedElements extends Specification {
+
+    static final String CHANGING_DOM = Paths.get("src/test/resources/static-site/changing-dom.html").toUri().toString()
+    static final String DELAYED_CHANGES = Paths.get("src/test/resources/static-site/delayed-changes.html").toUri().toString()
+
+    static class StatusPage extends PageObject {
+        @FindBy(id = "status")
+        WebElementFacade status
+
+        @FindBy(id = "replace")
+        WebElementFacade replaceButton
+
+        @FindBy(id = "update")
+        WebElementFacade updateButton
+
+        @FindBy(id = "remove")
+        WebElementFacade removeButton
+
+        @FindBy(id = "status", timeoutInSeconds = "10")
+        WebElementFacade slowStatus
+
+        StatusPage(WebDriver driver) {
+            super(driver)
+        }
+    }
+
+    HtmlUnitDriver htmlUnitDriver = new HtmlUnitDriver(true)
+    WebDriverFacade driver = new WebDriverFacade(htmlUnitDriver, new WebDriverFactory())
+
+    def setup() {
+        LocatedElementCacheStatistics.reset()
+        TestLocalEnvironmentVariables.setProperty("serenity.locator.cache", "true")
+        driver.get(CHANGING_DOM)
+    }
+
+    def cleanup() {
+        htmlUnitDriver.quit()
+        TestLocalEnvironmentVariables.clear()
+    }
+
+    def "should reuse an element that has already been located"() {
+        given:
+            def page = new StatusPage(driver)
+        when:
+            def texts = (1..3).collect { page.status.text }
+        then:
+            texts == ["Ready", "Ready", "Ready"]
+            LocatedElementCacheStatistics.misses == 1
+            LocatedElementCacheStatistics.hits == 2
+            LocatedElementCacheStatistics.roundTripsSaved == 4
+    }
+
+    def "should see changes made to a remembered element"() {
+        given:
+            def page = new StatusPage(driver)
+            page.status.text
+        when:
+            page.updateButton.click()
+        then:
+            page.status.text == "Updated"
+            LocatedElementCacheStatistics.staleRevalidations == 0
+    }
+
+    def "should locate an element again if it has been replaced in the page"() {
+        given:
+            def page = new StatusPage(driver)
+            page.status.text
+        when:
+            page.replaceButton.click()
+        then:
+            page.status.text == "Replaced"
+            page.status.text == "Replaced"
+            LocatedElementCacheStatistics.staleRevalidations == 1
+    }
+
+    def "should forget the located elements when the driver navigates to another page"() {
+        given:
+            def page = new StatusPage(driver)
+            page.status.text
+        when:
+            driver.get(DELAYED_CHANGES + "#60000")
+        then:
+            page.status.text == "Loading..."
+            LocatedElementCacheStatistics.invalidations == 1
+            LocatedElementCacheStatistics.staleRevalidations == 0
+    }
+
+    def "should forget the located elements when the driver switches to another frame or window"() {
+        given:
+            def page = new StatusPage(driver)
+            page.status.text
+        when:
+            driver.switchTo().defaultContent()
+            page.status.text
+        then:
+            LocatedElementCacheStatistics.invalidations == 1
+    }
+
+    def "should forget the located elements when the driver navigates using a navigation it kept"() {
+        given:
+            def page = new StatusPage(driver)
+            def navigation = driver.navigate()
+            page.status.text
+        when:
+            navigation.refresh()
+        then:
+            page.status.text == "Ready"
+            LocatedElementCacheStatistics.invalidations == 1
+            LocatedElementCacheStatistics.staleRevalidations == 0
+    }
+
+    def "should forget the located elements when the driver switches using a target locator it kept"() {
+        given:
+            def page = new StatusPage(driver)
+            def targetLocator = driver.switchTo()
+            page.status.text
+        when:
+            targetLocator.defaultContent()
+            page.status.text
+        then:
+            LocatedElementCacheStatistics.invalidations == 1
+    }
+
+    @Timeout(5)
+    def "should not wait for a remembered element that has been removed from the page in a quick method"() {
+        given:
+            def page = new StatusPage(driver)
+            page.slowStatus.text
+        when:
+            page.removeButton.click()
+        then:
+            !page.slowStatus.isCurrentlyVisible()
+            !page.slowStatus.isCurrentlyEnabled()
+            LocatedElementCacheStatistics.staleRevalidations == 2
+    }
+
+    def "should report that a remembered element that has been removed from the page is no longer present"() {
+        given:
+            def page = new StatusPage(driver)
+            page.status.text
+        when:
+            page.removeButton.click()
+        then:
+            !page.status.isPresent()
+            LocatedElementCacheStatistics.staleRevalidations == 1
+    }
+
+    def "remembered elements can be passed to JavaScript"() {
+        given:
+            def page = new StatusPage(driver)
+            page.status.text
+        when:
+            def tagName = driver.executeScript("return arguments[0].tagName", page.status.element)
+        then:
+            tagName.toLowerCase() == "p"
+    }
+
+    def "should not remember located elements by default"() {
+        given:
+            TestLocalEnvironmentVariables.clear()
+            def page = new StatusPage(driver)
+        when:
+            (1..3).each { page.status.text }
+        then:
+            LocatedElementCacheStatistics.hits == 0
+            LocatedElementCacheStatistics.misses == 0
+    }
+}
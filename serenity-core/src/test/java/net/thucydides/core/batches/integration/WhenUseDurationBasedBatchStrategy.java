@@ -0,0 +1,222 @@
+package net.thucydides.core.batches.integration;
+
+import net.thucydides.model.batches.BatchStrategy;
+import net.thucydides.model.batches.DurationBasedBatchManager;
+import net.thucydides.model.batches.SystemVariableBasedBatchManager;
+import net.thucydides.model.batches.TestCountBasedBatchManager;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class WhenUseDurationBasedBatchStrategy {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private MockEnvironmentVariables environmentVariables;
+
+	@Before
+	public void initMocks() {
+		environmentVariables = new MockEnvironmentVariables();
+	}
+
+	private MockEnvironmentVariables batch(int batchNumber, int batchCount) {
+		MockEnvironmentVariables batchVariables = new MockEnvironmentVariables();
+		batchVariables.setProperty("serenity.batch.count", Integer.toString(batchCount));
+		batchVariables.setProperty("serenity.batch.number", Integer.toString(batchNumber));
+		return batchVariables;
+	}
+
+	private void writeOutcome(File directory, String fileName, String json) throws IOException {
+		Files.write(new File(directory, fileName).toPath(), json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void should_read_the_duration_of_each_test_case_from_previous_test_outcomes() throws IOException {
+		File outcomes = temporaryFolder.newFolder("outcomes");
+		writeOutcome(outcomes, "a1.json", "{\"name\":\"first\",\"testSteps\":[{\"duration\":5}],\"testCaseName\":\"sample.SlowTest\",\"duration\":1200}");
+		writeOutcome(outcomes, "a2.json", "{\"duration\":800,\"name\":\"second\",\"testCaseName\":\"sample.SlowTest\"}");
+		writeOutcome(outcomes, "b.json", "{\"testCaseName\":\"sample.Outer.NestedTest\",\"duration\":300}");
+		writeOutcome(outcomes, "no-test-case.json", "{\"name\":\"a cucumber scenario\",\"duration\":300}");
+		writeOutcome(outcomes, "summary.json", "[1, 2, 3]");
+		writeOutcome(outcomes, "broken.json", "{\"testCaseName\":");
+
+		Map<String, Long> durations = DurationBasedBatchManager.previousDurationsIn(Optional.of(outcomes.getPath()));
+
+		assertThat(durations.size(), is(2));
+		assertThat(durations.get("sample.SlowTest"), is(2000L));
+		assertThat(durations.get("sample.Outer.NestedTest"), is(300L));
+	}
+
+	@Test
+	public void should_use_the_durations_directory_to_share_out_test_cases() throws IOException {
+		File outcomes = temporaryFolder.newFolder("outcomes");
+		writeOutcome(outcomes, "a.json", "{\"testCaseName\":\"sample.Outer.NestedTest\",\"duration\":300}");
+		MockEnvironmentVariables batchVariables = batch(1, 2);
+		batchVariables.setProperty("serenity.batch.durations.directory", outcomes.getPath());
+
+		DurationBasedBatchManager batchManager = new DurationBasedBatchManager(batchVariables);
+
+		assertThat(batchManager.getPredictedBatchDurations(), contains(Duration.ofMillis(0), Duration.ofMillis(300)));
+		batchManager.registerTestCase("sample.Outer$NestedTest");
+		assertThat(batchManager.shouldExecuteThisTest(1), is(false));
+	}
+
+	@Test
+	public void should_be_available_as_a_batch_strategy() throws Exception {
+		assertThat(BatchStrategy.valueOf("DIVIDE_BY_DURATION").instance(environmentVariables), instanceOf(DurationBasedBatchManager.class));
+	}
+
+	@Test
+	public void by_default_all_tests_should_run() {
+		DurationBasedBatchManager batchManager = new DurationBasedBatchManager(environmentVariables, durations(100, 200));
+
+		for (int i = 0; i < 10; i++) {
+			batchManager.registerTestCase("Test Case " + i);
+			assertThat(batchManager.shouldExecuteThisTest(1), is(true));
+		}
+	}
+
+	@Test
+	public void each_test_case_should_run_in_exactly_one_batch() {
+		Map<String, Long> durations = durations(900, 700, 650, 400, 300, 300, 120, 50, 20, 5);
+		List<Set<String>> executedTestCases = runInBatches(3, durations, durations.keySet());
+
+		Set<String> allExecutedTestCases = new HashSet<>();
+		executedTestCases.forEach(allExecutedTestCases::addAll);
+		assertThat(allExecutedTestCases, is(durations.keySet()));
+		assertThat(executedTestCases.stream().mapToInt(Set::size).sum(), is(durations.size()));
+	}
+
+	@Test
+	public void should_predict_the_duration_of_each_batch() {
+		Map<String, Long> durations = durations(900, 700, 650, 400, 300, 300, 120, 50, 20, 5);
+		List<Set<String>> executedTestCases = runInBatches(3, durations, durations.keySet());
+
+		for (int batchNumber = 1; batchNumber <= 3; batchNumber++) {
+			DurationBasedBatchManager batchManager = new DurationBasedBatchManager(batch(batchNumber, 3), durations);
+			long durationOfExecutedTestCases = executedTestCases.get(batchNumber - 1).stream().mapToLong(durations::get).sum();
+
+			assertThat(batchManager.getPredictedBatchDurations().get(batchNumber - 1), is(Duration.ofMillis(durationOfExecutedTestCases)));
+		}
+	}
+
+	@Test
+	public void should_balance_batches_within_the_longest_processing_time_first_bounds() {
+		Random random = new Random(42);
+		for (int round = 0; round < 20; round++) {
+			int batchCount = 2 + random.nextInt(6);
+			long[] testCaseDurations = new long[10 + random.nextInt(60)];
+			for (int i = 0; i < testCaseDurations.length; i++) {
+				// Mostly quick tests, with a few slow UI tests
+				testCaseDurations[i] = (random.nextInt(10) == 0) ? 20_000 + random.nextInt(60_000) : 100 + random.nextInt(2_000);
+			}
+			Map<String, Long> durations = durations(testCaseDurations);
+			long total = Arrays.stream(testCaseDurations).sum();
+			long longest = Arrays.stream(testCaseDurations).max().getAsLong();
+
+			DurationBasedBatchManager batchManager = new DurationBasedBatchManager(batch(1, batchCount), durations);
+			long makespan = batchManager.getPredictedBatchDurations().stream().mapToLong(Duration::toMillis).max().getAsLong();
+
+			long lowerBound = Math.max(longest, (total + batchCount - 1) / batchCount);
+			assertThat(makespan, greaterThanOrEqualTo(lowerBound));
+			assertThat((double) makespan, lessThanOrEqualTo((double) total / batchCount + longest * (1.0 - 1.0 / batchCount)));
+			assertThat(batchManager.getPredictedBatchDurations().stream().mapToLong(Duration::toMillis).sum(), is(total));
+		}
+	}
+
+	@Test
+	public void should_take_less_time_than_dividing_equally_when_some_tests_are_much_slower() {
+		Map<String, Long> durations = durations(60_000, 50_000, 1_000, 1_000, 1_000, 1_000, 1_000, 1_000);
+		List<String> testCases = new ArrayList<>(durations.keySet());
+
+		long durationBasedMakespan = makespanOf(runInBatches(2, durations, testCases), durations);
+
+		long equallyDividedMakespan = 0;
+		for (int batchNumber = 1; batchNumber <= 2; batchNumber++) {
+			SystemVariableBasedBatchManager batchManager = new SystemVariableBasedBatchManager(batch(batchNumber, 2));
+			long batchDuration = 0;
+			for (String testCase : testCases) {
+				batchManager.registerTestCase(testCase);
+				if (batchManager.shouldExecuteThisTest(1)) {
+					batchDuration += durations.get(testCase);
+				}
+			}
+			equallyDividedMakespan = Math.max(equallyDividedMakespan, batchDuration);
+		}
+
+		assertThat(durationBasedMakespan, is(60_000L));
+		assertThat(durationBasedMakespan, lessThan(equallyDividedMakespan));
+	}
+
+	@Test
+	public void test_cases_without_a_previous_duration_should_be_shared_out_by_test_count() {
+		List<Integer> testCountInTestCase = Arrays.asList(3, 8, 1, 9, 1, 2, 1);
+		for (int batchNumber = 1; batchNumber <= 3; batchNumber++) {
+			DurationBasedBatchManager durationBasedBatchManager = new DurationBasedBatchManager(batch(batchNumber, 3), durations(5_000));
+			TestCountBasedBatchManager testCountBasedBatchManager = new TestCountBasedBatchManager(batch(batchNumber, 3));
+			for (int testCase = 1; testCase <= testCountInTestCase.size(); testCase++) {
+				durationBasedBatchManager.registerTestCase("New Test Case " + testCase);
+				testCountBasedBatchManager.registerTestCase("New Test Case " + testCase);
+
+				assertThat(durationBasedBatchManager.shouldExecuteThisTest(testCountInTestCase.get(testCase - 1)),
+						is(testCountBasedBatchManager.shouldExecuteThisTest(testCountInTestCase.get(testCase - 1))));
+			}
+		}
+	}
+
+	@Test
+	public void should_recognise_nested_test_classes() {
+		Map<String, Long> durations = new HashMap<>();
+		durations.put(NestedTestCase.class.getCanonicalName(), 100L);
+		durations.put("sample.OtherTest", 200L);
+
+		DurationBasedBatchManager batchManager = new DurationBasedBatchManager(batch(1, 2), durations);
+
+		assertThat(batchManager.shouldExecuteThisTest(NestedTestCase.class, 1), is(true));
+	}
+
+	static class NestedTestCase {}
+
+	private Map<String, Long> durations(long... testCaseDurations) {
+		Map<String, Long> durations = new LinkedHashMap<>();
+		for (int i = 0; i < testCaseDurations.length; i++) {
+			durations.put("sample.TestCase" + i, testCaseDurations[i]);
+		}
+		return durations;
+	}
+
+	private List<Set<String>> runInBatches(int batchCount, Map<String, Long> durations, Collection<String> testCases) {
+		List<Set<String>> executedTestCases = new ArrayList<>();
+		for (int batchNumber = 1; batchNumber <= batchCount; batchNumber++) {
+			DurationBasedBatchManager batchManager = new DurationBasedBatchManager(batch(batchNumber, batchCount), durations);
+			Set<String> executedInBatch = new HashSet<>();
+			for (String testCase : testCases) {
+				batchManager.registerTestCase(testCase);
+				if (batchManager.shouldExecuteThisTest(1)) {
+					executedInBatch.add(testCase);
+				}
+			}
+			executedTestCases.add(executedInBatch);
+		}
+		return executedTestCases;
+	}
+
+	private long makespanOf(List<Set<String>> executedTestCases, Map<String, Long> durations) {
+		return executedTestCases.stream()
+				.mapToLong(testCases -> testCases.stream().mapToLong(durations::get).sum())
+				.max().getAsLong();
+	}
+}
@@ -1,5 +1,6 @@
 package net.thucydides.core.steps;
 
+import net.serenitybdd.annotations.Step;
 import net.thucydides.core.pages.Pages;
 import org.junit.Test;
 
@@ -31,4 +32,20 @@ public class WhenUsingTheStepFactory {
         assertThat(factoryA).isEqualTo(factoryB);
     }
 
+    public static class SimpleSteps {
+        @Step
+        public void a_step() {}
+    }
+
+    @Test
+    public void the_default_constructor_of_a_step_library_is_only_resolved_once() {
+        SimpleSteps firstLibrary = StepFactory.getFactory().getUniqueStepLibraryFor(SimpleSteps.class);
+        SimpleSteps secondLibrary = StepFactory.getFactory().getUniqueStepLibraryFor(SimpleSteps.class);
+
+        assertThat(secondLibrary).isNotSameAs(firstLibrary);
+        assertThat(secondLibrary.getClass()).isSameAs(firstLibrary.getClass());
+        assertThat(StepFactory.defaultConstructorFor(secondLibrary.getClass()))
+                .isNotNull()
+                .isSameAs(StepFactory.defaultConstructorFor(firstLibrary.getClass()));
+    }
 }
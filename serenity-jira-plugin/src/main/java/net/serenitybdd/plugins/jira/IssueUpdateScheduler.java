@@ -0,0 +1,143 @@
+package net.serenitybdd.plugins.jira;
+
+import net.serenitybdd.plugins.jira.model.IssueTrackerUpdateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Runs JIRA issue updates on a bounded number of threads, never updating the same issue twice at the same time.
+ * Requests to update an issue that is already waiting to be updated are coalesced into the waiting update.
+ * Requests to update an issue that is being updated result in a single further update once the current one
+ * has finished, so that it can take the latest test results into account.
+ */
+class IssueUpdateScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IssueUpdateScheduler.class);
+    private static final AtomicInteger SCHEDULER_NUMBER = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, IssueUpdates> updatesByIssue = new HashMap<>();
+
+    private final LongAdder requestedUpdates = new LongAdder();
+    private final LongAdder performedUpdates = new LongAdder();
+
+    IssueUpdateScheduler(int maxConcurrentUpdates) {
+        int threads = Math.max(1, maxConcurrentUpdates);
+        int schedulerNumber = SCHEDULER_NUMBER.incrementAndGet();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                task -> new Thread(task, "jira-updates-" + schedulerNumber + "-" + threadNumber.incrementAndGet()));
+        // Idle threads are released so that the scheduler never keeps the JVM alive once all updates are done
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Updates each of the issues, and waits until all of the updates have been done.
+     * If any of the updates fail, the first failure is rethrown once the other updates have finished.
+     */
+    void updateAll(Collection<String> issueKeys, Consumer<String> update) {
+        Map<String, CompletableFuture<Void>> pendingUpdates = new LinkedHashMap<>();
+        for (String issueKey : issueKeys) {
+            pendingUpdates.put(issueKey, requestUpdate(issueKey, () -> update.accept(issueKey)));
+        }
+
+        RuntimeException firstFailure = null;
+        for (Map.Entry<String, CompletableFuture<Void>> pendingUpdate : pendingUpdates.entrySet()) {
+            try {
+                pendingUpdate.getValue().join();
+            } catch (CompletionException | CancellationException failure) {
+                RuntimeException cause = asRuntimeException(failure.getCause(), pendingUpdate.getKey());
+                LOGGER.error("Could not update JIRA issue {}: {}", pendingUpdate.getKey(), cause.getMessage());
+                if (firstFailure == null) {
+                    firstFailure = cause;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    /**
+     * Asks for an issue to be updated, returning a future that completes when an update started after this request
+     * has finished.
+     */
+    CompletableFuture<Void> requestUpdate(String issueKey, Runnable update) {
+        requestedUpdates.increment();
+        synchronized (updatesByIssue) {
+            IssueUpdates updates = updatesByIssue.computeIfAbsent(issueKey, key -> new IssueUpdates());
+            updates.nextUpdate = update;
+            if (updates.waiting == null) {
+                updates.waiting = new CompletableFuture<>();
+                if (!updates.running) {
+                    schedule(issueKey, updates);
+                }
+            }
+            return updates.waiting;
+        }
+    }
+
+    /**
+     * The number of updates that were asked for, including those that were coalesced into other updates.
+     */
+    long getRequestedUpdates() {
+        return requestedUpdates.sum();
+    }
+
+    /**
+     * The number of updates that were actually performed.
+     */
+    long getPerformedUpdates() {
+        return performedUpdates.sum();
+    }
+
+    private void schedule(String issueKey, IssueUpdates updates) {
+        updates.running = true;
+        executor.execute(() -> perform(issueKey, updates));
+    }
+
+    private void perform(String issueKey, IssueUpdates updates) {
+        Runnable update;
+        CompletableFuture<Void> result;
+        synchronized (updatesByIssue) {
+            update = updates.nextUpdate;
+            result = updates.waiting;
+            updates.waiting = null;
+        }
+        try {
+            performedUpdates.increment();
+            update.run();
+            result.complete(null);
+        } catch (Throwable failure) {
+            result.completeExceptionally(failure);
+        } finally {
+            synchronized (updatesByIssue) {
+                if (updates.waiting != null) {
+                    schedule(issueKey, updates);
+                } else {
+                    updates.running = false;
+                    updatesByIssue.remove(issueKey);
+                }
+            }
+        }
+    }
+
+    private RuntimeException asRuntimeException(Throwable failure, String issueKey) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        return new IssueTrackerUpdateException("Could not update JIRA issue " + issueKey, failure);
+    }
+
+    private static class IssueUpdates {
+        private Runnable nextUpdate;
+        private CompletableFuture<Void> waiting;
+        private boolean running;
+    }
+}
@@ -4,4 +4,17 @@ public class JiraPluginConfigurationOptions {
     public static final String SKIP_JIRA_UPDATES = "serenity.skip.jira.updates";
     public static final String ALWAYS_CREATE_NEW_COMMENT = "serenity.jira.always.create.new.comment";
     public static final String BUILD_ID_PROPERTY = "build.id";
+    public static final String MAX_THREADS = "jira.max.threads";
+    /**
+     * The maximum number of requests sent to JIRA each second. Requests are not rate-limited unless this is set.
+     */
+    public static final String MAX_REQUESTS_PER_SECOND = "serenity.jira.max.requests.per.second";
+    /**
+     * How many times a request is retried when JIRA is temporarily unavailable (3 by default).
+     */
+    public static final String MAX_RETRIES = "serenity.jira.max.retries";
+    /**
+     * How long to wait before the first retry, in milliseconds (500 by default). The pause doubles with each retry.
+     */
+    public static final String RETRY_BACKOFF = "serenity.jira.retry.backoff";
 }
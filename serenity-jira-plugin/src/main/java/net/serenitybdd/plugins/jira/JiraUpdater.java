@@ -8,6 +8,7 @@ import net.serenitybdd.plugins.jira.model.TestResultComment;
 import net.serenitybdd.plugins.jira.service.JIRAConfiguration;
 import net.serenitybdd.plugins.jira.service.JIRAInfrastructure;
 import net.serenitybdd.plugins.jira.service.NoSuchIssueException;
+import net.serenitybdd.plugins.jira.service.ThrottledIssueTracker;
 import net.serenitybdd.plugins.jira.workflow.ClasspathWorkflowLoader;
 import net.serenitybdd.plugins.jira.workflow.Workflow;
 import net.serenitybdd.plugins.jira.workflow.WorkflowLoader;
@@ -34,7 +35,11 @@ import static net.serenitybdd.plugins.jira.model.JIRACommentBuilder.SERENITY_COM
 public class JiraUpdater {
 
     static int DEFAULT_MAX_THREADS = 4;
+    static int DEFAULT_MAX_REQUESTS_PER_SECOND = 0;
+    static int DEFAULT_MAX_RETRIES = 3;
+    static int DEFAULT_RETRY_BACKOFF_IN_MILLIS = 500;
     private final IssueTracker issueTracker;
+    private final IssueUpdateScheduler updateScheduler;
 
     private final EnvironmentVariables environmentVariables;
     private static final Logger LOGGER = LoggerFactory.getLogger(JiraUpdater.class);
@@ -45,8 +50,12 @@ public class JiraUpdater {
     public JiraUpdater(IssueTracker issueTracker,
                        EnvironmentVariables environmentVariables,
                        WorkflowLoader loader) {
-        this.issueTracker = issueTracker;
         this.environmentVariables = environmentVariables;
+        this.issueTracker = new ThrottledIssueTracker(issueTracker,
+                                                      environmentVariables.getPropertyAsInteger(MAX_REQUESTS_PER_SECOND, DEFAULT_MAX_REQUESTS_PER_SECOND),
+                                                      environmentVariables.getPropertyAsInteger(MAX_RETRIES, DEFAULT_MAX_RETRIES),
+                                                      environmentVariables.getPropertyAsInteger(RETRY_BACKOFF, DEFAULT_RETRY_BACKOFF_IN_MILLIS));
+        this.updateScheduler = new IssueUpdateScheduler(getMaxJobs());
         configuration = JIRAInfrastructure.getConfiguration();
         workflow = loader.load();
         this.projectPrefix = environmentVariables.getProperty(ThucydidesSystemProperty.JIRA_PROJECT.getPropertyName());
@@ -62,9 +71,13 @@ public class JiraUpdater {
         LOGGER.debug("WORKFLOW ACTIVE: {} ", workflow.isActive());
     }
 
+    /**
+     * Updates the comments and status of each issue, a few issues at a time (see jira.max.threads).
+     * Each issue is updated once, using all of the test outcomes recorded for it when the update starts.
+     */
     public void updateIssueStatus(Set<String> issues, final TestResultTally<TestOutcomeSummary> resultTally) {
 
-        issues.parallelStream().forEach(
+        updateScheduler.updateAll(issues,
                 issue -> updateIssue(issue, resultTally.getTestOutcomesForIssue(issue))
         );
     }
@@ -223,7 +236,7 @@ public class JiraUpdater {
     }
 
     private int getMaxJobs() {
-        return environmentVariables.getPropertyAsInteger("jira.max.threads", DEFAULT_MAX_THREADS);
+        return environmentVariables.getPropertyAsInteger(MAX_THREADS, DEFAULT_MAX_THREADS);
     }
 
     protected Workflow getWorkflow() {
@@ -238,4 +251,8 @@ public class JiraUpdater {
         return issueTracker;
     }
 
+    IssueUpdateScheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
+
 }
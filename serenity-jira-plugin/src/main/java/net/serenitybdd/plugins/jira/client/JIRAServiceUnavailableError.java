@@ -0,0 +1,13 @@
+package net.serenitybdd.plugins.jira.client;
+
+import net.serenitybdd.plugins.jira.model.JQLException;
+
+/**
+ * Thrown when JIRA is temporarily unable to handle a request, for example because it is rate limiting
+ * the client (429) or is overloaded (502, 503 or 504). The request can usually be retried after a pause.
+ */
+public class JIRAServiceUnavailableError extends JQLException {
+    public JIRAServiceUnavailableError(String message) {
+        super(message);
+    }
+}
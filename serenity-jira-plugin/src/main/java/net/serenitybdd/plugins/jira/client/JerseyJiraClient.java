@@ -57,6 +57,7 @@ public class JerseyJiraClient {
     private Map<String, String> customFieldNameIndex;
     private String metadataIssueType;
     private LoadingCache<String, Optional<IssueSummary>> issueSummaryCache;
+    private volatile Client restClient;
 
     private Map<LoadingStrategy, LoadingCache<String, List<IssueSummary>>> issueQueryCachePerStrategy;
 
@@ -511,11 +512,24 @@ public class JerseyJiraClient {
         }
     }
 
+    /**
+     * JAX-RS clients are thread-safe and expensive to build, so a single client is shared by all requests.
+     */
     public Client restClient() {
-        return ClientBuilder.newBuilder()
-                .register(HttpAuthenticationFeature.basic(username, password))
-                .property(ClientProperties.FOLLOW_REDIRECTS, Boolean.TRUE)
-                .build();
+        Client client = restClient;
+        if (client == null) {
+            synchronized (this) {
+                client = restClient;
+                if (client == null) {
+                    client = ClientBuilder.newBuilder()
+                            .register(HttpAuthenticationFeature.basic(username, password))
+                            .property(ClientProperties.FOLLOW_REDIRECTS, Boolean.TRUE)
+                            .build();
+                    restClient = client;
+                }
+            }
+        }
+        return client;
     }
 
     private String stringValueOf(JsonElement field) {
@@ -561,6 +575,11 @@ public class JerseyJiraClient {
                     handleConfigurationError("Service not found (404) - try checking the JIRA URL?");
                 case 407:
                     handleConfigurationError("Proxy authentication required (407)");
+                case 429:
+                case 502:
+                case 503:
+                case 504:
+                    throw new JIRAServiceUnavailableError("JIRA is temporarily unavailable: error " + status);
                 default:
                     throw new JQLException("JIRA query failed: error " + status);
             }
@@ -761,11 +780,13 @@ public class JerseyJiraClient {
         WebTarget target = restClient().target(updatedComment.getSelf());
 
         Response response = target.request(MediaType.APPLICATION_JSON_TYPE).get();
+        checkValid(response);
 
         JsonObject jsonComment = new JsonParser().parse(response.readEntity(String.class)).getAsJsonObject();
         jsonComment.addProperty("body", updatedComment.getBody());
 
-        target.request(MediaType.APPLICATION_JSON_TYPE).put(Entity.entity(jsonComment.toString(), MediaType.APPLICATION_JSON));
+        Response updateResponse = target.request(MediaType.APPLICATION_JSON_TYPE).put(Entity.entity(jsonComment.toString(), MediaType.APPLICATION_JSON));
+        checkValid(updateResponse);
         issueSummaryCache.invalidate(key);
     }
 
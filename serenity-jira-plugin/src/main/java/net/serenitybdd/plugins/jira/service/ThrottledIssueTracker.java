@@ -0,0 +1,157 @@
+package net.serenitybdd.plugins.jira.service;
+
+import net.serenitybdd.plugins.jira.client.JIRAServiceUnavailableError;
+import net.serenitybdd.plugins.jira.domain.IssueComment;
+import net.serenitybdd.plugins.jira.model.IssueTracker;
+import net.serenitybdd.plugins.jira.model.IssueTrackerUpdateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.ProcessingException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An issue tracker that limits the rate of requests sent to another issue tracker, and retries requests
+ * that fail because JIRA is temporarily unavailable or could not be reached.
+ * Failed requests are retried after an exponentially increasing, slightly randomised pause.
+ */
+public class ThrottledIssueTracker implements IssueTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThrottledIssueTracker.class);
+    private static final long MAX_BACKOFF_IN_MILLIS = 30_000;
+
+    private final IssueTracker issueTracker;
+    private final int maxRetries;
+    private final long initialBackoffInMillis;
+    private final long intervalBetweenRequestsInNanos;
+
+    private long nextRequestSlot = System.nanoTime();
+    private long grantedPermits;
+    private long firstPermitInNanos;
+    private long lastPermitInNanos;
+
+    /**
+     * @param issueTracker           the issue tracker that performs the requests
+     * @param maxRequestsPerSecond   the maximum number of requests to send each second, or 0 for no limit
+     * @param maxRetries             how many times a failed request is retried
+     * @param initialBackoffInMillis how long to wait before the first retry
+     */
+    public ThrottledIssueTracker(IssueTracker issueTracker, int maxRequestsPerSecond, int maxRetries, long initialBackoffInMillis) {
+        this.issueTracker = issueTracker;
+        this.maxRetries = maxRetries;
+        this.initialBackoffInMillis = initialBackoffInMillis;
+        this.intervalBetweenRequestsInNanos = (maxRequestsPerSecond > 0) ? TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond : 0;
+    }
+
+    @Override
+    public void addComment(String issueKey, String commentText) {
+        perform(() -> { issueTracker.addComment(issueKey, commentText); return null; }, "add a comment to " + issueKey);
+    }
+
+    @Override
+    public List<IssueComment> getCommentsFor(String issueKey) {
+        return perform(() -> issueTracker.getCommentsFor(issueKey), "read the comments of " + issueKey);
+    }
+
+    @Override
+    public void updateComment(String issueKey, IssueComment issueComment) {
+        perform(() -> { issueTracker.updateComment(issueKey, issueComment); return null; }, "update a comment in " + issueKey);
+    }
+
+    @Override
+    public String getStatusFor(String issueKey) {
+        return perform(() -> issueTracker.getStatusFor(issueKey), "read the status of " + issueKey);
+    }
+
+    @Override
+    public void doTransition(String issueKey, String status) {
+        perform(() -> { issueTracker.doTransition(issueKey, status); return null; }, "perform '" + status + "' on " + issueKey);
+    }
+
+    @Override
+    public JIRAConnection getJiraConnection() {
+        return issueTracker.getJiraConnection();
+    }
+
+    @Override
+    public String toString() {
+        return issueTracker.toString();
+    }
+
+    private <T> T perform(Supplier<T> request, String description) {
+        for (int attempt = 0; ; attempt++) {
+            waitForNextRequestSlot();
+            try {
+                return request.get();
+            } catch (RuntimeException failure) {
+                if (attempt >= maxRetries || !isTemporary(failure)) {
+                    throw failure;
+                }
+                long backoff = backoffBeforeRetry(attempt);
+                LOGGER.warn("Could not {} ({}), retrying in {} ms", description, failure.getMessage(), backoff);
+                pause(TimeUnit.MILLISECONDS.toNanos(backoff));
+            }
+        }
+    }
+
+    private boolean isTemporary(Throwable failure) {
+        if (failure instanceof JIRAServiceUnavailableError || failure instanceof ProcessingException) {
+            return true;
+        }
+        return (failure instanceof IssueTrackerUpdateException) && (failure.getCause() != null) && isTemporary(failure.getCause());
+    }
+
+    private long backoffBeforeRetry(int attempt) {
+        long backoff = Math.min(MAX_BACKOFF_IN_MILLIS, initialBackoffInMillis << Math.min(attempt, 16));
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 4 + 1);
+    }
+
+    private void waitForNextRequestSlot() {
+        if (intervalBetweenRequestsInNanos == 0) {
+            return;
+        }
+        long requestSlot;
+        synchronized (this) {
+            requestSlot = Math.max(nextRequestSlot, System.nanoTime());
+            nextRequestSlot = requestSlot + intervalBetweenRequestsInNanos;
+            if (grantedPermits++ == 0) {
+                firstPermitInNanos = requestSlot;
+            }
+            lastPermitInNanos = requestSlot;
+        }
+        pause(requestSlot - System.nanoTime());
+    }
+
+    /**
+     * How many requests have been given a time slot so far (always 0 when the request rate is not limited).
+     */
+    public synchronized long getGrantedPermits() {
+        return grantedPermits;
+    }
+
+    /**
+     * The time between the slots given to the first and the last requests, in nanoseconds.
+     */
+    public synchronized long getPermittedTimeSpanInNanos() {
+        return lastPermitInNanos - firstPermitInNanos;
+    }
+
+    public long getIntervalBetweenRequestsInNanos() {
+        return intervalBetweenRequestsInNanos;
+    }
+
+    private void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IssueTrackerUpdateException("Interrupted while waiting to send a request to JIRA", e);
+        }
+    }
+}
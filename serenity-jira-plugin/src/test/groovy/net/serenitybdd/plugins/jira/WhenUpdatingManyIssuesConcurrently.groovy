@@ -0,0 +1,181 @@
+package net.serenitybdd.plugins.jira
+
+import net.serenitybdd.annotations.Issue
+import net.serenitybdd.plugins.jira.service.JiraIssueTracker
+import net.serenitybdd.plugins.jira.service.SystemPropertiesJIRAConfiguration
+import net.serenitybdd.plugins.jira.service.ThrottledIssueTracker
+import net.serenitybdd.plugins.jira.stub.JiraStubServer
+import net.serenitybdd.plugins.jira.workflow.ClasspathWorkflowLoader
+import net.thucydides.model.domain.TestOutcome
+import net.thucydides.model.domain.TestOutcomeSummary
+import net.thucydides.model.domain.TestResult
+import net.thucydides.model.domain.TestStep
+import net.thucydides.model.environment.MockEnvironmentVariables
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+import static net.serenitybdd.plugins.jira.JiraPluginConfigurationOptions.*
+import static net.thucydides.model.domain.TestResult.FAILURE
+import static net.thucydides.model.domain.TestResult.SUCCESS
+
+class WhenUpdatingManyIssuesConcurrently extends Specification {
+
+    static class SampleTestCase {
+        @Issue("#MYPROJECT-1")
+        void a_passing_test() {}
+
+        @Issue("#MYPROJECT-2")
+        void a_failing_test() {}
+    }
+
+    JiraStubServer jira
+    MockEnvironmentVariables environmentVariables
+
+    def setup() {
+        jira = new JiraStubServer()
+        environmentVariables = new MockEnvironmentVariables()
+        environmentVariables.setProperty("jira.url", jira.url)
+        environmentVariables.setProperty("jira.username", "serenity")
+        environmentVariables.setProperty("jira.password", "secret")
+        environmentVariables.setProperty("thucydides.public.url", "http://my.server/myproject/thucydides")
+        environmentVariables.setProperty("build.id", "2024-01-01_10.00.00")
+        environmentVariables.setProperty(ClasspathWorkflowLoader.ACTIVATE_WORKFLOW_PROPERTY, "true")
+        environmentVariables.setProperty(MAX_THREADS, "8")
+        environmentVariables.setProperty(MAX_REQUESTS_PER_SECOND, "0")
+        environmentVariables.setProperty(RETRY_BACKOFF, "10")
+    }
+
+    def cleanup() {
+        jira.close()
+    }
+
+    def "should comment on and transition every issue"() {
+        given:
+            def issues = openIssues(24)
+        when:
+            jiraUpdater().updateIssueStatus(issues, talliesFor(issues, SUCCESS))
+        then:
+            issues.every { jira.getCommentsOn(it).size() == 1 }
+            issues.every { jira.getStatusOf(it) == "Resolved" }
+    }
+
+    def "should update several issues at the same time"() {
+        given:
+            jira.withLatency(Duration.ofMillis(20))
+            def issues = openIssues(16)
+            def jiraUpdater = jiraUpdater()
+        when:
+            jiraUpdater.updateIssueStatus(issues, talliesFor(issues, FAILURE))
+        then:
+            jira.maxRequestsInProgress > 1
+    }
+
+    def "should never update the same issue twice at the same time"() {
+        given:
+            jira.withLatency(Duration.ofMillis(5))
+            def issues = openIssues(6)
+            def tally = talliesFor(issues, SUCCESS)
+            def jiraUpdater = jiraUpdater()
+        when: "several test suites finish at the same time"
+            (1..4).collect { CompletableFuture.runAsync { jiraUpdater.updateIssueStatus(issues, tally) } }*.join()
+        then:
+            jira.maxRequestsInProgressForOneIssue == 1
+            issues.every { jira.getCommentsOn(it).size() == 1 }
+            jiraUpdater.updateScheduler.performedUpdates <= jiraUpdater.updateScheduler.requestedUpdates
+    }
+
+    def "should retry requests when JIRA is temporarily unavailable"() {
+        given:
+            def issues = openIssues(3)
+            jira.failingNextRequestsTo("/comment", 2, 503)
+        when:
+            jiraUpdater().updateIssueStatus(issues, talliesFor(issues, SUCCESS))
+        then:
+            issues.every { jira.getCommentsOn(it).size() == 1 }
+            issues.every { jira.getStatusOf(it) == "Resolved" }
+    }
+
+    def "should give up after the maximum number of retries"() {
+        given:
+            environmentVariables.setProperty(MAX_RETRIES, "1")
+            def issues = openIssues(1)
+            jira.failingNextRequestsTo("/comment", 5, 429)
+        when:
+            jiraUpdater().updateIssueStatus(issues, talliesFor(issues, SUCCESS))
+        then:
+            def failure = thrown(RuntimeException)
+            failure.message.contains("429")
+            jira.requests.findAll { it.endsWith("/comment") }.size() == 2
+    }
+
+    def "should limit the number of requests sent each second"() {
+        given:
+            environmentVariables.setProperty(MAX_REQUESTS_PER_SECOND, "50")
+            def issues = openIssues(4)
+            def jiraUpdater = jiraUpdater()
+        when:
+            jiraUpdater.updateIssueStatus(issues, talliesFor(issues, SUCCESS))
+        then: "each issue needs four JIRA operations (read comments, add a comment, read the status and transition), each given a slot 20 ms after the previous one"
+            def throttle = jiraUpdater.issueTracker as ThrottledIssueTracker
+            throttle.intervalBetweenRequestsInNanos == TimeUnit.MILLISECONDS.toNanos(20)
+            throttle.grantedPermits == issues.size() * 4
+            throttle.permittedTimeSpanInNanos >= (throttle.grantedPermits - 1) * throttle.intervalBetweenRequestsInNanos
+    }
+
+    def "should not limit the request rate unless asked to"() {
+        given:
+            environmentVariables.clearProperty(MAX_REQUESTS_PER_SECOND)
+            def issues = openIssues(2)
+            def jiraUpdater = jiraUpdater()
+        when:
+            jiraUpdater.updateIssueStatus(issues, talliesFor(issues, SUCCESS))
+        then:
+            def throttle = jiraUpdater.issueTracker as ThrottledIssueTracker
+            throttle.intervalBetweenRequestsInNanos == 0
+            throttle.grantedPermits == 0
+            issues.every { jira.getStatusOf(it) == "Resolved" }
+    }
+
+    def "should update the other issues when one of them does not exist"() {
+        given:
+            def issues = openIssues(5)
+            def issuesToUpdate = issues + ["MYPROJECT-404"] as LinkedHashSet
+        when:
+            jiraUpdater().updateIssueStatus(issuesToUpdate, talliesFor(issuesToUpdate, SUCCESS))
+        then:
+            thrown(RuntimeException)
+            issues.every { jira.getCommentsOn(it).size() == 1 }
+            issues.every { jira.getStatusOf(it) == "Resolved" }
+    }
+
+    private JiraUpdater jiraUpdater() {
+        def workflowLoader = new ClasspathWorkflowLoader(ClasspathWorkflowLoader.BUNDLED_WORKFLOW, environmentVariables)
+        def issueTracker = new JiraIssueTracker(new SystemPropertiesJIRAConfiguration(environmentVariables))
+        new JiraUpdater(issueTracker, environmentVariables, workflowLoader)
+    }
+
+    private Set<String> openIssues(int count) {
+        (1..count).collect { number ->
+            def issue = "MYPROJECT-$number".toString()
+            jira.withIssue(issue, "Open")
+            issue
+        } as LinkedHashSet
+    }
+
+    private static TestResultTally<TestOutcomeSummary> talliesFor(Set<String> issues, TestResult result) {
+        def tally = new TestResultTally<TestOutcomeSummary>()
+        issues.each { tally.recordResult(it, new TestOutcomeSummary(newTestOutcome(result))) }
+        tally
+    }
+
+    private static TestOutcome newTestOutcome(TestResult testResult) {
+        def outcome = TestOutcome.forTest(testResult == SUCCESS ? "a_passing_test" : "a_failing_test", SampleTestCase)
+        def step = new TestStep("a narrative description")
+        step.setResult(testResult)
+        outcome.recordStep(step)
+        outcome
+    }
+}
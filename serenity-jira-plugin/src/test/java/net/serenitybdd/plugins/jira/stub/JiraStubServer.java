@@ -0,0 +1,341 @@
+package net.serenitybdd.plugins.jira.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process stand-in for the parts of the JIRA REST API used to update issues: reading issues, reading, adding
+ * and updating comments, and listing and performing workflow transitions. Issues follow a simple workflow
+ * (Open, In Progress, Resolved, Reopened, Closed).
+ * <p>
+ * The stub can add latency to each request and fail requests on demand, and records the requests it receives,
+ * so that the throughput and correctness of JIRA updates can be checked without a real JIRA server.
+ */
+public class JiraStubServer implements AutoCloseable {
+
+    private static final Pattern ISSUE = Pattern.compile("/rest/api/latest/issue/([^/]+)");
+    private static final Pattern COMMENTS = Pattern.compile("/rest/api/latest/issue/([^/]+)/comment");
+    private static final Pattern COMMENT = Pattern.compile("/rest/api/latest/issue/([^/]+)/comment/(\\d+)");
+    private static final Pattern TRANSITIONS = Pattern.compile("/rest/api/latest/issue/([^/]+)/transitions");
+
+    private static final Map<String, Map<String, String>> WORKFLOW = new HashMap<>();
+
+    static {
+        WORKFLOW.put("Open", transitions("Start Progress", "In Progress", "Resolve Issue", "Resolved"));
+        WORKFLOW.put("In Progress", transitions("Stop Progress", "Open", "Resolve Issue", "Resolved"));
+        WORKFLOW.put("Resolved", transitions("Reopen Issue", "Reopened", "Close Issue", "Closed"));
+        WORKFLOW.put("Reopened", transitions("Resolve Issue", "Resolved", "Start Progress", "In Progress"));
+        WORKFLOW.put("Closed", transitions("Reopen Issue", "Reopened"));
+    }
+
+    private static final List<String> TRANSITION_IDS = Arrays.asList(
+            "Start Progress", "Stop Progress", "Resolve Issue", "Reopen Issue", "Close Issue");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, StubIssue> issues = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(10000);
+    private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> failuresToInject = new ConcurrentHashMap<>();
+    private final AtomicInteger requestsInProgress = new AtomicInteger();
+    private final AtomicInteger maxRequestsInProgress = new AtomicInteger();
+    private final AtomicInteger maxRequestsInProgressForOneIssue = new AtomicInteger();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int failureStatus = 503;
+
+    public JiraStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public JiraStubServer withIssue(String key, String status) {
+        issues.put(key, new StubIssue(key, nextId.incrementAndGet(), status));
+        return this;
+    }
+
+    public JiraStubServer withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Fails the next requests whose path contains the given text with the given HTTP status.
+     */
+    public JiraStubServer failingNextRequestsTo(String pathFragment, int numberOfFailures, int status) {
+        failuresToInject.put(pathFragment, numberOfFailures);
+        this.failureStatus = status;
+        return this;
+    }
+
+    public String getStatusOf(String key) {
+        return issues.get(key).status;
+    }
+
+    public List<String> getCommentsOn(String key) {
+        StubIssue issue = issues.get(key);
+        synchronized (issue) {
+            List<String> bodies = new ArrayList<>();
+            issue.comments.values().forEach(comment -> bodies.add(comment.body));
+            return bodies;
+        }
+    }
+
+    /**
+     * The requests received so far, as "METHOD path" strings.
+     */
+    public List<String> getRequests() {
+        return new ArrayList<>(requests);
+    }
+
+    public int getMaxRequestsInProgress() {
+        return maxRequestsInProgress.get();
+    }
+
+    public int getMaxRequestsInProgressForOneIssue() {
+        return maxRequestsInProgressForOneIssue.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        requests.add(method + " " + path);
+        maxRequestsInProgress.accumulateAndGet(requestsInProgress.incrementAndGet(), Math::max);
+        StubIssue issue = issueIn(path);
+        if (issue != null) {
+            maxRequestsInProgressForOneIssue.accumulateAndGet(issue.requestsInProgress.incrementAndGet(), Math::max);
+        }
+        try {
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            if (shouldFail(path)) {
+                respond(exchange, failureStatus, "{\"errorMessages\":[\"Try again later\"]}");
+            } else {
+                route(exchange, method, path, issue);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 500, "{}");
+        } catch (RuntimeException e) {
+            respond(exchange, 500, "{\"errorMessages\":[\"" + e.getMessage() + "\"]}");
+        } finally {
+            if (issue != null) {
+                issue.requestsInProgress.decrementAndGet();
+            }
+            requestsInProgress.decrementAndGet();
+        }
+    }
+
+    private boolean shouldFail(String path) {
+        for (Map.Entry<String, Integer> failure : failuresToInject.entrySet()) {
+            if (path.contains(failure.getKey())) {
+                Integer remaining = failuresToInject.computeIfPresent(failure.getKey(), (fragment, count) -> count - 1);
+                if (remaining != null && remaining >= 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private StubIssue issueIn(String path) {
+        Matcher issuePath = Pattern.compile("/rest/api/latest/issue/([^/]+).*").matcher(path);
+        return issuePath.matches() ? issues.get(issuePath.group(1)) : null;
+    }
+
+    private void route(HttpExchange exchange, String method, String path, StubIssue issue) throws IOException {
+        if (path.equals("/rest/api/2/field")) {
+            respond(exchange, 200, "[]");
+            return;
+        }
+        if (issue == null) {
+            respond(exchange, 404, "{\"errorMessages\":[\"Issue Does Not Exist\"]}");
+            return;
+        }
+        synchronized (issue) {
+            Matcher comment = COMMENT.matcher(path);
+            if (comment.matches()) {
+                StubComment existingComment = issue.comments.get(Long.valueOf(comment.group(2)));
+                if (existingComment == null) {
+                    respond(exchange, 404, "{}");
+                } else if (method.equals("PUT")) {
+                    existingComment.body = JsonParser.parseString(requestBody(exchange)).getAsJsonObject().get("body").getAsString();
+                    respond(exchange, 200, existingComment.toJson(this, issue).toString());
+                } else {
+                    respond(exchange, 200, existingComment.toJson(this, issue).toString());
+                }
+            } else if (COMMENTS.matcher(path).matches()) {
+                if (method.equals("POST")) {
+                    String body = JsonParser.parseString(requestBody(exchange)).getAsJsonObject().get("body").getAsString();
+                    StubComment newComment = new StubComment(nextId.incrementAndGet(), body);
+                    issue.comments.put(newComment.id, newComment);
+                    respond(exchange, 201, newComment.toJson(this, issue).toString());
+                } else {
+                    JsonObject comments = new JsonObject();
+                    comments.add("comments", issue.commentsAsJson(this));
+                    respond(exchange, 200, comments.toString());
+                }
+            } else if (TRANSITIONS.matcher(path).matches()) {
+                if (method.equals("POST")) {
+                    String transitionId = JsonParser.parseString(requestBody(exchange)).getAsJsonObject()
+                            .get("transition").getAsString();
+                    String transition = TRANSITION_IDS.get(Integer.parseInt(transitionId));
+                    String newStatus = WORKFLOW.get(issue.status).get(transition);
+                    if (newStatus == null) {
+                        respond(exchange, 400, "{\"errorMessages\":[\"Transition not available\"]}");
+                    } else {
+                        issue.status = newStatus;
+                        respond(exchange, 204, "");
+                    }
+                } else {
+                    JsonArray transitions = new JsonArray();
+                    WORKFLOW.get(issue.status).keySet().forEach(name -> {
+                        JsonObject transition = new JsonObject();
+                        transition.addProperty("id", String.valueOf(TRANSITION_IDS.indexOf(name)));
+                        transition.addProperty("name", name);
+                        transitions.add(transition);
+                    });
+                    JsonObject response = new JsonObject();
+                    response.add("transitions", transitions);
+                    respond(exchange, 200, response.toString());
+                }
+            } else if (ISSUE.matcher(path).matches()) {
+                respond(exchange, 200, issue.toJson(this).toString());
+            } else {
+                respond(exchange, 404, "{}");
+            }
+        }
+    }
+
+    private static String requestBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (content.length == 0) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            exchange.sendResponseHeaders(status, content.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(content);
+            }
+        }
+        exchange.close();
+    }
+
+    private static Map<String, String> transitions(String... namesAndTargetStatuses) {
+        Map<String, String> transitions = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndTargetStatuses.length; i += 2) {
+            transitions.put(namesAndTargetStatuses[i], namesAndTargetStatuses[i + 1]);
+        }
+        return transitions;
+    }
+
+    private static JsonObject author(JiraStubServer server) {
+        JsonObject author = new JsonObject();
+        author.addProperty("self", server.getUrl() + "/rest/api/latest/user?accountId=serenity");
+        author.addProperty("accountId", "serenity");
+        author.addProperty("displayName", "Serenity");
+        author.addProperty("active", true);
+        return author;
+    }
+
+    private static class StubIssue {
+        private final String key;
+        private final long id;
+        private final Map<Long, StubComment> comments = new LinkedHashMap<>();
+        private final AtomicInteger requestsInProgress = new AtomicInteger();
+        private volatile String status;
+
+        StubIssue(String key, long id, String status) {
+            this.key = key;
+            this.id = id;
+            this.status = status;
+        }
+
+        JsonArray commentsAsJson(JiraStubServer server) {
+            JsonArray commentList = new JsonArray();
+            comments.values().forEach(comment -> commentList.add(comment.toJson(server, this)));
+            return commentList;
+        }
+
+        JsonObject toJson(JiraStubServer server) {
+            JsonObject fields = new JsonObject();
+            fields.addProperty("summary", "Issue " + key);
+            fields.addProperty("description", "");
+            JsonObject issueType = new JsonObject();
+            issueType.addProperty("name", "Story");
+            fields.add("issuetype", issueType);
+            JsonObject issueStatus = new JsonObject();
+            issueStatus.addProperty("name", status);
+            fields.add("status", issueStatus);
+            fields.add("labels", new JsonArray());
+            fields.add("fixVersions", new JsonArray());
+            JsonObject commentField = new JsonObject();
+            commentField.add("comments", commentsAsJson(server));
+            fields.add("comment", commentField);
+
+            JsonObject issue = new JsonObject();
+            issue.addProperty("self", server.getUrl() + "/rest/api/latest/issue/" + id);
+            issue.addProperty("id", String.valueOf(id));
+            issue.addProperty("key", key);
+            issue.add("fields", fields);
+            issue.add("renderedFields", new JsonObject());
+            return issue;
+        }
+    }
+
+    private static class StubComment {
+        private final long id;
+        private volatile String body;
+
+        StubComment(long id, String body) {
+            this.id = id;
+            this.body = body;
+        }
+
+        JsonObject toJson(JiraStubServer server, StubIssue issue) {
+            JsonObject comment = new JsonObject();
+            comment.addProperty("self", server.getUrl() + "/rest/api/latest/issue/" + issue.key + "/comment/" + id);
+            comment.addProperty("id", String.valueOf(id));
+            comment.addProperty("body", body);
+            comment.add("author", author(server));
+            comment.add("updateAuthor", author(server));
+            comment.addProperty("created", "2024-01-01T10:00:00.000+0000");
+            comment.addProperty("updated", "2024-01-01T10:00:00.000+0000");
+            return comment;
+        }
+    }
+}
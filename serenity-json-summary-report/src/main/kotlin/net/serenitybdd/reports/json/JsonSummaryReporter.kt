@@ -73,6 +73,7 @@ class JsonSummaryReporter(val environmentVariables: EnvironmentVariables,
             val tagCategoryTitle = JsonSummaryReport.tagCategoryTitle().configuredIn(environmentVariables)
             val showFullTestResults = JsonSummaryReport.showFullTestResults().configuredIn(environmentVariables)
 
+            val statistics = DashboardStatistics.from(testOutcomes)
             val fields = hashMapOf(
                     "testOutcomes" to testOutcomes,
                     "showFullTestResults" to showFullTestResults,
@@ -95,13 +96,13 @@ class JsonSummaryReporter(val environmentVariables: EnvironmentVariables,
                     ),
                     "failuresByFeature" to FailuresByFeature.from(testOutcomes),
                     "resultsByFeature" to TestResultsByFeature.from(testOutcomes),
-                    "frequentFailures" to FrequentFailures.from(testOutcomes).withMaxOf(scoreboardSize),
-                    "unstableFeatures" to UnstableFeatures.from(testOutcomes).withMaxOf(scoreboardSize),
-                    "coverage" to TagCoverage.from(testOutcomes).forTagTypes(tagTypes),
+                    "frequentFailures" to FrequentFailures.from(statistics).withMaxOf(scoreboardSize),
+                    "unstableFeatures" to UnstableFeatures.from(statistics).withMaxOf(scoreboardSize),
+                    "coverage" to TagCoverage.from(statistics).forTagTypes(tagTypes),
                     "customFields" to customReportFields.fieldNames,
                     "customFieldValues" to customReportFields.values,
                     "formatted" to Formatted(),
-                    "tagResults" to TagResults.from(testOutcomes).groupedByType()
+                    "tagResults" to TagResults.from(statistics).groupedByType()
             )
             return fields
         }
@@ -1,6 +1,8 @@
 package net.serenitybdd.junit.runners;
 
 
+import net.thucydides.model.domain.TestOutcome;
+
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +15,16 @@ public interface FailureRerunner {
      */
     void recordFailedTests(Map<String, List<String>> failedTests);
 
+    /**
+     * Stores failed tests, along with anything useful from their outcomes (such as how long they took to run).
+     *
+     * @param failedTests map keys are class names, values lists with failed method names
+     * @param testOutcomes the outcomes of the tests that were run
+     */
+    default void recordFailedTests(Map<String, List<String>> failedTests, List<TestOutcome> testOutcomes) {
+        recordFailedTests(failedTests);
+    }
+
     /**
      * Returns true if a test given by className and method name has to be run.
      * @param className
@@ -1,16 +1,18 @@
 package net.serenitybdd.junit.runners;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import net.serenitybdd.core.rerun.RerunIndex;
+import net.serenitybdd.core.rerun.RerunSchedule;
 import net.thucydides.model.ThucydidesSystemProperty;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
 import net.thucydides.model.util.EnvironmentVariables;
 import net.thucydides.model.webdriver.Configuration;
 
-import java.io.IOException;
-import java.nio.file.FileAlreadyExistsException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,79 +21,104 @@ import org.slf4j.LoggerFactory;
 
 import static net.thucydides.model.ThucydidesSystemProperty.RECORD_FAILURES;
 import static net.thucydides.model.ThucydidesSystemProperty.REPLAY_FAILURES;
+import static net.thucydides.model.ThucydidesSystemProperty.RERUN_FORK_COUNT;
+import static net.thucydides.model.ThucydidesSystemProperty.RERUN_FORK_NUMBER;
 
+/**
+ * Records failing tests in a {@link RerunIndex} in the rerun directory, and replays only those tests when
+ * replay.failures is set. Replayed tests that pass are recorded too, so that they are no longer replayed.
+ * With rerun.fork.count, each fork only replays the failing tests that the {@link RerunSchedule} gives it.
+ */
 public class FailureRerunnerJson implements FailureRerunner {
 
     private final Logger logger = LoggerFactory.getLogger(FailureRerunnerJson.class);
     private final EnvironmentVariables environmentVariables;
-    private final static String DEFAULT_RERUN_FOLDER_NAME = "rerun";
-    private final ObjectMapper objectMapper;
     private final String rerunFolderName;
 
     public FailureRerunnerJson(Configuration configuration) {
         this.environmentVariables = configuration.getEnvironmentVariables();
-        this.rerunFolderName = ThucydidesSystemProperty.RERUN_FAILURES_DIRECTORY.from(environmentVariables, DEFAULT_RERUN_FOLDER_NAME);
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this.rerunFolderName = ThucydidesSystemProperty.RERUN_FAILURES_DIRECTORY.from(environmentVariables, RerunIndex.DEFAULT_RERUN_DIRECTORY);
     }
 
     public void recordFailedTests(Map<String, List<String>> failedTests) {
+        recordFailedTests(failedTests, Collections.emptyList());
+    }
+
+    @Override
+    public void recordFailedTests(Map<String, List<String>> failedTests, List<TestOutcome> testOutcomes) {
         if(!RECORD_FAILURES.booleanFrom(environmentVariables, false)) {
             return;
         }
-        if(failedTests.size() == 0) {
+        Path rerunFolder = Paths.get(rerunFolderName);
+        Map<String, List<String>> passedTests = replayedTestsThatPassedIn(testOutcomes, rerunFolder);
+        if(failedTests.size() == 0 && passedTests.size() == 0) {
             logger.info("no failed tests to record");
             return;
         }
-        Path rerunFolder = Paths.get(rerunFolderName);
-        if(!Files.exists(rerunFolder)) {
-            try {
-                Files.createDirectory(rerunFolder);
-            } catch (FileAlreadyExistsException ex) {
-                logger.error("directory of rerun files already exists");
-            } catch (IOException e) {
-                logger.error("cannot create directory of rerun files");
-                return;
-            }
-        }
+        logger.info("recording failing tests of " + failedTests.keySet() + " in " + rerunFolder);
         try {
-            RerunnableClass rerunnableClass = null;
-            for(Map.Entry<String,List<String>> entry : failedTests.entrySet()) {
-                String className = entry.getKey().replace("$", ".");
-                Path rerunFile = Paths.get(rerunFolderName, className + "_rerun.json");
-                logger.info("recording failing tests in file " + rerunFile);
-                if (Files.exists(rerunFile)) {
-                    rerunnableClass = objectMapper.readValue(rerunFile.toFile(), RerunnableClass.class);
-                }
-                if (rerunnableClass == null) {
-                    rerunnableClass = new RerunnableClass();
-                    rerunnableClass.setClassName(className);
-                }
-                for (String failedTestMethodName : entry.getValue()) {
-                    logger.info("Adding failedTestMethodName " + failedTestMethodName);
-                    rerunnableClass.getMethodNames().add(failedTestMethodName);
-                }
-                objectMapper.writeValue(rerunFile.toFile(), rerunnableClass);
-            }
+            RerunIndex.recordResults(rerunFolder, failedTests, passedTests, durationsOf(testOutcomes));
         } catch(Throwable th) {
             logger.error("Error recording failing tests " + th.getMessage(), th);
         }
     }
 
+    /**
+     * The replayed tests that passed this time, by class name.
+     */
+    private Map<String, List<String>> replayedTestsThatPassedIn(List<TestOutcome> testOutcomes, Path rerunFolder) {
+        Map<String, List<String>> passedTests = new HashMap<>();
+        if (!REPLAY_FAILURES.booleanFrom(environmentVariables, false)) {
+            return passedTests;
+        }
+        RerunIndex rerunIndex = RerunIndex.loadedFrom(rerunFolder);
+        for (TestOutcome testOutcome : testOutcomes) {
+            if (testOutcome.getTestCase() != null && testOutcome.getMethodName() != null
+                    && testOutcome.getResult() == TestResult.SUCCESS) {
+                String className = testOutcome.getTestCase().getName().replace("$", ".");
+                if (rerunIndex.contains(className, testOutcome.getMethodName())) {
+                    passedTests.computeIfAbsent(className, name -> new ArrayList<>()).add(testOutcome.getMethodName());
+                }
+            }
+        }
+        return passedTests;
+    }
+
+    private Map<String, Long> durationsOf(List<TestOutcome> testOutcomes) {
+        Map<String, Long> durations = new HashMap<>();
+        for (TestOutcome testOutcome : testOutcomes) {
+            if (testOutcome.getTestCase() != null && testOutcome.getMethodName() != null && testOutcome.getDuration() != null) {
+                String className = testOutcome.getTestCase().getName().replace("$", ".");
+                durations.put(RerunIndex.testIdOf(className, testOutcome.getMethodName()), testOutcome.getDuration());
+            }
+        }
+        return durations;
+    }
+
     public boolean hasToRunTest(String className,String methodName) {
         if(!REPLAY_FAILURES.booleanFrom(environmentVariables, false)) {
             return true;
         }
-        logger.info("Check if must rerun method " + className + " " + methodName);
+        logger.debug("Check if must rerun method " + className + " " + methodName);
         try {
-            Path rerunFile = Paths.get(rerunFolderName, className + "_rerun.json");
-            if(Files.exists(rerunFile)) {
-                RerunnableClass rerunnableClass = objectMapper.readValue(rerunFile.toFile(), RerunnableClass.class);
-                if(rerunnableClass.getClassName().equals(className) && rerunnableClass.getMethodNames().contains(methodName)) {
-                    logger.info("Found rerunnable method " + methodName);
-                    return true;
+            RerunIndex rerunIndex = RerunIndex.loadedFrom(Paths.get(rerunFolderName));
+            if (!rerunIndex.contains(className, methodName)) {
+                return false;
+            }
+            int forkCount = RERUN_FORK_COUNT.integerFrom(environmentVariables, 1);
+            if (forkCount > 1) {
+                int forkNumber = RERUN_FORK_NUMBER.integerFrom(environmentVariables, 1);
+                if (forkNumber < 1 || forkNumber > forkCount) {
+                    logger.error("rerun.fork.number should be between 1 and " + forkCount + " but was " + forkNumber);
+                    return false;
+                }
+                if (!rerunIndex.scheduleFor(forkCount).isScheduledFor(forkNumber, className, methodName)) {
+                    logger.debug("Rerunnable method " + methodName + " is scheduled for another fork");
+                    return false;
                 }
             }
+            logger.info("Found rerunnable method " + methodName);
+            return true;
         } catch(Throwable th) {
             logger.error("Error when checking if method must be rerun: " + th.getMessage(), th);
         }
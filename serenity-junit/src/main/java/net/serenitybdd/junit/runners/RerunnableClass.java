@@ -1,30 +1,9 @@
 package net.serenitybdd.junit.runners;
 
-import com.fasterxml.jackson.annotation.JsonProperty;
-import java.util.HashSet;
-import java.util.Set;
-
-public class RerunnableClass {
-
-    @JsonProperty
-    String className;
-
-    @JsonProperty("methodName")
-    Set<String> methodNames = new HashSet<>();
-
-    public void setClassName(String className) {
-        this.className = className;
-    }
-
-    public String getClassName() {
-        return className;
-    }
-
-    public Set<String> getMethodNames() {
-        return methodNames;
-    }
-
-    public void setMethodNames(Set<String> methodNames) {
-        this.methodNames = methodNames;
-    }
+/**
+ * @deprecated moved to {@link net.serenitybdd.core.rerun.RerunnableClass}, so that the rerun index can be
+ * consolidated outside of the JUnit runner.
+ */
+@Deprecated
+public class RerunnableClass extends net.serenitybdd.core.rerun.RerunnableClass {
 }
@@ -235,7 +235,7 @@ public class SerenityRunner extends BlockJUnit4ClassRunner implements Taggable {
             notifyTestSuiteFinished();
             generateReports();
             Map<String, List<String>> failedTests = stepListener.getFailedTests();
-            failureRerunner.recordFailedTests(failedTests);
+            failureRerunner.recordFailedTests(failedTests, stepListener.getTestOutcomes());
             dropListeners(notifier);
             StepEventBus.getParallelEventBus().dropAllListeners();
         }
@@ -287,7 +287,7 @@ public class SerenityRunner extends BlockJUnit4ClassRunner implements Taggable {
     }
 
     private boolean testNotInCurrentBatch() {
-        return (batchManager != null) && (!batchManager.shouldExecuteThisTest(getDescription().testCount()));
+        return (batchManager != null) && (!batchManager.shouldExecuteThisTest(getTestClass().getJavaClass(), getDescription().testCount()));
     }
 
     /**
@@ -0,0 +1,284 @@
+package net.thucydides.junit.runners
+
+import net.serenitybdd.junit.runners.FailureRerunnerJson
+import net.serenitybdd.core.rerun.RerunIndex
+import net.thucydides.core.configuration.WebDriverConfiguration
+import net.thucydides.model.domain.TestOutcome
+import net.thucydides.model.domain.TestResult
+import net.thucydides.model.environment.MockEnvironmentVariables
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+import java.time.Duration
+import java.time.Instant
+
+class WhenConsolidatingRerunIndexes extends Specification {
+
+    Path rerunDirectory
+
+    def setup() {
+        rerunDirectory = Files.createTempDirectory("reruns")
+        RerunIndex.forgetLoadedIndexes()
+    }
+
+    def cleanup() {
+        RerunIndex.forgetLoadedIndexes()
+    }
+
+    def filesIn(Path directory) {
+        Files.list(directory).withCloseable { files -> files.collect { it.fileName.toString() }.sort() }
+    }
+
+    /**
+     * Write an index as another fork would.
+     */
+    def forkIndex(String forkId, String json) {
+        Files.write(rerunDirectory.resolve("rerun-index-${forkId}.json"), json.bytes)
+    }
+
+    /**
+     * Write the index consolidated at the end of an earlier run.
+     */
+    def consolidatedIndex(String json) {
+        Files.write(rerunDirectory.resolve("rerun-index.json"), json.bytes)
+    }
+
+    /**
+     * Write an index as a fork of an earlier run would have.
+     */
+    def earlierForkIndex(String forkId, String json, int minutesAgo) {
+        def indexFile = forkIndex(forkId, json)
+        Files.setLastModifiedTime(indexFile, FileTime.from(Instant.now().minus(Duration.ofMinutes(minutesAgo))))
+    }
+
+    static class SampleTest {}
+
+    def "should record the failures of this fork in a single index file"() {
+        when:
+            RerunIndex.recordFailures(rerunDirectory, ["sample.FirstTest": ["shouldFail"]], ["sample.FirstTest#shouldFail": 1200L])
+            RerunIndex.recordFailures(rerunDirectory, ["sample.SecondTest\$Nested": ["shouldAlsoFail"]], [:])
+            RerunIndex.recordFailures(rerunDirectory, ["sample.FirstTest": ["shouldFail"]], [:])
+        then:
+            def files = filesIn(rerunDirectory)
+            files.size() == 1
+            files[0].startsWith("rerun-index-")
+            files[0].endsWith(".json")
+        and:
+            def index = RerunIndex.consolidate(rerunDirectory)
+            index.retryCountFor("sample.FirstTest", "shouldFail") == 2
+            index.retryCountFor("sample.SecondTest.Nested", "shouldAlsoFail") == 1
+            index.durationOf("sample.FirstTest", "shouldFail") == Optional.of(1200L)
+    }
+
+    def "should merge the indexes written by each fork into a single index"() {
+        given:
+            forkIndex("fork-1", '''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "shouldFail", "shouldFailSlowly" ],
+                "durations" : { "shouldFail" : 100, "shouldFailSlowly" : 5000 }
+            } ]''')
+            forkIndex("fork-2", '''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "shouldFail" ],
+                "retryCounts" : { "shouldFail" : 2 },
+                "durations" : { "shouldFail" : 300 }
+            }, {
+                "className" : "sample.SecondTest",
+                "methodName" : [ "shouldAlsoFail" ]
+            } ]''')
+            forkIndex("fork-3", "[ ]")
+        when:
+            def consolidatedIndex = RerunIndex.consolidate(rerunDirectory)
+        then:
+            filesIn(rerunDirectory) == ["rerun-index.json"]
+            consolidatedIndex.retryCounts == ["sample.FirstTest" : ["shouldFail": 3, "shouldFailSlowly": 1],
+                                              "sample.SecondTest": ["shouldAlsoFail": 1]]
+            consolidatedIndex.durationOf("sample.FirstTest", "shouldFail") == Optional.of(300L)
+        and: "the consolidated index holds the same failures"
+            RerunIndex.loadedFrom(rerunDirectory).retryCounts == consolidatedIndex.retryCounts
+    }
+
+    def "should add the failures of later runs to the consolidated index"() {
+        given:
+            forkIndex("fork-1", '''[ { "className" : "sample.FirstTest", "methodName" : [ "shouldFail" ] } ]''')
+            RerunIndex.consolidate(rerunDirectory)
+            forkIndex("fork-2", '''[ { "className" : "sample.FirstTest", "methodName" : [ "shouldFail" ] } ]''')
+        when:
+            def consolidatedIndex = RerunIndex.consolidate(rerunDirectory)
+        then:
+            filesIn(rerunDirectory) == ["rerun-index.json"]
+            consolidatedIndex.retryCountFor("sample.FirstTest", "shouldFail") == 2
+    }
+
+    def "should drop a failing test from the index once it passes when it is replayed"() {
+        given:
+            earlierForkIndex("fork-1", '''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "shouldFail", "stillFails" ],
+                "retryCounts" : { "shouldFail" : 2 }
+            } ]''', 10)
+        when:
+            RerunIndex.recordResults(rerunDirectory, ["sample.FirstTest": ["stillFails"]], ["sample.FirstTest": ["shouldFail"]], [:])
+            def consolidatedIndex = RerunIndex.consolidate(rerunDirectory)
+        then:
+            consolidatedIndex.retryCounts == ["sample.FirstTest": ["stillFails": 2]]
+        and: "the replayed test is no longer replayed"
+            RerunIndex.forgetLoadedIndexes()
+            !RerunIndex.loadedFrom(rerunDirectory).contains("sample.FirstTest", "shouldFail")
+    }
+
+    def "should count the failures of a test again from one if it fails after it has passed"() {
+        given:
+            earlierForkIndex("fork-1", '''[ { "className" : "sample.FirstTest", "methodName" : [ "flaky" ], "retryCounts" : { "flaky" : 3 } } ]''', 20)
+            earlierForkIndex("fork-2", '''[ { "className" : "sample.FirstTest", "methodName" : [ ], "passed" : [ "flaky" ] } ]''', 10)
+            forkIndex("fork-3", '''[ { "className" : "sample.FirstTest", "methodName" : [ "flaky" ] } ]''')
+        expect:
+            RerunIndex.consolidate(rerunDirectory).retryCountFor("sample.FirstTest", "flaky") == 1
+    }
+
+    def "should not drop a test that failed again after an earlier run in which it passed"() {
+        given:
+            earlierForkIndex("fork-1", '''[ { "className" : "sample.FirstTest", "methodName" : [ ], "passed" : [ "flaky" ] } ]''', 10)
+            RerunIndex.consolidate(rerunDirectory)
+            forkIndex("fork-2", '''[ { "className" : "sample.FirstTest", "methodName" : [ "flaky" ] } ]''')
+        expect:
+            RerunIndex.consolidate(rerunDirectory).retryCounts == ["sample.FirstTest": ["flaky": 1]]
+    }
+
+    def "should record the replayed tests that pass"() {
+        given:
+            def className = SampleTest.name.replace('$', '.')
+            consolidatedIndex("""[ { "className" : "${className}", "methodName" : [ "shouldPass", "shouldFail" ] } ]""")
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("rerun.failures.directory", rerunDirectory.toString())
+            environmentVariables.setProperty("record.failures", "true")
+            environmentVariables.setProperty("replay.failures", "true")
+            def rerunner = new FailureRerunnerJson(new WebDriverConfiguration(environmentVariables))
+            def passingOutcome = TestOutcome.forTest("shouldPass", SampleTest)
+            passingOutcome.setAnnotatedResult(TestResult.SUCCESS)
+        when:
+            rerunner.recordFailedTests([(SampleTest.name): ["shouldFail"]], [passingOutcome])
+        then:
+            RerunIndex.consolidate(rerunDirectory).retryCounts == [(className): ["shouldFail": 2]]
+    }
+
+    def "should read the per-class rerun files written by earlier versions"() {
+        given:
+            Files.write(rerunDirectory.resolve("sample.LegacyTest_rerun.json"),
+                    '''{ "className" : "sample.LegacyTest", "methodName" : [ "shouldFail" ] }'''.bytes)
+        expect:
+            RerunIndex.loadedFrom(rerunDirectory).contains("sample.LegacyTest", "shouldFail")
+            !RerunIndex.loadedFrom(rerunDirectory).contains("sample.LegacyTest", "shouldPass")
+    }
+
+    def "should only read the failing tests of earlier runs when they are replayed"() {
+        given:
+            consolidatedIndex('''[ { "className" : "sample.FirstTest", "methodName" : [ "shouldFail" ] } ]''')
+            forkIndex("fork-1", '''[ { "className" : "sample.SecondTest", "methodName" : [ "shouldFail" ] } ]''')
+        expect:
+            RerunIndex.loadedFrom(rerunDirectory).contains("sample.FirstTest", "shouldFail")
+            !RerunIndex.loadedFrom(rerunDirectory).contains("sample.SecondTest", "shouldFail")
+    }
+
+    def "should only read the rerun directory once in each JVM"() {
+        given:
+            consolidatedIndex('''[ { "className" : "sample.FirstTest", "methodName" : [ "shouldFail" ] } ]''')
+            def index = RerunIndex.loadedFrom(rerunDirectory)
+        when:
+            consolidatedIndex('''[ { "className" : "sample.SecondTest", "methodName" : [ "shouldFail" ] } ]''')
+        then:
+            RerunIndex.loadedFrom(rerunDirectory).is(index)
+            !RerunIndex.loadedFrom(rerunDirectory).contains("sample.SecondTest", "shouldFail")
+    }
+
+    def "should share the failing tests between forks by their previous duration"() {
+        given:
+            consolidatedIndex('''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "a", "b", "c" ],
+                "durations" : { "a" : 100, "b" : 80, "c" : 60 }
+            }, {
+                "className" : "sample.SecondTest",
+                "methodName" : [ "d", "e", "f" ],
+                "durations" : { "d" : 40, "e" : 30, "f" : 10 }
+            } ]''')
+        when:
+            def schedule = RerunIndex.loadedFrom(rerunDirectory).scheduleFor(2)
+        then:
+            schedule.getDurationOf(1) == 170
+            schedule.getDurationOf(2) == 150
+        and:
+            def tests = [["sample.FirstTest", "a"], ["sample.FirstTest", "b"], ["sample.FirstTest", "c"],
+                         ["sample.SecondTest", "d"], ["sample.SecondTest", "e"], ["sample.SecondTest", "f"]]
+            tests.every { test -> (1..2).count { fork -> schedule.isScheduledFor(fork, test[0], test[1]) } == 1 }
+            tests.findAll { test -> schedule.isScheduledFor(1, test[0], test[1]) }*.get(1) == ["a", "d", "e"]
+    }
+
+    def "tests with no recorded duration should be assumed to take the average duration"() {
+        given:
+            consolidatedIndex('''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "slow", "quick", "unknown" ],
+                "durations" : { "slow" : 300, "quick" : 100 }
+            } ]''')
+        when:
+            def schedule = RerunIndex.loadedFrom(rerunDirectory).scheduleFor(2)
+        then:
+            schedule.getDurationOf(1) == 300
+            schedule.getDurationOf(2) == 300
+            schedule.isScheduledFor(2, "sample.FirstTest", "unknown")
+    }
+
+    def "each fork should only replay the failing tests scheduled for it"() {
+        given:
+            consolidatedIndex('''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "a", "b", "c", "d" ],
+                "durations" : { "a" : 400, "b" : 300, "c" : 200, "d" : 100 }
+            } ]''')
+            def rerunners = (1..2).collect { fork ->
+                def environmentVariables = new MockEnvironmentVariables()
+                environmentVariables.setProperty("rerun.failures.directory", rerunDirectory.toString())
+                environmentVariables.setProperty("replay.failures", "true")
+                environmentVariables.setProperty("rerun.fork.count", "2")
+                environmentVariables.setProperty("rerun.fork.number", "$fork")
+                new FailureRerunnerJson(new WebDriverConfiguration(environmentVariables))
+            }
+        expect:
+            ["a", "d"].every { rerunners[0].hasToRunTest("sample.FirstTest", it) }
+            ["b", "c"].every { !rerunners[0].hasToRunTest("sample.FirstTest", it) }
+            ["b", "c"].every { rerunners[1].hasToRunTest("sample.FirstTest", it) }
+            ["a", "d"].every { !rerunners[1].hasToRunTest("sample.FirstTest", it) }
+        and: "tests that did not fail are not replayed"
+            !rerunners[0].hasToRunTest("sample.FirstTest", "passing")
+            !rerunners[1].hasToRunTest("sample.FirstTest", "passing")
+    }
+
+    def "forks that start later in a run should schedule the same failing tests as the earlier ones"() {
+        given:
+            consolidatedIndex('''[ {
+                "className" : "sample.FirstTest",
+                "methodName" : [ "a", "b", "c", "d" ],
+                "durations" : { "a" : 400, "b" : 300, "c" : 200, "d" : 100 }
+            } ]''')
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("rerun.failures.directory", rerunDirectory.toString())
+            environmentVariables.setProperty("replay.failures", "true")
+            environmentVariables.setProperty("rerun.fork.count", "2")
+        when: "the first fork replays its tests, and one of them now passes"
+            environmentVariables.setProperty("rerun.fork.number", "1")
+            def firstFork = new FailureRerunnerJson(new WebDriverConfiguration(environmentVariables))
+            def firstForkTests = ["a", "b", "c", "d"].findAll { firstFork.hasToRunTest("sample.FirstTest", it) }
+            RerunIndex.recordResults(rerunDirectory, [:], ["sample.FirstTest": ["a"]], [:])
+        and: "the second fork starts afterwards"
+            RerunIndex.forgetLoadedIndexes()
+            environmentVariables.setProperty("rerun.fork.number", "2")
+            def secondFork = new FailureRerunnerJson(new WebDriverConfiguration(environmentVariables))
+            def secondForkTests = ["a", "b", "c", "d"].findAll { secondFork.hasToRunTest("sample.FirstTest", it) }
+        then:
+            firstForkTests == ["a", "d"]
+            secondForkTests == ["b", "c"]
+    }
+}
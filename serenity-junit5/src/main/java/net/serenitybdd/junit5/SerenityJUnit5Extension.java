@@ -35,7 +35,7 @@ public class SerenityJUnit5Extension implements TestInstancePostProcessor,  Afte
             StepEventBus eventBus = StepEventBus.eventBusFor(context.getUniqueId());
             if (!eventBus.isBaseStepListenerRegistered()) {
                 eventBus.registerListener(new BaseStepListener(ConfiguredEnvironment.getConfiguration().getOutputDirectory()));
-                eventBus.registerListener(new ConsoleLoggingListener(ConfiguredEnvironment.getEnvironmentVariables()));
+                eventBus.registerListener(ConsoleLoggingListener.configuredIn(ConfiguredEnvironment.getEnvironmentVariables()));
             }
             StepEventBus.setCurrentBusToEventBusFor(context.getTestMethod());
         }
@@ -49,7 +49,7 @@ public class SerenityJUnit5Extension implements TestInstancePostProcessor,  Afte
                 AnnotatedEnvironmentProperties.apply(method);
                 if (!eventBusFor(context).isBaseStepListenerRegistered()) {
                     eventBusFor(context).registerListener(new BaseStepListener(ConfiguredEnvironment.getConfiguration().getOutputDirectory()));
-                    eventBusFor(context).registerListener(new ConsoleLoggingListener(ConfiguredEnvironment.getEnvironmentVariables()));
+                    eventBusFor(context).registerListener(ConsoleLoggingListener.configuredIn(ConfiguredEnvironment.getEnvironmentVariables()));
                 }
                 eventBusFor(context).getBaseStepListener().addTagsToCurrentStory(JUnit5Tags.forMethod(method));
                 eventBusFor(context).setTestSource(TestSourceType.TEST_SOURCE_JUNIT5.getValue());
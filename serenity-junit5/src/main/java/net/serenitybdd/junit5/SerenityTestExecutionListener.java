@@ -438,7 +438,7 @@ public class SerenityTestExecutionListener implements TestExecutionListener {
             File outputDirectory = getOutputDirectory();
             BaseStepListener baseStepListener = Listeners.getBaseStepListener().withOutputDirectory(outputDirectory);
             currentEventBus.registerListener(baseStepListener);
-            currentEventBus.registerListener(new ConsoleLoggingListener(currentEventBus.getEnvironmentVariables()));
+            currentEventBus.registerListener(ConsoleLoggingListener.configuredIn(currentEventBus.getEnvironmentVariables()));
             logger.trace("  -> ADDED BASE LISTENER " + baseStepListener);
             StepListener loggingListener = Listeners.getLoggingListener();
             currentEventBus.registerListener(loggingListener);
@@ -6,6 +6,7 @@ import net.thucydides.core.reports.html.HtmlAggregateStoryReporter;
 import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.model.environment.SystemEnvironmentVariables;
 import net.serenitybdd.core.di.SerenityInfrastructure;
+import net.serenitybdd.core.rerun.RerunIndex;
 import net.thucydides.model.domain.TestResult;
 import net.thucydides.core.reports.ExtendedReports;
 import net.thucydides.model.reports.ResultChecker;
@@ -27,6 +28,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -212,6 +214,7 @@ public class SerenityAggregatorMojo extends AbstractMojo {
             TestResult testResult = generateHtmlStoryReports();
             generateExtraReports();
             generateCustomReports();
+            consolidateRerunIndexes();
             if (!ignoreFailedTests) {
                 switch (testResult) {
                     case ERROR: throw new MojoFailureException("An error occurred in the Serenity tests");
@@ -232,6 +235,28 @@ public class SerenityAggregatorMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Merge the failing tests recorded by each fork of the test run into a single rerun index in each module, so that
+     * the forks of the next run all replay the same failing tests.
+     */
+    private void consolidateRerunIndexes() throws IOException {
+        String rerunDirectoryName = ThucydidesSystemProperty.RERUN_FAILURES_DIRECTORY.from(getEnvironmentVariables(),
+                                                                                           RerunIndex.DEFAULT_RERUN_DIRECTORY);
+        Set<Path> rerunDirectories = new LinkedHashSet<>();
+        rerunDirectories.add(projectDirectory.resolve(rerunDirectoryName).normalize());
+        for (MavenProject module : session.getProjects()) {
+            if (module.getBasedir() != null) {
+                rerunDirectories.add(module.getBasedir().toPath().resolve(rerunDirectoryName).normalize());
+            }
+        }
+        for (Path rerunDirectory : rerunDirectories) {
+            if (Files.isDirectory(rerunDirectory)) {
+                RerunIndex rerunIndex = RerunIndex.consolidate(rerunDirectory);
+                getLog().info("Recorded " + rerunIndex.size() + " failing tests to replay in " + rerunDirectory);
+            }
+        }
+    }
+
     private Collection<UserStoryTestReporter> getCustomReportsFor(EnvironmentVariables environmentVariables) {
 
         return environmentVariables.getKeys().stream()
@@ -1,6 +1,8 @@
 package net.serenitybdd.maven.plugins;
 
-import net.serenitybdd.model.history.FileSystemTestOutcomeSummaryRecorder;
+import net.serenitybdd.model.history.HistoryAnalytics;
+import net.serenitybdd.model.history.HistoryFormat;
+import net.serenitybdd.model.history.SegmentedHistoryStore;
 import net.serenitybdd.model.history.TestOutcomeSummaryRecorder;
 import net.thucydides.model.environment.SystemEnvironmentVariables;
 import net.serenitybdd.core.di.SerenityInfrastructure;
@@ -16,11 +18,13 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 
 import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_HISTORY_DIRECTORY;
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_HISTORY_FORMAT;
 
 /**
  * This plugin records a summary of test results in the target directory
@@ -29,6 +33,7 @@ import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_HISTORY_DIR
 public class SerenityHistoryMojo extends AbstractMojo {
 
     private final static String DEFAULT_HISTORY_DIRECTORY = "history";
+    private final static String DEFAULT_HISTORY_FORMAT = "summaries";
     /**
      * Test outcome summaries are stored here
      */
@@ -41,6 +46,13 @@ public class SerenityHistoryMojo extends AbstractMojo {
     @Parameter(property = "serenity.deletePreviousHistory")
     public Boolean deletePreviousHistory = false;
 
+    /**
+     * How the history is stored: 'summaries' (one file per test outcome) or 'segments' (an append-only
+     * store keeping every run, for trend analysis)
+     */
+    @Parameter(property = "serenity.historyFormat")
+    public String historyFormat;
+
     @Parameter(defaultValue = "${session}")
     private MavenSession session;
 
@@ -60,7 +72,10 @@ public class SerenityHistoryMojo extends AbstractMojo {
 
         Path historyDirectory = Paths.get(configuredHistoryDirectoryPath);
 
-        return new FileSystemTestOutcomeSummaryRecorder(historyDirectory, deletePreviousHistory);
+        String configuredHistoryFormat = SERENITY_HISTORY_FORMAT.from(environmentVariables,
+                                                                      Optional.ofNullable(historyFormat).orElse(DEFAULT_HISTORY_FORMAT));
+
+        return HistoryFormat.from(configuredHistoryFormat).summaryRecorderFor(historyDirectory, deletePreviousHistory);
     }
 
     private Path outputDirectory() {
@@ -78,6 +93,23 @@ public class SerenityHistoryMojo extends AbstractMojo {
 
         UpdatedClassLoader.withProjectClassesFrom(project);
 
-        getTestOutcomeSummaryRecorder().recordOutcomeSummariesFrom(outputDirectory());
+        TestOutcomeSummaryRecorder summaryRecorder = getTestOutcomeSummaryRecorder();
+        summaryRecorder.recordOutcomeSummariesFrom(outputDirectory());
+
+        if (summaryRecorder instanceof SegmentedHistoryStore) {
+            reportFlakiestTestsIn((SegmentedHistoryStore) summaryRecorder);
+        }
+    }
+
+    private void reportFlakiestTestsIn(SegmentedHistoryStore historyStore) {
+        try {
+            HistoryAnalytics analytics = historyStore.getAnalytics();
+            getLog().info("Test history now holds " + analytics.getRuns().size() + " runs");
+            analytics.getFlakiestTests(5).forEach(
+                    flakyTest -> getLog().info("  Unstable test: " + flakyTest)
+            );
+        } catch (IOException e) {
+            getLog().warn("Could not analyse the test history", e);
+        }
     }
 }
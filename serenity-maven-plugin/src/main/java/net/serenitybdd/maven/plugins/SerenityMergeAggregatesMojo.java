@@ -0,0 +1,99 @@
+package net.serenitybdd.maven.plugins;
+
+import com.google.common.base.Splitter;
+import net.serenitybdd.core.di.SerenityInfrastructure;
+import net.serenitybdd.model.aggregates.PartialAggregate;
+import net.thucydides.core.reports.html.HtmlAggregateStoryReporter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the partial aggregates written by each shard of a multi-node test run (see the partial-aggregate goal), and
+ * generates the summary pages for the whole run without reloading the individual test outcomes.
+ */
+@Mojo(name = "merge-aggregates", requiresDependencyResolution = ResolutionScope.RUNTIME, aggregator = true)
+public class SerenityMergeAggregatesMojo extends AbstractMojo {
+
+    /**
+     * The merged summary is generated here
+     */
+    @Parameter(property = "serenity.outputDirectory")
+    public String outputDirectoryPath;
+
+    /**
+     * A comma-separated list of the directories containing the partial aggregate of each shard
+     */
+    @Parameter(property = "serenity.shardDirectories")
+    public String shardDirectories;
+
+    /**
+     * A directory under which the shard directories are found, if they are not listed individually
+     */
+    @Parameter(property = "serenity.shardsDirectory")
+    public String shardsDirectory;
+
+    /**
+     * Serenity project key
+     */
+    @Parameter(property = "thucydides.project.key", defaultValue = "default")
+    public String projectKey;
+
+    @Parameter(defaultValue = "${session}")
+    private MavenSession session;
+
+    @Parameter(defaultValue = "${project}")
+    public MavenProject project;
+
+    public void execute() throws MojoExecutionException {
+        MavenProjectHelper.propagateBuildDir(session);
+        UpdatedClassLoader.withProjectClassesFrom(project);
+
+        try {
+            List<Path> shardDirectoryPaths = shardDirectoryPaths();
+            if (shardDirectoryPaths.isEmpty()) {
+                throw new MojoExecutionException("No partial aggregates found: set serenity.shardDirectories or serenity.shardsDirectory");
+            }
+            getLog().info("Merging the partial aggregates of " + shardDirectoryPaths.size() + " shards");
+            PartialAggregate merged = PartialAggregate.mergeFrom(shardDirectoryPaths);
+
+            HtmlAggregateStoryReporter reporter = new HtmlAggregateStoryReporter(projectKey);
+            reporter.setOutputDirectory(outputDirectory().toFile());
+            reporter.generateReportsForMergedShards(merged);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not merge the partial aggregates", e);
+        }
+    }
+
+    private List<Path> shardDirectoryPaths() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        if (!StringUtils.isEmpty(shardDirectories)) {
+            Splitter.on(",").trimResults().omitEmptyStrings().split(shardDirectories)
+                    .forEach(path -> paths.add(resolved(path)));
+        }
+        if (!StringUtils.isEmpty(shardsDirectory)) {
+            paths.addAll(PartialAggregate.shardDirectoriesIn(resolved(shardsDirectory)));
+        }
+        return paths;
+    }
+
+    private Path outputDirectory() {
+        return (!StringUtils.isEmpty(outputDirectoryPath)) ?
+                resolved(outputDirectoryPath) :
+                SerenityInfrastructure.getConfiguration().getOutputDirectory().toPath();
+    }
+
+    private Path resolved(String path) {
+        return session.getCurrentProject().getBasedir().toPath().resolve(path).toAbsolutePath();
+    }
+}
@@ -0,0 +1,74 @@
+package net.serenitybdd.maven.plugins;
+
+import net.serenitybdd.core.di.SerenityInfrastructure;
+import net.serenitybdd.model.aggregates.PartialAggregate;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+
+/**
+ * Summarises the test outcomes of one shard of a multi-node test run in a partial aggregate, written next to the
+ * test outcomes. The partial aggregates of all of the shards can then be combined with the merge-aggregates goal.
+ */
+@Mojo(name = "partial-aggregate", requiresDependencyResolution = ResolutionScope.RUNTIME)
+public class SerenityPartialAggregateMojo extends AbstractMojo {
+
+    /**
+     * Test outcomes are read from here, and the partial aggregate is written here
+     */
+    @Parameter(property = "serenity.outputDirectory")
+    public String outcomesDirectoryPath;
+
+    /**
+     * The name of this shard (the host name by default)
+     */
+    @Parameter(property = "serenity.shard")
+    public String shard;
+
+    @Parameter(defaultValue = "${session}")
+    private MavenSession session;
+
+    @Parameter(defaultValue = "${project}")
+    public MavenProject project;
+
+    public void execute() throws MojoExecutionException {
+        MavenProjectHelper.propagateBuildDir(session);
+        UpdatedClassLoader.withProjectClassesFrom(project);
+
+        Path outcomesDirectory = outcomesDirectory();
+        getLog().info("Writing the partial aggregate for shard " + shardName() + " in " + outcomesDirectory);
+        try {
+            PartialAggregate aggregate = PartialAggregate.recordFor(shardName(), outcomesDirectory);
+            getLog().info("  " + aggregate.getResults().getTotal() + " test outcomes summarised");
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write the partial aggregate for " + outcomesDirectory, e);
+        }
+    }
+
+    private Path outcomesDirectory() {
+        return (!StringUtils.isEmpty(outcomesDirectoryPath)) ?
+                session.getCurrentProject().getBasedir().toPath().resolve(outcomesDirectoryPath).toAbsolutePath() :
+                SerenityInfrastructure.getConfiguration().getOutputDirectory().toPath();
+    }
+
+    private String shardName() {
+        if (!StringUtils.isEmpty(shard)) {
+            return shard;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return project.getArtifactId();
+        }
+    }
+}
@@ -13,6 +13,11 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -88,6 +93,24 @@ public class WhenGeneratingAnAggregateReport {
         verify(outputDirectory,never()).mkdirs();
     }
 
+    @Test
+    public void the_failing_tests_recorded_by_each_fork_should_be_merged_into_a_single_rerun_index() throws Exception {
+        Path projectDirectory = Files.createTempDirectory("project");
+        Path rerunDirectory = Files.createDirectories(projectDirectory.resolve("rerun"));
+        Files.write(rerunDirectory.resolve("rerun-index-fork-1.json"),
+                "[ { \"className\" : \"sample.FirstTest\", \"methodName\" : [ \"shouldFail\" ] } ]".getBytes());
+        Files.write(rerunDirectory.resolve("rerun-index-fork-2.json"),
+                "[ { \"className\" : \"sample.SecondTest\", \"methodName\" : [ \"shouldAlsoFail\" ] } ]".getBytes());
+        Mockito.when(plugin.project.getBasedir()).thenReturn(projectDirectory.toFile());
+
+        plugin.execute();
+
+        try (Stream<Path> files = Files.list(rerunDirectory)) {
+            assertEquals(Collections.singletonList("rerun-index.json"),
+                         files.map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+        }
+    }
+
     @Test(expected = MojoExecutionException.class)
     public void if_the_report_cant_be_written_the_plugin_execution_should_fail() throws Exception {
         doThrow(new IOException("IO error")).when(reporter).generateReportsForTestResultsFrom(any(File.class));
@@ -0,0 +1,72 @@
+package net.serenitybdd.model.aggregates;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Counts test durations in fixed buckets, so that the durations of tests run on different shards can be combined
+ * and approximate percentiles worked out without keeping every duration.
+ */
+public class DurationHistogram {
+
+    /**
+     * The upper bound of each bucket, in milliseconds. The last bucket holds every longer duration.
+     */
+    static final long[] BUCKET_LIMITS_IN_MILLIS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000, 120_000, 300_000, 600_000
+    };
+
+    private final long[] counts = new long[BUCKET_LIMITS_IN_MILLIS.length + 1];
+
+    void add(long durationInMillis) {
+        int bucket = Arrays.binarySearch(BUCKET_LIMITS_IN_MILLIS, durationInMillis);
+        counts[(bucket >= 0) ? bucket : -bucket - 1]++;
+    }
+
+    void addAll(DurationHistogram other) {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+    }
+
+    DurationHistogram copy() {
+        DurationHistogram copy = new DurationHistogram();
+        copy.addAll(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * The number of durations in each bucket; see getBucketLimits() for the upper bound of each bucket.
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    public long[] getBucketLimits() {
+        return BUCKET_LIMITS_IN_MILLIS.clone();
+    }
+
+    /**
+     * The upper bound of the bucket holding the given percentile (between 0 and 100) of the durations, or the
+     * largest bucket limit if it falls in the last bucket.
+     */
+    public Duration getApproximatePercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_LIMITS_IN_MILLIS.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Duration.ofMillis(BUCKET_LIMITS_IN_MILLIS[bucket]);
+            }
+        }
+        return Duration.ofMillis(BUCKET_LIMITS_IN_MILLIS[BUCKET_LIMITS_IN_MILLIS.length - 1]);
+    }
+}
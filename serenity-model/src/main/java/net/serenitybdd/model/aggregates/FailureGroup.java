@@ -0,0 +1,52 @@
+package net.serenitybdd.model.aggregates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tests that failed with a given type of error, with the titles of a few of them as examples.
+ */
+public class FailureGroup {
+    private final String errorType;
+    private long count;
+    private final List<String> examples = new ArrayList<>();
+
+    FailureGroup(String errorType) {
+        this.errorType = errorType;
+    }
+
+    void add(String testTitle, int maxExamples) {
+        count++;
+        if (examples.size() < maxExamples) {
+            examples.add(testTitle);
+        }
+    }
+
+    void addAll(FailureGroup other, int maxExamples) {
+        count += other.count;
+        other.examples.stream().limit(Math.max(0, maxExamples - examples.size())).forEach(examples::add);
+    }
+
+    FailureGroup copy(int maxExamples) {
+        FailureGroup copy = new FailureGroup(errorType);
+        copy.addAll(this, maxExamples);
+        return copy;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public List<String> getExamples() {
+        return new ArrayList<>(examples);
+    }
+
+    @Override
+    public String toString() {
+        return errorType + " (" + count + " tests)";
+    }
+}
@@ -0,0 +1,254 @@
+package net.serenitybdd.model.aggregates;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.domain.TestTag;
+import net.thucydides.model.reports.TestOutcomeLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * A summary of the test outcomes of one shard of a test run, such as the outcomes produced by one CI agent.
+ * It holds the result counts, the rollups by tag and by requirement, a duration histogram, the slowest tests and
+ * the failures grouped by error type, all in a form that can be merged with the partial aggregates of other shards.
+ * Merging is associative and commutative, so the summary pages of a multi-node run can be produced from the partial
+ * aggregates alone, without copying and reloading every test outcome.
+ */
+public class PartialAggregate {
+
+    /**
+     * The name of the file each shard writes next to its test outcomes.
+     */
+    public static final String FILE_NAME = "serenity-partial.aggregate.json";
+
+    static final int MAX_SLOWEST_TESTS = 20;
+    static final int MAX_FAILURE_EXAMPLES = 10;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private int formatVersion = FORMAT_VERSION;
+    private final List<String> shards = new ArrayList<>();
+    private final ResultTally results = new ResultTally();
+    private final Map<String, ResultTally> tags = new TreeMap<>();
+    private final Map<String, ResultTally> requirements = new TreeMap<>();
+    private final DurationHistogram durations = new DurationHistogram();
+    private final List<SlowTest> slowestTests = new ArrayList<>();
+    private final Map<String, FailureGroup> failures = new TreeMap<>();
+    private Long firstStartTime;
+    private Long lastEndTime;
+
+    private PartialAggregate() {
+    }
+
+    /**
+     * Summarises the test outcomes of a shard.
+     */
+    public static PartialAggregate of(String shard, Collection<? extends TestOutcome> outcomes) {
+        PartialAggregate aggregate = new PartialAggregate();
+        aggregate.shards.add(shard);
+        outcomes.forEach(outcome -> aggregate.add(shard, outcome));
+        aggregate.keepSlowestTests();
+        return aggregate;
+    }
+
+    /**
+     * Summarises the test outcomes in a directory, and writes the partial aggregate next to them.
+     */
+    public static PartialAggregate recordFor(String shard, Path outcomeDirectory) throws IOException {
+        List<TestOutcome> outcomes = new TestOutcomeLoader().loadFrom(outcomeDirectory.toFile());
+        PartialAggregate aggregate = of(shard, outcomes);
+        aggregate.writeTo(outcomeDirectory);
+        return aggregate;
+    }
+
+    public static PartialAggregate merge(Collection<PartialAggregate> partialAggregates) {
+        PartialAggregate merged = new PartialAggregate();
+        partialAggregates.forEach(merged::addAll);
+        merged.keepSlowestTests();
+        return merged;
+    }
+
+    /**
+     * Reads and merges the partial aggregates written in each of the shard directories.
+     */
+    public static PartialAggregate mergeFrom(Collection<Path> shardDirectories) throws IOException {
+        List<PartialAggregate> partialAggregates = new ArrayList<>();
+        for (Path shardDirectory : shardDirectories) {
+            partialAggregates.add(readFrom(shardDirectory));
+        }
+        return merge(partialAggregates);
+    }
+
+    /**
+     * The directories under a root directory (including the root itself) that contain a partial aggregate,
+     * looking no more than five levels down (deep enough for a copy of each agent's target/site/serenity directory).
+     */
+    public static List<Path> shardDirectoriesIn(Path rootDirectory) throws IOException {
+        try (Stream<Path> files = Files.walk(rootDirectory, 6)) {
+            return files.filter(file -> file.getFileName().toString().equals(FILE_NAME))
+                    .map(Path::getParent)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public PartialAggregate mergedWith(PartialAggregate other) {
+        return merge(Arrays.asList(this, other));
+    }
+
+    public static PartialAggregate readFrom(Path shardDirectory) throws IOException {
+        Path aggregateFile = shardDirectory.resolve(FILE_NAME);
+        if (!Files.exists(aggregateFile)) {
+            throw new IOException("No partial aggregate found in " + shardDirectory);
+        }
+        try (BufferedReader reader = Files.newBufferedReader(aggregateFile, StandardCharsets.UTF_8)) {
+            PartialAggregate aggregate = GSON.fromJson(reader, PartialAggregate.class);
+            if (aggregate.formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported partial aggregate format version " + aggregate.formatVersion + " in " + aggregateFile);
+            }
+            return aggregate;
+        }
+    }
+
+    /**
+     * Writes this partial aggregate to the given directory. The file is written under a temporary name first, so that
+     * a merge running at the same time never reads a half-written aggregate.
+     */
+    public void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, FILE_NAME, ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        Files.move(temporaryFile, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * The names of the shards whose test outcomes are summarised here.
+     */
+    public List<String> getShards() {
+        return new ArrayList<>(shards);
+    }
+
+    public ResultTally getResults() {
+        return results;
+    }
+
+    /**
+     * Results for each tag, keyed by "type:name".
+     */
+    public Map<String, ResultTally> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    /**
+     * Results for each user story or feature, keyed by name.
+     */
+    public Map<String, ResultTally> getRequirements() {
+        return Collections.unmodifiableMap(requirements);
+    }
+
+    public DurationHistogram getDurations() {
+        return durations;
+    }
+
+    /**
+     * The slowest tests across all of the shards, slowest first.
+     */
+    public List<SlowTest> getSlowestTests() {
+        return new ArrayList<>(slowestTests);
+    }
+
+    /**
+     * The failing tests grouped by error type, most frequent first.
+     */
+    public List<FailureGroup> getFailures() {
+        return failures.values().stream()
+                .sorted(Comparator.comparing(FailureGroup::getCount).reversed().thenComparing(FailureGroup::getErrorType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The time between the first test starting and the last test finishing, across all of the shards.
+     */
+    public Duration getElapsedTime() {
+        return (firstStartTime == null) ? Duration.ZERO : Duration.ofMillis(lastEndTime - firstStartTime);
+    }
+
+    public Optional<Instant> getFirstStartTime() {
+        return Optional.ofNullable(firstStartTime).map(Instant::ofEpochMilli);
+    }
+
+    private void add(String shard, TestOutcome outcome) {
+        TestResult result = outcome.getResult();
+        long duration = Optional.ofNullable(outcome.getDuration()).orElse(0L);
+
+        results.add(result, duration);
+        durations.add(duration);
+        for (TestTag tag : outcome.getTags()) {
+            tags.computeIfAbsent(tag.getType() + ":" + tag.getName(), key -> new ResultTally()).add(result, duration);
+        }
+        if (outcome.getUserStory() != null && isNotBlank(outcome.getUserStory().getName())) {
+            requirements.computeIfAbsent(outcome.getUserStory().getName(), key -> new ResultTally()).add(result, duration);
+        }
+        slowestTests.add(new SlowTest(outcome.getId(), outcome.getTitle(), shard, duration));
+        if (result == TestResult.FAILURE || result == TestResult.ERROR || result == TestResult.COMPROMISED) {
+            failures.computeIfAbsent(errorTypeOf(outcome), FailureGroup::new).add(outcome.getTitle(), MAX_FAILURE_EXAMPLES);
+        }
+        if (outcome.getStartTime() != null) {
+            long startTime = outcome.getStartTime().toInstant().toEpochMilli();
+            firstStartTime = (firstStartTime == null) ? startTime : Math.min(firstStartTime, startTime);
+            lastEndTime = (lastEndTime == null) ? startTime + duration : Math.max(lastEndTime, startTime + duration);
+        }
+    }
+
+    private void addAll(PartialAggregate other) {
+        shards.addAll(other.shards);
+        results.addAll(other.results);
+        other.tags.forEach((tag, tally) -> tags.merge(tag, tally.copy(), (existing, added) -> { existing.addAll(added); return existing; }));
+        other.requirements.forEach((requirement, tally) -> requirements.merge(requirement, tally.copy(), (existing, added) -> { existing.addAll(added); return existing; }));
+        durations.addAll(other.durations);
+        slowestTests.addAll(other.slowestTests);
+        other.failures.forEach((errorType, failureGroup) -> failures.merge(errorType, failureGroup.copy(MAX_FAILURE_EXAMPLES),
+                (existing, added) -> { existing.addAll(added, MAX_FAILURE_EXAMPLES); return existing; }));
+        if (other.firstStartTime != null) {
+            firstStartTime = (firstStartTime == null) ? other.firstStartTime : Math.min(firstStartTime, other.firstStartTime);
+            lastEndTime = (lastEndTime == null) ? other.lastEndTime : Math.max(lastEndTime, other.lastEndTime);
+        }
+    }
+
+    private void keepSlowestTests() {
+        List<SlowTest> slowest = slowestTests.stream()
+                .sorted(Comparator.comparing(SlowTest::getDurationInMillis).reversed().thenComparing(SlowTest::getTestId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(MAX_SLOWEST_TESTS)
+                .collect(Collectors.toList());
+        slowestTests.clear();
+        slowestTests.addAll(slowest);
+    }
+
+    private static String errorTypeOf(TestOutcome outcome) {
+        if (isNotBlank(outcome.getTestFailureErrorType())) {
+            return outcome.getTestFailureErrorType();
+        }
+        if (isNotBlank(outcome.getTestFailureClassname())) {
+            return outcome.getTestFailureClassname();
+        }
+        return "Unknown error";
+    }
+}
@@ -0,0 +1,73 @@
+package net.serenitybdd.model.aggregates;
+
+import net.thucydides.model.domain.TestResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The number of tests with each result, and the time they took, for a group of tests such as a tag or a requirement.
+ * Tallies from different shards can be added together.
+ */
+public class ResultTally {
+
+    private final Map<String, Long> counts = new TreeMap<>();
+    private long durationInMillis;
+
+    void add(TestResult result, long duration) {
+        counts.merge(result.name(), 1L, Long::sum);
+        durationInMillis += duration;
+    }
+
+    void addAll(ResultTally other) {
+        other.counts.forEach((result, count) -> counts.merge(result, count, Long::sum));
+        durationInMillis += other.durationInMillis;
+    }
+
+    ResultTally copy() {
+        ResultTally copy = new ResultTally();
+        copy.addAll(this);
+        return copy;
+    }
+
+    public long getCount(TestResult result) {
+        return counts.getOrDefault(result.name(), 0L);
+    }
+
+    /**
+     * The number of tests with each result, keyed by result name (e.g. "SUCCESS").
+     */
+    public Map<String, Long> getCounts() {
+        return new TreeMap<>(counts);
+    }
+
+    public long getTotal() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getPassing() {
+        return getCount(TestResult.SUCCESS);
+    }
+
+    public long getUnsuccessful() {
+        return getCount(TestResult.FAILURE) + getCount(TestResult.ERROR) + getCount(TestResult.COMPROMISED);
+    }
+
+    /**
+     * The proportion of passing tests among the tests that passed or failed.
+     */
+    public double getPassRate() {
+        long executedTests = getPassing() + getUnsuccessful();
+        return (executedTests == 0) ? 0.0 : (double) getPassing() / executedTests;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofMillis(durationInMillis);
+    }
+
+    @Override
+    public String toString() {
+        return getPassing() + " passing out of " + getTotal() + " tests";
+    }
+}
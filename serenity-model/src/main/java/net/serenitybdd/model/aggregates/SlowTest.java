@@ -0,0 +1,48 @@
+package net.serenitybdd.model.aggregates;
+
+import java.time.Duration;
+
+/**
+ * One of the slowest tests recorded in a partial aggregate.
+ */
+public class SlowTest {
+    private final String testId;
+    private final String title;
+    private final String shard;
+    private final long durationInMillis;
+
+    SlowTest(String testId, String title, String shard, long durationInMillis) {
+        this.testId = testId;
+        this.title = title;
+        this.shard = shard;
+        this.durationInMillis = durationInMillis;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * The shard that ran the test.
+     */
+    public String getShard() {
+        return shard;
+    }
+
+    public Duration getDuration() {
+        return Duration.ofMillis(durationInMillis);
+    }
+
+    long getDurationInMillis() {
+        return durationInMillis;
+    }
+
+    @Override
+    public String toString() {
+        return title + " (" + durationInMillis + " ms on " + shard + ")";
+    }
+}
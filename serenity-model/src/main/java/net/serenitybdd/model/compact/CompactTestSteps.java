@@ -0,0 +1,226 @@
+package net.serenitybdd.model.compact;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import net.thucydides.model.domain.TestStep;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A read-only list of the top-level test steps of a test outcome, held in a compact form.
+ * The step tree is stored as parallel arrays, in depth-first order: the index of each step's parent, its (shared)
+ * description, its start time in epoch milliseconds and its duration. The remaining details of each step, such as its
+ * screenshots, exception and REST query, are kept as compressed JSON, and are only decoded when the steps themselves
+ * are needed, for example to write the page of this test outcome. The decoded steps are softly referenced, so they
+ * can be reclaimed once the page has been written and decoded again if they are needed later on.
+ * <p>
+ * Changes made to the decoded steps may therefore be lost: compact test steps are meant for report generation only.
+ */
+public class CompactTestSteps extends AbstractList<TestStep> implements RandomAccess {
+
+    private static final long NO_START_TIME = Long.MIN_VALUE;
+    private static final Type STEP_LIST = new TypeToken<List<TestStep>>() {}.getType();
+    private static final String[] SEPARATELY_STORED_FIELDS = {"children", "description", "startTime", "duration"};
+
+    private final Gson gson;
+    private final int topLevelStepCount;
+    private final int[] parents;
+    private final String[] descriptions;
+    private final long[] startTimes;
+    private final long[] durations;
+    private final ZoneId zone;
+    private final byte[] details;
+
+    private transient SoftReference<List<TestStep>> decodedSteps = new SoftReference<>(null);
+
+    private CompactTestSteps(Gson gson, int topLevelStepCount, int[] parents, String[] descriptions,
+                             long[] startTimes, long[] durations, ZoneId zone, byte[] details) {
+        this.gson = gson;
+        this.topLevelStepCount = topLevelStepCount;
+        this.parents = parents;
+        this.descriptions = descriptions;
+        this.startTimes = startTimes;
+        this.durations = durations;
+        this.zone = zone;
+        this.details = details;
+    }
+
+    static CompactTestSteps of(List<TestStep> steps, StringPool strings, Gson gson) {
+        return new Encoder(gson, strings, countStepsIn(steps)).encode(steps);
+    }
+
+    @Override
+    public TestStep get(int index) {
+        return decoded().get(index);
+    }
+
+    @Override
+    public int size() {
+        return topLevelStepCount;
+    }
+
+    /**
+     * The total number of steps, including nested steps, worked out without decoding the steps.
+     */
+    public int getNestedStepCount() {
+        return parents.length;
+    }
+
+    /**
+     * Are the decoded steps currently held in memory?
+     */
+    public boolean isDecoded() {
+        return decodedSteps.get() != null;
+    }
+
+    /**
+     * The number of bytes used by the compressed step details.
+     */
+    public int getEncodedDetailsSize() {
+        return details.length;
+    }
+
+    private synchronized List<TestStep> decoded() {
+        List<TestStep> steps = decodedSteps.get();
+        if (steps == null) {
+            steps = decode();
+            decodedSteps = new SoftReference<>(steps);
+        }
+        return steps;
+    }
+
+    private List<TestStep> decode() {
+        JsonArray stepDetails = inflate(details, gson);
+        JsonArray topLevelSteps = new JsonArray(topLevelStepCount);
+        for (int index = 0; index < parents.length; index++) {
+            JsonObject step = stepDetails.get(index).getAsJsonObject();
+            if (parents[index] < 0) {
+                topLevelSteps.add(step);
+            } else {
+                childrenOf(stepDetails.get(parents[index]).getAsJsonObject()).add(step);
+            }
+        }
+        List<TestStep> steps = gson.fromJson(topLevelSteps, STEP_LIST);
+        restoreSeparatelyStoredFields(steps, 0);
+        return Collections.unmodifiableList(steps);
+    }
+
+    private static JsonArray childrenOf(JsonObject step) {
+        if (!step.has("children")) {
+            step.add("children", new JsonArray());
+        }
+        return step.getAsJsonArray("children");
+    }
+
+    /**
+     * Steps are decoded in the same depth-first order as they were stored.
+     */
+    private int restoreSeparatelyStoredFields(List<TestStep> steps, int index) {
+        for (TestStep step : steps) {
+            step.setDescription(descriptions[index]);
+            step.setStartTime(startTimeOf(index));
+            step.setDuration(durations[index]);
+            index = restoreSeparatelyStoredFields(step.getChildren(), index + 1);
+        }
+        return index;
+    }
+
+    private ZonedDateTime startTimeOf(int index) {
+        return (startTimes[index] == NO_START_TIME) ? null : ZonedDateTime.ofInstant(Instant.ofEpochMilli(startTimes[index]), zone);
+    }
+
+    private static int countStepsIn(List<TestStep> steps) {
+        int count = 0;
+        for (TestStep step : steps) {
+            count += 1 + countStepsIn(step.getChildren());
+        }
+        return count;
+    }
+
+    private static JsonArray inflate(byte[] details, Gson gson) {
+        try (Reader reader = new InputStreamReader(new InflaterInputStream(new ByteArrayInputStream(details)), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, JsonArray.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode test steps", e);
+        }
+    }
+
+    private static byte[] deflate(JsonArray stepDetails, Gson gson) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (Writer writer = new OutputStreamWriter(new DeflaterOutputStream(bytes, deflater), StandardCharsets.UTF_8)) {
+            gson.toJson(stepDetails, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode test steps", e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static class Encoder {
+        private final Gson gson;
+        private final StringPool strings;
+        private final int[] parents;
+        private final String[] descriptions;
+        private final long[] startTimes;
+        private final long[] durations;
+        private final JsonArray details = new JsonArray();
+        private ZoneId zone;
+        private int nextIndex = 0;
+
+        Encoder(Gson gson, StringPool strings, int stepCount) {
+            this.gson = gson;
+            this.strings = strings;
+            this.parents = new int[stepCount];
+            this.descriptions = new String[stepCount];
+            this.startTimes = new long[stepCount];
+            this.durations = new long[stepCount];
+        }
+
+        CompactTestSteps encode(List<TestStep> topLevelSteps) {
+            for (TestStep step : topLevelSteps) {
+                add(step, gson.toJsonTree(step).getAsJsonObject(), -1);
+            }
+            return new CompactTestSteps(gson, topLevelSteps.size(), parents, descriptions, startTimes, durations,
+                    (zone == null) ? ZoneOffset.UTC : zone,
+                    deflate(details, gson));
+        }
+
+        private void add(TestStep step, JsonObject stepJson, int parent) {
+            int index = nextIndex++;
+            parents[index] = parent;
+            descriptions[index] = strings.intern(step.getDescription());
+            durations[index] = step.getDuration();
+            startTimes[index] = (step.getStartTime() == null) ? NO_START_TIME : step.getStartTime().toInstant().toEpochMilli();
+            if (zone == null && step.getStartTime() != null) {
+                zone = step.getStartTime().getZone();
+            }
+
+            JsonElement childrenJson = stepJson.get("children");
+            for (String field : SEPARATELY_STORED_FIELDS) {
+                stepJson.remove(field);
+            }
+            details.add(stepJson);
+
+            List<TestStep> children = step.getChildren();
+            for (int child = 0; child < children.size(); child++) {
+                add(children.get(child), childrenJson.getAsJsonArray().get(child).getAsJsonObject(), index);
+            }
+        }
+    }
+}
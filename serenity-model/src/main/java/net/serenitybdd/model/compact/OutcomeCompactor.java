@@ -0,0 +1,64 @@
+package net.serenitybdd.model.compact;
+
+import com.google.gson.Gson;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestStep;
+import net.thucydides.model.domain.TestTag;
+import net.thucydides.model.reports.json.gson.GsonJSONConverter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts test outcomes loaded for reporting into a compact, read-only form, to reduce the memory needed to report on
+ * large numbers of outcomes. The test steps are stored as {@link CompactTestSteps}, and the tags, step descriptions and
+ * error types are shared between all of the outcomes compacted by the same compactor.
+ * A compactor can be used from several threads at once.
+ */
+public class OutcomeCompactor {
+
+    private static final Gson GSON = GsonJSONConverter.outcomeGsonBuilder().create();
+
+    private final StringPool strings = new StringPool();
+    private final Map<String, TestTag> tags = new ConcurrentHashMap<>();
+
+    public TestOutcome compact(TestOutcome outcome) {
+        return outcome.compactedWith(this);
+    }
+
+    public String intern(String value) {
+        return strings.intern(value);
+    }
+
+    /**
+     * The same tags, using a single shared instance of each distinct tag.
+     */
+    public Set<TestTag> compactTags(Set<TestTag> outcomeTags) {
+        Set<TestTag> sharedTags = new HashSet<>(outcomeTags.size() * 4 / 3 + 1);
+        for (TestTag tag : outcomeTags) {
+            sharedTags.add(tags.computeIfAbsent(keyOf(tag), key -> tag));
+        }
+        return sharedTags;
+    }
+
+    public List<TestStep> compactSteps(List<TestStep> steps) {
+        if (steps instanceof CompactTestSteps) {
+            return steps;
+        }
+        return CompactTestSteps.of(steps, strings, GSON);
+    }
+
+    /**
+     * The number of distinct strings and tags shared between the compacted outcomes.
+     */
+    public int getSharedValueCount() {
+        return strings.size() + tags.size();
+    }
+
+    private static String keyOf(TestTag tag) {
+        return tag.getType() + '\u0000' + tag.getName() + '\u0000' + tag.getDisplayName();
+    }
+}
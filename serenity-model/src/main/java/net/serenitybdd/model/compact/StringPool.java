@@ -0,0 +1,28 @@
+package net.serenitybdd.model.compact;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares a single copy of each distinct string, such as a step description or an error type, across the test
+ * outcomes loaded for a report. Unlike {@link String#intern()}, the strings are released along with the pool.
+ */
+public class StringPool {
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = strings.putIfAbsent(value, value);
+        return (pooled == null) ? value : pooled;
+    }
+
+    /**
+     * The number of distinct strings in the pool.
+     */
+    public int size() {
+        return strings.size();
+    }
+}
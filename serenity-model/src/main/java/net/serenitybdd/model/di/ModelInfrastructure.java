@@ -2,8 +2,8 @@ package net.serenitybdd.model.di;
 
 import net.serenitybdd.model.buildinfo.DriverCapabilityRecord;
 import net.serenitybdd.model.buildinfo.PropertyBasedDriverCapabilityRecord;
-import net.serenitybdd.model.history.FileSystemTestOutcomeSummaryRecorder;
 import net.serenitybdd.model.history.HistoricalFlagProvider;
+import net.serenitybdd.model.history.HistoryFormat;
 import net.serenitybdd.model.history.TestOutcomeSummaryRecorder;
 import net.serenitybdd.model.time.InternalSystemClock;
 import net.serenitybdd.model.time.SystemClock;
@@ -41,7 +41,7 @@ public class ModelInfrastructure {
 
     private static final LinkGenerator linkGenerator = new RemoteTestingLinkManager(getEnvironmentVariables());
 
-    private static final TestOutcomeSummaryRecorder testOutcomeSummaryRecorder = new FileSystemTestOutcomeSummaryRecorder(getEnvironmentVariables());
+    private static final TestOutcomeSummaryRecorder testOutcomeSummaryRecorder = HistoryFormat.summaryRecorderFor(getEnvironmentVariables());
 
     private static final FlagProvider flagProvider
             = new HistoricalFlagProvider(getEnvironmentVariables(), testOutcomeSummaryRecorder);
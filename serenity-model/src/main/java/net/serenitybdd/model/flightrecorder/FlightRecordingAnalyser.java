@@ -0,0 +1,125 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Summarises the Serenity events in a JFR recording into hotspots: the steps, listeners, screenshots and reports
+ * where the most time was spent. It can also be run from the command line with the path of a .jfr file.
+ */
+public class FlightRecordingAnalyser {
+
+    private static final String SERENITY_EVENT_PREFIX = "serenity.";
+
+    private final Map<String, Hotspot> hotspots = new HashMap<>();
+    private final Map<String, Integer> eventCounts = new TreeMap<>();
+
+    private FlightRecordingAnalyser() {
+    }
+
+    public static FlightRecordingAnalyser analyse(Path recording) throws IOException {
+        FlightRecordingAnalyser analyser = new FlightRecordingAnalyser();
+        try (RecordingFile recordingFile = new RecordingFile(recording)) {
+            while (recordingFile.hasMoreEvents()) {
+                analyser.add(recordingFile.readEvent());
+            }
+        }
+        return analyser;
+    }
+
+    private void add(RecordedEvent event) {
+        String eventName = event.getEventType().getName();
+        if (!eventName.startsWith(SERENITY_EVENT_PREFIX)) {
+            return;
+        }
+        eventCounts.merge(eventName, 1, Integer::sum);
+        String subject = subjectOf(event);
+        hotspots.computeIfAbsent(eventName + "|" + subject, key -> new Hotspot(eventName, subject)).record(event.getDuration());
+    }
+
+    private String subjectOf(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case TestEvent.NAME:
+                return event.getString("testName");
+            case StepEvent.NAME:
+                return event.getString("stepName");
+            case ListenerDispatchEvent.NAME:
+                return event.getString("listener") + "." + event.getString("event");
+            case ScreenshotEvent.NAME:
+                return event.getString("lens");
+            case OutcomeWriteEvent.NAME:
+                return event.getString("format");
+            case ReportGenerationEvent.NAME:
+                return event.getString("reporter");
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * The number of events of each Serenity event type in the recording.
+     */
+    public Map<String, Integer> getEventCounts() {
+        return Collections.unmodifiableMap(eventCounts);
+    }
+
+    public int getEventCount(String eventName) {
+        return eventCounts.getOrDefault(eventName, 0);
+    }
+
+    /**
+     * All of the hotspots, the most time-consuming first.
+     */
+    public List<Hotspot> getHotspots() {
+        return hotspots.values().stream()
+                .sorted(Comparator.comparing(Hotspot::getTotalTime).reversed().thenComparing(Hotspot::getSubject))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The most time-consuming hotspots of a given event type, such as "serenity.Step".
+     */
+    public List<Hotspot> getHotspotsFor(String eventName, int maxHotspots) {
+        return getHotspots().stream()
+                .filter(hotspot -> hotspot.getEventName().equals(eventName))
+                .limit(maxHotspots)
+                .collect(Collectors.toList());
+    }
+
+    public Duration getTotalTimeIn(String eventName) {
+        return hotspots.values().stream()
+                .filter(hotspot -> hotspot.getEventName().equals(eventName))
+                .map(Hotspot::getTotalTime)
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * A text summary of the recording, listing the top hotspots for each event type.
+     */
+    public String summary(int hotspotsPerEventType) {
+        StringBuilder summary = new StringBuilder();
+        eventCounts.forEach((eventName, count) -> {
+            summary.append(String.format("%s: %d events, %d ms in total%n", eventName, count, getTotalTimeIn(eventName).toMillis()));
+            getHotspotsFor(eventName, hotspotsPerEventType).forEach(
+                    hotspot -> summary.append("  ").append(hotspot).append(System.lineSeparator())
+            );
+        });
+        return summary.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: FlightRecordingAnalyser <recording.jfr> [hotspots per event type]");
+            return;
+        }
+        int hotspotsPerEventType = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+        System.out.print(analyse(Paths.get(args[0])).summary(hotspotsPerEventType));
+    }
+}
@@ -0,0 +1,8 @@
+package net.serenitybdd.model.flightrecorder;
+
+/**
+ * A flight recorder event that records how a test or a step ended.
+ */
+interface HasResult {
+    void setResult(String result);
+}
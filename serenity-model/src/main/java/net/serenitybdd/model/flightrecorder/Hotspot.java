@@ -0,0 +1,65 @@
+package net.serenitybdd.model.flightrecorder;
+
+import java.time.Duration;
+
+/**
+ * The time spent in one kind of Serenity phase, such as a given step or a given listener handling a given event,
+ * across a flight recording.
+ */
+public class Hotspot {
+
+    private final String eventName;
+    private final String subject;
+    private int count;
+    private Duration totalTime = Duration.ZERO;
+    private Duration maxTime = Duration.ZERO;
+
+    Hotspot(String eventName, String subject) {
+        this.eventName = eventName;
+        this.subject = subject;
+    }
+
+    void record(Duration duration) {
+        count++;
+        totalTime = totalTime.plus(duration);
+        if (duration.compareTo(maxTime) > 0) {
+            maxTime = duration;
+        }
+    }
+
+    /**
+     * The name of the flight recorder event type, e.g. "serenity.Step".
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * What the time was spent on, e.g. the step name or the listener and event.
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+
+    public Duration getMaxTime() {
+        return maxTime;
+    }
+
+    public Duration getAverageTime() {
+        return (count == 0) ? Duration.ZERO : totalTime.dividedBy(count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-28s %-60s %6d x  total %8d ms  avg %6d ms  max %6d ms",
+                eventName, subject, count, totalTime.toMillis(), getAverageTime().toMillis(), maxTime.toMillis());
+    }
+}
@@ -0,0 +1,26 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(ListenerDispatchEvent.NAME)
+@Label("Listener dispatch")
+@Category({"Serenity BDD", "Step listeners"})
+@Description("A step listener handling an event sent by the step event bus")
+final class ListenerDispatchEvent extends jdk.jfr.Event {
+
+    static final String NAME = "serenity.ListenerDispatch";
+
+    @Label("Listener")
+    String listener;
+
+    @Label("Event")
+    String event;
+
+    ListenerDispatchEvent(String listener, String event) {
+        this.listener = listener;
+        this.event = event;
+    }
+}
@@ -0,0 +1,30 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(OutcomeWriteEvent.NAME)
+@Label("Test outcome write")
+@Category({"Serenity BDD", "Reporting"})
+@Description("Writing a test outcome to disk")
+final class OutcomeWriteEvent extends jdk.jfr.Event {
+
+    static final String NAME = "serenity.OutcomeWrite";
+
+    @Label("Test name")
+    String testName;
+
+    @Label("Format")
+    String format;
+
+    @Label("File")
+    String file;
+
+    OutcomeWriteEvent(String testName, String format, String file) {
+        this.testName = testName;
+        this.format = format;
+        this.file = file;
+    }
+}
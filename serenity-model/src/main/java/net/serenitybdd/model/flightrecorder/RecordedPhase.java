@@ -0,0 +1,43 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Event;
+import net.thucydides.model.domain.TestResult;
+
+/**
+ * A phase of a test run that is being timed by a flight recorder event. The event is committed when the phase is
+ * closed. When flight recorder events are disabled, phases are not recorded and closing them does nothing.
+ */
+public final class RecordedPhase implements AutoCloseable {
+
+    static final RecordedPhase NOT_RECORDED = new RecordedPhase(null);
+
+    private final Event event;
+
+    RecordedPhase(Event event) {
+        this.event = event;
+        if (event != null) {
+            event.begin();
+        }
+    }
+
+    /**
+     * Records how the test or step ended.
+     */
+    public RecordedPhase withResult(TestResult result) {
+        if (event instanceof HasResult && result != null) {
+            ((HasResult) event).setResult(result.name());
+        }
+        return this;
+    }
+
+    public boolean isRecorded() {
+        return event != null;
+    }
+
+    @Override
+    public void close() {
+        if (event != null) {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(ReportGenerationEvent.NAME)
+@Label("Report generation")
+@Category({"Serenity BDD", "Reporting"})
+@Description("A reporter generating the reports for a set of test outcomes")
+final class ReportGenerationEvent extends jdk.jfr.Event {
+
+    static final String NAME = "serenity.ReportGeneration";
+
+    @Label("Reporter")
+    String reporter;
+
+    @Label("Test outcomes")
+    int outcomes;
+
+    ReportGenerationEvent(String reporter, int outcomes) {
+        this.reporter = reporter;
+        this.outcomes = outcomes;
+    }
+}
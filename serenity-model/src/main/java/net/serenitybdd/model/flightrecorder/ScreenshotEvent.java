@@ -0,0 +1,22 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(ScreenshotEvent.NAME)
+@Label("Screenshot")
+@Category({"Serenity BDD", "Screenshots"})
+@Description("Taking a screenshot and handing it over to be stored")
+final class ScreenshotEvent extends jdk.jfr.Event {
+
+    static final String NAME = "serenity.Screenshot";
+
+    @Label("Lens")
+    String lens;
+
+    ScreenshotEvent(String lens) {
+        this.lens = lens;
+    }
+}
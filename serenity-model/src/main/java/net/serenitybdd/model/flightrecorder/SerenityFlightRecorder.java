@@ -0,0 +1,74 @@
+package net.serenitybdd.model.flightrecorder;
+
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.steps.StepListener;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_FLIGHT_RECORDER_EVENTS;
+
+/**
+ * Emits Java Flight Recorder events for the phases of a Serenity test run: tests, steps, step listener dispatch,
+ * screenshots, test outcome writing and report generation. Events are only created when the
+ * serenity.flightRecorderEvents property is set, so that the instrumentation costs no more than a field read
+ * otherwise. The events themselves are only written when a JFR recording is running, for example with
+ * -XX:StartFlightRecording, and can be summarised with the {@link FlightRecordingAnalyser}.
+ */
+public final class SerenityFlightRecorder {
+
+    private static volatile boolean enabled
+            = SERENITY_FLIGHT_RECORDER_EVENTS.booleanFrom(SystemEnvironmentVariables.currentEnvironmentVariables(), false);
+
+    private SerenityFlightRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        SerenityFlightRecorder.enabled = enabled;
+    }
+
+    public static RecordedPhase test(String testName) {
+        return enabled ? new RecordedPhase(new TestEvent(testName)) : RecordedPhase.NOT_RECORDED;
+    }
+
+    public static RecordedPhase step(String stepName) {
+        return enabled ? new RecordedPhase(new StepEvent(stepName)) : RecordedPhase.NOT_RECORDED;
+    }
+
+    public static RecordedPhase screenshot(Object lens) {
+        return enabled ? new RecordedPhase(new ScreenshotEvent(lens.getClass().getSimpleName())) : RecordedPhase.NOT_RECORDED;
+    }
+
+    public static RecordedPhase outcomeWrite(String testName, String format, File file) {
+        return enabled ? new RecordedPhase(new OutcomeWriteEvent(testName, format, file.getName())) : RecordedPhase.NOT_RECORDED;
+    }
+
+    public static RecordedPhase reportGeneration(Object reporter, int outcomes) {
+        return enabled ? new RecordedPhase(new ReportGenerationEvent(reporter.getClass().getSimpleName(), outcomes)) : RecordedPhase.NOT_RECORDED;
+    }
+
+    /**
+     * The step listener, wrapped so that the time it takes to handle each event is recorded.
+     * The wrapper is meant to be created once per listener and reused for every event.
+     */
+    public static StepListener recordingDispatchTo(StepListener listener) {
+        String listenerName = listener.getClass().getSimpleName();
+        return (StepListener) Proxy.newProxyInstance(StepListener.class.getClassLoader(),
+                new Class<?>[]{StepListener.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(listener, args);
+                    }
+                    try (RecordedPhase ignored = new RecordedPhase(new ListenerDispatchEvent(listenerName, method.getName()))) {
+                        return method.invoke(listener, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,30 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(StepEvent.NAME)
+@Label("Step")
+@Category({"Serenity BDD", "Test lifecycle"})
+@Description("A test step, from the moment it started to the moment it finished, including any nested steps")
+final class StepEvent extends jdk.jfr.Event implements HasResult {
+
+    static final String NAME = "serenity.Step";
+
+    @Label("Step name")
+    String stepName;
+
+    @Label("Result")
+    String result;
+
+    StepEvent(String stepName) {
+        this.stepName = stepName;
+    }
+
+    @Override
+    public void setResult(String result) {
+        this.result = result;
+    }
+}
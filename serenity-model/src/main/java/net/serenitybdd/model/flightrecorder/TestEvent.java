@@ -0,0 +1,30 @@
+package net.serenitybdd.model.flightrecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(TestEvent.NAME)
+@Label("Test")
+@Category({"Serenity BDD", "Test lifecycle"})
+@Description("A test, from the moment it started to the moment it finished")
+final class TestEvent extends jdk.jfr.Event implements HasResult {
+
+    static final String NAME = "serenity.Test";
+
+    @Label("Test name")
+    String testName;
+
+    @Label("Result")
+    String result;
+
+    TestEvent(String testName) {
+        this.testName = testName;
+    }
+
+    @Override
+    public void setResult(String result) {
+        this.result = result;
+    }
+}
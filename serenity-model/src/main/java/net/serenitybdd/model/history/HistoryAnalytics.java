@@ -0,0 +1,190 @@
+package net.serenitybdd.model.history;
+
+import net.thucydides.model.domain.TestResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Trends worked out from the runs in a segmented history store: pass rates over time, how often each test flips
+ * between passing and failing, how long each test usually takes, and which tests have recently become slower.
+ * The history is read once, when the analytics are created.
+ */
+public class HistoryAnalytics {
+
+    private final List<HistoryRun> runs = new ArrayList<>();
+    private final Map<String, TestTimeline> timelines = new LinkedHashMap<>();
+
+    private HistoryAnalytics() {
+    }
+
+    public static HistoryAnalytics of(SegmentedHistoryStore historyStore) throws IOException {
+        HistoryAnalytics analytics = new HistoryAnalytics();
+        historyStore.forEachRun(analytics::addRun);
+        return analytics;
+    }
+
+    private void addRun(HistoryRun run, List<HistoryRecord> records) {
+        runs.add(run);
+        for (HistoryRecord record : records) {
+            timelines.computeIfAbsent(record.getTestId(), TestTimeline::new).add(record);
+        }
+    }
+
+    public List<HistoryRun> getRuns() {
+        return Collections.unmodifiableList(runs);
+    }
+
+    /**
+     * The overall pass rate of each run, oldest first.
+     */
+    public List<Double> getPassRateTrend() {
+        return runs.stream().map(HistoryRun::getPassRate).collect(Collectors.toList());
+    }
+
+    /**
+     * The pass rate of a test over each successive group of runs in which it passed or failed, oldest first.
+     * A final group with fewer runs than the window size is included.
+     */
+    public List<Double> getPassRateTrendFor(String testId, int windowSize) {
+        TestTimeline timeline = timelines.get(testId);
+        if (timeline == null) {
+            return Collections.emptyList();
+        }
+        List<Double> trend = new ArrayList<>();
+        for (int windowStart = 0; windowStart < timeline.executedRuns; windowStart += windowSize) {
+            int windowEnd = Math.min(windowStart + windowSize, timeline.executedRuns);
+            int passes = 0;
+            for (int run = windowStart; run < windowEnd; run++) {
+                if (timeline.passed[run]) {
+                    passes++;
+                }
+            }
+            trend.add((double) passes / (windowEnd - windowStart));
+        }
+        return trend;
+    }
+
+    public Optional<TestHistoryStatistics> getStatisticsFor(String testId) {
+        return Optional.ofNullable(timelines.get(testId)).map(TestTimeline::getStatistics);
+    }
+
+    public List<TestHistoryStatistics> getTestStatistics() {
+        return timelines.values().stream().map(TestTimeline::getStatistics).collect(Collectors.toList());
+    }
+
+    /**
+     * The tests that flip between passing and failing most often, most unstable first.
+     */
+    public List<TestHistoryStatistics> getFlakiestTests(int limit) {
+        return timelines.values().stream()
+                .filter(timeline -> timeline.flips > 0)
+                .map(TestTimeline::getStatistics)
+                .sorted(Comparator.comparingInt(TestHistoryStatistics::getFlips).reversed()
+                        .thenComparingDouble(TestHistoryStatistics::getPassRate))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tests whose mean duration over their most recent runs is more than the given factor times their 95th percentile
+     * duration in earlier runs, slowest first. Only tests with at least as many earlier runs as recent ones are considered.
+     */
+    public List<NewlySlowTest> getNewlySlowTests(int recentRuns, double slowdownFactor) {
+        List<NewlySlowTest> newlySlowTests = new ArrayList<>();
+        for (TestTimeline timeline : timelines.values()) {
+            int earlierRuns = timeline.executedRuns - recentRuns;
+            if (recentRuns <= 0 || earlierRuns < recentRuns) {
+                continue;
+            }
+            long usualDuration = percentile95(timeline.durations, 0, earlierRuns);
+            long recentDuration = mean(timeline.durations, earlierRuns, timeline.executedRuns);
+            if (recentDuration > 0 && recentDuration > usualDuration * slowdownFactor) {
+                newlySlowTests.add(new NewlySlowTest(timeline.testId,
+                                                     timeline.name,
+                                                     Duration.ofMillis(usualDuration),
+                                                     Duration.ofMillis(recentDuration)));
+            }
+        }
+        newlySlowTests.sort(Comparator.comparingDouble(NewlySlowTest::getSlowdown).reversed());
+        return newlySlowTests;
+    }
+
+    private static long mean(long[] durations, int from, int to) {
+        if (to <= from) {
+            return 0;
+        }
+        long total = 0;
+        for (int run = from; run < to; run++) {
+            total += durations[run];
+        }
+        return total / (to - from);
+    }
+
+    private static long percentile95(long[] durations, int from, int to) {
+        if (to <= from) {
+            return 0;
+        }
+        long[] sortedDurations = Arrays.copyOfRange(durations, from, to);
+        Arrays.sort(sortedDurations);
+        int rank = (int) Math.ceil(0.95 * sortedDurations.length);
+        return sortedDurations[rank - 1];
+    }
+
+    /**
+     * The results and durations of a single test, in the order of the runs where it passed or failed.
+     */
+    private static class TestTimeline {
+        private final String testId;
+        private String name;
+        private int recordedRuns;
+        private int executedRuns;
+        private int passes;
+        private int failures;
+        private int flips;
+        private boolean[] passed = new boolean[16];
+        private long[] durations = new long[16];
+
+        TestTimeline(String testId) {
+            this.testId = testId;
+        }
+
+        void add(HistoryRecord record) {
+            name = record.getName();
+            recordedRuns++;
+            TestResult result = record.getResult();
+            if (result != TestResult.SUCCESS && !result.isUnsuccessful()) {
+                return;
+            }
+            boolean passing = (result == TestResult.SUCCESS);
+            if (executedRuns > 0 && passed[executedRuns - 1] != passing) {
+                flips++;
+            }
+            if (executedRuns == passed.length) {
+                passed = Arrays.copyOf(passed, executedRuns * 2);
+                durations = Arrays.copyOf(durations, executedRuns * 2);
+            }
+            passed[executedRuns] = passing;
+            durations[executedRuns] = record.getDurationInMillis();
+            executedRuns++;
+            if (passing) {
+                passes++;
+            } else {
+                failures++;
+            }
+        }
+
+        TestHistoryStatistics getStatistics() {
+            return new TestHistoryStatistics(testId,
+                                             name,
+                                             recordedRuns,
+                                             passes,
+                                             failures,
+                                             flips,
+                                             Duration.ofMillis(mean(durations, 0, executedRuns)),
+                                             Duration.ofMillis(percentile95(durations, 0, executedRuns)));
+        }
+    }
+}
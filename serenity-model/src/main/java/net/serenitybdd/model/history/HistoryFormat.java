@@ -0,0 +1,67 @@
+package net.serenitybdd.model.history;
+
+import net.thucydides.model.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_HISTORY_DIRECTORY;
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_HISTORY_FORMAT;
+
+/**
+ * The ways test outcome history can be stored, as configured by the serenity.historyFormat property.
+ */
+public enum HistoryFormat {
+    /**
+     * One summary file per test outcome, replaced on each run.
+     */
+    SUMMARIES {
+        @Override
+        public TestOutcomeSummaryRecorder summaryRecorderFor(Path historyDirectory, Boolean deletePreviousHistory) {
+            return new FileSystemTestOutcomeSummaryRecorder(historyDirectory, deletePreviousHistory);
+        }
+    },
+    /**
+     * An append-only segmented store keeping a compact record of every run.
+     */
+    SEGMENTS {
+        @Override
+        public TestOutcomeSummaryRecorder summaryRecorderFor(Path historyDirectory, Boolean deletePreviousHistory) {
+            return new SegmentedHistoryStore(historyDirectory, deletePreviousHistory);
+        }
+    };
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryFormat.class);
+
+    public abstract TestOutcomeSummaryRecorder summaryRecorderFor(Path historyDirectory, Boolean deletePreviousHistory);
+
+    public static HistoryFormat from(String formatName) {
+        for (HistoryFormat format : values()) {
+            if (format.name().equalsIgnoreCase(formatName)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown history format: " + formatName + " (expected 'summaries' or 'segments')");
+    }
+
+    /**
+     * The history recorder for the configured history format. This is created when Serenity starts up, so an unknown
+     * history format is reported as a warning and the history is stored as summaries, rather than failing the test run.
+     */
+    public static TestOutcomeSummaryRecorder summaryRecorderFor(EnvironmentVariables environmentVariables) {
+        Path historyDirectory = Paths.get(SERENITY_HISTORY_DIRECTORY.from(environmentVariables, "history"), "");
+        return configuredIn(environmentVariables).summaryRecorderFor(historyDirectory, false);
+    }
+
+    private static HistoryFormat configuredIn(EnvironmentVariables environmentVariables) {
+        String formatName = SERENITY_HISTORY_FORMAT.from(environmentVariables, "summaries");
+        try {
+            return from(formatName);
+        } catch (IllegalArgumentException unknownFormat) {
+            LOGGER.warn("{} - storing the test history as summaries instead", unknownFormat.getMessage());
+            return SUMMARIES;
+        }
+    }
+}
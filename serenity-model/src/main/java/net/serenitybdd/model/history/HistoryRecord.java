@@ -0,0 +1,95 @@
+package net.serenitybdd.model.history;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+
+import java.util.Objects;
+
+/**
+ * The compact record of a single test outcome kept in the segmented history store.
+ */
+public class HistoryRecord {
+    private final String testId;
+    private final String name;
+    private final TestResult result;
+    private final long durationInMillis;
+    private final long startTime;
+    private final String testFailureSummary;
+
+    public HistoryRecord(String testId,
+                         String name,
+                         TestResult result,
+                         long durationInMillis,
+                         long startTime,
+                         String testFailureSummary) {
+        this.testId = testId;
+        this.name = name;
+        this.result = result;
+        this.durationInMillis = durationInMillis;
+        this.startTime = startTime;
+        this.testFailureSummary = testFailureSummary;
+    }
+
+    public static HistoryRecord from(TestOutcome testOutcome) {
+        return new HistoryRecord(testOutcome.getId(),
+                                 testOutcome.getName(),
+                                 testOutcome.getResult(),
+                                 Objects.requireNonNullElse(testOutcome.getDuration(), 0L),
+                                 (testOutcome.getStartTime() == null) ? 0L : testOutcome.getStartTime().toInstant().toEpochMilli(),
+                                 testOutcome.getTestFailureSummary());
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TestResult getResult() {
+        return result;
+    }
+
+    public long getDurationInMillis() {
+        return durationInMillis;
+    }
+
+    /**
+     * The start time of the test, in milliseconds since the epoch, or 0 if it is not known.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public String getTestFailureSummary() {
+        return testFailureSummary;
+    }
+
+    public PreviousTestOutcome toPreviousTestOutcome() {
+        return new PreviousTestOutcome(testId, name, result, testFailureSummary);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HistoryRecord that = (HistoryRecord) o;
+        return durationInMillis == that.durationInMillis
+                && startTime == that.startTime
+                && Objects.equals(testId, that.testId)
+                && Objects.equals(name, that.name)
+                && result == that.result
+                && Objects.equals(testFailureSummary, that.testFailureSummary);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(testId, name, result, durationInMillis, startTime, testFailureSummary);
+    }
+
+    @Override
+    public String toString() {
+        return testId + " " + result + " in " + durationInMillis + "ms";
+    }
+}
@@ -0,0 +1,49 @@
+package net.serenitybdd.model.history;
+
+import java.time.Instant;
+
+/**
+ * A single recorded test run in the segmented history store, as described by the segment index.
+ */
+public class HistoryRun {
+    private final Instant runTime;
+    private final int numberOfTests;
+    private final int passingTests;
+    private final int unsuccessfulTests;
+
+    public HistoryRun(Instant runTime, int numberOfTests, int passingTests, int unsuccessfulTests) {
+        this.runTime = runTime;
+        this.numberOfTests = numberOfTests;
+        this.passingTests = passingTests;
+        this.unsuccessfulTests = unsuccessfulTests;
+    }
+
+    public Instant getRunTime() {
+        return runTime;
+    }
+
+    public int getNumberOfTests() {
+        return numberOfTests;
+    }
+
+    public int getPassingTests() {
+        return passingTests;
+    }
+
+    public int getUnsuccessfulTests() {
+        return unsuccessfulTests;
+    }
+
+    /**
+     * The proportion of passing tests among the tests that passed or failed in this run.
+     */
+    public double getPassRate() {
+        int executedTests = passingTests + unsuccessfulTests;
+        return (executedTests == 0) ? 0.0 : (double) passingTests / executedTests;
+    }
+
+    @Override
+    public String toString() {
+        return "Run at " + runTime + ": " + passingTests + " passing out of " + numberOfTests + " tests";
+    }
+}
@@ -0,0 +1,51 @@
+package net.serenitybdd.model.history;
+
+import java.time.Duration;
+
+/**
+ * A test that has recently been taking noticeably longer than it used to.
+ */
+public class NewlySlowTest {
+    private final String testId;
+    private final String name;
+    private final Duration usualDuration;
+    private final Duration recentDuration;
+
+    public NewlySlowTest(String testId, String name, Duration usualDuration, Duration recentDuration) {
+        this.testId = testId;
+        this.name = name;
+        this.usualDuration = usualDuration;
+        this.recentDuration = recentDuration;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The 95th percentile duration of the test in the runs before the recent ones.
+     */
+    public Duration getUsualDuration() {
+        return usualDuration;
+    }
+
+    /**
+     * The mean duration of the test in the recent runs.
+     */
+    public Duration getRecentDuration() {
+        return recentDuration;
+    }
+
+    public double getSlowdown() {
+        return (usualDuration.isZero()) ? Double.POSITIVE_INFINITY : (double) recentDuration.toMillis() / usualDuration.toMillis();
+    }
+
+    @Override
+    public String toString() {
+        return name + " now takes " + recentDuration.toMillis() + "ms (usually " + usualDuration.toMillis() + "ms)";
+    }
+}
@@ -0,0 +1,524 @@
+package net.serenitybdd.model.history;
+
+import net.serenitybdd.model.collect.NewMap;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.reports.AcceptanceTestLoader;
+import net.thucydides.model.reports.NumberOfThreads;
+import net.thucydides.model.reports.json.JSONTestOutcomeReporter;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.*;
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_HISTORY_DIRECTORY;
+
+/**
+ * An append-only store of test outcome history, kept in the "segments" folder of the history directory.
+ * Each run appends one compact binary record per test outcome to the current segment data file, and a fixed-size
+ * entry describing the run to the segment index file. Test ids and names are written once per segment and referred
+ * to by number afterwards, so a run costs a few bytes per test rather than a file per test.
+ * <p>
+ * A segment is closed once it holds more than a given number of records, and a new one is started for the next run.
+ * The index entry is only written once the run data has been flushed to disk, so a partly-written run is discarded
+ * the next time the store is appended to. The store is designed for a single writer at a time.
+ */
+public class SegmentedHistoryStore implements TestOutcomeSummaryRecorder {
+
+    static final String SEGMENT_DIRECTORY = "segments";
+
+    private static final int MAGIC_NUMBER = 0x53524853;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int DEFAULT_MAX_RECORDS_PER_SEGMENT = 100_000;
+    private static final int INDEX_ENTRY_SIZE = 32;
+    private static final int MAX_TEXT_LENGTH = 4096;
+
+    private static final byte NEW_TEST = 1;
+    private static final byte HAS_FAILURE_SUMMARY = 2;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentedHistoryStore.class);
+
+    private static final Map<Boolean, PrepareHistoryDirectory> DELETE_STRATEGY =
+            NewMap.of(
+                    false, new LeaveDirectoryContents(),
+                    true, new ClearDirectoryContents()
+            );
+
+    private final Path historyDirectory;
+    private final Path segmentDirectory;
+    private final Boolean deletePreviousHistory;
+    private final int maxRecordsPerSegment;
+    private final AcceptanceTestLoader testOutcomeReporter = new JSONTestOutcomeReporter();
+
+    private SegmentWriter currentSegment;
+
+    public SegmentedHistoryStore(EnvironmentVariables environmentVariables) {
+        this(Paths.get(SERENITY_HISTORY_DIRECTORY.from(environmentVariables, "history"), ""), false);
+    }
+
+    public SegmentedHistoryStore(Path historyDirectory, Boolean deletePreviousHistory) {
+        this(historyDirectory, deletePreviousHistory, DEFAULT_MAX_RECORDS_PER_SEGMENT);
+    }
+
+    public SegmentedHistoryStore(Path historyDirectory, Boolean deletePreviousHistory, int maxRecordsPerSegment) {
+        this.historyDirectory = historyDirectory;
+        this.segmentDirectory = historyDirectory.resolve(SEGMENT_DIRECTORY);
+        this.deletePreviousHistory = Optional.ofNullable(deletePreviousHistory).orElse(false);
+        this.maxRecordsPerSegment = maxRecordsPerSegment;
+    }
+
+    /**
+     * Records a summary of each test outcome in the source directory as a new run.
+     */
+    @Override
+    public void recordOutcomeSummariesFrom(Path sourceDirectory) {
+        try {
+            DELETE_STRATEGY.get(deletePreviousHistory).prepareHistoryDirectory(historyDirectory);
+            currentSegment = null;
+            recordRun(Instant.now(), historyRecordsFrom(sourceDirectory));
+        } catch (IOException ex) {
+            LOGGER.warn("Unable to store test outcome for posterity", ex);
+        }
+    }
+
+    /**
+     * The most recent recorded outcome of each test in the history.
+     */
+    @Override
+    public List<PreviousTestOutcome> loadSummaries() {
+        Map<String, HistoryRecord> latestRecords = new LinkedHashMap<>();
+        try {
+            forEachRun((run, records) -> records.forEach(record -> latestRecords.put(record.getTestId(), record)));
+        } catch (IOException ex) {
+            LOGGER.warn("Unable to load test outcome history", ex);
+        }
+        return latestRecords.values().stream().map(HistoryRecord::toPreviousTestOutcome).collect(Collectors.toList());
+    }
+
+    public HistoryAnalytics getAnalytics() throws IOException {
+        return HistoryAnalytics.of(this);
+    }
+
+    /**
+     * Appends a run to the history, starting a new segment if the current one is full.
+     */
+    public synchronized void recordRun(Instant runTime, Collection<HistoryRecord> records) throws IOException {
+        Files.createDirectories(segmentDirectory);
+        if (currentSegment == null || currentSegment.isFull()) {
+            currentSegment = segmentToAppendTo();
+        }
+        currentSegment.append(runTime, records);
+    }
+
+    /**
+     * The runs recorded in the history, oldest first. Only the segment indexes are read.
+     */
+    public List<HistoryRun> getRuns() throws IOException {
+        List<HistoryRun> runs = new ArrayList<>();
+        for (Path dataFile : segmentDataFiles()) {
+            readIndexOf(dataFile).forEach(entry -> runs.add(entry.run));
+        }
+        return runs;
+    }
+
+    /**
+     * Reads every run in the history, oldest first, passing each one to the consumer along with its records.
+     */
+    public void forEachRun(BiConsumer<HistoryRun, List<HistoryRecord>> consumer) throws IOException {
+        for (Path dataFile : segmentDataFiles()) {
+            readSegment(dataFile, readIndexOf(dataFile), consumer);
+        }
+    }
+
+    private List<HistoryRecord> historyRecordsFrom(Path sourceDirectory) throws IOException {
+        List<Path> outcomeFiles;
+        try (Stream<Path> files = Files.list(sourceDirectory)) {
+            outcomeFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        if (outcomeFiles.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ExecutorService executorPool = Executors.newFixedThreadPool(Math.min(outcomeFiles.size(), NumberOfThreads.forIOOperations()));
+        try {
+            List<Future<Optional<TestOutcome>>> loadedOutcomes = new ArrayList<>();
+            for (Path outcomeFile : outcomeFiles) {
+                loadedOutcomes.add(executorPool.submit(() -> testOutcomeReporter.loadReportFrom(outcomeFile)));
+            }
+            List<HistoryRecord> records = new ArrayList<>();
+            for (Future<Optional<TestOutcome>> loadedOutcome : loadedOutcomes) {
+                loadedOutcome.get().map(HistoryRecord::from).ifPresent(records::add);
+            }
+            return records;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading test outcomes from " + sourceDirectory, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not read test outcomes from " + sourceDirectory, e.getCause());
+        } finally {
+            executorPool.shutdown();
+        }
+    }
+
+    private List<Path> segmentDataFiles() throws IOException {
+        if (!Files.isDirectory(segmentDirectory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(segmentDirectory)) {
+            return files.filter(file -> file.getFileName().toString().matches("segment-\\d+\\.data"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Path indexFileFor(Path dataFile) {
+        return dataFile.resolveSibling(dataFile.getFileName().toString().replace(".data", ".index"));
+    }
+
+    private SegmentWriter segmentToAppendTo() throws IOException {
+        List<Path> dataFiles = segmentDataFiles();
+        if (!dataFiles.isEmpty()) {
+            Path lastDataFile = dataFiles.get(dataFiles.size() - 1);
+            SegmentWriter lastSegment = SegmentWriter.reopen(lastDataFile, readIndexOf(lastDataFile), maxRecordsPerSegment);
+            if (!lastSegment.isFull()) {
+                return lastSegment;
+            }
+        }
+        Path newDataFile = segmentDirectory.resolve(String.format("segment-%08d.data", dataFiles.size() + 1));
+        return SegmentWriter.create(newDataFile, maxRecordsPerSegment);
+    }
+
+    private static List<IndexEntry> readIndexOf(Path dataFile) throws IOException {
+        Path indexFile = indexFileFor(dataFile);
+        if (!Files.exists(indexFile)) {
+            return Collections.emptyList();
+        }
+        byte[] index = Files.readAllBytes(indexFile);
+        ByteBuffer entries = ByteBuffer.wrap(index);
+        List<IndexEntry> indexEntries = new ArrayList<>(index.length / INDEX_ENTRY_SIZE);
+        // A torn entry at the end of the index is ignored along with the run it describes
+        while (entries.remaining() >= INDEX_ENTRY_SIZE) {
+            indexEntries.add(IndexEntry.readFrom(entries));
+        }
+        return indexEntries;
+    }
+
+    private static void readSegment(Path dataFile,
+                                    List<IndexEntry> indexEntries,
+                                    BiConsumer<HistoryRun, List<HistoryRecord>> consumer) throws IOException {
+        if (indexEntries.isEmpty()) {
+            return;
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(dataFile), 64 * 1024)) {
+            SegmentReader reader = new SegmentReader(input, dataFile);
+            for (IndexEntry entry : indexEntries) {
+                consumer.accept(entry.run, reader.readRun(entry));
+            }
+        }
+    }
+
+    private static TestResult[] resultCodesFrom(DataInput input, Path dataFile) throws IOException {
+        if (input.readInt() != MAGIC_NUMBER || input.readByte() != FORMAT_VERSION) {
+            throw new IOException("Not a Serenity history segment: " + dataFile);
+        }
+        TestResult[] results = new TestResult[input.readUnsignedByte()];
+        for (int code = 0; code < results.length; code++) {
+            String resultName = input.readUTF();
+            results[code] = TestResult.existsWithName(resultName) ? TestResult.valueOf(resultName) : TestResult.UNDEFINED;
+        }
+        return results;
+    }
+
+    private static void writeVarLong(DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int nextByte = input.readUnsignedByte();
+            value |= (long) (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number in history segment");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static class IndexEntry {
+        private final HistoryRun run;
+        private final long offset;
+        private final int length;
+
+        IndexEntry(HistoryRun run, long offset, int length) {
+            this.run = run;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        static IndexEntry readFrom(ByteBuffer entries) {
+            Instant runTime = Instant.ofEpochMilli(entries.getLong());
+            long offset = entries.getLong();
+            int length = entries.getInt();
+            int numberOfTests = entries.getInt();
+            int passingTests = entries.getInt();
+            int unsuccessfulTests = entries.getInt();
+            return new IndexEntry(new HistoryRun(runTime, numberOfTests, passingTests, unsuccessfulTests), offset, length);
+        }
+
+        void writeTo(ByteBuffer entries) {
+            entries.putLong(run.getRunTime().toEpochMilli())
+                    .putLong(offset)
+                    .putInt(length)
+                    .putInt(run.getNumberOfTests())
+                    .putInt(run.getPassingTests())
+                    .putInt(run.getUnsuccessfulTests());
+        }
+
+        long end() {
+            return offset + length;
+        }
+    }
+
+    private static class SegmentReader {
+        private final CountingInputStream segment;
+        private final DataInputStream input;
+        private final Path dataFile;
+        private final TestResult[] results;
+        private final List<String> testIds = new ArrayList<>();
+        private final List<String> testNames = new ArrayList<>();
+
+        SegmentReader(InputStream segmentData, Path dataFile) throws IOException {
+            this.segment = new CountingInputStream(segmentData);
+            this.input = new DataInputStream(segment);
+            this.dataFile = dataFile;
+            this.results = resultCodesFrom(input, dataFile);
+        }
+
+        long getPosition() {
+            return segment.bytesRead;
+        }
+
+        List<HistoryRecord> readRun(IndexEntry entry) throws IOException {
+            if (entry.offset != getPosition()) {
+                throw new IOException("History segment " + dataFile + " does not match its index");
+            }
+            long runStart = entry.run.getRunTime().toEpochMilli();
+            List<HistoryRecord> records = new ArrayList<>(entry.run.getNumberOfTests());
+            for (int recordNumber = 0; recordNumber < entry.run.getNumberOfTests(); recordNumber++) {
+                records.add(readRecord(input, runStart));
+            }
+            return records;
+        }
+
+        private HistoryRecord readRecord(DataInput run, long runStart) throws IOException {
+            byte flags = run.readByte();
+            int testNumber;
+            if ((flags & NEW_TEST) != 0) {
+                testNumber = testIds.size();
+                testIds.add(run.readUTF());
+                testNames.add(run.readUTF());
+            } else {
+                testNumber = (int) readVarLong(run);
+            }
+            TestResult result = results[run.readUnsignedByte()];
+            long duration = readVarLong(run);
+            long startTime = runStart + unZigZag(readVarLong(run));
+            String failureSummary = ((flags & HAS_FAILURE_SUMMARY) != 0) ? run.readUTF() : null;
+            return new HistoryRecord(testIds.get(testNumber), testNames.get(testNumber), result, duration, startTime, failureSummary);
+        }
+    }
+
+    private static class SegmentWriter {
+        private final Path dataFile;
+        private final int maxRecords;
+        private final Map<String, Integer> testNumbers;
+        private long dataLength;
+        private long recordCount;
+
+        private SegmentWriter(Path dataFile, int maxRecords, Map<String, Integer> testNumbers, long dataLength, long recordCount) {
+            this.dataFile = dataFile;
+            this.maxRecords = maxRecords;
+            this.testNumbers = testNumbers;
+            this.dataLength = dataLength;
+            this.recordCount = recordCount;
+        }
+
+        static SegmentWriter create(Path dataFile, int maxRecords) throws IOException {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(header)) {
+                output.writeInt(MAGIC_NUMBER);
+                output.writeByte(FORMAT_VERSION);
+                output.writeByte(TestResult.values().length);
+                for (TestResult result : TestResult.values()) {
+                    output.writeUTF(result.name());
+                }
+            }
+            Files.write(dataFile, header.toByteArray(), CREATE_NEW, WRITE);
+            Files.deleteIfExists(indexFileFor(dataFile));
+            return new SegmentWriter(dataFile, maxRecords, new HashMap<>(), header.size(), 0);
+        }
+
+        /**
+         * Reopens the last segment for appending, reading back the test numbers it already uses and
+         * discarding any data written after the last run recorded in the index.
+         */
+        static SegmentWriter reopen(Path dataFile, List<IndexEntry> indexEntries, int maxRecords) throws IOException {
+            Map<String, Integer> testNumbers = new HashMap<>();
+            long[] recordCount = new long[1];
+            readSegment(dataFile, indexEntries, (run, records) -> {
+                recordCount[0] += records.size();
+                records.forEach(record -> testNumbers.putIfAbsent(record.getTestId(), testNumbers.size()));
+            });
+            long dataLength = indexEntries.isEmpty() ? headerLengthOf(dataFile) : indexEntries.get(indexEntries.size() - 1).end();
+            try (FileChannel channel = FileChannel.open(dataFile, WRITE)) {
+                if (channel.size() > dataLength) {
+                    channel.truncate(dataLength);
+                }
+            }
+            truncateIndexTo(indexFileFor(dataFile), indexEntries.size());
+            return new SegmentWriter(dataFile, maxRecords, testNumbers, dataLength, recordCount[0]);
+        }
+
+        private static long headerLengthOf(Path dataFile) throws IOException {
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(dataFile))) {
+                return new SegmentReader(input, dataFile).getPosition();
+            }
+        }
+
+        private static void truncateIndexTo(Path indexFile, int numberOfEntries) throws IOException {
+            if (Files.exists(indexFile)) {
+                try (FileChannel channel = FileChannel.open(indexFile, WRITE)) {
+                    channel.truncate((long) numberOfEntries * INDEX_ENTRY_SIZE);
+                }
+            }
+        }
+
+        boolean isFull() {
+            return recordCount >= maxRecords;
+        }
+
+        void append(Instant runTime, Collection<HistoryRecord> records) throws IOException {
+            Map<String, Integer> newTestNumbers = new HashMap<>();
+            ByteArrayOutputStream runData = new ByteArrayOutputStream(records.size() * 16);
+            int passingTests = 0;
+            int unsuccessfulTests = 0;
+            try (DataOutputStream output = new DataOutputStream(runData)) {
+                for (HistoryRecord record : records) {
+                    Integer testNumber = testNumbers.getOrDefault(record.getTestId(), newTestNumbers.get(record.getTestId()));
+                    boolean hasFailureSummary = record.getTestFailureSummary() != null;
+                    output.writeByte(((testNumber == null) ? NEW_TEST : 0) | (hasFailureSummary ? HAS_FAILURE_SUMMARY : 0));
+                    if (testNumber == null) {
+                        newTestNumbers.put(record.getTestId(), testNumbers.size() + newTestNumbers.size());
+                        output.writeUTF(truncated(record.getTestId()));
+                        output.writeUTF(truncated(record.getName()));
+                    } else {
+                        writeVarLong(output, testNumber);
+                    }
+                    output.writeByte(record.getResult().ordinal());
+                    writeVarLong(output, Math.max(0, record.getDurationInMillis()));
+                    writeVarLong(output, zigZag(record.getStartTime() - runTime.toEpochMilli()));
+                    if (hasFailureSummary) {
+                        output.writeUTF(truncated(record.getTestFailureSummary()));
+                    }
+                    if (record.getResult() == TestResult.SUCCESS) {
+                        passingTests++;
+                    } else if (record.getResult().isUnsuccessful()) {
+                        unsuccessfulTests++;
+                    }
+                }
+            }
+
+            try (FileChannel data = FileChannel.open(dataFile, WRITE)) {
+                data.position(dataLength);
+                writeFully(data, ByteBuffer.wrap(runData.toByteArray()));
+                data.force(false);
+            }
+
+            HistoryRun run = new HistoryRun(runTime, records.size(), passingTests, unsuccessfulTests);
+            ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            new IndexEntry(run, dataLength, runData.size()).writeTo(indexEntry);
+            indexEntry.flip();
+            try (FileChannel index = FileChannel.open(indexFileFor(dataFile), CREATE, WRITE, APPEND)) {
+                writeFully(index, indexEntry);
+                index.force(false);
+            }
+
+            testNumbers.putAll(newTestNumbers);
+            dataLength += runData.size();
+            recordCount += records.size();
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private static String truncated(String value) {
+            if (value == null) {
+                return "";
+            }
+            return (value.length() > MAX_TEXT_LENGTH) ? value.substring(0, MAX_TEXT_LENGTH) : value;
+        }
+    }
+
+    /**
+     * Keeps track of how many bytes have been read from a segment, so that runs can be checked against the index.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long bytesRead;
+
+        CountingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int nextByte = super.read();
+            if (nextByte >= 0) {
+                bytesRead++;
+            }
+            return nextByte;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytesRead += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long skipped = super.skip(length);
+            bytesRead += skipped;
+            return skipped;
+        }
+    }
+}
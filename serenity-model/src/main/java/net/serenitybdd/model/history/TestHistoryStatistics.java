@@ -0,0 +1,87 @@
+package net.serenitybdd.model.history;
+
+import java.time.Duration;
+
+/**
+ * How a single test has behaved over the runs recorded in the history.
+ */
+public class TestHistoryStatistics {
+    private final String testId;
+    private final String name;
+    private final int runs;
+    private final int passes;
+    private final int failures;
+    private final int flips;
+    private final Duration meanDuration;
+    private final Duration p95Duration;
+
+    public TestHistoryStatistics(String testId,
+                                 String name,
+                                 int runs,
+                                 int passes,
+                                 int failures,
+                                 int flips,
+                                 Duration meanDuration,
+                                 Duration p95Duration) {
+        this.testId = testId;
+        this.name = name;
+        this.runs = runs;
+        this.passes = passes;
+        this.failures = failures;
+        this.flips = flips;
+        this.meanDuration = meanDuration;
+        this.p95Duration = p95Duration;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The number of runs in which this test was recorded, whatever the result.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getPasses() {
+        return passes;
+    }
+
+    /**
+     * The number of runs in which this test failed, was broken or was compromised.
+     */
+    public int getFailures() {
+        return failures;
+    }
+
+    /**
+     * The number of times the test went from passing to failing or from failing to passing between runs.
+     * Runs where the test was skipped, ignored or pending are not counted.
+     */
+    public int getFlips() {
+        return flips;
+    }
+
+    public double getPassRate() {
+        return (passes + failures == 0) ? 0.0 : (double) passes / (passes + failures);
+    }
+
+    public Duration getMeanDuration() {
+        return meanDuration;
+    }
+
+    public Duration getP95Duration() {
+        return p95Duration;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + passes + "/" + (passes + failures) + " passing, " + flips + " flips, mean "
+                + meanDuration.toMillis() + "ms, p95 " + p95Duration.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,54 @@
+package net.serenitybdd.model.rest;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+/**
+ * Pretty-prints JSON and XML REST bodies that were recorded unformatted.
+ * Anything that cannot be parsed (including bodies that have been truncated) is returned unchanged.
+ */
+class BodyPrettifier {
+
+    static String prettify(String body, String contentType) {
+        if (body == null || body.isEmpty()) {
+            return body;
+        }
+        String type = contentType.toLowerCase();
+        try {
+            if (type.contains("json")) {
+                return new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create()
+                                        .toJson(JsonParser.parseString(body));
+            }
+            if (type.contains("xml")) {
+                return prettyXml(body);
+            }
+        } catch (Exception notWellFormed) {
+            return body;
+        }
+        return body;
+    }
+
+    private static String prettyXml(String body) throws Exception {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setErrorListener(new ErrorListener() {
+            public void warning(TransformerException exception) {}
+            public void error(TransformerException exception) throws TransformerException { throw exception; }
+            public void fatalError(TransformerException exception) throws TransformerException { throw exception; }
+        });
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+        StringWriter prettyBody = new StringWriter();
+        transformer.transform(new StreamSource(new StringReader(body)), new StreamResult(prettyBody));
+        return prettyBody.toString();
+    }
+}
@@ -19,10 +19,16 @@ public class RestQuery {
     private final Optional<? extends Map<String, ?>> parameterMap;
     private final String responseBody;
     private final Integer statusCode;
+    private final String contentFile;
+    private final String responseBodyFile;
+    private final String responseContentType;
+
+    private transient String prettyResponseBody;
 
     private RestQuery(RestMethod method, String path, List<Object> parameters, Map<String, ?> parameterMap,
                       String content, String contentType, String responseBody, Integer statusCode,
-                      String requestHeaders, String requestCookies, String responseHeaders, String responseCookies) {
+                      String requestHeaders, String requestCookies, String responseHeaders, String responseCookies,
+                      String contentFile, String responseBodyFile, String responseContentType) {
         this.method = method;
         this.path = path;
         this.parameters = Optional.ofNullable(parameters);
@@ -35,61 +41,104 @@ public class RestQuery {
         this.requestCookies = requestCookies;
         this.responseHeaders = responseHeaders;
         this.responseCookies = responseCookies;
+        this.contentFile = contentFile;
+        this.responseBodyFile = responseBodyFile;
+        this.responseContentType = responseContentType;
 
     }
 
     public RestQuery(RestMethod method, String path) {
-        this(method, path, null, null, null, null, null, null, null, null, null, null);
+        this(method, path, null, null, null, null, null, null, null, null, null, null, null, null, null);
     }
 
 
     public RestQuery withParameters(List<Object> parameters) {
         return new RestQuery(method, path, parameters, null, content, contentType, responseBody, statusCode,
-                requestHeaders, requestCookies, responseHeaders, responseCookies);
+                requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withParameters( Map<String, ?> parameterMap) {
         return new RestQuery(method, path, null, parameterMap, content, contentType, responseBody, statusCode,
-                requestHeaders, requestCookies, responseHeaders, responseCookies);
+                requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withResponse(String responseBody) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withStatusCode(Integer statusCode) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withContent(String content) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withContentType(String contentType) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withResponseCookies(String responseCookies) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withResponseHeaders(String responseHeaders) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
     public RestQuery withRequestCookies(String requestCookies) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestQuery withRequestHeaders(String requestHeaders) {
         return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
-                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies);
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
+    }
+
+    /**
+     * Record the name of a file in the output directory holding the full request body,
+     * for bodies too large to be kept in the test outcome. The content field then only holds the start of the body.
+     */
+    public RestQuery withContentFile(String contentFile) {
+        return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
+    }
+
+    /**
+     * Record the name of a file in the output directory holding the full response body,
+     * for bodies too large to be kept in the test outcome. The responseBody field then only holds the start of the body.
+     */
+    public RestQuery withResponseBodyFile(String responseBodyFile) {
+        return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
+    }
+
+    /**
+     * Record the content type of a response body that has been stored as-is, so that it can be pretty-printed
+     * when the report is rendered rather than when the test is run.
+     */
+    public RestQuery withResponseContentType(String responseContentType) {
+        return new RestQuery(method, path, parameters.orElse(null), parameterMap.orElse(null), content, contentType,
+                responseBody, statusCode, requestHeaders, requestCookies, responseHeaders, responseCookies,
+                contentFile, responseBodyFile, responseContentType);
     }
 
     public RestMethod getMethod() {
@@ -112,6 +161,29 @@ public class RestQuery {
         return responseBody;
     }
 
+    /**
+     * The response body, pretty-printed if it was recorded unformatted.
+     */
+    public String getPrettyResponseBody() {
+        if (prettyResponseBody == null) {
+            prettyResponseBody = (responseContentType == null) ? responseBody
+                    : BodyPrettifier.prettify(responseBody, responseContentType);
+        }
+        return prettyResponseBody;
+    }
+
+    public String getContentFile() {
+        return contentFile;
+    }
+
+    public String getResponseBodyFile() {
+        return responseBodyFile;
+    }
+
+    public String getResponseContentType() {
+        return responseContentType;
+    }
+
     public String getContent() {
         return content;
     }
@@ -144,6 +144,20 @@ public enum ThucydidesSystemProperty {
 
     REPORT_TIMEOUT_THREADDUMPS,
 
+    /**
+     * Set this to true to write a report-generation-profile.json file to the report directory, recording how long
+     * each reporting task took and how many pages and bytes it wrote. False by default.
+     */
+    SERENITY_REPORT_PROFILE,
+
+    /**
+     * How screenshots and other test result files are put into the report directory.
+     * Set this to "link" to use hard links where possible (falling back to a copy when the report directory is on
+     * another file system), and to skip files that are already present with the same content.
+     * The default, "copy", copies every file that is not already present.
+     */
+    SERENITY_REPORT_COPY_MODE,
+
     /**
      * Link to the generated Serenity report to embed in the emailable summary report.
      */
@@ -566,7 +580,7 @@ public enum ThucydidesSystemProperty {
 
     /**
      * Batch strategy to use for parallel batches.
-     * Allowed values - DIVIDE_EQUALLY (default) and DIVIDE_BY_TEST_COUNT
+     * Allowed values - DIVIDE_EQUALLY (default), DIVIDE_BY_TEST_COUNT and DIVIDE_BY_DURATION
      */
     SERENITY_BATCH_STRATEGY,
 
@@ -594,6 +608,14 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_BATCH_NUMBER,
 
+    /**
+     * With the DIVIDE_BY_DURATION batch strategy, a directory containing the JSON test outcomes of a previous run.
+     * Test classes are shared between batches according to how long they took in that run.
+     * This should not be the output directory of the current run, as batches that start at different times
+     * would then see different durations.
+     */
+    SERENITY_BATCH_DURATIONS_DIRECTORY,
+
     @Deprecated
     THUCYDIDES_PROXY_HTTP,
 
@@ -730,6 +752,21 @@ public enum ThucydidesSystemProperty {
      */
     WEBDRIVER_WAIT_FOR_TIMEOUT,
 
+    /**
+     * How web element facades poll while they wait for an element to be visible, present, enabled and so on:
+     * - fixed: poll at a fixed interval (the default)
+     * - adaptive: poll quickly at first, then back off exponentially up to webdriver.wait.polling.max
+     * - observer: wait for visibility, presence and text in the page itself, using a MutationObserver, and fall back
+     *   to adaptive polling for other conditions or when JavaScript is not available
+     */
+    WEBDRIVER_WAIT_STRATEGY,
+
+    /**
+     * The longest interval between two polls when the adaptive or observer wait strategy is used, in milliseconds.
+     * Defaults to 250.
+     */
+    WEBDRIVER_WAIT_POLLING_MAX,
+
     @Deprecated
     THUCYDIDES_EXT_PACKAGES,
 
@@ -1061,6 +1098,13 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_LOCATOR_FACTORY,
 
+    /**
+     * Set this to true to have each page object field remember the element it last located, rather than looking it
+     * up again every time the field is used. A remembered element is forgotten when the driver navigates or switches
+     * to another window or frame, and is located again if it has become stale. False by default.
+     */
+    SERENITY_LOCATOR_CACHE,
+
     @Deprecated
     THUCYDIDES_DATA_DIR,
 
@@ -1135,6 +1179,38 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_HISTORY_DIRECTORY("serenity.historyDirectory"),
 
+    /**
+     * How test outcome history is stored in the history directory: 'summaries' (the default) writes a summary file
+     * for each test outcome, while 'segments' appends each run to a compact segmented store that keeps every run
+     * and supports trend analysis.
+     */
+    SERENITY_HISTORY_FORMAT("serenity.historyFormat"),
+
+    /**
+     * Emit Java Flight Recorder events for the test and step lifecycle, listener dispatch, screenshots and report
+     * writing, so that a JFR recording shows where the time goes inside a Serenity test run. False by default.
+     */
+    SERENITY_FLIGHT_RECORDER_EVENTS("serenity.flightRecorderEvents"),
+
+    /**
+     * If set, test, step and Screenplay task timings are exported as trace spans to this file while the tests run,
+     * one OTLP JSON export request per line, so that they can be loaded alongside application traces.
+     */
+    SERENITY_TRACE_SPANS_FILE("serenity.traceSpansFile"),
+
+    /**
+     * The maximum number of trace spans waiting to be written to the trace spans file (10000 by default).
+     * Spans are dropped rather than slowing the tests down when the queue is full.
+     */
+    SERENITY_TRACE_SPANS_QUEUE_SIZE("serenity.traceSpansQueueSize"),
+
+    /**
+     * Load test outcomes for the aggregate reports in a compact, read-only form, where the test steps are only decoded
+     * when they are needed and tags and step descriptions are shared between outcomes. This reduces the memory needed to
+     * report on very large test runs. False by default.
+     */
+    SERENITY_COMPACT_OUTCOMES("serenity.compactOutcomes"),
+
     /**
      * Delete the history directory before a new set of results is recorded
      */
@@ -1171,6 +1247,25 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_CONSOLE_COLORS,
 
+    /**
+     * Set to true to format and write the console logs on a dedicated thread rather than on the test threads.
+     * Step events are placed on a bounded queue (see serenity.console.async.queue.size and
+     * serenity.console.async.overflow), and are written in order for each test thread.
+     */
+    SERENITY_CONSOLE_ASYNC,
+
+    /**
+     * The number of step events that can wait to be written to the console when serenity.console.async is used.
+     * Rounded up to a power of two; the default is 8192.
+     */
+    SERENITY_CONSOLE_ASYNC_QUEUE_SIZE,
+
+    /**
+     * What to do when the asynchronous console queue is full: "block" (the default) makes the test thread wait
+     * for space, and "drop" discards the event. The number of dropped events is logged.
+     */
+    SERENITY_CONSOLE_ASYNC_OVERFLOW,
+
     /**
      * Set to true to write the chronological number of each test as it is executed to the console
      */
@@ -1475,6 +1570,19 @@ public enum ThucydidesSystemProperty {
      */
     RERUN_FAILURES_DIRECTORY,
 
+    /**
+     * When failures are replayed, the number of forks (or parallel test runs) that the failing tests should be
+     * shared between. The failing tests are shared out so that each fork gets about the same total duration,
+     * based on how long each test took when it failed.
+     */
+    RERUN_FORK_COUNT,
+
+    /**
+     * When failures are replayed with rerun.fork.count, the number of this fork, from 1 to rerun.fork.count
+     * (for example, ${surefire.forkNumber}).
+     */
+    RERUN_FORK_NUMBER,
+
     /**
      * Provide a text that distinguishes tests run in a particular environment or context from the same test
      * run in a different environment or context.
@@ -1659,6 +1767,32 @@ public enum ThucydidesSystemProperty {
      */
     SERENITY_REQUIREMENTS_CACHE_HEAP_SIZE,
 
+    /**
+     * A directory where Serenity can keep an index of the classes found in each classpath jar.
+     * When set, other JVMs (e.g. parallel forks) running with the same classpath can reuse the index instead of scanning the jars.
+     */
+    SERENITY_CLASSPATH_INDEX_DIRECTORY,
+
+    /**
+     * How REST request and response bodies are recorded in the test outcomes.
+     * Use 'full' (the default) to record the complete, pretty-printed bodies,
+     * or 'bounded' to keep at most serenity.rest.body.max.inline.size bytes of each body in the outcome.
+     * In bounded mode, larger bodies are written to separate files in the output directory,
+     * and pretty-printing is done when the report is generated.
+     */
+    SERENITY_REST_BODY_CAPTURE_MODE,
+
+    /**
+     * The maximum size in bytes of a REST body kept in the test outcome in the 'bounded' capture mode (default 65536).
+     */
+    SERENITY_REST_BODY_MAX_INLINE_SIZE,
+
+    /**
+     * A directory where Serenity can keep summaries of parsed feature files, keyed by a hash of the file contents.
+     * When set, feature files that have not changed are not parsed again by later processes, such as report generation.
+     */
+    SERENITY_FEATURE_CACHE_DIRECTORY,
+
     /**
      * Use this property to set how long webdriver should wait x second for an alert to be present before throwing an exception.
      */
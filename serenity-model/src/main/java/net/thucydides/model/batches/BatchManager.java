@@ -8,4 +8,12 @@ public interface BatchManager {
     public void registerTestCase(String testCaseName);
 
     boolean shouldExecuteThisTest(int testCount);
+
+    /**
+     * Should the tests in this test case be run in the current batch.
+     * Batch managers that do not need to know which test case is being run decide using the test count alone.
+     */
+    default boolean shouldExecuteThisTest(Class<?> testCaseClass, int testCount) {
+        return shouldExecuteThisTest(testCount);
+    }
 }
@@ -8,7 +8,8 @@ import java.lang.reflect.InvocationTargetException;
 public enum BatchStrategy {
 
     DIVIDE_EQUALLY(SystemVariableBasedBatchManager.class),
-    DIVIDE_BY_TEST_COUNT(TestCountBasedBatchManager.class);
+    DIVIDE_BY_TEST_COUNT(TestCountBasedBatchManager.class),
+    DIVIDE_BY_DURATION(DurationBasedBatchManager.class);
 
     private Class<? extends BatchManager> batchManagerClass;
 
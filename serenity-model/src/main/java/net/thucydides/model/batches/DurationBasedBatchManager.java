@@ -0,0 +1,168 @@
+package net.thucydides.model.batches;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_BATCH_DURATIONS_DIRECTORY;
+
+/**
+ * Shares test cases between batches so that each batch takes about the same time to run, using how long each test
+ * case took in a previous run (read from the JSON test outcomes in the "serenity.batch.durations.directory").
+ * The longest test cases are placed first, each in the batch with the least work so far. Test cases that were not
+ * in the previous run are shared out by test count, as with {@link TestCountBasedBatchManager}.
+ */
+public class DurationBasedBatchManager extends TestCountBasedBatchManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DurationBasedBatchManager.class);
+
+    private final Map<String, Integer> batchesOfKnownTestCases = new HashMap<>();
+    private final long[] predictedBatchDurations;
+    private volatile String currentTestCaseName;
+
+    public DurationBasedBatchManager(EnvironmentVariables environmentVariables) {
+        this(environmentVariables, previousDurationsIn(SERENITY_BATCH_DURATIONS_DIRECTORY.optionalFrom(environmentVariables)));
+    }
+
+    /**
+     * @param testCaseDurations how long each test case took previously, in milliseconds, by test case name
+     */
+    public DurationBasedBatchManager(EnvironmentVariables environmentVariables, Map<String, Long> testCaseDurations) {
+        super(environmentVariables);
+        this.predictedBatchDurations = new long[Math.max(batchCount, 0)];
+        if (batchCount > 0) {
+            shareBetweenBatches(testCaseDurations);
+            LOGGER.info("Predicted batch durations for {} known test cases: {}", batchesOfKnownTestCases.size(), getPredictedBatchDurations());
+        }
+    }
+
+    private void shareBetweenBatches(Map<String, Long> testCaseDurations) {
+        testCaseDurations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(testCase -> {
+                    int leastBusyBatch = 0;
+                    for (int batch = 1; batch < batchCount; batch++) {
+                        if (predictedBatchDurations[batch] < predictedBatchDurations[leastBusyBatch]) {
+                            leastBusyBatch = batch;
+                        }
+                    }
+                    predictedBatchDurations[leastBusyBatch] += testCase.getValue();
+                    batchesOfKnownTestCases.put(normalised(testCase.getKey()), leastBusyBatch);
+                });
+    }
+
+    @Override
+    public void registerTestCase(Class<?> testCaseClass) {
+        currentTestCaseName = testCaseClass.getName();
+        super.registerTestCase(testCaseClass);
+    }
+
+    @Override
+    public void registerTestCase(String testCaseName) {
+        currentTestCaseName = testCaseName;
+        super.registerTestCase(testCaseName);
+    }
+
+    @Override
+    public boolean shouldExecuteThisTest(int testCount) {
+        return shouldExecuteTestCase(currentTestCaseName, testCount);
+    }
+
+    @Override
+    public boolean shouldExecuteThisTest(Class<?> testCaseClass, int testCount) {
+        return shouldExecuteTestCase((testCaseClass == null) ? currentTestCaseName : testCaseClass.getName(), testCount);
+    }
+
+    private boolean shouldExecuteTestCase(String testCaseName, int testCount) {
+        if (batchCount <= 0) {
+            return true;
+        }
+        Integer batch = (testCaseName == null) ? null : batchesOfKnownTestCases.get(normalised(testCaseName));
+        if (batch == null) {
+            return super.shouldExecuteThisTest(testCount);
+        }
+        return batch == getActualBatchNumber();
+    }
+
+    /**
+     * The time each batch is expected to spend running the test cases from the previous run, in batch number order.
+     * Test cases that were not in the previous run are not included.
+     */
+    public List<Duration> getPredictedBatchDurations() {
+        List<Duration> durations = new ArrayList<>();
+        for (int batch = 1; batch <= batchCount; batch++) {
+            durations.add(Duration.ofMillis(predictedBatchDurations[batch % batchCount]));
+        }
+        return durations;
+    }
+
+    /**
+     * Nested classes are recorded with their canonical names in test outcomes, but registered with their binary names.
+     */
+    private static String normalised(String testCaseName) {
+        return testCaseName.replace('$', '.');
+    }
+
+    /**
+     * The total duration of the test outcomes of each test case, read from the test outcome JSON files in a
+     * directory. Only the test case name and duration of each outcome are read.
+     */
+    public static Map<String, Long> previousDurationsIn(Optional<String> outcomeDirectory) {
+        Map<String, Long> testCaseDurations = new HashMap<>();
+        if (!outcomeDirectory.isPresent()) {
+            return testCaseDurations;
+        }
+        Path directory = Paths.get(outcomeDirectory.get());
+        if (!Files.isDirectory(directory)) {
+            LOGGER.warn("No previous test outcomes found in {}: test cases will be shared between batches by test count", directory);
+            return testCaseDurations;
+        }
+        try (DirectoryStream<Path> outcomeFiles = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path outcomeFile : outcomeFiles) {
+                readDurationFrom(outcomeFile, testCaseDurations);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read previous test outcomes in {}", directory, e);
+        }
+        return testCaseDurations;
+    }
+
+    private static void readDurationFrom(Path outcomeFile, Map<String, Long> testCaseDurations) {
+        try (Reader outcome = Files.newBufferedReader(outcomeFile, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(outcome)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return;
+            }
+            String testCaseName = null;
+            Long duration = null;
+            reader.beginObject();
+            while (reader.hasNext() && (testCaseName == null || duration == null)) {
+                String field = reader.nextName();
+                if (field.equals("testCaseName") && reader.peek() == JsonToken.STRING) {
+                    testCaseName = reader.nextString();
+                } else if (field.equals("duration") && reader.peek() == JsonToken.NUMBER) {
+                    duration = reader.nextLong();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            if (testCaseName != null && duration != null) {
+                testCaseDurations.merge(testCaseName, duration, Long::sum);
+            }
+        } catch (IOException | RuntimeException notATestOutcome) {
+            LOGGER.debug("Skipping {}: not a readable test outcome", outcomeFile);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package net.thucydides.model.domain;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
+import net.serenitybdd.model.compact.CompactTestSteps;
+import net.serenitybdd.model.compact.OutcomeCompactor;
 import net.serenitybdd.model.di.ModelInfrastructure;
 import net.serenitybdd.model.environment.ConfiguredEnvironment;
 import net.serenitybdd.model.exceptions.SerenityManagedException;
@@ -29,6 +31,7 @@ import net.thucydides.model.reports.remoteTesting.LinkGenerator;
 import net.thucydides.model.screenshots.ScreenshotAndHtmlSource;
 import net.thucydides.model.statistics.service.TagProvider;
 import net.thucydides.model.statistics.service.TagProviderService;
+import net.thucydides.model.statistics.service.TagProviderStatistics;
 import net.thucydides.model.steps.StepFailure;
 import net.thucydides.model.steps.StepFailureException;
 import net.thucydides.model.steps.TestFailureCause;
@@ -1427,7 +1430,10 @@ public class TestOutcome {
                     flattenedTestSteps.addAll(step.getFlattenedSteps());
                 }
             }
-            this.flattenedSteps = flattenedTestSteps;
+            if (!stepsAreCompact()) {
+                this.flattenedSteps = flattenedTestSteps;
+            }
+            return flattenedTestSteps;
         }
         return flattenedSteps;
     }
@@ -1442,11 +1448,36 @@ public class TestOutcome {
                     leafTestSteps.add(step);
                 }
             }
-            this.leafSteps = leafTestSteps;
+            if (!stepsAreCompact()) {
+                this.leafSteps = leafTestSteps;
+            }
+            return leafTestSteps;
         }
         return leafSteps;
     }
 
+    /**
+     * Compact test steps are decoded on demand and may be released once they are no longer used, so the flattened
+     * and leaf step lists are not kept for them.
+     */
+    private boolean stepsAreCompact() {
+        return testSteps instanceof CompactTestSteps;
+    }
+
+    /**
+     * Replaces the test steps of this outcome with a compact, read-only form that is only decoded when the steps are
+     * needed, and shares the tags and error type with the other outcomes compacted by the same compactor.
+     * This reduces the memory needed to report on large numbers of test outcomes.
+     */
+    public TestOutcome compactedWith(OutcomeCompactor compactor) {
+        if (tags != null) {
+            this.tags = compactor.compactTags(tags);
+        }
+        this.testFailureClassname = compactor.intern(testFailureClassname);
+        updateTestSteps(compactor.compactSteps(testSteps));
+        return this;
+    }
+
     /**
      * The outcome of the acceptance test, based on the outcome of the test
      * steps. If any steps fail, the test as a whole is considered a failure. If
@@ -2034,17 +2065,34 @@ public class TestOutcome {
     private Set<TestTag> getTagsUsingTagProviders(List<TagProvider> tagProviders) {
         Set<TestTag> tags = new HashSet<>();
         for (TagProvider tagProvider : tagProviders) {
+            long start = System.nanoTime();
             try {
                 tags.addAll(tagProvider.getTagsFor(this));
             } catch (Throwable theTagProviderFailedButThereIsntMuchWeCanDoAboutIt) {
                 LOGGER.error("Tag provider " + tagProvider + " failure",
                         theTagProviderFailedButThereIsntMuchWeCanDoAboutIt);
+            } finally {
+                TagProviderStatistics.getStatistics().recordTagResolution(tagProvider, 1, System.nanoTime() - start);
             }
         }
         tags = removeRedundantTagsFrom(tags);
         return new HashSet<>(tags);
     }
 
+    boolean hasResolvedTags() {
+        return tags != null;
+    }
+
+    /**
+     * Use the tags found by the tag providers for a whole set of outcomes (see TestOutcomeTagResolver),
+     * unless the tags of this outcome have already been worked out.
+     */
+    void useTagsFromTagProviders(Set<TestTag> providedTags) {
+        if (tags == null) {
+            tags = new HashSet<>(removeRedundantTagsFrom(providedTags));
+        }
+    }
+
     private Set<TestTag> removeRedundantTagsFrom(Set<TestTag> tags) {
         Set<TestTag> optimizedTags = new HashSet<>();
         for (TestTag tag : tags) {
@@ -2395,6 +2443,9 @@ public class TestOutcome {
     }
 
     public Integer getNestedStepCount() {
+        if (stepsAreCompact() && !isManual()) {
+            return ((CompactTestSteps) testSteps).getNestedStepCount();
+        }
         return getFlattenedTestSteps().size();
     }
 
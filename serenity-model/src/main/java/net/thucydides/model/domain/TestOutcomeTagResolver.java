@@ -0,0 +1,111 @@
+package net.thucydides.model.domain;
+
+import net.serenitybdd.model.di.ModelInfrastructure;
+import net.thucydides.model.statistics.service.TagProvider;
+import net.thucydides.model.statistics.service.TagProviderService;
+import net.thucydides.model.statistics.service.TagProviderStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Works out the tags of a whole set of test outcomes in one go, rather than one outcome at a time.
+ * Each tag provider is given all of the outcomes for a test source at once (see TagProvider.getTagsForEach()),
+ * so that providers can reuse the tags they find for one scenario for the other scenarios of the same feature or story.
+ * Outcomes whose tags are already known (for example outcomes loaded from JSON reports) are left unchanged.
+ */
+public class TestOutcomeTagResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeTagResolver.class);
+
+    private static final Duration SLOW_TAG_PROVIDER_THRESHOLD = Duration.ofSeconds(5);
+
+    public static void resolveTagsFor(Collection<? extends TestOutcome> testOutcomes) {
+        Map<String, List<TestOutcome>> unresolvedOutcomesByTestSource = unresolvedOutcomesByTestSourceIn(testOutcomes);
+        if (!unresolvedOutcomesByTestSource.isEmpty()) {
+            resolveTagsFor(unresolvedOutcomesByTestSource, ModelInfrastructure.getTagProviderService());
+        }
+    }
+
+    public static void resolveTagsFor(Collection<? extends TestOutcome> testOutcomes, TagProviderService tagProviderService) {
+        resolveTagsFor(unresolvedOutcomesByTestSourceIn(testOutcomes), tagProviderService);
+    }
+
+    private static Map<String, List<TestOutcome>> unresolvedOutcomesByTestSourceIn(Collection<? extends TestOutcome> testOutcomes) {
+        Map<String, List<TestOutcome>> unresolvedOutcomesByTestSource = new LinkedHashMap<>();
+        for (TestOutcome testOutcome : testOutcomes) {
+            if (!testOutcome.hasResolvedTags()) {
+                unresolvedOutcomesByTestSource.computeIfAbsent(testOutcome.getTestSource(), source -> new ArrayList<>()).add(testOutcome);
+            }
+        }
+        return unresolvedOutcomesByTestSource;
+    }
+
+    private static void resolveTagsFor(Map<String, List<TestOutcome>> unresolvedOutcomesByTestSource, TagProviderService tagProviderService) {
+        unresolvedOutcomesByTestSource.forEach(
+                (testSource, outcomes) -> resolveTagsForOutcomesFrom(outcomes, tagProviderService.getTagProviders(testSource))
+        );
+        if (!unresolvedOutcomesByTestSource.isEmpty()) {
+            LOGGER.debug("{}", TagProviderStatistics.getStatistics());
+        }
+    }
+
+    private static void resolveTagsForOutcomesFrom(List<TestOutcome> testOutcomes, List<TagProvider> tagProviders) {
+        List<Set<TestTag>> providedTags = new ArrayList<>(testOutcomes.size());
+        testOutcomes.forEach(testOutcome -> providedTags.add(new HashSet<>()));
+
+        for (TagProvider tagProvider : tagProviders) {
+            List<Set<TestTag>> tagsFromProvider = tagsFrom(tagProvider, testOutcomes);
+            for (int i = 0; i < testOutcomes.size(); i++) {
+                providedTags.get(i).addAll(tagsFromProvider.get(i));
+            }
+        }
+
+        for (int i = 0; i < testOutcomes.size(); i++) {
+            testOutcomes.get(i).useTagsFromTagProviders(providedTags.get(i));
+        }
+    }
+
+    private static List<Set<TestTag>> tagsFrom(TagProvider tagProvider, List<TestOutcome> testOutcomes) {
+        long start = System.nanoTime();
+        try {
+            List<Set<TestTag>> tags = tagProvider.getTagsForEach(testOutcomes);
+            if (tags.size() == testOutcomes.size()) {
+                return tags;
+            }
+            LOGGER.error("Tag provider {} returned tags for {} of {} test outcomes", tagProvider, tags.size(), testOutcomes.size());
+        } catch (Throwable theTagProviderFailedForTheWholeBatch) {
+            LOGGER.error("Tag provider " + tagProvider + " failure", theTagProviderFailedForTheWholeBatch);
+        } finally {
+            recordTimeTakenBy(tagProvider, testOutcomes.size(), System.nanoTime() - start);
+        }
+        return tagsFromEachOutcomeIn(tagProvider, testOutcomes);
+    }
+
+    /**
+     * If a provider fails for a batch, try each outcome on its own so that one bad outcome does not lose the tags of the others.
+     */
+    private static List<Set<TestTag>> tagsFromEachOutcomeIn(TagProvider tagProvider, List<TestOutcome> testOutcomes) {
+        List<Set<TestTag>> tags = new ArrayList<>(testOutcomes.size());
+        for (TestOutcome testOutcome : testOutcomes) {
+            try {
+                tags.add(tagProvider.getTagsFor(testOutcome));
+            } catch (Throwable theTagProviderFailedButThereIsntMuchWeCanDoAboutIt) {
+                LOGGER.error("Tag provider " + tagProvider + " failure", theTagProviderFailedButThereIsntMuchWeCanDoAboutIt);
+                tags.add(Collections.emptySet());
+            }
+        }
+        return tags;
+    }
+
+    private static void recordTimeTakenBy(TagProvider tagProvider, int numberOfOutcomes, long durationInNanos) {
+        TagProviderStatistics.getStatistics().recordTagResolution(tagProvider, numberOfOutcomes, durationInNanos);
+        Duration timeTaken = Duration.ofNanos(durationInNanos);
+        if (timeTaken.compareTo(SLOW_TAG_PROVIDER_THRESHOLD) > 0) {
+            LOGGER.warn("Tag provider {} took {} ms to find the tags for {} test outcomes",
+                    tagProvider.getClass().getName(), timeTaken.toMillis(), numberOfOutcomes);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package net.thucydides.model.logging;
+
+import net.thucydides.model.domain.DataTable;
+import net.thucydides.model.domain.Story;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.screenshots.ScreenshotAndHtmlSource;
+import net.thucydides.model.steps.ExecutedStepDescription;
+import net.thucydides.model.steps.StepFailure;
+import net.thucydides.model.steps.StepListener;
+import net.thucydides.model.util.EnvironmentVariables;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes the same console logs as {@link ConsoleLoggingListener}, but formats and writes them on the writer thread
+ * of a {@link ConsoleEventQueue} rather than on the test thread. The test thread only records which event happened,
+ * along with a copy of the details of each finished test; the wrapped listener, which keeps track of the nested steps
+ * of the test, is only ever used by the writer thread.
+ * <p>
+ * When the queue drops the start of a step, the step is still pushed onto the nested steps of the wrapped listener,
+ * without being logged, just before the next event that is queued; so the steps that are logged are always indented
+ * as they would be by the ConsoleLoggingListener.
+ */
+public class AsyncConsoleLoggingListener implements StepListener {
+
+    private static final Duration TEST_RUN_FLUSH_TIMEOUT = Duration.ofSeconds(30);
+
+    enum Event {
+        TEST_SUITE_STARTED,
+        TEST_SUITE_STARTED_WITH_NAME,
+        STORY_STARTED,
+        TEST_STARTED,
+        TEST_STARTED_WITH_ID,
+        TEST_FINISHED,
+        STEP_STARTED(true),
+        SKIPPED_STEP_STARTED(true),
+        STEP_FINISHED,
+        STEP_FAILED(true),
+        STEP_IGNORED,
+        STEP_PENDING,
+        STEP_PENDING_WITH_MESSAGE,
+        TEST_IGNORED,
+        TEST_SKIPPED,
+        TEST_ABORTED,
+        ASSUMPTION_VIOLATED,
+        TEST_RUN_FINISHED,
+        DROPPED_STEPS_STARTED;
+
+        private final boolean stepDetail;
+
+        Event() {
+            this(false);
+        }
+
+        Event(boolean stepDetail) {
+            this.stepDetail = stepDetail;
+        }
+
+        /**
+         * Step details may be dropped when the queue is full, though the starts of dropped steps are still tracked;
+         * the other events keep track of the tests and of the nesting of their steps, and are never dropped.
+         */
+        boolean isStepDetail() {
+            return stepDetail;
+        }
+    }
+
+    private final ConsoleLoggingListener consoleLoggingListener;
+    private final ConsoleEventQueue queue;
+    private final Set<TestOutcome> reportedOutcomes = new HashSet<>();
+    private List<ExecutedStepDescription> droppedStepStarts = new ArrayList<>();
+
+    public AsyncConsoleLoggingListener(ConsoleLoggingListener consoleLoggingListener, ConsoleEventQueue queue) {
+        this.consoleLoggingListener = consoleLoggingListener;
+        this.queue = queue;
+    }
+
+    public AsyncConsoleLoggingListener(EnvironmentVariables environmentVariables) {
+        this(new ConsoleLoggingListener(environmentVariables), ConsoleEventQueue.sharedQueue(environmentVariables));
+    }
+
+    private void enqueue(Event event) {
+        enqueue(event, null, null);
+    }
+
+    private void enqueue(Event event, Object argument) {
+        enqueue(event, argument, null);
+    }
+
+    private void enqueue(Event event, Object argument, Object secondArgument) {
+        boolean mayBeDropped = event.isStepDetail();
+        if (!droppedStepStarts.isEmpty()) {
+            if (!queue.add(this, Event.DROPPED_STEPS_STARTED, droppedStepStarts, null, mayBeDropped)) {
+                rememberIfStepStart(event, argument);
+                return;
+            }
+            droppedStepStarts = new ArrayList<>();
+        }
+        if (!queue.add(this, event, argument, secondArgument, mayBeDropped) && mayBeDropped) {
+            rememberIfStepStart(event, argument);
+        }
+    }
+
+    private void rememberIfStepStart(Event event, Object argument) {
+        if (event == Event.STEP_STARTED || event == Event.SKIPPED_STEP_STARTED) {
+            droppedStepStarts.add((ExecutedStepDescription) argument);
+        }
+    }
+
+    /**
+     * Called on the writer thread to log an event.
+     */
+    @SuppressWarnings("unchecked")
+    void replay(Event event, Object argument, Object secondArgument) {
+        switch (event) {
+            case TEST_SUITE_STARTED:
+                consoleLoggingListener.testSuiteStarted((Class<?>) argument);
+                break;
+            case TEST_SUITE_STARTED_WITH_NAME:
+                consoleLoggingListener.testSuiteStarted((Class<?>) argument, (String) secondArgument);
+                break;
+            case STORY_STARTED:
+                consoleLoggingListener.testSuiteStarted((Story) argument);
+                break;
+            case TEST_STARTED:
+                consoleLoggingListener.testStarted((String) argument);
+                break;
+            case TEST_STARTED_WITH_ID:
+                consoleLoggingListener.testStarted((String) argument, (String) secondArgument);
+                break;
+            case TEST_FINISHED:
+                consoleLoggingListener.testFinished((FinishedTest) argument);
+                break;
+            case STEP_STARTED:
+                consoleLoggingListener.stepStarted((ExecutedStepDescription) argument);
+                break;
+            case SKIPPED_STEP_STARTED:
+                consoleLoggingListener.skippedStepStarted((ExecutedStepDescription) argument);
+                break;
+            case STEP_FINISHED:
+                consoleLoggingListener.stepFinished();
+                break;
+            case STEP_FAILED:
+                consoleLoggingListener.stepFailed((StepFailure) argument);
+                break;
+            case STEP_IGNORED:
+                consoleLoggingListener.stepIgnored();
+                break;
+            case STEP_PENDING:
+                consoleLoggingListener.stepPending();
+                break;
+            case STEP_PENDING_WITH_MESSAGE:
+                consoleLoggingListener.stepPending((String) argument);
+                break;
+            case TEST_IGNORED:
+                consoleLoggingListener.testIgnored();
+                break;
+            case TEST_SKIPPED:
+                consoleLoggingListener.testSkipped();
+                break;
+            case TEST_ABORTED:
+                consoleLoggingListener.testAborted();
+                break;
+            case ASSUMPTION_VIOLATED:
+                consoleLoggingListener.assumptionViolated((String) argument);
+                break;
+            case TEST_RUN_FINISHED:
+                consoleLoggingListener.testRunFinished();
+                break;
+            case DROPPED_STEPS_STARTED:
+                for (ExecutedStepDescription description : (List<ExecutedStepDescription>) argument) {
+                    consoleLoggingListener.stepStartedWithoutLogging(description);
+                }
+                break;
+        }
+    }
+
+    @Override
+    public void testSuiteStarted(Class<?> storyClass) {
+        enqueue(Event.TEST_SUITE_STARTED, storyClass);
+    }
+
+    @Override
+    public void testSuiteStarted(Class<?> storyClass, String testCaseName) {
+        enqueue(Event.TEST_SUITE_STARTED_WITH_NAME, storyClass, testCaseName);
+    }
+
+    @Override
+    public void testSuiteStarted(Story story) {
+        enqueue(Event.STORY_STARTED, story);
+    }
+
+    @Override
+    public void testSuiteFinished() {
+    }
+
+    @Override
+    public void testStarted(String description) {
+        reportedOutcomes.clear();
+        enqueue(Event.TEST_STARTED, description);
+    }
+
+    @Override
+    public void testStarted(String description, ZonedDateTime startTime) {
+        testStarted(description);
+    }
+
+    @Override
+    public void testStarted(String description, String id) {
+        enqueue(Event.TEST_STARTED_WITH_ID, description, id);
+    }
+
+    @Override
+    public void testStarted(String description, String id, ZonedDateTime startTime) {
+        testStarted(description, id);
+    }
+
+    @Override
+    public void testFinished(TestOutcome result) {
+        if (reportedOutcomes.add(result)) {
+            enqueue(Event.TEST_FINISHED, FinishedTest.from(result));
+        }
+    }
+
+    @Override
+    public void testFinished(TestOutcome result, boolean isInDataDrivenTest) {
+        testFinished(result);
+    }
+
+    @Override
+    public void testFinished(TestOutcome result, boolean isInDataDrivenTest, ZonedDateTime finishTime) {
+        testFinished(result);
+    }
+
+    @Override
+    public void testRetried() {
+    }
+
+    @Override
+    public void stepStarted(ExecutedStepDescription description) {
+        enqueue(Event.STEP_STARTED, description);
+    }
+
+    @Override
+    public void stepStarted(ExecutedStepDescription description, ZonedDateTime startTime) {
+        stepStarted(description);
+    }
+
+    @Override
+    public void skippedStepStarted(ExecutedStepDescription description) {
+        enqueue(Event.SKIPPED_STEP_STARTED, description);
+    }
+
+    @Override
+    public void stepFailed(StepFailure failure) {
+        enqueue(Event.STEP_FAILED, failure);
+    }
+
+    @Override
+    public void stepFailed(StepFailure failure, List<ScreenshotAndHtmlSource> screenshotList) {
+        stepFailed(failure);
+    }
+
+    @Override
+    public void lastStepFailed(StepFailure failure) {
+    }
+
+    @Override
+    public void stepIgnored() {
+        enqueue(Event.STEP_IGNORED);
+    }
+
+    @Override
+    public void stepPending() {
+        enqueue(Event.STEP_PENDING);
+    }
+
+    @Override
+    public void stepPending(String message) {
+        enqueue(Event.STEP_PENDING_WITH_MESSAGE, message);
+    }
+
+    @Override
+    public void stepFinished() {
+        enqueue(Event.STEP_FINISHED);
+    }
+
+    @Override
+    public void stepFinished(List<ScreenshotAndHtmlSource> screenshotList) {
+        stepFinished();
+    }
+
+    @Override
+    public void stepFinished(List<ScreenshotAndHtmlSource> screenshotList, ZonedDateTime time) {
+        stepFinished();
+    }
+
+    @Override
+    public void testFailed(TestOutcome testOutcome, Throwable cause) {
+    }
+
+    @Override
+    public void testIgnored() {
+        enqueue(Event.TEST_IGNORED);
+    }
+
+    @Override
+    public void testSkipped() {
+        enqueue(Event.TEST_SKIPPED);
+    }
+
+    @Override
+    public void testAborted() {
+        enqueue(Event.TEST_ABORTED);
+    }
+
+    @Override
+    public void testPending() {
+    }
+
+    @Override
+    public void testIsManual() {
+    }
+
+    @Override
+    public void notifyScreenChange() {
+    }
+
+    @Override
+    public void useExamplesFrom(DataTable table) {
+    }
+
+    @Override
+    public void addNewExamplesFrom(DataTable table) {
+    }
+
+    @Override
+    public void exampleStarted(Map<String, String> data) {
+    }
+
+    @Override
+    public void exampleFinished() {
+    }
+
+    @Override
+    public void assumptionViolated(String message) {
+        enqueue(Event.ASSUMPTION_VIOLATED, message);
+    }
+
+    /**
+     * Waits for the console logs of the test run to be written.
+     */
+    @Override
+    public void testRunFinished() {
+        enqueue(Event.TEST_RUN_FINISHED);
+        queue.flush(TEST_RUN_FLUSH_TIMEOUT);
+    }
+
+    @Override
+    public void takeScreenshots(List<ScreenshotAndHtmlSource> screenshots) {
+    }
+
+    @Override
+    public void takeScreenshots(TestResult testResult, List<ScreenshotAndHtmlSource> screenshots) {
+    }
+}
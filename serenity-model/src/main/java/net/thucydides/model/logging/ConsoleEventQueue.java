@@ -0,0 +1,245 @@
+package net.thucydides.model.logging;
+
+import net.thucydides.model.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_CONSOLE_ASYNC_OVERFLOW;
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_CONSOLE_ASYNC_QUEUE_SIZE;
+
+/**
+ * A bounded queue of console step events, written to the console by a single dedicated thread.
+ * <p>
+ * Test threads add events without taking a lock: each event is copied into a slot of a pre-allocated ring, and
+ * the writer thread replays the events in the order the slots were claimed, so the events of each test thread
+ * are always written in the order they happened. When the ring is full, test threads either wait for space or
+ * drop the event, depending on the {@link OverflowPolicy}; only the events that the listener marks as droppable
+ * are ever dropped.
+ */
+public class ConsoleEventQueue {
+
+    public enum OverflowPolicy {
+        /**
+         * Wait until the writer thread has made room for the event.
+         */
+        BLOCK,
+        /**
+         * Discard the event and count it as dropped if it may be dropped, and wait for the other events.
+         */
+        DROP;
+
+        public static OverflowPolicy configuredIn(EnvironmentVariables environmentVariables) {
+            String policy = SERENITY_CONSOLE_ASYNC_OVERFLOW.from(environmentVariables, "block");
+            try {
+                return valueOf(policy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException unknownPolicy) {
+                throw new IllegalArgumentException("Unknown serenity.console.async.overflow value: " + policy
+                        + " (should be 'block' or 'drop')", unknownPolicy);
+            }
+        }
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsoleEventQueue.class);
+
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Duration SHUTDOWN_FLUSH_TIMEOUT = Duration.ofSeconds(5);
+
+    private static ConsoleEventQueue sharedQueue;
+
+    private static final class Slot {
+        volatile long sequence;
+        AsyncConsoleLoggingListener listener;
+        AsyncConsoleLoggingListener.Event event;
+        Object argument;
+        Object secondArgument;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private long reportedDroppedEvents;
+
+    private final Thread writer;
+    private volatile boolean writerIsWaiting;
+    private volatile boolean running = true;
+
+    public ConsoleEventQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The console queue size must be at least 1, but was " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size = size << 1;
+        }
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.writer = new Thread(this::writeEvents, "serenity-console-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * The queue shared by every asynchronous console listener in this JVM, configured by the environment variables
+     * of the first listener that needs it. Events left in the queue are written when the JVM shuts down.
+     */
+    public static synchronized ConsoleEventQueue sharedQueue(EnvironmentVariables environmentVariables) {
+        if (sharedQueue == null) {
+            sharedQueue = new ConsoleEventQueue(SERENITY_CONSOLE_ASYNC_QUEUE_SIZE.integerFrom(environmentVariables, DEFAULT_CAPACITY),
+                                                OverflowPolicy.configuredIn(environmentVariables));
+            ConsoleEventQueue queue = sharedQueue;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> queue.flush(SHUTDOWN_FLUSH_TIMEOUT)));
+        }
+        return sharedQueue;
+    }
+
+    /**
+     * Add an event to be replayed on the listener by the writer thread.
+     *
+     * @param mayBeDropped whether the event is dropped rather than waited for when the queue is full and the
+     *                     {@link OverflowPolicy#DROP} policy is used
+     * @return false if the queue was full and the event was dropped
+     */
+    boolean add(AsyncConsoleLoggingListener listener, AsyncConsoleLoggingListener.Event event, Object argument, Object secondArgument,
+                boolean mayBeDropped) {
+        if (!running) {
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        long position = tail.get();
+        while (true) {
+            Slot slot = slots[(int) (position & mask)];
+            long available = slot.sequence - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slot.listener = listener;
+                    slot.event = event;
+                    slot.argument = argument;
+                    slot.secondArgument = secondArgument;
+                    slot.sequence = position + 1;
+                    if (writerIsWaiting) {
+                        LockSupport.unpark(writer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                if (overflowPolicy == OverflowPolicy.DROP && mayBeDropped) {
+                    droppedEvents.incrementAndGet();
+                    return false;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, FULL_WAIT_NANOS);
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void writeEvents() {
+        while (running || tail.get() != head) {
+            if (writeAvailableEvents() == 0) {
+                writerIsWaiting = true;
+                if (tail.get() == head) {
+                    LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+                }
+                writerIsWaiting = false;
+            }
+            reportDroppedEvents();
+        }
+    }
+
+    private int writeAvailableEvents() {
+        int written = 0;
+        long position = head;
+        while (true) {
+            Slot slot = slots[(int) (position & mask)];
+            if (slot.sequence != position + 1) {
+                return written;
+            }
+            AsyncConsoleLoggingListener listener = slot.listener;
+            AsyncConsoleLoggingListener.Event event = slot.event;
+            Object argument = slot.argument;
+            Object secondArgument = slot.secondArgument;
+            slot.listener = null;
+            slot.argument = null;
+            slot.secondArgument = null;
+            slot.sequence = position + slots.length;
+            try {
+                listener.replay(event, argument, secondArgument);
+            } catch (Throwable someFailure) {
+                LOGGER.warn("Could not write {} to the console", event, someFailure);
+            }
+            head = ++position;
+            written++;
+        }
+    }
+
+    private void reportDroppedEvents() {
+        long dropped = droppedEvents.get();
+        if (dropped > reportedDroppedEvents) {
+            LOGGER.warn("{} console log events were dropped because the console queue was full", dropped - reportedDroppedEvents);
+            reportedDroppedEvents = dropped;
+        }
+    }
+
+    /**
+     * Wait until the events added before this call have been written.
+     *
+     * @return false if the events were not all written in time
+     */
+    public boolean flush(Duration timeout) {
+        if (Thread.currentThread() == writer) {
+            return true;
+        }
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (head < target) {
+            if (!writer.isAlive() || System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_WAIT_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Write the remaining events and stop the writer thread.
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+}
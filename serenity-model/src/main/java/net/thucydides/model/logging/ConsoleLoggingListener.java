@@ -23,6 +23,7 @@ import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.function.BiConsumer;
 
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_CONSOLE_ASYNC;
 import static net.thucydides.model.logging.ConsoleEvent.*;
 
 public class ConsoleLoggingListener implements StepListener {
@@ -88,6 +89,17 @@ public class ConsoleLoggingListener implements StepListener {
         this(environmentVariables, LoggerFactory.getLogger(""));
     }
 
+    /**
+     * A console listener for the test thread: an {@link AsyncConsoleLoggingListener} if serenity.console.async is
+     * set, or a ConsoleLoggingListener otherwise.
+     */
+    public static StepListener configuredIn(EnvironmentVariables environmentVariables) {
+        if (SERENITY_CONSOLE_ASYNC.booleanFrom(environmentVariables, false)) {
+            return new AsyncConsoleLoggingListener(environmentVariables);
+        }
+        return new ConsoleLoggingListener(environmentVariables);
+    }
+
     protected Logger getLogger() {
         return logger;
     }
@@ -160,28 +172,32 @@ public class ConsoleLoggingListener implements StepListener {
         } else {
             reportedOutcomes.add(result);
         }
+        testFinished(FinishedTest.from(result));
+    }
 
+    void testFinished(FinishedTest result) {
         if (result.isManual()) {
             logManual(result);
             return;
         }
 
-        if (result.isFailure()) {
+        TestResult testResult = result.getResult();
+        if (testResult == TestResult.FAILURE) {
             logFailure(result);
         }
-        if (result.isError()) {
+        if (testResult == TestResult.ERROR) {
             logError(result);
         }
-        if (result.isCompromised()) {
+        if (testResult == TestResult.COMPROMISED) {
             logCompromised(result);
         }
-        if (result.isPending()) {
+        if (testResult == TestResult.PENDING) {
             logPending(result);
         }
-        if (result.isSkipped()) {
+        if (testResult == TestResult.SKIPPED || testResult == TestResult.IGNORED || testResult == TestResult.ABORTED) {
             logSkipped(result);
         }
-        if (result.isSuccess()) {
+        if (testResult == TestResult.SUCCESS) {
             logSuccess(result);
         }
     }
@@ -215,7 +231,7 @@ public class ConsoleLoggingListener implements StepListener {
         return coloredLogs;
     }
 
-    private void logManual(TestOutcome result) {
+    private void logManual(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.QUIET)) {
 
             String message = consoleHeading.bannerFor(ConsoleEvent.forTestResult(result.getResult()),
@@ -227,7 +243,7 @@ public class ConsoleLoggingListener implements StepListener {
         }
     }
 
-    private void logFailure(TestOutcome result) {
+    private void logFailure(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.QUIET)) {
             getLogger().error(colored.red(consoleHeading.bannerFor(TEST_FAILED, result.getTitle())));
             logRelatedIssues(result);
@@ -235,7 +251,7 @@ public class ConsoleLoggingListener implements StepListener {
         }
     }
 
-    private void logError(TestOutcome result) {
+    private void logError(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.QUIET)) {
             getLogger().error(colored.red(consoleHeading.bannerFor(TEST_ERROR, result.getTitle())));
             logRelatedIssues(result);
@@ -244,7 +260,7 @@ public class ConsoleLoggingListener implements StepListener {
         }
     }
 
-    private void logCompromised(TestOutcome result) {
+    private void logCompromised(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.QUIET)) {
             getLogger().error(colored.red(consoleHeading.bannerFor(TEST_COMPROMISED, result.getTitle())));
             logRelatedIssues(result);
@@ -252,43 +268,41 @@ public class ConsoleLoggingListener implements StepListener {
         }
     }
 
-    private void logRelatedIssues(TestOutcome result) {
+    private void logRelatedIssues(FinishedTest result) {
         Joiner joiner = Joiner.on(",");
         getLogger().debug("RELATED ISSUES: {}", joiner.join(result.getIssueKeys()));
 
     }
 
-    private void logFailureCause(TestOutcome result) {
-        if (result.getNestedTestFailureCause() != null) {
-            if (result.getFailingStep().isPresent()) {
-                String failingStep = result.getFailingStep().get().unrendered().getDescription();
-                getLogger().error(colored.red("    Test failed at step: " + failingStep));
+    private void logFailureCause(FinishedTest result) {
+        if (result.hasFailureCause()) {
+            if (result.getFailingStep() != null) {
+                getLogger().error(colored.red("    Test failed at step: " + result.getFailingStep()));
             }
-            getLogger().error(colored.red("    " + result.getNestedTestFailureCause().getShortenedMessage()));
+            getLogger().error(colored.red("    " + result.getFailureMessage()));
         }
     }
 
-    private void logPending(TestOutcome result) {
+    private void logPending(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.SUMMARY)) {
             getLogger().info(colored.cyan(consoleHeading.bannerFor(TEST_PENDING, result.getTitle())));
         }
     }
 
-    private void logSkipped(TestOutcome result) {
+    private void logSkipped(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.SUMMARY)) {
             getLogger().info(colored.yellow(consoleHeading.bannerFor(TEST_SKIPPED, result.getTitle())));
         }
     }
 
-    private void logSuccess(TestOutcome result) {
+    private void logSuccess(FinishedTest result) {
         if (loggingLevelIsAtLeast(LoggingLevel.SUMMARY)) {
             getLogger().info(colored.green(consoleHeading.bannerFor(TEST_PASSED, result.getTitle())));
         }
     }
 
     public void stepStarted(ExecutedStepDescription description) {
-        currentStep = description;
-        nestedSteps.push(description.getName());
+        stepStartedWithoutLogging(description);
         if (loggingLevelIsAtLeast(LoggingLevel.VERBOSE)) {
             String indent = indentation(nestedSteps.size());// StringUtils.repeat("  ", nestedSteps.size());
          //   System.out.println(withTimestamp(colored.green(indent + description.getTitle())));
@@ -296,6 +310,14 @@ public class ConsoleLoggingListener implements StepListener {
         }
     }
 
+    /**
+     * Keeps track of a step whose start was not logged, so that the steps nested in it are still indented.
+     */
+    void stepStartedWithoutLogging(ExecutedStepDescription description) {
+        currentStep = description;
+        nestedSteps.push(description.getName());
+    }
+
     public void stepStarted(final ExecutedStepDescription description, ZonedDateTime startTime) {
         stepStarted(description);
     }
@@ -346,8 +368,8 @@ public class ConsoleLoggingListener implements StepListener {
         }
     }
 
-    private synchronized void stepOut() {
-        synchronized(this) {
+    private void stepOut() {
+        synchronized (nestedSteps) {
             if (!nestedSteps.isEmpty()) {
                 nestedSteps.pop();
             }
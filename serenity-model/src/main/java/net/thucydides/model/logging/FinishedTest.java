@@ -0,0 +1,77 @@
+package net.thucydides.model.logging;
+
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.domain.stacktrace.FailureCause;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The details of a finished test that are written to the console, copied from the test outcome when the test
+ * finishes so that they can be logged later without reading the outcome again.
+ */
+class FinishedTest {
+
+    private final TestResult result;
+    private final boolean manual;
+    private final String title;
+    private final List<String> issueKeys;
+    private final String failingStep;
+    private final String failureMessage;
+
+    private FinishedTest(TestResult result, boolean manual, String title, List<String> issueKeys,
+                         String failingStep, String failureMessage) {
+        this.result = result;
+        this.manual = manual;
+        this.title = title;
+        this.issueKeys = issueKeys;
+        this.failingStep = failingStep;
+        this.failureMessage = failureMessage;
+    }
+
+    static FinishedTest from(TestOutcome outcome) {
+        FailureCause failureCause = outcome.getNestedTestFailureCause();
+        String failingStep = null;
+        String failureMessage = null;
+        if (failureCause != null) {
+            failingStep = outcome.getFailingStep().map(step -> step.unrendered().getDescription()).orElse(null);
+            failureMessage = failureCause.getShortenedMessage();
+        }
+        return new FinishedTest(outcome.getResult(),
+                                outcome.isManual(),
+                                outcome.getTitle(),
+                                Collections.unmodifiableList(new ArrayList<>(outcome.getIssueKeys())),
+                                failingStep,
+                                failureMessage);
+    }
+
+    TestResult getResult() {
+        return result;
+    }
+
+    boolean isManual() {
+        return manual;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    List<String> getIssueKeys() {
+        return issueKeys;
+    }
+
+    boolean hasFailureCause() {
+        return failureMessage != null;
+    }
+
+    String getFailingStep() {
+        return failingStep;
+    }
+
+    String getFailureMessage() {
+        return failureMessage;
+    }
+}
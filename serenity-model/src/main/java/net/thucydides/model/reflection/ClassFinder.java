@@ -7,7 +7,10 @@ import java.io.File;
 import java.net.URI;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -18,6 +21,14 @@ public class ClassFinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClassFinder.class);
 
+    /**
+     * Scan results are memoised per class loader and package (and per annotation for annotated class lookups),
+     * as the same packages tend to be scanned many times in the same JVM. Only the class names are kept, so that
+     * the memoised results never hold on to a class, and through it to the class loader used as a weak key.
+     */
+    private static final Map<ClassLoader, Map<String, List<String>>> SCANNED_PACKAGES
+            = Collections.synchronizedMap(new WeakHashMap<>());
+
     private final ClassLoader classLoader;
     private final Class annotation;
     private Class<?> parentInterface;
@@ -47,6 +58,10 @@ public class ClassFinder {
      * @return The classes
      */
     public List<Class<?>> fromPackage(String packageName) {
+        if (annotation != null && parentInterface == null && condition == null) {
+            return memoised(getDefaultClassLoader(), packageName + "@" + annotation.getName(),
+                            () -> memoisedScan(packageName).map(this::filtered)).orElseGet(ArrayList::new);
+        }
         return filtered(getClasses(packageName));
     }
 
@@ -92,6 +107,59 @@ public class ClassFinder {
         if (packageName.isEmpty()) {
             return new ArrayList<>();
         }
+        return memoisedScan(packageName).orElseGet(ArrayList::new);
+    }
+
+    private static Optional<List<Class<?>>> memoisedScan(String packageName) {
+        return memoised(getDefaultClassLoader(), packageName, () -> scanClasses(packageName));
+    }
+
+    /**
+     * Forget any memoised scan results, e.g. if classes have been added to the classpath at runtime.
+     */
+    public static void clearCache() {
+        SCANNED_PACKAGES.clear();
+        ClasspathScanIndex.getIndex().clear();
+    }
+
+    /**
+     * A failed scan is not memoised, so that the package is scanned again the next time it is needed.
+     */
+    private static Optional<List<Class<?>>> memoised(ClassLoader classLoader,
+                                                     String key,
+                                                     Supplier<Optional<List<Class<?>>>> scan) {
+        if (classLoader == null) {
+            return scan.get();
+        }
+        Map<String, List<String>> scannedPackages
+                = SCANNED_PACKAGES.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+
+        List<String> classNames = scannedPackages.get(key);
+        if (classNames != null) {
+            ClassFinderStatistics.getStatistics().recordMemoisedPackageHit();
+            return Optional.of(classesNamed(classNames));
+        }
+        Optional<List<Class<?>>> classes = scan.get();
+        classes.ifPresent(
+                scannedClasses -> scannedPackages.put(key, scannedClasses.stream().map(Class::getName).collect(Collectors.toList()))
+        );
+        return classes;
+    }
+
+    private static List<Class<?>> classesNamed(List<String> classNames) {
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className));
+            } catch (Throwable e) {
+                LOGGER.debug("Could not load class {}", className);
+            }
+        }
+        return classes;
+    }
+
+    private static Optional<List<Class<?>>> scanClasses(String packageName) {
+        long start = System.nanoTime();
         try {
             ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
             assert classLoader != null;
@@ -117,16 +185,20 @@ public class ClassFinder {
                     //throw new RuntimeException("Could not load class", e);
                 }
             }
-            return classList;
+            return Optional.of(classList);
         } catch (Exception e) {
-            return Collections.EMPTY_LIST;
+            LOGGER.debug("Could not scan package {}", packageName, e);
+            return Optional.empty();
+        } finally {
+            ClassFinderStatistics.getStatistics().recordPackageScan(System.nanoTime() - start);
+            LOGGER.debug("Scanned package {}: {}", packageName, ClassFinderStatistics.getStatistics());
         }
     }
 
     /**
      * Recursive method used to find all classes in a given directory and subdirs. * Adapted from http://snippets.dzone.com/posts/show/4831 and extended to support use of JAR files * @param directory The base directory * @param packageName The package name for classes found inside the base directory * @return The classes * @throws ClassNotFoundException
      */
-    private static TreeSet<String> findClasses(URI directory, String packageName) throws Exception {
+    private static Set<String> findClasses(URI directory, String packageName) throws Exception {
         final String scheme = directory.getScheme();
         final String schemeSpecificPart = directory.getSchemeSpecificPart();
 
@@ -142,13 +214,19 @@ public class ClassFinder {
         );
     }
 
-    private static TreeSet<String> findClassesInJar(URI jarDirectory) throws Exception {
+    private static Set<String> findClassesInJar(URI jarDirectory) throws Exception {
         final String schemeSpecificPart = jarDirectory.getSchemeSpecificPart();
 
-        TreeSet<String> classes = new TreeSet<>();
-
         String[] split = schemeSpecificPart.split("!");
         URL jar = new URL(split[0]);
+        if (jar.getProtocol().equals("file")) {
+            return ClasspathScanIndex.getIndex().classesInJar(new File(jar.toURI()), () -> scanJar(jar));
+        }
+        return scanJar(jar);
+    }
+
+    static Set<String> scanJar(URL jar) throws Exception {
+        TreeSet<String> classes = new TreeSet<>();
         try(ZipInputStream zip = new ZipInputStream(jar.openStream())) {
             ZipEntry entry;
             while ((entry = zip.getNextEntry()) != null) {
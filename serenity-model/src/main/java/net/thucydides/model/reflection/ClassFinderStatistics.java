@@ -0,0 +1,111 @@
+package net.thucydides.model.reflection;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how much time is spent scanning the classpath, and how often the scan results could be reused.
+ */
+public class ClassFinderStatistics {
+
+    private static final ClassFinderStatistics STATISTICS = new ClassFinderStatistics();
+
+    private final LongAdder packageScans = new LongAdder();
+    private final LongAdder packageScanNanos = new LongAdder();
+    private final LongAdder memoisedPackageHits = new LongAdder();
+    private final LongAdder jarScans = new LongAdder();
+    private final LongAdder jarScanNanos = new LongAdder();
+    private final LongAdder memoryIndexHits = new LongAdder();
+    private final LongAdder diskIndexHits = new LongAdder();
+    private final LongAdder indexMisses = new LongAdder();
+
+    public static ClassFinderStatistics getStatistics() {
+        return STATISTICS;
+    }
+
+    void recordPackageScan(long durationInNanos) {
+        packageScans.increment();
+        packageScanNanos.add(durationInNanos);
+    }
+
+    void recordMemoisedPackageHit() {
+        memoisedPackageHits.increment();
+    }
+
+    void recordJarScan(long durationInNanos) {
+        jarScans.increment();
+        jarScanNanos.add(durationInNanos);
+    }
+
+    void recordMemoryIndexHit() {
+        memoryIndexHits.increment();
+    }
+
+    void recordDiskIndexHit() {
+        diskIndexHits.increment();
+    }
+
+    void recordIndexMiss() {
+        indexMisses.increment();
+    }
+
+    public long getPackageScans() {
+        return packageScans.sum();
+    }
+
+    public Duration getPackageScanTime() {
+        return Duration.ofNanos(packageScanNanos.sum());
+    }
+
+    public long getMemoisedPackageHits() {
+        return memoisedPackageHits.sum();
+    }
+
+    public long getJarScans() {
+        return jarScans.sum();
+    }
+
+    public Duration getJarScanTime() {
+        return Duration.ofNanos(jarScanNanos.sum());
+    }
+
+    public long getMemoryIndexHits() {
+        return memoryIndexHits.sum();
+    }
+
+    public long getDiskIndexHits() {
+        return diskIndexHits.sum();
+    }
+
+    public long getIndexMisses() {
+        return indexMisses.sum();
+    }
+
+    /**
+     * The proportion of jar lookups that were served from the in-memory or on-disk index.
+     */
+    public double getIndexHitRate() {
+        long hits = getMemoryIndexHits() + getDiskIndexHits();
+        long lookups = hits + getIndexMisses();
+        return (lookups == 0) ? 0.0 : ((double) hits) / lookups;
+    }
+
+    public void reset() {
+        packageScans.reset();
+        packageScanNanos.reset();
+        memoisedPackageHits.reset();
+        jarScans.reset();
+        jarScanNanos.reset();
+        memoryIndexHits.reset();
+        diskIndexHits.reset();
+        indexMisses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Classpath scans: %d packages in %d ms (%d memoised), %d jars in %d ms, index hit rate %.0f%% (%d in memory, %d on disk, %d misses)",
+                getPackageScans(), getPackageScanTime().toMillis(), getMemoisedPackageHits(),
+                getJarScans(), getJarScanTime().toMillis(),
+                getIndexHitRate() * 100, getMemoryIndexHits(), getDiskIndexHits(), getIndexMisses());
+    }
+}
@@ -0,0 +1,125 @@
+package net.thucydides.model.reflection;
+
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_CLASSPATH_INDEX_DIRECTORY;
+
+/**
+ * Remembers the class names found in each classpath jar, so that a jar only needs to be walked once.
+ * Entries are keyed by the jar path, size and last-modified time, and are kept in memory for the life of the JVM.
+ * If the serenity.classpath.index.directory property is set, entries are also written to that directory,
+ * so that later JVMs (e.g. other forks of the same build) can skip the jar walk entirely.
+ */
+public class ClasspathScanIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClasspathScanIndex.class);
+
+    private static final ClasspathScanIndex CLASSPATH_SCAN_INDEX
+            = new ClasspathScanIndex(SystemEnvironmentVariables.currentEnvironmentVariables());
+
+    private final Map<String, Set<String>> indexedJars = new ConcurrentHashMap<>();
+    private final Path indexDirectory;
+    private final ClassFinderStatistics statistics;
+
+    public static ClasspathScanIndex getIndex() {
+        return CLASSPATH_SCAN_INDEX;
+    }
+
+    protected ClasspathScanIndex(EnvironmentVariables environmentVariables) {
+        this(SERENITY_CLASSPATH_INDEX_DIRECTORY.optionalFrom(environmentVariables).map(Paths::get).orElse(null),
+             ClassFinderStatistics.getStatistics());
+    }
+
+    protected ClasspathScanIndex(Path indexDirectory, ClassFinderStatistics statistics) {
+        this.indexDirectory = indexDirectory;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Return the class names contained in a jar file, using the in-memory or on-disk index where possible.
+     *
+     * @param jarFile the jar file on the classpath
+     * @param scanner used to walk the jar if it has not been indexed yet
+     */
+    public Set<String> classesInJar(File jarFile, Callable<Set<String>> scanner) throws Exception {
+        String key = keyFor(jarFile);
+
+        Set<String> classNames = indexedJars.get(key);
+        if (classNames != null) {
+            statistics.recordMemoryIndexHit();
+            return classNames;
+        }
+
+        Optional<Set<String>> storedClassNames = readFromDisk(key);
+        if (storedClassNames.isPresent()) {
+            statistics.recordDiskIndexHit();
+            indexedJars.put(key, storedClassNames.get());
+            return storedClassNames.get();
+        }
+
+        statistics.recordIndexMiss();
+        long start = System.nanoTime();
+        classNames = Collections.unmodifiableSet(new TreeSet<>(scanner.call()));
+        statistics.recordJarScan(System.nanoTime() - start);
+
+        indexedJars.put(key, classNames);
+        writeToDisk(key, classNames);
+        return classNames;
+    }
+
+    public void clear() {
+        indexedJars.clear();
+    }
+
+    static String keyFor(File jarFile) {
+        String absolutePath = jarFile.getAbsolutePath();
+        return DigestUtils.sha256Hex(absolutePath + "|" + jarFile.length() + "|" + jarFile.lastModified());
+    }
+
+    private Optional<Set<String>> readFromDisk(String key) {
+        if (indexDirectory == null) {
+            return Optional.empty();
+        }
+        Path indexFile = indexDirectory.resolve(key + ".idx");
+        if (!Files.exists(indexFile)) {
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            return Optional.of(Collections.unmodifiableSet(new TreeSet<>(lines)));
+        } catch (IOException e) {
+            LOGGER.debug("Could not read classpath index file {}", indexFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(String key, Set<String> classNames) {
+        if (indexDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(indexDirectory);
+            Path temporaryFile = Files.createTempFile(indexDirectory, key, ".tmp");
+            Files.write(temporaryFile, classNames, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, indexDirectory.resolve(key + ".idx"),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.debug("Could not write classpath index file for {}", key, e);
+        }
+    }
+}
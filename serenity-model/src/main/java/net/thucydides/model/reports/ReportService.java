@@ -5,6 +5,8 @@ import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigRenderOptions;
 import com.typesafe.config.ConfigValueFactory;
 import net.serenitybdd.model.environment.ConfiguredEnvironment;
+import net.serenitybdd.model.flightrecorder.RecordedPhase;
+import net.serenitybdd.model.flightrecorder.SerenityFlightRecorder;
 import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.model.environment.SystemEnvironmentVariables;
 import net.thucydides.model.domain.TestOutcome;
@@ -175,7 +177,7 @@ public class ReportService {
 
         ExecutorService executorService = Executors.newFixedThreadPool(maximumPoolSize);
 
-        try {
+        try (RecordedPhase reportGeneration = SerenityFlightRecorder.reportGeneration(reporter, outcomes.size())) {
             final ArrayList<Future> tasks = new ArrayList<>(outcomes.size());
             for (final TestOutcome outcome : outcomes) {
                 tasks.add(executorService.submit(() -> {
@@ -276,7 +278,7 @@ public class ReportService {
 
     private void generateFullReportFor(final TestOutcomes testOutcomes,
                                        final AcceptanceTestFullReporter reporter) {
-        try {
+        try (RecordedPhase reportGeneration = SerenityFlightRecorder.reportGeneration(reporter, testOutcomes.getOutcomes().size())) {
             reporter.setOutputDirectory(outputDirectory);
             reporter.generateReportsFor(testOutcomes);
         } catch (Exception e) {
@@ -2,8 +2,11 @@ package net.thucydides.model.reports;
 
 
 import net.serenitybdd.model.collect.NewList;
+import net.serenitybdd.model.compact.OutcomeCompactor;
+import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.model.environment.SystemEnvironmentVariables;
 import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.domain.TestOutcomeTagResolver;
 import net.thucydides.model.reports.json.JSONTestOutcomeReporter;
 import net.thucydides.model.reports.junit.JUnitXMLOutcomeReporter;
 import net.thucydides.model.util.EnvironmentVariables;
@@ -29,6 +32,7 @@ public class TestOutcomeLoader {
 
     private final EnvironmentVariables environmentVariables;
     private final FormatConfiguration formatConfiguration;
+    private final boolean compact;
 
     public TestOutcomeLoader() {
         this(SystemEnvironmentVariables.currentEnvironmentVariables());
@@ -36,16 +40,25 @@ public class TestOutcomeLoader {
 
     
     public TestOutcomeLoader(EnvironmentVariables environmentVariables) {
-        this(environmentVariables, new FormatConfiguration(environmentVariables));
+        this(environmentVariables, new FormatConfiguration(environmentVariables),
+                ThucydidesSystemProperty.SERENITY_COMPACT_OUTCOMES.booleanFrom(environmentVariables, false));
     }
 
-    private TestOutcomeLoader(EnvironmentVariables environmentVariables, FormatConfiguration formatConfiguration) {
+    private TestOutcomeLoader(EnvironmentVariables environmentVariables, FormatConfiguration formatConfiguration, boolean compact) {
         this.environmentVariables = environmentVariables;
         this.formatConfiguration = formatConfiguration;
+        this.compact = compact;
     }
 
     public TestOutcomeLoader forFormat(OutcomeFormat format) {
-        return new TestOutcomeLoader(environmentVariables, new FormatConfiguration(format));
+        return new TestOutcomeLoader(environmentVariables, new FormatConfiguration(format), compact);
+    }
+
+    /**
+     * Load the test outcomes in a compact, read-only form (see {@link OutcomeCompactor}), for report generation.
+     */
+    public TestOutcomeLoader inCompactForm() {
+        return new TestOutcomeLoader(environmentVariables, formatConfiguration, true);
     }
 
     /**
@@ -60,13 +73,14 @@ public class TestOutcomeLoader {
         try {
             final List<Callable<List<TestOutcome>>> partitions = new ArrayList<>();
             final AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
+            final Optional<OutcomeCompactor> compactor = outcomeCompactor();
 
 //            for(File sourceFile : getAllOutcomeFilesFrom(reportDirectory)) {
 //                partitions.add(new TestOutcomeLoaderCallable(testOutcomeReporter,sourceFile));
 //            }
 //
             allOutcomeFilesFrom(reportDirectory).forEach(
-                    sourceFile -> partitions.add(new TestOutcomeLoaderCallable(testOutcomeReporter,sourceFile.toFile()))
+                    sourceFile -> partitions.add(new TestOutcomeLoaderCallable(testOutcomeReporter, compactor, sourceFile.toFile()))
             );
 
 //            final ExecutorService executorPool = Executors.newFixedThreadPool(20);//NumberOfThreads.forIOOperations());
@@ -79,6 +93,8 @@ public class TestOutcomeLoader {
             }
             executorPool.shutdown();
 
+            TestOutcomeTagResolver.resolveTagsFor(testOutcomes);
+
             if (hasAnnotatedOrder(testOutcomes)) {
                 return inAnnotatedOrder(testOutcomes);
             } else {
@@ -90,6 +106,28 @@ public class TestOutcomeLoader {
 
     }
 
+    /**
+     * Load the test outcomes from specific files, such as those that have appeared in a report directory since it was
+     * last read. Files that cannot be read are ignored.
+     */
+    public List<TestOutcome> loadFrom(final Collection<Path> outcomeFiles) {
+        final AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
+        final Optional<OutcomeCompactor> compactor = outcomeCompactor();
+        List<TestOutcome> testOutcomes = new ArrayList<>();
+        for (Path outcomeFile : outcomeFiles) {
+            testOutcomes.addAll(new TestOutcomeLoaderCallable(testOutcomeReporter, compactor, outcomeFile.toFile()).call());
+        }
+        TestOutcomeTagResolver.resolveTagsFor(testOutcomes);
+        return testOutcomes;
+    }
+
+    /**
+     * Is this file a serialized test outcome in the configured format (rather than, for example, a feature list or a manifest)?
+     */
+    public boolean isATestOutcomeFile(Path path) {
+        return isAJsonTestOutcome(path);
+    }
+
     private final static List<? extends OutcomeAugmenter> AUGMENTERS = NewList.of(
             new FlagsAugmenter()
     );
@@ -98,14 +136,16 @@ public class TestOutcomeLoader {
 
         private final File sourceFile;
         private final AcceptanceTestLoader testOutcomeReporter;
+        private final Optional<OutcomeCompactor> compactor;
 
-        TestOutcomeLoaderCallable(AcceptanceTestLoader testOutcomeReporter, File sourceFile) {
+        TestOutcomeLoaderCallable(AcceptanceTestLoader testOutcomeReporter, Optional<OutcomeCompactor> compactor, File sourceFile) {
             this.testOutcomeReporter = testOutcomeReporter;
+            this.compactor = compactor;
             this.sourceFile = sourceFile;
         }
 
         @Override
-        public List<TestOutcome> call() throws Exception {
+        public List<TestOutcome> call() {
             java.util.Optional<TestOutcome> loadedTestOutcome = testOutcomeReporter.loadReportFrom(sourceFile);
 
             return loadedTestOutcome.map(Collections::singleton).orElse(Collections.emptySet())
@@ -119,7 +159,7 @@ public class TestOutcomeLoader {
             AUGMENTERS.forEach(
                     augmenter -> augmenter.augment(testOutcome)
             );
-            return testOutcome;
+            return compactor.map(outcomeCompactor -> outcomeCompactor.compact(testOutcome)).orElse(testOutcome);
         }
     }
 
@@ -182,6 +222,13 @@ public class TestOutcomeLoader {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Outcomes loaded together share a compactor, so that they share their tags and step descriptions.
+     */
+    private Optional<OutcomeCompactor> outcomeCompactor() {
+        return compact ? Optional.of(new OutcomeCompactor()) : Optional.empty();
+    }
+
     private AcceptanceTestLoader getOutcomeReporter() {
         switch (formatConfiguration.getPreferredFormat()) {
             case JSON:
@@ -196,6 +243,7 @@ public class TestOutcomeLoader {
             return (filename.toLowerCase(Locale.getDefault()).endsWith(formatConfiguration.getPreferredFormat().getExtension())
                     && (!filename.endsWith(".features.json"))
                     && (!filename.endsWith("manifest.json"))
+                    && (!filename.endsWith(".aggregate.json"))
                     && (!filename.startsWith(JUnitXMLOutcomeReporter.FILE_PREFIX))) ;
         }
     }
@@ -205,6 +253,7 @@ public class TestOutcomeLoader {
         return (filename.toLowerCase(Locale.getDefault()).endsWith(formatConfiguration.getPreferredFormat().getExtension())
                 && (!filename.endsWith(".features.json"))
                 && (!filename.endsWith("manifest.json"))
+                && (!filename.endsWith(".aggregate.json"))
                 && (!filename.startsWith(JUnitXMLOutcomeReporter.FILE_PREFIX))) ;
     }
 }
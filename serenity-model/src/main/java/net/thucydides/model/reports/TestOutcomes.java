@@ -265,6 +265,7 @@ public class TestOutcomes {
      * @return The list of all of the different tag types that appear in the test outcomes.
      */
     public List<String> getTagTypes() {
+        resolveTags();
         return outcomes.stream()
                 .flatMap(this::tagTypesIn)
                 .distinct()
@@ -313,11 +314,14 @@ public class TestOutcomes {
     }
 
     private HashSet<TestTag> tags;
+    private volatile boolean tagsResolved;
+
     /**
      * @return The list of all the different tags in these test outcomes
      */
     public Set<TestTag> getTags() {
         if (tags == null) {
+            resolveTags();
             tags = new HashSet<>();
             for(TestOutcome outcome: outcomes) {
                 tags.addAll(outcome.getAllTags());
@@ -326,10 +330,22 @@ public class TestOutcomes {
         return tags;
     }
 
+    /**
+     * Works out the tags of any outcomes that don't have them yet in a single batch, so that the tag providers can reuse
+     * the tags of one scenario for the other scenarios in the same feature.
+     */
+    private void resolveTags() {
+        if (!tagsResolved) {
+            TestOutcomeTagResolver.resolveTagsFor(outcomes);
+            tagsResolved = true;
+        }
+    }
+
     /**
      * @return The list of all the tags associated with a given tag type.
      */
     public List<TestTag> getTagsOfType(String tagType) {
+        resolveTags();
         return outcomes.stream()
                 .flatMap(outcome -> tagsOfType(tagType).from(outcome))
                 .distinct()
@@ -342,6 +358,7 @@ public class TestOutcomes {
      * @return The list of all the tags associated with a given tag type.
      */
     public List<TestTag> getMostSpecificTagsOfType(String tagType) {
+        resolveTags();
         return outcomes.stream()
                 .flatMap(outcome -> removeGeneralTagsFrom(tagsOfType(tagType).in(outcome)))
                 .sorted()
@@ -361,6 +378,7 @@ public class TestOutcomes {
 
 
     public List<TestTag> getTagsOfTypeExcluding(String tagType, String excludedTag) {
+        resolveTags();
 
         Predicate<TestTag> withExcludedTags = tag -> !tag.getName().equalsIgnoreCase(excludedTag);
 
@@ -710,6 +728,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes for this tag type
      */
     public TestOutcomes withTagType(String tagType) {
+        resolveTags();
 
         List<TestOutcome> testOutcomesWithTags = outcomes.stream()
                 .filter(outcome -> outcome.hasTagWithType(tagType))
@@ -719,6 +738,7 @@ public class TestOutcomes {
     }
 
     public TestOutcomes withTagTypes(List<String> tagTypes) {
+        resolveTags();
 
         List<TestOutcome> testOutcomesWithTags = outcomes.stream()
                 .filter(outcome -> outcome.hasTagWithTypes(tagTypes))
@@ -739,6 +759,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes for this tag name
      */
     public TestOutcomes withTag(String tagName) {
+        resolveTags();
 
         List<TestOutcome> testOutcomesWithTags = new ArrayList<>();
         for(TestOutcome outcome : outcomes) {
@@ -750,6 +771,7 @@ public class TestOutcomes {
     }
 
     public TestOutcomes withTag(TestTag tag) {
+        resolveTags();
         List<? extends TestOutcome> outcomesWithMatchingTag = matchingOutcomes(outcomes, tag);
         return TestOutcomes.of(outcomesWithMatchingTag)
                 .withLabel(tag.getShortName())
@@ -770,6 +792,7 @@ public class TestOutcomes {
     }
 
     public TestOutcomes withTags(Collection<TestTag> tags) {
+        resolveTags();
         Set<TestOutcome> filteredOutcomes = new HashSet<>();
         for (TestTag tag : tags) {
             filteredOutcomes.addAll(matchingOutcomes(outcomes, tag));
@@ -3,8 +3,15 @@ package net.thucydides.model.reports.adaptors.common;
 import net.thucydides.model.domain.TestOutcome;
 import net.thucydides.model.reports.adaptors.TestOutcomeAdaptor;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 public abstract class FilebasedOutcomeAdaptor implements TestOutcomeAdaptor {
@@ -13,4 +20,62 @@ public abstract class FilebasedOutcomeAdaptor implements TestOutcomeAdaptor {
     public List<TestOutcome> loadOutcomes() throws IOException {
         throw new UnsupportedOperationException("File based adaptors need to be provided a directory");
     }
+
+    /**
+     * Reads the test outcomes in a single source file.
+     */
+    @FunctionalInterface
+    protected interface OutcomeFileReader {
+        Collection<? extends TestOutcome> outcomesIn(File sourceFile) throws IOException;
+    }
+
+    /**
+     * Reads the test outcomes from each source file in parallel, returning them in the order of the files.
+     * At most one file per processor is being read at any time, which keeps the memory needed for large imports bounded.
+     */
+    protected List<TestOutcome> loadOutcomesInParallelFrom(File[] sourceFiles, OutcomeFileReader reader) throws IOException {
+        List<TestOutcome> loadedOutcomes = new ArrayList<>();
+        if (sourceFiles == null || sourceFiles.length == 0) {
+            return loadedOutcomes;
+        }
+        if (sourceFiles.length == 1) {
+            loadedOutcomes.addAll(reader.outcomesIn(sourceFiles[0]));
+            return loadedOutcomes;
+        }
+
+        int numberOfThreads = Math.max(1, Math.min(sourceFiles.length, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executorPool = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Future<Collection<? extends TestOutcome>>> pendingOutcomes = new ArrayList<>();
+            for (File sourceFile : sourceFiles) {
+                pendingOutcomes.add(executorPool.submit(() -> reader.outcomesIn(sourceFile)));
+            }
+            for (Future<Collection<? extends TestOutcome>> outcomes : pendingOutcomes) {
+                loadedOutcomes.addAll(outcomesFrom(outcomes));
+            }
+            return loadedOutcomes;
+        } finally {
+            executorPool.shutdownNow();
+        }
+    }
+
+    private Collection<? extends TestOutcome> outcomesFrom(Future<Collection<? extends TestOutcome>> pendingOutcomes) throws IOException {
+        try {
+            return pendingOutcomes.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading test outcomes", e);
+        }
+    }
 }
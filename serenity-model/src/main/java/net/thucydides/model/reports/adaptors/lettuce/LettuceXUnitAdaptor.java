@@ -7,7 +7,8 @@ import net.thucydides.model.domain.TestOutcome;
 import net.thucydides.model.domain.TestResult;
 import net.thucydides.model.domain.TestStep;
 import net.thucydides.model.reports.adaptors.common.FilebasedOutcomeAdaptor;
-import net.thucydides.model.reports.adaptors.xunit.BasicXUnitLoader;
+import net.thucydides.model.reports.adaptors.xunit.StreamingXUnitLoader;
+import net.thucydides.model.reports.adaptors.xunit.XUnitLoader;
 import net.thucydides.model.reports.adaptors.xunit.io.XUnitFiles;
 import net.thucydides.model.reports.adaptors.xunit.model.TestCase;
 import net.thucydides.model.reports.adaptors.xunit.model.TestSuite;
@@ -18,14 +19,18 @@ import java.util.*;
 
 public class LettuceXUnitAdaptor extends FilebasedOutcomeAdaptor {
 
-    BasicXUnitLoader loader = new BasicXUnitLoader();
+    private final XUnitLoader loader;
+
+    public LettuceXUnitAdaptor() {
+        this(new StreamingXUnitLoader());
+    }
+
+    public LettuceXUnitAdaptor(XUnitLoader loader) {
+        this.loader = loader;
+    }
 
     public List<TestOutcome> loadOutcomesFrom(final File source) throws IOException {
-        List<TestOutcome> loadedOutcomes = new ArrayList<>();
-        for(File xunitFile : XUnitFiles.in(source)) {
-            loadedOutcomes.addAll(testOutcomesIn(xunitFile));
-        }
-        return NewList.copyOf(loadedOutcomes);
+        return NewList.copyOf(loadOutcomesInParallelFrom(XUnitFiles.in(source), this::testOutcomesIn));
     }
 
     private Collection<? extends TestOutcome> testOutcomesIn(File xunitFile) throws IOException {
@@ -19,14 +19,18 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 public class DefaultXUnitAdaptor extends FilebasedOutcomeAdaptor {
-    private final XUnitLoader loader = new BasicXUnitLoader();
+    private final XUnitLoader loader;
+
+    public DefaultXUnitAdaptor() {
+        this(new StreamingXUnitLoader());
+    }
+
+    public DefaultXUnitAdaptor(XUnitLoader loader) {
+        this.loader = loader;
+    }
 
     public List<TestOutcome> loadOutcomesFrom(final File source) throws IOException {
-        List<TestOutcome> loadedOutcomes = new ArrayList<>();
-        for(File xunitFile : XUnitFiles.in(source)) {
-            loadedOutcomes.addAll(testOutcomesIn(xunitFile));
-        }
-        return NewList.copyOf(loadedOutcomes);
+        return NewList.copyOf(loadOutcomesInParallelFrom(XUnitFiles.in(source), this::testOutcomesIn));
     }
 
     public List<TestOutcome> testOutcomesIn(File xunitFile) throws IOException {
@@ -0,0 +1,197 @@
+package net.thucydides.model.reports.adaptors.xunit;
+
+import net.thucydides.model.reports.adaptors.xunit.model.TestCase;
+import net.thucydides.model.reports.adaptors.xunit.model.TestException;
+import net.thucydides.model.reports.adaptors.xunit.model.TestSuite;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Reads xUnit files with a StAX stream reader rather than building a DOM, so that large reports
+ * (for example with verbose system-out sections) can be read without holding the whole document in memory.
+ * Only the test suites, test cases and their failure, error, skipped, system-out and system-err elements are kept.
+ * Text is read in the chunks the parser reports it in, rather than coalesced into a single string, so that failure
+ * output and the system output of a test case can be truncated to a fixed length without reading the rest into memory.
+ * Test cases are read with the same rules as the BasicXUnitLoader.
+ */
+public class StreamingXUnitLoader implements XUnitLoader {
+
+    static final int MAX_ERROR_OUTPUT_LENGTH = 64 * 1024;
+
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    });
+
+    @Override
+    public List<TestSuite> loadFrom(final File xUnitReport) throws IOException {
+        List<SuiteInProgress> testSuites;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(xUnitReport.toPath()))) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.get().createXMLStreamReader(inputStream);
+            try {
+                testSuites = testSuitesFrom(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (Exception e) {
+            throw new CouldNotReadXUnitFileException(e.getMessage());
+        }
+        shouldHaveAtLeastOneTestSuite(testSuites, xUnitReport);
+
+        List<TestSuite> loadedSuites = new ArrayList<>(testSuites.size());
+        for (SuiteInProgress testSuite : testSuites) {
+            loadedSuites.add(TestSuite.named(testSuite.name).withTestCases(testSuite.testCases));
+        }
+        return loadedSuites;
+    }
+
+    private void shouldHaveAtLeastOneTestSuite(List<SuiteInProgress> testSuites, File xUnitReport) {
+        if (testSuites.isEmpty()) {
+            throw new CouldNotReadXUnitFileException("Could not read xUnit file " + xUnitReport.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Test suites are listed in the order they start, and a test case belongs to every suite that contains it,
+     * as with getElementsByTagName() in the DOM-based loader.
+     */
+    private List<SuiteInProgress> testSuitesFrom(XMLStreamReader reader) throws XMLStreamException {
+        List<SuiteInProgress> testSuites = new ArrayList<>();
+        Deque<SuiteInProgress> openSuites = new ArrayDeque<>();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == START_ELEMENT && "testsuite".equals(reader.getLocalName())) {
+                SuiteInProgress testSuite = new SuiteInProgress(attribute(reader, "name"));
+                testSuites.add(testSuite);
+                openSuites.push(testSuite);
+            } else if (event == START_ELEMENT && "testcase".equals(reader.getLocalName()) && !openSuites.isEmpty()) {
+                TestCase testCase = testCaseFrom(reader);
+                openSuites.forEach(testSuite -> testSuite.testCases.add(testCase));
+            } else if (event == END_ELEMENT && "testsuite".equals(reader.getLocalName())) {
+                openSuites.pop();
+            }
+        }
+        return testSuites;
+    }
+
+    private TestCase testCaseFrom(XMLStreamReader reader) throws XMLStreamException {
+        TestCase testCase = TestCase.withName(attribute(reader, "name"))
+                .andClassname(attribute(reader, "classname"))
+                .andTime(timeFrom(attribute(reader, "time")));
+
+        TestException failure = null;
+        TestException error = null;
+        String skipped = "";
+        StringBuilder systemOutput = new StringBuilder();
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                String element = reader.getLocalName();
+                if ("failure".equals(element) && failure == null) {
+                    failure = exceptionFrom(reader, "failure");
+                } else if ("error".equals(element) && error == null) {
+                    error = exceptionFrom(reader, "error");
+                } else if ("system-out".equals(element) || "system-err".equals(element)) {
+                    appendTextContent(reader, systemOutput);
+                } else {
+                    if ("skipped".equals(element) && StringUtils.isEmpty(skipped)) {
+                        String skipType = attribute(reader, "type");
+                        skipped = StringUtils.isEmpty(skipType) ? "unknown" : skipType;
+                    }
+                    depth++;
+                }
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+
+        if (failure != null) {
+            testCase = testCase.withFailure(failure);
+        }
+        if (error != null) {
+            testCase = testCase.withError(error);
+        }
+        if (StringUtils.isNotEmpty(skipped)) {
+            testCase = testCase.wasSkipped(skipped);
+        }
+        if (systemOutput.length() > 0) {
+            testCase = testCase.withSystemOutput(systemOutput.toString());
+        }
+        return testCase;
+    }
+
+    /**
+     * Reads the message and text content of a failure or error element, leaving the reader on its end tag.
+     */
+    private TestException exceptionFrom(XMLStreamReader reader, String exceptionType) throws XMLStreamException {
+        String message = attribute(reader, "message");
+        StringBuilder errorOutput = new StringBuilder();
+        appendTextContent(reader, errorOutput);
+        return new TestException(message, errorOutput.toString(), exceptionType);
+    }
+
+    /**
+     * Appends the text content of the current element to the given output, up to MAX_ERROR_OUTPUT_LENGTH characters,
+     * leaving the reader on its end tag. Any text past the limit is skipped.
+     */
+    private void appendTextContent(XMLStreamReader reader, StringBuilder output) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            } else if ((event == CHARACTERS || event == CDATA || event == SPACE)
+                    && output.length() < MAX_ERROR_OUTPUT_LENGTH) {
+                int length = Math.min(reader.getTextLength(), MAX_ERROR_OUTPUT_LENGTH - output.length());
+                output.append(reader.getTextCharacters(), reader.getTextStart(), length);
+            }
+        }
+    }
+
+    private String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return (value == null) ? "" : value;
+    }
+
+    private double timeFrom(String time) {
+        double timeValue = 0.0;
+        if (StringUtils.isNotEmpty(time)) {
+            timeValue = Double.parseDouble(time);
+        }
+        return timeValue;
+    }
+
+    private static class SuiteInProgress {
+        private final String name;
+        private final List<TestCase> testCases = new ArrayList<>();
+
+        private SuiteInProgress(String name) {
+            this.name = name;
+        }
+    }
+}
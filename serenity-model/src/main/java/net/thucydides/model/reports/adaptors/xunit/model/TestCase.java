@@ -10,6 +10,7 @@ public class TestCase {
     private Optional<TestException> failure;
     private Optional<TestException> error;
     private Optional<Skip> skipped;
+    private String systemOutput;
 
     private final static Optional<TestException> NO_FAILURE = Optional.empty();
     private final static Optional<TestException> NO_ERROR = Optional.empty();
@@ -20,38 +21,44 @@ public class TestCase {
                      double time,
                      Optional<TestException> failure,
                      Optional<TestException> error,
-                     Optional<Skip> skip) {
+                     Optional<Skip> skip,
+                     String systemOutput) {
         this.name = name;
         this.classname = classname;
         this.time = time;
         this.failure = failure;
         this.error = error;
         this.skipped = skip;
+        this.systemOutput = systemOutput;
     }
 
     public static TestCase withName(String name) {
-        return new TestCase(name, "", 0.0, NO_FAILURE, NO_ERROR, NOT_SKIPPED);
+        return new TestCase(name, "", 0.0, NO_FAILURE, NO_ERROR, NOT_SKIPPED, "");
     }
 
     public TestCase andClassname(String classname) {
-        return new TestCase(name, classname, time, error, failure, skipped);
+        return new TestCase(name, classname, time, error, failure, skipped, systemOutput);
     }
 
     public TestCase andTime(double time) {
-        return new TestCase(name, classname, time, error, failure, skipped);
+        return new TestCase(name, classname, time, error, failure, skipped, systemOutput);
     }
 
     public TestCase withFailure(TestException failure) {
-        return new TestCase(name, classname, time, Optional.of(failure), error, skipped);
+        return new TestCase(name, classname, time, Optional.of(failure), error, skipped, systemOutput);
     }
 
     public TestCase withError(TestException error) {
-        return new TestCase(name, classname, time, failure, Optional.of(error), skipped);
+        return new TestCase(name, classname, time, failure, Optional.of(error), skipped, systemOutput);
     }
 
 
     public TestCase wasSkipped(String message) {
-        return new TestCase(name, classname, time, failure, error, Optional.of(new Skip(message)));
+        return new TestCase(name, classname, time, failure, error, Optional.of(new Skip(message)), systemOutput);
+    }
+
+    public TestCase withSystemOutput(String systemOutput) {
+        return new TestCase(name, classname, time, failure, error, skipped, systemOutput);
     }
 
     public String getName() {
@@ -78,4 +85,8 @@ public class TestCase {
         return skipped;
     }
 
+    public String getSystemOutput() {
+        return systemOutput;
+    }
+
 }
@@ -3,6 +3,8 @@ package net.thucydides.model.reports.json;
 import com.google.common.base.Preconditions;
 import net.serenitybdd.model.di.ModelInfrastructure;
 import net.serenitybdd.model.environment.ConfiguredEnvironment;
+import net.serenitybdd.model.flightrecorder.RecordedPhase;
+import net.serenitybdd.model.flightrecorder.SerenityFlightRecorder;
 import net.thucydides.model.ThucydidesSystemProperty;
 import net.thucydides.model.domain.ReportType;
 import net.thucydides.model.domain.TestOutcome;
@@ -56,7 +58,8 @@ public class JSONTestOutcomeReporter implements AcceptanceTestReporter, Acceptan
 
         LOGGER.debug("Generating JSON report for {} to file {})", testOutcome.getTitle(), report.getAbsolutePath());
 
-        try(OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(report))){
+        try(RecordedPhase outcomeWrite = SerenityFlightRecorder.outcomeWrite(testOutcome.getTitle(), "json", report);
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(report))){
             jsonConverter.toJson(storedTestOutcome, outputStream);
             outputStream.flush();
         }
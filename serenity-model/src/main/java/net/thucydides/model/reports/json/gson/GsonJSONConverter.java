@@ -33,7 +33,15 @@ public class GsonJSONConverter implements JSONConverter {
     public GsonJSONConverter(EnvironmentVariables environmentVariables) {
         this.environmentVariables = environmentVariables;
         encoding = ThucydidesSystemProperty.SERENITY_REPORT_ENCODING.from(environmentVariables, StandardCharsets.UTF_8.name());
-        GsonBuilder gsonBuilder = new GsonBuilder()
+        GsonBuilder gsonBuilder = outcomeGsonBuilder();
+        this.gson = (usePrettyPrinting()) ? gsonBuilder.setPrettyPrinting().create() : gsonBuilder.create();
+    }
+
+    /**
+     * The Gson configuration used to read and write test outcomes and their test steps.
+     */
+    public static GsonBuilder outcomeGsonBuilder() {
+        return new GsonBuilder()
                 .registerTypeAdapterFactory(OptionalTypeAdapter.FACTORY)
                 .registerTypeHierarchyAdapter(Collection.class, new CollectionAdapter())
                 .registerTypeAdapter(Flag.class, new InterfaceAdapter<Flag>())
@@ -43,7 +51,6 @@ public class GsonJSONConverter implements JSONConverter {
                 .registerTypeAdapter(File.class, new FileSerializer())
                 .registerTypeAdapter(File.class, new FileDeserializer())
                 .registerTypeAdapter(Class.class, new ClassTypeAdapter());
-        this.gson = (usePrettyPrinting()) ? gsonBuilder.setPrettyPrinting().create() : gsonBuilder.create();
     }
 
     @Override
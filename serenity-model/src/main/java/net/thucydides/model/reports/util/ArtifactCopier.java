@@ -0,0 +1,126 @@
+package net.thucydides.model.reports.util;
+
+import net.thucydides.model.util.EnvironmentVariables;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puts screenshots, attachments and other test result files into the report directory, either by copying them or by
+ * hard-linking them (see {@link ArtifactCopyMode}), and counts how many bytes did not need to be written.
+ * One copier can be shared between threads.
+ */
+public class ArtifactCopier {
+
+    private static final CopyOption[] COPY_OPTIONS = {StandardCopyOption.COPY_ATTRIBUTES};
+
+    private final ArtifactCopyMode mode;
+
+    private final AtomicLong filesCopied = new AtomicLong();
+    private final AtomicLong filesLinked = new AtomicLong();
+    private final AtomicLong filesAlreadyPresent = new AtomicLong();
+    private final AtomicLong bytesCopied = new AtomicLong();
+    private final AtomicLong bytesAvoided = new AtomicLong();
+
+    public ArtifactCopier(ArtifactCopyMode mode) {
+        this.mode = mode;
+    }
+
+    public static ArtifactCopier configuredIn(EnvironmentVariables environmentVariables) {
+        return new ArtifactCopier(ArtifactCopyMode.configuredIn(environmentVariables));
+    }
+
+    public ArtifactCopyMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Put a file into the report directory.
+     * Directories are created rather than copied, and files that are already present are skipped as described by
+     * the copy mode.
+     */
+    public void copy(Path source, Path destination) throws IOException {
+        if (Files.isDirectory(source)) {
+            if (Files.notExists(destination)) {
+                Files.createDirectories(destination);
+            }
+            return;
+        }
+        if (Files.exists(destination)) {
+            if (mode == ArtifactCopyMode.COPY) {
+                return;
+            }
+            if (hasSameContent(source, destination)) {
+                filesAlreadyPresent.incrementAndGet();
+                bytesAvoided.addAndGet(Files.size(source));
+                return;
+            }
+            Files.delete(destination);
+        }
+        if (mode == ArtifactCopyMode.LINK && linked(source, destination)) {
+            filesLinked.incrementAndGet();
+            bytesAvoided.addAndGet(Files.size(source));
+            return;
+        }
+        Files.copy(source, destination, COPY_OPTIONS);
+        filesCopied.incrementAndGet();
+        bytesCopied.addAndGet(Files.size(destination));
+    }
+
+    /**
+     * Hard links can only be made within a single file system, and not every file system supports them;
+     * in those cases the file is copied instead.
+     */
+    private boolean linked(Path source, Path destination) {
+        try {
+            Files.createLink(destination, source);
+            return true;
+        } catch (IOException | UnsupportedOperationException | ProviderMismatchException noLinkPossible) {
+            return false;
+        }
+    }
+
+    private boolean hasSameContent(Path source, Path destination) throws IOException {
+        if (source.getFileSystem().equals(destination.getFileSystem()) && Files.isSameFile(source, destination)) {
+            return true;
+        }
+        return Files.size(source) == Files.size(destination) && sha256Of(source).equals(sha256Of(destination));
+    }
+
+    private String sha256Of(Path file) throws IOException {
+        try (InputStream content = Files.newInputStream(file)) {
+            return DigestUtils.sha256Hex(content);
+        }
+    }
+
+    public long getFilesCopied() {
+        return filesCopied.get();
+    }
+
+    public long getFilesLinked() {
+        return filesLinked.get();
+    }
+
+    public long getFilesAlreadyPresent() {
+        return filesAlreadyPresent.get();
+    }
+
+    public long getBytesCopied() {
+        return bytesCopied.get();
+    }
+
+    /**
+     * The number of bytes that did not need to be written, because the files were linked or were already present.
+     */
+    public long getBytesAvoided() {
+        return bytesAvoided.get();
+    }
+
+    public String summary() {
+        return String.format("%d files copied (%d bytes), %d files linked, %d files already present: %d bytes not copied",
+                getFilesCopied(), getBytesCopied(), getFilesLinked(), getFilesAlreadyPresent(), getBytesAvoided());
+    }
+}
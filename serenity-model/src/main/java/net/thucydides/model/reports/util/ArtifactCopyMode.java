@@ -0,0 +1,32 @@
+package net.thucydides.model.reports.util;
+
+import net.thucydides.model.util.EnvironmentVariables;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_REPORT_COPY_MODE;
+
+/**
+ * How an {@link ArtifactCopier} puts files into the report directory.
+ */
+public enum ArtifactCopyMode {
+    /**
+     * Copy each file that is not already in the report directory.
+     */
+    COPY,
+    /**
+     * Hard-link each file into the report directory, copying it instead if a link cannot be made.
+     * Files that are already in the report directory with the same size and content are left alone, and files whose
+     * content differs are replaced.
+     */
+    LINK;
+
+    public static ArtifactCopyMode configuredIn(EnvironmentVariables environmentVariables) {
+        String mode = SERENITY_REPORT_COPY_MODE.from(environmentVariables, COPY.name());
+        for (ArtifactCopyMode copyMode : values()) {
+            if (copyMode.name().equalsIgnoreCase(mode.trim())) {
+                return copyMode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown value for " + SERENITY_REPORT_COPY_MODE + ": " + mode
+                + " (expected 'copy' or 'link')");
+    }
+}
@@ -8,25 +8,29 @@ public class CopyDirectory extends SimpleFileVisitor<Path> {
 
     private Path source;
     private Path target;
+    private final ArtifactCopier copier;
 
     public CopyDirectory(Path source, Path target) {
+        this(source, target, new ArtifactCopier(ArtifactCopyMode.COPY));
+    }
+
+    public CopyDirectory(Path source, Path target, ArtifactCopier copier) {
         this.source = source;
         this.target = target;
+        this.copier = copier;
     }
 
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attributes)
             throws IOException {
-        if (!Files.exists(target.resolve(source.relativize(file)))) {
-            Files.copy(file, target.resolve(source.relativize(file)));
-        }
+        copier.copy(file, targetPathOf(file));
         return FileVisitResult.CONTINUE;
     }
 
     @Override
     public FileVisitResult preVisitDirectory(Path directory,
                                              BasicFileAttributes attributes) throws IOException {
-        Path targetDirectory = target.resolve(source.relativize(directory));
+        Path targetDirectory = targetPathOf(directory);
         try {
             Files.copy(directory, targetDirectory);
         } catch (FileAlreadyExistsException e) {
@@ -36,4 +40,9 @@ public class CopyDirectory extends SimpleFileVisitor<Path> {
         }
         return FileVisitResult.CONTINUE;
     }
+
+    private Path targetPathOf(Path sourcePath) {
+        // Resolve the relative path as a string, as the target directory may be on a different file system
+        return target.resolve(source.relativize(sourcePath).toString());
+    }
 }
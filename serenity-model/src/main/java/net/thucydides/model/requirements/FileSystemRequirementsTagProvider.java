@@ -15,6 +15,7 @@ import net.thucydides.model.domain.TestTag;
 import net.thucydides.model.requirements.model.*;
 import net.thucydides.model.requirements.model.cucumber.CucumberParser;
 import net.thucydides.model.requirements.model.cucumber.InvalidFeatureFileException;
+import net.thucydides.model.statistics.service.TagProvider;
 import net.thucydides.model.util.EnvironmentVariables;
 import net.thucydides.model.util.Inflector;
 import org.apache.commons.io.FileUtils;
@@ -232,6 +233,17 @@ public class FileSystemRequirementsTagProvider extends AbstractRequirementsTagPr
         return tags;
     }
 
+    /**
+     * The requirement tags only depend on the path and parent requirement of each test outcome,
+     * so they are worked out once for each feature or story file rather than for every scenario.
+     */
+    @Override
+    public List<Set<TestTag>> getTagsForEach(final List<? extends TestOutcome> testOutcomes) {
+        return TagProvider.tagsMemoisedBy(testOutcomes,
+                testOutcome -> Arrays.asList(testOutcome.getPath(), testOutcome.getParentId()),
+                this::getTagsFor);
+    }
+
     java.util.Optional<Requirement> requirementWithMatchingFeatureFile(TestOutcome testOutcome) {
         String candidatePath = testOutcome.getPath();
         String parentRequirementId = testOutcome.getParentId();
@@ -22,8 +22,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,6 +46,8 @@ public class CucumberParser {
 
     private final String locale;
     private final String encoding;
+    private final FeatureSummaryCache summaryCache;
+    private final FeatureParsingStatistics statistics;
     private final static Supplier<UUID> ID_SUPPLIER = UUID::randomUUID;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CucumberParser.class);
@@ -54,8 +62,17 @@ public class CucumberParser {
     }
 
     public CucumberParser(String locale, EnvironmentVariables environmentVariables) {
+        this(locale, environmentVariables, FeatureSummaryCache.getCache(), FeatureParsingStatistics.getStatistics());
+    }
+
+    public CucumberParser(String locale,
+                          EnvironmentVariables environmentVariables,
+                          FeatureSummaryCache summaryCache,
+                          FeatureParsingStatistics statistics) {
         this.locale = locale;
         this.encoding = ThucydidesSystemProperty.FEATURE_FILE_ENCODING.from(environmentVariables, Charset.defaultCharset().name());
+        this.summaryCache = summaryCache;
+        this.statistics = statistics;
     }
 
     public Optional<AnnotatedFeature> loadFeature(File featureFile) {
@@ -214,13 +231,97 @@ public class CucumberParser {
     }
 
     public Optional<RequirementDefinition> loadFeatureDefinition(File featureFile) {
+        if (featureFile == null || !featureFile.exists()) {
+            return Optional.empty();
+        }
+        return loadFeatureSummary(featureFile).getRequirementDefinition();
+    }
 
-        Optional<AnnotatedFeature> loadedFeature = loadFeature(featureFile);
+    /**
+     * Load a summary of a feature file, using a cached summary if the file has been parsed before.
+     */
+    public FeatureSummary loadFeatureSummary(File featureFile) {
+        String key;
+        try {
+            key = summaryCache.keyFor(featureFile, locale, encoding);
+        } catch (IOException couldNotReadFeatureFile) {
+            return parseFeatureSummary(featureFile);
+        }
+        Optional<FeatureSummary> cachedSummary = summaryCache.get(key);
+        if (cachedSummary.isPresent()) {
+            statistics.recordCacheHit();
+            return cachedSummary.get();
+        }
+        statistics.recordCacheMiss();
+        FeatureSummary summary = parseFeatureSummary(featureFile);
+        summaryCache.put(key, summary);
+        return summary;
+    }
 
-        if (!loadedFeature.isPresent()) {
-            return Optional.empty();
-        } else {
-            return getRequirementsDefinitionFrom(loadedFeature);
+    /**
+     * Load summaries of all the feature files in a directory and its subdirectories, parsing them in parallel.
+     */
+    public Map<File, FeatureSummary> loadFeatureSummaries(Path featureDirectory) throws IOException {
+        try (Stream<Path> paths = Files.walk(featureDirectory)) {
+            return loadFeatureSummaries(
+                    paths.filter(path -> path.toString().endsWith(".feature"))
+                         .filter(Files::isRegularFile)
+                         .map(Path::toFile)
+                         .sorted()
+                         .collect(Collectors.toList())
+            );
+        }
+    }
+
+    /**
+     * Load summaries of the given feature files, parsing them in parallel.
+     * A feature file that cannot be processed is returned as an invalid feature summary rather than causing the whole batch to fail.
+     */
+    public Map<File, FeatureSummary> loadFeatureSummaries(Collection<File> featureFiles) {
+        long start = System.nanoTime();
+        int numberOfThreads = Math.max(1, Math.min(featureFiles.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executorPool = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            Map<File, Future<FeatureSummary>> pendingSummaries = new LinkedHashMap<>();
+            for (File featureFile : featureFiles) {
+                pendingSummaries.put(featureFile, executorPool.submit(() -> loadFeatureSummary(featureFile)));
+            }
+            Map<File, FeatureSummary> summaries = new LinkedHashMap<>();
+            for (Map.Entry<File, Future<FeatureSummary>> pendingSummary : pendingSummaries.entrySet()) {
+                summaries.put(pendingSummary.getKey(), summaryFrom(pendingSummary.getValue()));
+            }
+            LOGGER.debug("Loaded {} feature summaries in {} ms: {}",
+                    summaries.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), statistics);
+            return summaries;
+        } finally {
+            executorPool.shutdown();
+        }
+    }
+
+    private FeatureSummary summaryFrom(Future<FeatureSummary> pendingSummary) {
+        try {
+            return pendingSummary.get();
+        } catch (ExecutionException e) {
+            return FeatureSummary.invalid(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing feature files", e);
+        }
+    }
+
+    private FeatureSummary parseFeatureSummary(File featureFile) {
+        long start = System.nanoTime();
+        try {
+            Optional<AnnotatedFeature> loadedFeature = loadFeature(featureFile);
+            if (!loadedFeature.isPresent()) {
+                return FeatureSummary.unreadable();
+            }
+            return FeatureSummary.of(loadedFeature.get().getFeature().getName(),
+                                     getRequirementsDefinitionFrom(loadedFeature).get());
+        } catch (InvalidFeatureFileException invalidFeatureFile) {
+            return FeatureSummary.invalid(invalidFeatureFile);
+        } finally {
+            statistics.recordParse(System.nanoTime() - start);
         }
     }
 
@@ -10,7 +10,8 @@ import static net.thucydides.model.requirements.model.cucumber.FeatureFileAnaysi
 
 /**
  * Check whether a stream of files contains valid feature files, and throw an InvalidFeatureFileException if one is either not valid Gherkin syntax,
- * or contains errors or inconsistencies such as empty or duplicate scenario names
+ * or contains errors or inconsistencies such as empty or duplicate scenario names.
+ * Feature files are parsed in parallel, and unchanged feature files are not parsed again if a feature summary cache is configured.
  */
 public class FeatureFileChecker {
 
@@ -22,31 +23,26 @@ public class FeatureFileChecker {
         // Features can have duplicate names but a feature file name and parent directory name should be unique
         ConcurrentHashMap<String, List<File>> pathNamesToFeatureFiles = new ConcurrentHashMap<>();
 
-        List<String> errorMessages = files
-                .filter(File::isFile)
-                .map(featureFile -> {
-                    try {
-                        Optional<AnnotatedFeature> loadedFeature = cucumberParser.loadFeature(featureFile);
-                        loadedFeature.ifPresent(
-                                annotatedFeature -> {
-                                    recordFeaturePath(pathNamesToFeatureFiles,
-                                            featureFile,
-                                            annotatedFeature);
-                                    featureFileNames.add(annotatedFeature.getFeature().getName());
+        List<File> featureFiles = files.filter(File::isFile).collect(Collectors.toList());
+        Map<File, FeatureSummary> featureSummaries = cucumberParser.loadFeatureSummaries(featureFiles);
+
+        List<String> errorMessages = new ArrayList<>();
+        featureSummaries.forEach(
+                (featureFile, summary) -> {
+                    if (summary.isInvalid()) {
+                        errorMessages.add("* Error found in feature file: " + featureFile.getAbsolutePath()
+                                + System.lineSeparator()
+                                + "    " + summary.getError().orElse("") + ":" + summary.getErrorMessage().orElse(""));
+                    } else {
+                        summary.getFeatureName().ifPresent(
+                                featureName -> {
+                                    recordFeaturePath(pathNamesToFeatureFiles, featureFile, featureName);
+                                    featureFileNames.add(featureName);
                                 }
                         );
-                        return Optional.empty();
-                    } catch (Throwable invalidFeatureFile) {
-                        invalidFeatureFile.printStackTrace();
-                        return Optional.of("* Error found in feature file: " + featureFile.getAbsolutePath()
-                                + System.lineSeparator()
-                                + "    " + invalidFeatureFile + ":" + invalidFeatureFile.getMessage());
                     }
-                })
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(Object::toString)
-                .collect(Collectors.toList());
+                }
+        );
 
         // Check for duplicate feature names
         // Feature file names should be unique, or unique within a folder
@@ -82,8 +78,7 @@ public class FeatureFileChecker {
 
     private static void recordFeaturePath(ConcurrentHashMap<String, List<File>> pathNamesToFeatureFiles,
                                           File featureFile,
-                                          AnnotatedFeature loadedFeature) {
-        String featureName = loadedFeature.getFeature().getName();
+                                          String featureName) {
         String parentName = new File(featureFile.getParent()).getName();
         String localFeaturePath = parentName + "/" + featureName;
 
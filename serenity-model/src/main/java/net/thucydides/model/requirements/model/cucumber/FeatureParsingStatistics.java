@@ -0,0 +1,63 @@
+package net.thucydides.model.requirements.model.cucumber;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many feature files were parsed, how long parsing took, and how often a cached feature summary could be used instead.
+ */
+public class FeatureParsingStatistics {
+
+    private static final FeatureParsingStatistics STATISTICS = new FeatureParsingStatistics();
+
+    private final LongAdder featuresParsed = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public static FeatureParsingStatistics getStatistics() {
+        return STATISTICS;
+    }
+
+    void recordParse(long durationInNanos) {
+        featuresParsed.increment();
+        parseNanos.add(durationInNanos);
+    }
+
+    void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    void recordCacheMiss() {
+        cacheMisses.increment();
+    }
+
+    public long getFeaturesParsed() {
+        return featuresParsed.sum();
+    }
+
+    public Duration getParseTime() {
+        return Duration.ofNanos(parseNanos.sum());
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public void reset() {
+        featuresParsed.reset();
+        parseNanos.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Parsed %d feature files in %d ms (%d cache hits, %d cache misses)",
+                getFeaturesParsed(), getParseTime().toMillis(), getCacheHits(), getCacheMisses());
+    }
+}
@@ -0,0 +1,142 @@
+package net.thucydides.model.requirements.model.cucumber;
+
+import net.thucydides.model.domain.TestTag;
+import net.thucydides.model.requirements.model.FeatureBackgroundNarrative;
+import net.thucydides.model.requirements.model.RequirementDefinition;
+
+import java.util.*;
+
+/**
+ * The parts of a parsed feature file that Serenity needs for requirements discovery and feature file checks.
+ * Unlike the full Gherkin document, a feature summary is small and can be stored on disk, so that a feature file
+ * that has not changed does not need to be parsed again by a later process.
+ */
+public class FeatureSummary {
+
+    private final boolean readable;
+    private final String featureName;
+    private final String error;
+    private final String errorMessage;
+    /**
+     * The original error, which is only available in the process that parsed the feature file.
+     */
+    private final transient Throwable cause;
+
+    private final String title;
+    private final String id;
+    private final String cardNumber;
+    private final List<String> versionNumbers;
+    private final String type;
+    private final String text;
+    private final List<TestTag> tags;
+    private final List<String> scenarios;
+    private final Map<String, List<TestTag>> scenarioTags;
+    private final FeatureBackgroundNarrative background;
+    private final Map<String, FeatureBackgroundNarrative> ruleBackgrounds;
+
+    private FeatureSummary(boolean readable, String featureName, String error, String errorMessage, Throwable cause,
+                           RequirementDefinition definition) {
+        this.readable = readable;
+        this.featureName = featureName;
+        this.error = error;
+        this.errorMessage = errorMessage;
+        this.cause = cause;
+        if (definition != null) {
+            this.title = definition.getTitle().orElse(null);
+            this.id = definition.getId().orElse(null);
+            this.cardNumber = definition.getCardNumber().orElse(null);
+            this.versionNumbers = new ArrayList<>(definition.getVersionNumbers());
+            this.type = definition.getType();
+            this.text = definition.getText();
+            this.tags = new ArrayList<>(definition.getTags());
+            this.scenarios = new ArrayList<>(definition.getScenarios());
+            this.scenarioTags = new HashMap<>();
+            definition.getScenarioTags().forEach((scenario, scenarioTagList) -> scenarioTags.put(scenario, new ArrayList<>(scenarioTagList)));
+            this.background = definition.background().orElse(null);
+            this.ruleBackgrounds = new HashMap<>(definition.getRuleBackgrounds());
+        } else {
+            this.title = null;
+            this.id = null;
+            this.cardNumber = null;
+            this.versionNumbers = new ArrayList<>();
+            this.type = null;
+            this.text = null;
+            this.tags = new ArrayList<>();
+            this.scenarios = new ArrayList<>();
+            this.scenarioTags = new HashMap<>();
+            this.background = null;
+            this.ruleBackgrounds = new HashMap<>();
+        }
+    }
+
+    static FeatureSummary of(String featureName, RequirementDefinition definition) {
+        return new FeatureSummary(true, featureName, null, null, null, definition);
+    }
+
+    static FeatureSummary unreadable() {
+        return new FeatureSummary(false, null, null, null, null, null);
+    }
+
+    static FeatureSummary invalid(Throwable error) {
+        return new FeatureSummary(true, null, error.toString(), error.getMessage(), error, null);
+    }
+
+    /**
+     * False if the file could not be read as a feature file (e.g. it does not contain a feature).
+     */
+    public boolean isReadable() {
+        return readable;
+    }
+
+    /**
+     * True if the feature file contains Gherkin syntax errors or fails the Serenity feature file checks.
+     */
+    public boolean isInvalid() {
+        return error != null;
+    }
+
+    public Optional<String> getFeatureName() {
+        return Optional.ofNullable(featureName);
+    }
+
+    /**
+     * A description of the error found in this feature file, including the type of error.
+     */
+    public Optional<String> getError() {
+        return Optional.ofNullable(error);
+    }
+
+    public Optional<String> getErrorMessage() {
+        return Optional.ofNullable(errorMessage);
+    }
+
+    /**
+     * The requirement definition for this feature, or an empty value if the feature file could not be read.
+     *
+     * @throws InvalidFeatureFileException if the feature file was invalid, caused by the original error
+     * unless the summary was read from the cache directory
+     */
+    public Optional<RequirementDefinition> getRequirementDefinition() {
+        if (isInvalid() && cause != null) {
+            throw new InvalidFeatureFileException(errorMessage, cause);
+        }
+        if (isInvalid()) {
+            throw new InvalidFeatureFileException(errorMessage);
+        }
+        if (!readable) {
+            return Optional.empty();
+        }
+        Map<String, Collection<TestTag>> definitionScenarioTags = new HashMap<>(scenarioTags);
+        return Optional.of(new RequirementDefinition(Optional.ofNullable(title),
+                Optional.ofNullable(id),
+                Optional.ofNullable(cardNumber),
+                new ArrayList<>(versionNumbers),
+                type,
+                text,
+                tags,
+                new ArrayList<>(scenarios),
+                definitionScenarioTags)
+                .withBackground(background)
+                .withRuleBackgrounds(new HashMap<>(ruleBackgrounds)));
+    }
+}
@@ -0,0 +1,130 @@
+package net.thucydides.model.requirements.model.cucumber;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_FEATURE_CACHE_DIRECTORY;
+
+/**
+ * Stores feature summaries keyed by a hash of the feature file contents, so that unchanged feature files are only parsed once.
+ * Summaries are always kept in memory for the life of the JVM. If the serenity.feature.cache.directory property is set,
+ * they are also stored as small JSON files in that directory and reused by later processes
+ * (e.g. report generation after the test run, or the Gherkin checker).
+ */
+public class FeatureSummaryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureSummaryCache.class);
+
+    /**
+     * Change this whenever the content of a FeatureSummary changes, so that stale summaries are ignored.
+     */
+    private static final String SUMMARY_FORMAT_VERSION = "1";
+
+    private static final FeatureSummaryCache FEATURE_SUMMARY_CACHE
+            = new FeatureSummaryCache(SystemEnvironmentVariables.currentEnvironmentVariables());
+
+    private final Map<String, FeatureSummary> summaries = new ConcurrentHashMap<>();
+    private final Path cacheDirectory;
+    private final Gson gson = new GsonBuilder().create();
+
+    public static FeatureSummaryCache getCache() {
+        return FEATURE_SUMMARY_CACHE;
+    }
+
+    protected FeatureSummaryCache(EnvironmentVariables environmentVariables) {
+        this(SERENITY_FEATURE_CACHE_DIRECTORY.optionalFrom(environmentVariables).map(Paths::get).orElse(null));
+    }
+
+    protected FeatureSummaryCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * A key identifying the contents of a feature file, as read with a given locale and encoding.
+     * The normalised absolute path of the file is part of the key, so that feature files with the same name
+     * and contents in different directories each get their own summary.
+     */
+    public String keyFor(File featureFile, String locale, String encoding) throws IOException {
+        byte[] contents = Files.readAllBytes(featureFile.toPath());
+        Path featurePath = featureFile.getAbsoluteFile().toPath().normalize();
+        String context = SUMMARY_FORMAT_VERSION + "|" + featurePath + "|" + locale + "|" + encoding + "|";
+        return DigestUtils.sha256Hex(concat(context.getBytes(StandardCharsets.UTF_8), contents));
+    }
+
+    public Optional<FeatureSummary> get(String key) {
+        FeatureSummary summary = summaries.get(key);
+        if (summary != null) {
+            return Optional.of(summary);
+        }
+        Optional<FeatureSummary> storedSummary = readFromDisk(key);
+        storedSummary.ifPresent(value -> summaries.put(key, value));
+        return storedSummary;
+    }
+
+    public void put(String key, FeatureSummary summary) {
+        summaries.put(key, summary);
+        writeToDisk(key, summary);
+    }
+
+    public void clear() {
+        summaries.clear();
+    }
+
+    private Optional<FeatureSummary> readFromDisk(String key) {
+        if (cacheDirectory == null) {
+            return Optional.empty();
+        }
+        Path summaryFile = cacheDirectory.resolve(key + ".json");
+        if (!Files.exists(summaryFile)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(summaryFile, StandardCharsets.UTF_8)) {
+            return Optional.ofNullable(gson.fromJson(reader, FeatureSummary.class));
+        } catch (Exception e) {
+            LOGGER.debug("Could not read cached feature summary {}", summaryFile, e);
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(String key, FeatureSummary summary) {
+        if (cacheDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path temporaryFile = Files.createTempFile(cacheDirectory, key, ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                gson.toJson(summary, writer);
+            }
+            Files.move(temporaryFile, cacheDirectory.resolve(key + ".json"),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.debug("Could not write cached feature summary for {}", key, e);
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] combined = new byte[first.length + second.length];
+        System.arraycopy(first, 0, combined, 0, first.length);
+        System.arraycopy(second, 0, combined, first.length, second.length);
+        return combined;
+    }
+}
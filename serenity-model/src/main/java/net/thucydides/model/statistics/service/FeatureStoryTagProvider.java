@@ -11,6 +11,7 @@ import net.thucydides.model.requirements.CoreTagProvider;
 import net.thucydides.model.util.EnvironmentVariables;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -30,15 +31,30 @@ public class FeatureStoryTagProvider implements TagProvider, CoreTagProvider {
     }
 
     public Set<TestTag> getTagsFor(final TestOutcome testOutcome) {
+        return tagsFor(testOutcome, shouldAddStoryTags());
+    }
+
+    /**
+     * The story and feature tags only depend on the user story, so they are worked out once for each story.
+     */
+    @Override
+    public List<Set<TestTag>> getTagsForEach(final List<? extends TestOutcome> testOutcomes) {
+        boolean addStoryTags = shouldAddStoryTags();
+        return TagProvider.tagsMemoisedBy(testOutcomes, TestOutcome::getUserStory, testOutcome -> tagsFor(testOutcome, addStoryTags));
+    }
+
+    private Set<TestTag> tagsFor(TestOutcome testOutcome, boolean addStoryTags) {
         Set<TestTag> tags = new HashSet<>();
-        addStoryTagIfPresent(testOutcome, tags);
+        if (addStoryTags) {
+            addStoryTagIfPresent(testOutcome, tags);
+        }
         addFeatureTagIfPresent(testOutcome, tags);
         return NewSet.copyOf(tags);
     }
 
     private void addStoryTagIfPresent(TestOutcome testOutcome, Set<TestTag> tags) {
         Story story = testOutcome.getUserStory();
-        if (story != null && shouldAddStoryTags()) {
+        if (story != null) {
             tags.add(story.asTag());
         }
     }
@@ -3,7 +3,9 @@ package net.thucydides.model.statistics.service;
 import net.thucydides.model.domain.TestOutcome;
 import net.thucydides.model.domain.TestTag;
 
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface TagProvider {
 
@@ -13,4 +15,31 @@ public interface TagProvider {
      * @return the tags associated with a given test outcome.
      */
     Set<TestTag> getTagsFor(final TestOutcome testOutcome);
+
+    /**
+     * Returns the tags associated with each of a list of test outcomes, in the same order as the outcomes.
+     * Providers that derive the same tags for many outcomes (for example for every scenario in a feature)
+     * can override this to work them out once, using tagsMemoisedBy().
+     * @param testOutcomes the outcomes of a set of tests
+     * @return the tags associated with each test outcome.
+     */
+    default List<Set<TestTag>> getTagsForEach(final List<? extends TestOutcome> testOutcomes) {
+        return testOutcomes.stream().map(this::getTagsFor).collect(Collectors.toList());
+    }
+
+    /**
+     * Works out the tags of each test outcome, reusing the tags found for an earlier outcome with the same key.
+     * Outcomes with a null key always have their tags worked out individually.
+     */
+    static <K> List<Set<TestTag>> tagsMemoisedBy(List<? extends TestOutcome> testOutcomes,
+                                                 Function<TestOutcome, K> keyOf,
+                                                 Function<TestOutcome, Set<TestTag>> tagsFor) {
+        Map<K, Set<TestTag>> tagsByKey = new HashMap<>();
+        List<Set<TestTag>> tags = new ArrayList<>(testOutcomes.size());
+        for (TestOutcome testOutcome : testOutcomes) {
+            K key = keyOf.apply(testOutcome);
+            tags.add((key == null) ? tagsFor.apply(testOutcome) : tagsByKey.computeIfAbsent(key, unused -> tagsFor.apply(testOutcome)));
+        }
+        return tags;
+    }
 }
@@ -0,0 +1,63 @@
+package net.thucydides.model.statistics.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each tag provider spends working out the tags of test outcomes, so that slow providers
+ * (often custom ones) can be identified.
+ */
+public class TagProviderStatistics {
+
+    private static final TagProviderStatistics STATISTICS = new TagProviderStatistics();
+
+    private final Map<String, ProviderTimings> timingsByProvider = new ConcurrentHashMap<>();
+
+    public static TagProviderStatistics getStatistics() {
+        return STATISTICS;
+    }
+
+    public void recordTagResolution(TagProvider tagProvider, int numberOfOutcomes, long durationInNanos) {
+        ProviderTimings timings = timingsByProvider.computeIfAbsent(tagProvider.getClass().getName(), name -> new ProviderTimings());
+        timings.outcomes.add(numberOfOutcomes);
+        timings.nanos.add(durationInNanos);
+    }
+
+    /**
+     * The total time spent by each tag provider, slowest first.
+     */
+    public Map<String, Duration> getTimeByProvider() {
+        return timingsByProvider.entrySet().stream()
+                .sorted((first, second) -> Long.compare(second.getValue().nanos.sum(), first.getValue().nanos.sum()))
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                                          entry -> Duration.ofNanos(entry.getValue().nanos.sum()),
+                                          (first, second) -> first,
+                                          LinkedHashMap::new));
+    }
+
+    public long getOutcomesProcessedBy(Class<? extends TagProvider> tagProvider) {
+        ProviderTimings timings = timingsByProvider.get(tagProvider.getName());
+        return (timings == null) ? 0 : timings.outcomes.sum();
+    }
+
+    public void reset() {
+        timingsByProvider.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "Tag provider times: " + getTimeByProvider().entrySet().stream()
+                .map(entry -> String.format("%s %d ms (%d outcomes)",
+                        entry.getKey(), entry.getValue().toMillis(), timingsByProvider.get(entry.getKey()).outcomes.sum()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static class ProviderTimings {
+        private final LongAdder outcomes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
@@ -0,0 +1,140 @@
+package net.serenitybdd.model.aggregates
+
+import net.thucydides.model.domain.TestOutcome
+import net.thucydides.model.reports.TestOutcomeLoader
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+import static net.thucydides.model.domain.TestResult.*
+
+class WhenMergingPartialAggregates extends Specification {
+
+    static final Path SAMPLE_OUTCOMES = Paths.get("src/test/resources/sample-full-json-report")
+
+    static final List<Path> SAMPLE_OUTCOME_FILES = Files.list(SAMPLE_OUTCOMES).withCloseable { files ->
+        files.filter { it.fileName.toString().endsWith(".json") }.sorted().collect()
+    }
+
+    List<TestOutcome> allOutcomes = new TestOutcomeLoader().loadFrom(SAMPLE_OUTCOME_FILES)
+
+    Path runDirectory = Files.createTempDirectory("sharded-run")
+
+    def "should give the same results when merging the shards as when aggregating all of the outcomes at once"() {
+        given:
+            def wholeRun = PartialAggregate.of("all", allOutcomes)
+        when:
+            def merged = PartialAggregate.merge(shards(3).withIndex().collect { outcomes, index -> PartialAggregate.of("shard-$index", outcomes) })
+        then:
+            merged.results.counts == wholeRun.results.counts
+            merged.results.duration == wholeRun.results.duration
+            merged.tags.collectEntries { tag, tally -> [tag, tally.counts] } == wholeRun.tags.collectEntries { tag, tally -> [tag, tally.counts] }
+            merged.requirements.collectEntries { name, tally -> [name, tally.counts] } == wholeRun.requirements.collectEntries { name, tally -> [name, tally.counts] }
+            merged.durations.counts == wholeRun.durations.counts
+            merged.failures*.errorType == wholeRun.failures*.errorType
+            merged.failures*.count == wholeRun.failures*.count
+            merged.slowestTests*.testId == wholeRun.slowestTests*.testId
+            merged.elapsedTime == wholeRun.elapsedTime
+        and:
+            merged.shards == ["shard-0", "shard-1", "shard-2"]
+            merged.results.total == allOutcomes.size()
+    }
+
+    def "should give the same results whatever order the shards are merged in"() {
+        given:
+            def partialAggregates = shards(4).withIndex().collect { outcomes, index -> PartialAggregate.of("shard-$index", outcomes) }
+        when:
+            def inOrder = PartialAggregate.merge(partialAggregates)
+            def reversed = PartialAggregate.merge(partialAggregates.reverse())
+            def pairwise = partialAggregates[0].mergedWith(partialAggregates[1]).mergedWith(partialAggregates[2].mergedWith(partialAggregates[3]))
+        then:
+            [reversed, pairwise].every {
+                it.results.counts == inOrder.results.counts &&
+                        it.tags.keySet() == inOrder.tags.keySet() &&
+                        it.durations.counts == inOrder.durations.counts &&
+                        it.slowestTests*.testId == inOrder.slowestTests*.testId &&
+                        it.failures*.count == inOrder.failures*.count
+            }
+    }
+
+    def "should merge the partial aggregates written in each shard directory"() {
+        given:
+            def shardDirectories = shardFiles(3).withIndex().collect { outcomeFiles, index ->
+                def shardDirectory = runDirectory.resolve("agent-$index").resolve("target/site/serenity")
+                Files.createDirectories(shardDirectory)
+                copy(outcomeFiles, shardDirectory)
+                PartialAggregate.recordFor("agent-$index", shardDirectory)
+                shardDirectory
+            }
+        when:
+            def found = PartialAggregate.shardDirectoriesIn(runDirectory)
+            def merged = PartialAggregate.mergeFrom(found)
+        then:
+            found == shardDirectories
+            merged.results.total == allOutcomes.size()
+            merged.results.counts == PartialAggregate.of("all", allOutcomes).results.counts
+    }
+
+    def "should read back a partial aggregate exactly as it was written"() {
+        given:
+            def aggregate = PartialAggregate.of("shard-1", allOutcomes)
+        when:
+            aggregate.writeTo(runDirectory)
+            def readBack = PartialAggregate.readFrom(runDirectory)
+        then:
+            readBack.shards == ["shard-1"]
+            readBack.results.counts == aggregate.results.counts
+            readBack.tags.keySet() == aggregate.tags.keySet()
+            readBack.durations.getApproximatePercentile(0.95) == aggregate.durations.getApproximatePercentile(0.95)
+            readBack.failures*.examples == aggregate.failures*.examples
+            readBack.firstStartTime == aggregate.firstStartTime
+        and: "no temporary files are left behind"
+            Files.list(runDirectory).withCloseable { it.collect { it.fileName.toString() } } == [PartialAggregate.FILE_NAME]
+    }
+
+    def "should not mistake a partial aggregate for a test outcome"() {
+        given:
+            copy(SAMPLE_OUTCOME_FILES, runDirectory)
+        when:
+            PartialAggregate.recordFor("shard-1", runDirectory)
+        then:
+            new TestOutcomeLoader().loadFrom(runDirectory.toFile()).size() == allOutcomes.size()
+    }
+
+    def "should count failures, errors and compromised tests as unsuccessful"() {
+        given:
+            def tally = new ResultTally()
+        when:
+            tally.add(SUCCESS, 100)
+            tally.add(FAILURE, 200)
+            tally.add(ERROR, 300)
+            tally.add(COMPROMISED, 400)
+            tally.add(PENDING, 0)
+        then:
+            tally.total == 5
+            tally.passing == 1
+            tally.unsuccessful == 3
+            tally.duration.toMillis() == 1000
+    }
+
+    def "should complain about a shard directory without a partial aggregate"() {
+        when:
+            PartialAggregate.readFrom(runDirectory)
+        then:
+            thrown(IOException)
+    }
+
+    private List<List<TestOutcome>> shards(int count) {
+        shardFiles(count).collect { new TestOutcomeLoader().loadFrom(it) }
+    }
+
+    private static List<List<Path>> shardFiles(int count) {
+        (0..<count).collect { shard -> SAMPLE_OUTCOME_FILES.findAll { SAMPLE_OUTCOME_FILES.indexOf(it) % count == shard } }
+    }
+
+    private static void copy(List<Path> outcomeFiles, Path directory) {
+        outcomeFiles.each { Files.copy(it, directory.resolve(it.fileName.toString())) }
+    }
+}
@@ -0,0 +1,119 @@
+package net.serenitybdd.model.compact
+
+import net.thucydides.model.domain.TestOutcome
+import net.thucydides.model.domain.TestStep
+import net.thucydides.model.domain.TestTag
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.reports.TestOutcomeLoader
+import net.thucydides.model.reports.TestOutcomes
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class WhenCompactingTestOutcomes extends Specification {
+
+    static final Path SAMPLE_OUTCOMES = Paths.get("src/test/resources/sample-full-json-report")
+
+    static final List<Path> SAMPLE_OUTCOME_FILES = Files.list(SAMPLE_OUTCOMES).withCloseable { files ->
+        files.filter { it.fileName.toString().endsWith(".json") }.sorted().collect()
+    }
+
+    List<TestOutcome> outcomes = new TestOutcomeLoader().loadFrom(SAMPLE_OUTCOME_FILES)
+    List<TestOutcome> compactOutcomes = new TestOutcomeLoader().inCompactForm().loadFrom(SAMPLE_OUTCOME_FILES)
+
+    def "compact outcomes should have the same test steps as the original outcomes"() {
+        expect:
+            compactOutcomes*.id == outcomes*.id
+            compactOutcomes*.testSteps.every { it instanceof CompactTestSteps }
+        and:
+            [outcomes, compactOutcomes].transpose().every { TestOutcome original, TestOutcome compact ->
+                stepSummaryOf(compact.flattenedTestSteps) == stepSummaryOf(original.flattenedTestSteps) &&
+                        compact.leafTestSteps*.description == original.leafTestSteps*.description &&
+                        compact.screenshots*.screenshotName == original.screenshots*.screenshotName &&
+                        compact.result == original.result &&
+                        compact.testFailureClassname == original.testFailureClassname
+            }
+    }
+
+    def "the number of steps should be known without decoding the steps"() {
+        given:
+            def index = (0..<outcomes.size()).max { outcomes[it].nestedStepCount }
+            def outcome = compactOutcomes[index]
+            def original = outcomes[index]
+        when:
+            def stepCount = outcome.stepCount
+            def nestedStepCount = outcome.nestedStepCount
+        then:
+            stepCount == original.stepCount
+            nestedStepCount == original.nestedStepCount
+            nestedStepCount > stepCount
+            !(outcome.testSteps as CompactTestSteps).decoded
+        when:
+            outcome.testSteps[0]
+        then:
+            (outcome.testSteps as CompactTestSteps).decoded
+    }
+
+    def "outcomes loaded together should share their tags and step descriptions"() {
+        given:
+            def compactor = new OutcomeCompactor()
+            def firstOutcome = TestOutcome.forTestInStory("first test", null)
+            def secondOutcome = TestOutcome.forTestInStory("second test", null)
+            [firstOutcome, secondOutcome].each { outcome ->
+                outcome.addTag(TestTag.withName("Checkout").andType("feature"))
+                outcome.recordStep(new TestStep("Given the customer has " + "2 items"))
+            }
+        when:
+            [firstOutcome, secondOutcome].each { compactor.compact(it) }
+        then:
+            firstOutcome.tags[0].is(secondOutcome.tags[0])
+            firstOutcome.testSteps[0].description.is(secondOutcome.testSteps[0].description)
+    }
+
+    def "compact steps should be read-only, but new steps can still be recorded"() {
+        given:
+            def outcome = compactOutcomes[0]
+            def stepCount = outcome.stepCount
+        when:
+            outcome.testSteps.add(new TestStep("Another step"))
+        then:
+            thrown(UnsupportedOperationException)
+        when:
+            outcome.recordStep(new TestStep("Another step"))
+        then:
+            outcome.stepCount == stepCount + 1
+            outcome.testSteps.last().description == "Another step"
+    }
+
+    def "report statistics should be the same for compact outcomes"() {
+        given:
+            def testOutcomes = TestOutcomes.of(outcomes)
+            def compactTestOutcomes = TestOutcomes.of(compactOutcomes)
+        expect:
+            compactTestOutcomes.stepCount == testOutcomes.stepCount
+            compactTestOutcomes.total == testOutcomes.total
+            compactTestOutcomes.totalTests.withResult("success") == testOutcomes.totalTests.withResult("success")
+            compactTestOutcomes.totalTests.withResult("failure") == testOutcomes.totalTests.withResult("failure")
+            compactTestOutcomes.tags == testOutcomes.tags
+            compactTestOutcomes.duration == testOutcomes.duration
+    }
+
+    def "outcomes should be loaded in compact form when the serenity.compactOutcomes property is set"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("serenity.compactOutcomes", "true")
+        when:
+            def loadedOutcomes = new TestOutcomeLoader(environmentVariables).loadFrom(SAMPLE_OUTCOMES.toFile())
+        then:
+            loadedOutcomes*.testSteps.every { it instanceof CompactTestSteps }
+    }
+
+    private static List<String> stepSummaryOf(List<TestStep> steps) {
+        steps.collect { step ->
+            [step.description, step.result, step.duration, step.startTime?.toInstant()?.toEpochMilli(), step.level,
+             step.children.size(), step.screenshots*.screenshotName, step.exception?.errorType, step.restQuery?.path].join("|")
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package net.serenitybdd.model.history
+
+import net.thucydides.model.domain.TestResult
+import net.thucydides.model.environment.MockEnvironmentVariables
+import org.apache.commons.io.FileUtils
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardOpenOption
+import java.time.Duration
+import java.time.Instant
+
+import static net.thucydides.model.domain.TestResult.*
+
+class WhenRecordingTestHistoryInSegments extends Specification {
+
+    private static final Instant FIRST_RUN = Instant.parse("2024-01-01T00:00:00Z")
+
+    Path historyDirectory
+
+    def setup() {
+        historyDirectory = Files.createTempDirectory("history")
+    }
+
+    def cleanup() {
+        FileUtils.deleteDirectory(historyDirectory.toFile())
+    }
+
+    def "should read back each recorded run in the order it was recorded"() {
+        given:
+            def store = new SegmentedHistoryStore(historyDirectory, false)
+            def firstRun = [record("a", SUCCESS, 100), record("b", FAILURE, 250, "Expected 1 but was 2"), record("c", SKIPPED, 0)]
+            def secondRun = [record("b", SUCCESS, 240), record("a", ERROR, 90, "Boom"), record("d", PENDING, 0)]
+        when:
+            store.recordRun(FIRST_RUN, firstRun)
+            store.recordRun(FIRST_RUN.plusSeconds(3600), secondRun)
+        then:
+            recordsIn(store) == [firstRun, secondRun]
+        and:
+            store.runs.collect { [it.runTime, it.numberOfTests, it.passingTests, it.unsuccessfulTests] } ==
+                    [[FIRST_RUN, 3, 1, 1], [FIRST_RUN.plusSeconds(3600), 3, 1, 1]]
+    }
+
+    def "should carry on appending to the last segment after the store is reopened"() {
+        given:
+            def tests = (1..50).collect { "a rather long test identifier for test number $it" }
+            new SegmentedHistoryStore(historyDirectory, false).recordRun(FIRST_RUN, tests.collect { record(it, SUCCESS, 10) })
+            def sizeAfterFirstRun = segmentDataSize()
+        when:
+            def reopenedStore = new SegmentedHistoryStore(historyDirectory, false)
+            reopenedStore.recordRun(FIRST_RUN.plusSeconds(60), tests.collect { record(it, FAILURE, 20) })
+        then: "test ids are only written once per segment"
+            segmentFiles().size() == 1
+            segmentDataSize() - sizeAfterFirstRun < sizeAfterFirstRun / 10
+        and:
+            recordsIn(reopenedStore)*.size() == [50, 50]
+            recordsIn(reopenedStore)[1].every { it.result == FAILURE && it.durationInMillis == 20 }
+    }
+
+    def "should start a new segment once the current one is full"() {
+        given:
+            def store = new SegmentedHistoryStore(historyDirectory, false, 25)
+        when:
+            10.times { run -> store.recordRun(FIRST_RUN.plusSeconds(run), (1..10).collect { record("test $it", SUCCESS, run) }) }
+        then:
+            segmentFiles().size() == 4
+            store.runs.size() == 10
+            recordsIn(new SegmentedHistoryStore(historyDirectory, false, 25)).collect { it*.durationInMillis.unique() } ==
+                    (0..9).collect { [it as long] }
+    }
+
+    def "should ignore a partly written run"() {
+        given:
+            def store = new SegmentedHistoryStore(historyDirectory, false)
+            store.recordRun(FIRST_RUN, [record("a", SUCCESS, 100)])
+        and: "a run that was interrupted before its index entry was complete"
+            Files.write(segmentFiles()[0], [1, 2, 3, 4, 5] as byte[], StandardOpenOption.APPEND)
+            Files.write(indexFileOf(segmentFiles()[0]), [0, 0, 1] as byte[], StandardOpenOption.APPEND)
+        expect:
+            recordsIn(store) == [[record("a", SUCCESS, 100)]]
+        when:
+            new SegmentedHistoryStore(historyDirectory, false).recordRun(FIRST_RUN.plusSeconds(1), [record("b", FAILURE, 5)])
+        then:
+            recordsIn(store) == [[record("a", SUCCESS, 100)], [record("b", FAILURE, 5)]]
+    }
+
+    def "should provide the latest outcome of each test as the previous test outcomes"() {
+        given:
+            def store = new SegmentedHistoryStore(historyDirectory, false)
+            store.recordRun(FIRST_RUN, [record("a", SUCCESS, 100), record("b", SUCCESS, 100)])
+            store.recordRun(FIRST_RUN.plusSeconds(1), [record("a", FAILURE, 100, "Oops")])
+        when:
+            def summaries = store.loadSummaries()
+        then:
+            summaries.collect { [it.id, it.result, it.testFailureSummary] } == [["a", FAILURE, "Oops"], ["b", SUCCESS, null]]
+    }
+
+    def "should record the same summaries from a directory of test outcomes as the summary file recorder"() {
+        given:
+            def sourceDirectory = Paths.get(getClass().getResource("/sample-junit4-outcomes").toURI())
+            def store = new SegmentedHistoryStore(historyDirectory, true)
+            def summaryFileRecorder = new FileSystemTestOutcomeSummaryRecorder(Files.createTempDirectory("summaries"), true)
+        when:
+            store.recordOutcomeSummariesFrom(sourceDirectory)
+            summaryFileRecorder.recordOutcomeSummariesFrom(sourceDirectory)
+        then:
+            store.loadSummaries().collect { [it.id, it.name, it.result] } as Set ==
+                    summaryFileRecorder.loadSummaries().collect { [it.id, it.name, it.result] } as Set
+            !store.loadSummaries().isEmpty()
+    }
+
+    def "should work out trends across thousands of runs"() {
+        given:
+            def store = new SegmentedHistoryStore(historyDirectory, false, 2000)
+            def numberOfRuns = 3000
+            numberOfRuns.times { run -> store.recordRun(FIRST_RUN.plusSeconds(run * 600), syntheticRun(run, numberOfRuns)) }
+        when:
+            def analytics = new SegmentedHistoryStore(historyDirectory, false).analytics
+        then:
+            segmentFiles().size() == 9
+            analytics.runs.size() == numberOfRuns
+            analytics.passRateTrend.size() == numberOfRuns
+            analytics.passRateTrend[0] == 5d / 6
+            analytics.passRateTrend[1] == 4d / 5
+        and: "a test that always passes"
+            with(analytics.getStatisticsFor("stable").get()) {
+                runs == numberOfRuns
+                passRate == 1.0d
+                flips == 0
+                meanDuration == Duration.ofMillis(100)
+            }
+        and: "a test that fails one time in ten"
+            with(analytics.getStatisticsFor("occasionally-failing").get()) {
+                failures == 300
+                passRate == 0.9d
+                flips == 599
+            }
+            analytics.getPassRateTrendFor("occasionally-failing", 1000) == [0.9d, 0.9d, 0.9d]
+        and: "a test that alternates between passing and failing"
+            analytics.getFlakiestTests(2)*.testId == ["flaky", "occasionally-failing"]
+            analytics.getStatisticsFor("flaky").get().flips == numberOfRuns - 1
+        and: "skipped runs are not counted as passing or failing"
+            with(analytics.getStatisticsFor("sometimes-skipped").get()) {
+                runs == numberOfRuns
+                passes + failures == numberOfRuns / 2
+                flips == 0
+            }
+        and: "durations"
+            analytics.getStatisticsFor("variable-duration").get().p95Duration == Duration.ofMillis(94)
+            analytics.getStatisticsFor("variable-duration").get().meanDuration == Duration.ofMillis(49)
+        and: "a test that has recently got slower"
+            analytics.getNewlySlowTests(20, 1.5)*.testId == ["recently-slow"]
+            analytics.getNewlySlowTests(20, 1.5)[0].usualDuration < Duration.ofMillis(250)
+            analytics.getNewlySlowTests(20, 1.5)[0].recentDuration == Duration.ofMillis(1000)
+    }
+
+    def "should choose the history store from the history format"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("serenity.historyDirectory", historyDirectory.toString())
+        expect:
+            HistoryFormat.summaryRecorderFor(environmentVariables) instanceof FileSystemTestOutcomeSummaryRecorder
+        when:
+            environmentVariables.setProperty("serenity.historyFormat", "segments")
+        then:
+            HistoryFormat.summaryRecorderFor(environmentVariables) instanceof SegmentedHistoryStore
+        when:
+            HistoryFormat.from("database")
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def "should store the history as summaries if the history format is not known"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("serenity.historyDirectory", historyDirectory.toString())
+            environmentVariables.setProperty("serenity.historyFormat", "database")
+        expect:
+            HistoryFormat.summaryRecorderFor(environmentVariables) instanceof FileSystemTestOutcomeSummaryRecorder
+    }
+
+    private static List<HistoryRecord> syntheticRun(int run, int numberOfRuns) {
+        [
+                record("stable", SUCCESS, 100),
+                record("occasionally-failing", (run % 10 == 0) ? FAILURE : SUCCESS, 100, (run % 10 == 0) ? "Failed" : null),
+                record("flaky", (run % 2 == 0) ? SUCCESS : FAILURE, 100),
+                record("sometimes-skipped", (run % 2 == 0) ? SUCCESS : SKIPPED, 100),
+                record("variable-duration", SUCCESS, run % 100),
+                record("recently-slow", SUCCESS, (run >= numberOfRuns - 20) ? 1000 : 150 + (run % 51))
+        ]
+    }
+
+    private static HistoryRecord record(String testId, TestResult result, long duration, String failureSummary = null) {
+        new HistoryRecord(testId, "Test " + testId, result, duration, FIRST_RUN.toEpochMilli(), failureSummary)
+    }
+
+    private static List<List<HistoryRecord>> recordsIn(SegmentedHistoryStore store) {
+        def runs = []
+        store.forEachRun { run, records -> runs << records }
+        runs
+    }
+
+    private List<Path> segmentFiles() {
+        Files.list(historyDirectory.resolve("segments")).withCloseable { files ->
+            files.filter { it.fileName.toString().endsWith(".data") }.sorted().collect()
+        }
+    }
+
+    private long segmentDataSize() {
+        segmentFiles().sum { Files.size(it) } as long
+    }
+
+    private static Path indexFileOf(Path dataFile) {
+        dataFile.resolveSibling(dataFile.fileName.toString().replace(".data", ".index"))
+    }
+}
@@ -0,0 +1,161 @@
+package net.thucydides.model.domain
+
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.reports.TestOutcomes
+import net.thucydides.model.statistics.service.FeatureStoryTagProvider
+import net.thucydides.model.statistics.service.TagProvider
+import net.thucydides.model.statistics.service.TagProviderService
+import net.thucydides.model.statistics.service.TagProviderStatistics
+import spock.lang.Specification
+
+class WhenResolvingTagsForManyTestOutcomes extends Specification {
+
+    def setup() {
+        TagProviderStatistics.getStatistics().reset()
+    }
+
+    def "should work out the shared tags once for each story"() {
+        given:
+            def tagProvider = new StoryTagProvider()
+            def outcomes = scenariosIn(["Checkout", "Refunds", "Checkout", "Search", "Refunds", "Checkout"])
+        when:
+            TestOutcomeTagResolver.resolveTagsFor(outcomes, providing(tagProvider))
+        then:
+            outcomes.collect { it.tags.collect { it.name }.sort() } ==
+                    outcomes.collect { [it.name, it.userStory.name].sort() }
+        and:
+            tagProvider.storiesProcessed == 3
+    }
+
+    def "should ask providers without a batch implementation for the tags of each outcome"() {
+        given:
+            def tagProvider = new ScenarioTagProvider()
+            def outcomes = scenariosIn(["Checkout", "Checkout", "Refunds"])
+        when:
+            TestOutcomeTagResolver.resolveTagsFor(outcomes, providing(tagProvider))
+        then:
+            tagProvider.outcomesProcessed == 3
+            outcomes.collect { it.tags*.name } == outcomes.collect { [it.name] }
+    }
+
+    def "should leave outcomes whose tags are already known unchanged"() {
+        given:
+            def tagProvider = new ScenarioTagProvider()
+            def outcomes = scenariosIn(["Checkout", "Refunds"])
+            outcomes[0].setTags([TestTag.withName("already-tagged").andType("tag")] as Set)
+        when:
+            TestOutcomeTagResolver.resolveTagsFor(outcomes, providing(tagProvider))
+        then:
+            outcomes[0].tags*.name == ["already-tagged"]
+            outcomes[1].tags*.name == [outcomes[1].name]
+            tagProvider.outcomesProcessed == 1
+    }
+
+    def "should try each outcome on its own if a provider fails for the whole batch"() {
+        given:
+            def outcomes = scenariosIn(["Checkout", "Refunds", "Search"])
+            def failingProvider = new TagProvider() {
+                Set<TestTag> getTagsFor(TestOutcome testOutcome) {
+                    if (testOutcome.userStory.name == "Refunds") {
+                        throw new IllegalStateException("Refunds are broken")
+                    }
+                    return [TestTag.withName(testOutcome.userStory.name).andType("story")] as Set
+                }
+            }
+        when:
+            TestOutcomeTagResolver.resolveTagsFor(outcomes, providing(failingProvider, new ScenarioTagProvider()))
+        then:
+            outcomes.collect { it.tags*.name.sort() } == [
+                    ["Checkout", outcomes[0].name].sort(),
+                    [outcomes[1].name],
+                    ["Search", outcomes[2].name].sort()
+            ]
+    }
+
+    def "should give the same tags as resolving each outcome on its own"() {
+        given:
+            def stories = ["Checkout", "Refunds", "Checkout", "Search"]
+            def outcomes = scenariosIn(stories)
+            def individuallyResolvedOutcomes = scenariosIn(stories)
+        when:
+            TestOutcomeTagResolver.resolveTagsFor(outcomes)
+        then:
+            outcomes.collect { it.tags } == individuallyResolvedOutcomes.collect { it.tags }
+    }
+
+    def "should resolve the tags of a set of test outcomes in a single batch"() {
+        given:
+            def stories = ["Checkout", "Refunds", "Checkout", "Search"]
+            def outcomes = scenariosIn(stories)
+            def individuallyResolvedOutcomes = scenariosIn(stories)
+        when:
+            def tags = TestOutcomes.of(outcomes).getTags()
+        then:
+            tags == individuallyResolvedOutcomes.collectMany { it.tags } as Set
+            outcomes.every { it.hasResolvedTags() }
+    }
+
+    def "should find the same feature and story tags in a batch as for each outcome"() {
+        given:
+            def tagProvider = new FeatureStoryTagProvider(new MockEnvironmentVariables())
+            def outcomes = scenariosIn(["Checkout", "Refunds", "Checkout"])
+        expect:
+            tagProvider.getTagsForEach(outcomes) == outcomes.collect { tagProvider.getTagsFor(it) }
+    }
+
+    def "should record the time spent by each tag provider"() {
+        given:
+            def outcomes = scenariosIn(["Checkout", "Refunds", "Checkout"])
+        when:
+            TestOutcomeTagResolver.resolveTagsFor(outcomes, providing(new StoryTagProvider(), new ScenarioTagProvider()))
+        then:
+            TagProviderStatistics.getStatistics().getOutcomesProcessedBy(StoryTagProvider) == 3
+            TagProviderStatistics.getStatistics().getOutcomesProcessedBy(ScenarioTagProvider) == 3
+            TagProviderStatistics.getStatistics().timeByProvider.keySet() ==
+                    [StoryTagProvider.name, ScenarioTagProvider.name] as Set
+            TagProviderStatistics.getStatistics().toString().contains(StoryTagProvider.name)
+    }
+
+    private static List<TestOutcome> scenariosIn(List<String> stories) {
+        def scenarioNumber = 0
+        stories.collect { story -> TestOutcome.forTestInStory("Scenario ${scenarioNumber++} in ${story}", Story.called(story)) }
+    }
+
+    private static TagProviderService providing(TagProvider... tagProviders) {
+        new TagProviderService() {
+            List<TagProvider> getTagProviders() {
+                tagProviders as List
+            }
+
+            List<TagProvider> getTagProviders(String testSource) {
+                tagProviders as List
+            }
+        }
+    }
+
+    static class StoryTagProvider implements TagProvider {
+        int storiesProcessed
+
+        Set<TestTag> getTagsFor(TestOutcome testOutcome) {
+            storiesProcessed++
+            return [TestTag.withName(testOutcome.userStory.name).andType("story")] as Set
+        }
+
+        List<Set<TestTag>> getTagsForEach(List<? extends TestOutcome> testOutcomes) {
+            def storyTags = TagProvider.tagsMemoisedBy(testOutcomes, { it.userStory.name }, { getTagsFor(it) })
+            def index = 0
+            return testOutcomes.collect { outcome ->
+                storyTags[index++] + ([TestTag.withName(outcome.name).andType("scenario")] as Set)
+            }
+        }
+    }
+
+    static class ScenarioTagProvider implements TagProvider {
+        int outcomesProcessed
+
+        Set<TestTag> getTagsFor(TestOutcome testOutcome) {
+            outcomesProcessed++
+            return [TestTag.withName(testOutcome.name).andType("scenario")] as Set
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package net.thucydides.model.reflection
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class WhenIndexingClasspathJars extends Specification {
+
+    static final int CLASS_COUNT = 5000
+
+    @TempDir
+    Path temporaryFolder
+
+    File generatedJar
+
+    def setup() {
+        generatedJar = temporaryFolder.resolve("generated-classes.jar").toFile()
+        new ZipOutputStream(new FileOutputStream(generatedJar)).withCloseable { zip ->
+            (1..CLASS_COUNT).each { i ->
+                zip.putNextEntry(new ZipEntry("com/acme/generated/package${i % 50}/GeneratedClass${i}.class"))
+                zip.write(new byte[16])
+                zip.closeEntry()
+            }
+            zip.putNextEntry(new ZipEntry("com/acme/generated/package1/GeneratedClass1\$Inner.class"))
+            zip.closeEntry()
+            zip.putNextEntry(new ZipEntry("com/acme/generated/readme.txt"))
+            zip.closeEntry()
+        }
+    }
+
+    def "should list the top-level classes in a jar"() {
+        when:
+        def classes = ClassFinder.scanJar(generatedJar.toURI().toURL())
+        then:
+        classes.size() == CLASS_COUNT
+        classes.contains("com.acme.generated.package1.GeneratedClass1")
+    }
+
+    def "should only walk a jar once in the same JVM"() {
+        given:
+        def statistics = new ClassFinderStatistics()
+        def index = new ClasspathScanIndex(null, statistics)
+        def jarScans = 0
+        def scanner = { jarScans++; ClassFinder.scanJar(generatedJar.toURI().toURL()) }
+        when:
+        def firstScan = index.classesInJar(generatedJar, scanner)
+        def secondScan = index.classesInJar(generatedJar, scanner)
+        then:
+        jarScans == 1
+        firstScan == secondScan
+        statistics.indexMisses == 1
+        statistics.memoryIndexHits == 1
+        statistics.indexHitRate == 0.5
+    }
+
+    def "should reuse an on-disk index written by another JVM"() {
+        given:
+        def indexDirectory = temporaryFolder.resolve("index")
+        def scanner = { ClassFinder.scanJar(generatedJar.toURI().toURL()) }
+        new ClasspathScanIndex(indexDirectory, new ClassFinderStatistics()).classesInJar(generatedJar, scanner)
+        and:
+        def statistics = new ClassFinderStatistics()
+        def warmIndex = new ClasspathScanIndex(indexDirectory, statistics)
+        when:
+        def classes = warmIndex.classesInJar(generatedJar, { throw new AssertionError("The jar should not be scanned") })
+        then:
+        classes.size() == CLASS_COUNT
+        statistics.diskIndexHits == 1
+        statistics.jarScans == 0
+    }
+
+    def "should rescan a jar that has changed since it was indexed"() {
+        given:
+        def indexDirectory = temporaryFolder.resolve("index")
+        def statistics = new ClassFinderStatistics()
+        def scanner = { ClassFinder.scanJar(generatedJar.toURI().toURL()) }
+        new ClasspathScanIndex(indexDirectory, statistics).classesInJar(generatedJar, scanner)
+        when:
+        generatedJar.setLastModified(generatedJar.lastModified() - 60000)
+        new ClasspathScanIndex(indexDirectory, statistics).classesInJar(generatedJar, scanner)
+        then:
+        statistics.jarScans == 2
+        Files.list(indexDirectory).count() == 2
+    }
+
+    def "should memoise package scans"() {
+        given:
+        ClassFinder.clearCache()
+        def memoisedHitsBefore = ClassFinderStatistics.statistics.memoisedPackageHits
+        when:
+        def firstScan = ClassFinder.loadClasses().fromPackage("org.junit.runners")
+        def secondScan = ClassFinder.loadClasses().fromPackage("org.junit.runners")
+        then:
+        firstScan == secondScan
+        ClassFinderStatistics.statistics.memoisedPackageHits == memoisedHitsBefore + 1
+    }
+
+    def "should scan a package again after a failed scan"() {
+        given:
+        ClassFinder.clearCache()
+        def failingOnce = new ClassLoader(Thread.currentThread().contextClassLoader) {
+            boolean failed
+
+            @Override
+            Enumeration<URL> getResources(String name) throws IOException {
+                if (!failed) {
+                    failed = true
+                    throw new IOException("Classpath not available yet")
+                }
+                return super.getResources(name)
+            }
+        }
+        def originalClassLoader = Thread.currentThread().contextClassLoader
+        Thread.currentThread().contextClassLoader = failingOnce
+        when:
+        def failedScan = ClassFinder.getClasses("org.junit.runners")
+        def secondScan = ClassFinder.getClasses("org.junit.runners")
+        then:
+        failedScan.isEmpty()
+        !secondScan.isEmpty()
+        cleanup:
+        Thread.currentThread().contextClassLoader = originalClassLoader
+    }
+}
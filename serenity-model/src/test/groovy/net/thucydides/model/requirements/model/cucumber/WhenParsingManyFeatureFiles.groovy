@@ -0,0 +1,125 @@
+package net.thucydides.model.requirements.model.cucumber
+
+import net.thucydides.model.environment.MockEnvironmentVariables
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class WhenParsingManyFeatureFiles extends Specification {
+
+    static final int FEATURE_COUNT = 2000
+
+    @TempDir
+    Path featureDirectory
+
+    @TempDir
+    Path cacheDirectory
+
+    def setup() {
+        (1..FEATURE_COUNT).each { i ->
+            Path capabilityDirectory = featureDirectory.resolve("capability_" + (i % 20))
+            Files.createDirectories(capabilityDirectory)
+            Files.write(capabilityDirectory.resolve("feature_${i}.feature"), """
+@component:checkout
+Feature: Feature number ${i}
+  A narrative for feature ${i}
+
+  Background:
+    Given a shopper
+
+  @smoke
+  Scenario: First scenario of feature ${i}
+    When something happens
+    Then something else happens
+
+  Scenario: Second scenario of feature ${i}
+    When something happens
+    Then something else happens
+""".getBytes("UTF-8"))
+        }
+    }
+
+    private CucumberParser parserUsing(FeatureSummaryCache cache, FeatureParsingStatistics statistics) {
+        new CucumberParser("en", new MockEnvironmentVariables(), cache, statistics)
+    }
+
+    def "should parse every feature file in a directory"() {
+        given:
+        def statistics = new FeatureParsingStatistics()
+        def parser = parserUsing(new FeatureSummaryCache(cacheDirectory), statistics)
+        when:
+        def summaries = parser.loadFeatureSummaries(featureDirectory)
+        then:
+        summaries.size() == FEATURE_COUNT
+        summaries.values().every { it.isReadable() && !it.isInvalid() }
+        statistics.featuresParsed == FEATURE_COUNT
+        and:
+        def definition = summaries.find { file, summary -> file.name == "feature_7.feature" }.value.requirementDefinition.get()
+        definition.text.contains("A narrative for feature 7")
+        definition.scenarios == ["First scenario of feature 7", "Second scenario of feature 7"]
+        definition.background().isPresent()
+        definition.scenarioTags["First scenario of feature 7"]*.name == ["smoke"]
+    }
+
+    def "should reuse parsed features from the cache directory in a later process"() {
+        given:
+        parserUsing(new FeatureSummaryCache(cacheDirectory), new FeatureParsingStatistics()).loadFeatureSummaries(featureDirectory)
+        and:
+        def laterStatistics = new FeatureParsingStatistics()
+        def laterParser = parserUsing(new FeatureSummaryCache(cacheDirectory), laterStatistics)
+        when:
+        def summaries = laterParser.loadFeatureSummaries(featureDirectory)
+        then:
+        summaries.size() == FEATURE_COUNT
+        laterStatistics.featuresParsed == 0
+        laterStatistics.cacheHits == FEATURE_COUNT
+        summaries.values()*.featureName*.get().toSet().size() == FEATURE_COUNT
+    }
+
+    def "should parse a feature file again when it changes"() {
+        given:
+        def statistics = new FeatureParsingStatistics()
+        def parser = parserUsing(new FeatureSummaryCache(cacheDirectory), statistics)
+        def featureFile = featureDirectory.resolve("capability_1/feature_1.feature")
+        parser.loadFeatureSummary(featureFile.toFile())
+        when:
+        Files.write(featureFile, "Feature: A renamed feature\n\n  Scenario: A scenario\n    Given something\n".getBytes("UTF-8"))
+        def summary = parser.loadFeatureSummary(featureFile.toFile())
+        then:
+        summary.featureName.get() == "A renamed feature"
+        statistics.featuresParsed == 2
+    }
+
+    def "should report invalid feature files without failing the whole batch"() {
+        given:
+        def invalidFeature = featureDirectory.resolve("capability_1/invalid.feature")
+        Files.write(invalidFeature, "Feature: An invalid feature\n\n  Scenario:\n    Given something\n".getBytes("UTF-8"))
+        def parser = parserUsing(new FeatureSummaryCache(cacheDirectory), new FeatureParsingStatistics())
+        when:
+        def summaries = parser.loadFeatureSummaries(featureDirectory)
+        then:
+        summaries.size() == FEATURE_COUNT + 1
+        summaries[invalidFeature.toFile()].isInvalid()
+        summaries[invalidFeature.toFile()].errorMessage.get().contains("Empty scenario names were found in file 'invalid.feature'")
+        when:
+        summaries[invalidFeature.toFile()].requirementDefinition
+        then:
+        def invalidFeatureFile = thrown(InvalidFeatureFileException)
+        invalidFeatureFile.cause instanceof InvalidFeatureFileException
+        invalidFeatureFile.cause.message.contains("Empty scenario names were found in file 'invalid.feature'")
+    }
+
+    def "should not share a summary between feature files with the same name and contents in different directories"() {
+        given:
+        def cache = new FeatureSummaryCache(cacheDirectory)
+        def featureFile = featureDirectory.resolve("capability_1/feature_1.feature").toFile()
+        def copiedFeatureFile = featureDirectory.resolve("capability_2/feature_1.feature").toFile()
+        copiedFeatureFile.bytes = featureFile.bytes
+        expect:
+        cache.keyFor(featureFile, "en", "UTF-8") != cache.keyFor(copiedFeatureFile, "en", "UTF-8")
+        and:
+        cache.keyFor(featureFile, "en", "UTF-8") == cache.keyFor(new File(featureFile.parentFile, "../capability_1/feature_1.feature"), "en", "UTF-8")
+    }
+}
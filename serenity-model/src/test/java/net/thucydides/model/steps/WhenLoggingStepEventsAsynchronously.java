@@ -0,0 +1,323 @@
+package net.thucydides.model.steps;
+
+import net.thucydides.model.domain.Story;
+import net.thucydides.model.domain.TestOutcome;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.logging.AsyncConsoleLoggingListener;
+import net.thucydides.model.logging.ConsoleEventQueue;
+import net.thucydides.model.logging.ConsoleLoggingListener;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static net.thucydides.model.logging.ConsoleEventQueue.OverflowPolicy.BLOCK;
+import static net.thucydides.model.logging.ConsoleEventQueue.OverflowPolicy.DROP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenLoggingStepEventsAsynchronously {
+
+    static class RecordingLogger extends LegacyAbstractLogger {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch blockUntil = new CountDownLatch(0);
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable) {
+            try {
+                blockUntil.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(MessageFormatter.basicArrayFormat(messagePattern, arguments));
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+    }
+
+    EnvironmentVariables environmentVariables;
+    List<ConsoleEventQueue> queues = new ArrayList<>();
+
+    @Before
+    public void setupEnvironment() {
+        environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.logging", "VERBOSE");
+        environmentVariables.setProperty("serenity.console.colors", "false");
+    }
+
+    @After
+    public void closeQueues() throws InterruptedException {
+        for (ConsoleEventQueue queue : queues) {
+            queue.close();
+        }
+    }
+
+    private ConsoleEventQueue queue(int capacity, ConsoleEventQueue.OverflowPolicy overflowPolicy) {
+        ConsoleEventQueue queue = new ConsoleEventQueue(capacity, overflowPolicy);
+        queues.add(queue);
+        return queue;
+    }
+
+    static class SomeTestClass {
+    }
+
+    private void runATest(StepListener listener, String testName, int steps) {
+        listener.testSuiteStarted(SomeTestClass.class);
+        listener.testStarted(testName);
+        for (int step = 1; step <= steps; step++) {
+            listener.stepStarted(ExecutedStepDescription.withTitle(testName + " step " + step));
+            listener.stepStarted(ExecutedStepDescription.withTitle(testName + " nested step " + step));
+            listener.stepFinished();
+            listener.stepFinished();
+        }
+        listener.stepStarted(ExecutedStepDescription.withTitle(testName + " pending step"));
+        listener.stepPending("not done yet");
+        listener.testFinished(TestOutcome.forTestInStory(testName, Story.called("A story")));
+    }
+
+    @Test
+    public void should_write_the_same_lines_as_the_synchronous_listener() {
+        RecordingLogger synchronousLogger = new RecordingLogger();
+        RecordingLogger asynchronousLogger = new RecordingLogger();
+        ConsoleEventQueue queue = queue(16, BLOCK);
+
+        runATest(new ConsoleLoggingListener(environmentVariables, synchronousLogger), "a test", 20);
+        runATest(new AsyncConsoleLoggingListener(new ConsoleLoggingListener(environmentVariables, asynchronousLogger), queue), "a test", 20);
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(asynchronousLogger.messages).isEqualTo(synchronousLogger.messages);
+        assertThat(queue.getDroppedEventCount()).isZero();
+    }
+
+    @Test
+    public void should_write_the_events_of_each_test_thread_in_order() throws InterruptedException {
+        ConsoleEventQueue queue = queue(16, BLOCK);
+        List<RecordingLogger> loggers = new ArrayList<>();
+        List<Thread> testThreads = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            RecordingLogger logger = new RecordingLogger();
+            loggers.add(logger);
+            StepListener listener = new AsyncConsoleLoggingListener(new ConsoleLoggingListener(environmentVariables, logger), queue);
+            String testName = "test " + thread;
+            testThreads.add(new Thread(() -> runATest(listener, testName, 10)));
+        }
+        testThreads.forEach(Thread::start);
+        for (Thread testThread : testThreads) {
+            testThread.join();
+        }
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        for (int thread = 0; thread < 8; thread++) {
+            RecordingLogger expectedLogger = new RecordingLogger();
+            runATest(new ConsoleLoggingListener(environmentVariables, expectedLogger), "test " + thread, 10);
+            assertThat(loggers.get(thread).messages).isEqualTo(expectedLogger.messages);
+        }
+    }
+
+    @Test
+    public void should_drop_events_rather_than_wait_when_the_queue_is_full_and_the_drop_policy_is_used() {
+        RecordingLogger slowLogger = new RecordingLogger();
+        ConsoleLoggingListener consoleLoggingListener = new ConsoleLoggingListener(environmentVariables, slowLogger);
+        slowLogger.messages.clear();
+        slowLogger.blockUntil = new CountDownLatch(1);
+        ConsoleEventQueue queue = queue(8, DROP);
+        StepListener listener = new AsyncConsoleLoggingListener(consoleLoggingListener, queue);
+
+        long startTime = System.nanoTime();
+        for (int step = 0; step < 100; step++) {
+            listener.stepStarted(ExecutedStepDescription.withTitle("step " + step));
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        slowLogger.blockUntil.countDown();
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(elapsedTime).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(queue.getDroppedEventCount()).isGreaterThanOrEqualTo(100 - 8 - 1);
+        assertThat(slowLogger.messages.size() + queue.getDroppedEventCount()).isEqualTo(100);
+        assertThat(slowLogger.messages.get(0)).endsWith("step 0");
+    }
+
+    @Test
+    public void should_only_drop_step_details_when_the_queue_is_full_and_the_drop_policy_is_used() {
+        RecordingLogger slowLogger = new RecordingLogger();
+        ConsoleLoggingListener consoleLoggingListener = new ConsoleLoggingListener(environmentVariables, slowLogger);
+        slowLogger.messages.clear();
+        slowLogger.blockUntil = new CountDownLatch(1);
+        ConsoleEventQueue queue = queue(8, DROP);
+        StepListener listener = new AsyncConsoleLoggingListener(consoleLoggingListener, queue);
+
+        Thread releaseLogger = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+            }
+            slowLogger.blockUntil.countDown();
+        });
+        releaseLogger.start();
+        for (int test = 0; test < 20; test++) {
+            listener.testStarted("test " + test);
+            listener.stepStarted(ExecutedStepDescription.withTitle("step of test " + test));
+            listener.stepFinished();
+            listener.testIgnored();
+        }
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(slowLogger.messages.stream().filter(message -> message.contains("TEST IGNORED"))).hasSize(20);
+        assertThat(slowLogger.messages.stream().filter(message -> message.contains("step of test"))).hasSize(20 - (int) queue.getDroppedEventCount());
+    }
+
+    private void runANestedTest(StepListener listener, String testName, int depth) {
+        listener.testStarted(testName);
+        for (int step = 1; step <= 5; step++) {
+            runNestedSteps(listener, testName + " step " + step, depth);
+        }
+        listener.stepStarted(ExecutedStepDescription.withTitle(testName + " pending step"));
+        listener.stepPending();
+        listener.testFinished(TestOutcome.forTestInStory(testName, Story.called("A story")));
+    }
+
+    private void runNestedSteps(StepListener listener, String stepName, int depth) {
+        listener.stepStarted(ExecutedStepDescription.withTitle(stepName));
+        if (depth > 1) {
+            for (int nestedStep = 1; nestedStep <= 3; nestedStep++) {
+                runNestedSteps(listener, stepName + "." + nestedStep, depth - 1);
+            }
+        }
+        listener.stepFinished();
+    }
+
+    @Test
+    public void should_indent_nested_steps_as_the_synchronous_listener_does_when_step_starts_are_dropped() {
+        RecordingLogger synchronousLogger = new RecordingLogger();
+        runANestedTest(new ConsoleLoggingListener(environmentVariables, synchronousLogger), "a nested test", 3);
+
+        RecordingLogger slowLogger = new RecordingLogger();
+        ConsoleLoggingListener consoleLoggingListener = new ConsoleLoggingListener(environmentVariables, slowLogger);
+        slowLogger.blockUntil = new CountDownLatch(1);
+        ConsoleEventQueue queue = queue(8, DROP);
+        StepListener listener = new AsyncConsoleLoggingListener(consoleLoggingListener, queue);
+
+        Thread releaseLogger = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+            }
+            slowLogger.blockUntil.countDown();
+        });
+        releaseLogger.start();
+        runANestedTest(listener, "a nested test", 3);
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(queue.getDroppedEventCount()).isPositive();
+        assertThat(slowLogger.messages.stream().filter(message -> message.contains(".2"))).isNotEmpty();
+        assertThat(synchronousLogger.messages).containsSubsequence(slowLogger.messages);
+    }
+
+    @Test
+    public void should_log_a_finished_test_as_it_was_when_it_finished() {
+        RecordingLogger slowLogger = new RecordingLogger();
+        ConsoleLoggingListener consoleLoggingListener = new ConsoleLoggingListener(environmentVariables, slowLogger);
+        slowLogger.messages.clear();
+        slowLogger.blockUntil = new CountDownLatch(1);
+        ConsoleEventQueue queue = queue(8, BLOCK);
+        StepListener listener = new AsyncConsoleLoggingListener(consoleLoggingListener, queue);
+        TestOutcome outcome = TestOutcome.forTestInStory("a passing test", Story.called("A story"));
+
+        listener.testStarted("a passing test");
+        listener.testFinished(outcome);
+        outcome.setTitle("a renamed test");
+        slowLogger.blockUntil.countDown();
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(String.join("\n", slowLogger.messages)).contains("passing test").doesNotContain("renamed test");
+    }
+
+    @Test
+    public void should_wait_for_space_when_the_queue_is_full_and_the_block_policy_is_used() {
+        RecordingLogger slowLogger = new RecordingLogger();
+        ConsoleLoggingListener consoleLoggingListener = new ConsoleLoggingListener(environmentVariables, slowLogger);
+        slowLogger.messages.clear();
+        slowLogger.blockUntil = new CountDownLatch(1);
+        ConsoleEventQueue queue = queue(8, BLOCK);
+        StepListener listener = new AsyncConsoleLoggingListener(consoleLoggingListener, queue);
+
+        Thread releaseLogger = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+            }
+            slowLogger.blockUntil.countDown();
+        });
+        releaseLogger.start();
+        for (int step = 0; step < 100; step++) {
+            listener.stepStarted(ExecutedStepDescription.withTitle("step " + step));
+        }
+
+        assertThat(queue.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(queue.getDroppedEventCount()).isZero();
+        assertThat(slowLogger.messages).hasSize(100);
+        assertThat(slowLogger.messages.get(99)).endsWith("step 99");
+    }
+
+    @Test
+    public void should_round_the_queue_size_up_to_a_power_of_two() {
+        assertThat(queue(1000, BLOCK).getCapacity()).isEqualTo(1024);
+        assertThat(queue(1, BLOCK).getCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_use_the_asynchronous_listener_when_configured() {
+        assertThat(ConsoleLoggingListener.configuredIn(environmentVariables)).isInstanceOf(ConsoleLoggingListener.class);
+
+        environmentVariables.setProperty("serenity.console.async", "true");
+
+        assertThat(ConsoleLoggingListener.configuredIn(environmentVariables)).isInstanceOf(AsyncConsoleLoggingListener.class);
+    }
+
+    @Test
+    public void should_read_the_overflow_policy_from_the_environment() {
+        assertThat(ConsoleEventQueue.OverflowPolicy.configuredIn(environmentVariables)).isEqualTo(BLOCK);
+
+        environmentVariables.setProperty("serenity.console.async.overflow", "drop");
+
+        assertThat(ConsoleEventQueue.OverflowPolicy.configuredIn(environmentVariables)).isEqualTo(DROP);
+    }
+}
@@ -4,24 +4,23 @@ import net.serenitybdd.model.di.ModelInfrastructure
 import net.serenitybdd.model.environment.EnvironmentSpecificConfiguration
 import net.serenitybdd.reports.io.testOutcomesIn
 import net.thucydides.core.reports.ExtendedReport
+import net.thucydides.model.reports.NumberOfThreads
 import net.thucydides.model.util.EnvironmentVariables
-import org.apache.commons.compress.archivers.tar.TarArchiveEntry
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream
 import org.apache.commons.io.IOUtils
 import org.apache.commons.logging.Log
 import org.apache.commons.logging.LogFactory
 import java.io.BufferedInputStream
-import java.io.File
 import java.io.FileInputStream
 import java.io.FileNotFoundException
-import java.io.FileWriter
 import java.io.IOException
+import java.nio.charset.StandardCharsets
 import java.nio.file.Files
 import java.nio.file.Path
-import java.nio.file.Paths
-import java.util.function.Consumer
-import java.util.stream.Collectors
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import kotlin.streams.toList
 
 
@@ -49,107 +48,89 @@ class GenerateReport(
     this.outputDirectory = outputDirectory
   }
 
+  /**
+   * Writes the navigator straight from the bundled archive into the output directory.
+   * Each file is written on a thread pool as soon as it has been read from the archive, and the test outcomes are
+   * written into index.html as it is being written.
+   */
   override fun generateReport(): Path {
-    val tmpDir = Files.createTempDirectory("serenity")
-    extractArchive(tmpDir)
-    fillTemplateAndWriteToReportDirectory(tmpDir)
-    copyAllOtherNavigatorResources(tmpDir)
-    if (!tmpDir.toFile().deleteRecursively()) {
-      logging.error("could not delete $tmpDir")
+    val navigatorRoot = outputDirectory.resolve("navigator")
+    Files.createDirectories(navigatorRoot)
+    val executorPool = Executors.newFixedThreadPool(NumberOfThreads.forIOOperations())
+    try {
+      val writtenFiles = mutableListOf<Future<*>>()
+      readNavigatorBundle { entryName, content ->
+        val outputPath = navigatorRoot.resolve(entryName).normalize()
+        if (!outputPath.startsWith(navigatorRoot)) {
+          throw IOException("navigator resource $entryName is outside of the navigator directory")
+        }
+        if (outputPath == navigatorRoot.resolve("index.html")) {
+          writtenFiles.add(executorPool.submit { writeIndexPage(content, outputPath) })
+        } else {
+          writtenFiles.add(executorPool.submit { writeResource(content, outputPath) })
+        }
+      }
+      writtenFiles.forEach { it.get() }
+    } catch (e: ExecutionException) {
+      throw RuntimeException(e.cause)
+    } finally {
+      executorPool.shutdown()
     }
-    return outputDirectory.resolve(Paths.get("navigator", "index.html"))
+    return navigatorRoot.resolve("index.html")
   }
 
-  private fun copyAllOtherNavigatorResources(templateDir: Path) {
-    Files.walk(templateDir, Int.MAX_VALUE)
-        .filter { it != templateDir }
-        .filter { it.fileName.toString() != "index.html" }
-        .forEach(copyToOutputDirectory(templateDir))
-  }
-
-  private fun copyToOutputDirectory(templateDir: Path): Consumer<Path> {
-    return Consumer {
-      val navigatorRoot = outputDirectory.resolve("navigator")
-      val outputPath = navigatorRoot.resolve(templateDir.relativize(it))
-
-      if (it.toFile().isDirectory) {
-        outputPath.toFile().mkdirs()
-      }
-      if (it.toFile().isFile) {
-        IOUtils.copy(Files.newInputStream(it), Files.newOutputStream(outputPath))
+  /**
+   * Calls the consumer with the path and content of each file in the navigator bundle, creating directories as they
+   * are found.
+   */
+  private fun readNavigatorBundle(consumer: (String, ByteArray) -> Unit) {
+    TarArchiveInputStream(
+        GzipCompressorInputStream(
+            BufferedInputStream(
+                this.javaClass.getResourceAsStream(NAVIGATOR_BUNDLE)))).use { archive ->
+      var entry = archive.nextTarEntry
+      while (entry != null) {
+        if (!archive.canReadEntryData(entry)) {
+          logging.error("can't read " + entry.name)
+        } else if (entry.isDirectory) {
+          Files.createDirectories(outputDirectory.resolve("navigator").resolve(entry.name).normalize())
+        } else {
+          consumer(entry.name, IOUtils.toByteArray(archive))
+        }
+        entry = archive.nextTarEntry
       }
     }
   }
 
-  private fun fillTemplateAndWriteToReportDirectory(templateDirectory: Path) {
-    val indexHtml = templateDirectory.resolve("index.html")
-    val lines = Files.lines(indexHtml).collect(Collectors.toList())
+  private fun writeResource(content: ByteArray, outputPath: Path) {
+    Files.createDirectories(outputPath.parent)
+    Files.write(outputPath, content)
+  }
 
-    if (lines.count() > 1) {
+  private fun writeIndexPage(template: ByteArray, outputPath: Path) {
+    val content = String(template, StandardCharsets.UTF_8).trimEnd('\r', '\n')
+    if (content.contains('\n')) {
       throw RuntimeException("template index.html is supposed to be a minified into a single line")
     }
-
-    val content = lines[0]
     val split = content.split("<script type=\"text/javascript\"></script>")
 
-    val navigatorRoot = outputDirectory.resolve("navigator")
-    navigatorRoot.toFile().mkdirs()
-    val writer = FileWriter(navigatorRoot.resolve("index.html").toFile())
-    writer.write(split[0])
-    writer.write("<script type=\"text/javascript\">window.outcomes=[")
-
-    // Fetch the test outcomes
-    val testOutcomes = testOutcomesIn(sourceDirectory)
-    testOutcomes.outcomes
-        .map { it.toJson() }
-        .joinToString(",")
-        .let { writer.write(it) }
-
-    writer.write("];</script>")
-    writer.write(split[1])
-
-    writer.flush()
-    writer.close()
-  }
-
-  private fun extractArchive(outputDir: Path) {
-    try {
-      val i = TarArchiveInputStream(
-          GzipCompressorInputStream(
-              BufferedInputStream(
-                  this.javaClass.getResourceAsStream("serenity-report-navigator_v0.2.9.tar.gz"))))
-
-      var entry: TarArchiveEntry? = null
-
-      while ({ entry = i.nextEntry as TarArchiveEntry?; entry }() != null) {
-        if (!i.canReadEntryData(entry)) {
-          logging.error("can't read " + entry!!.name)
-          continue
-        }
-
-        val name: String = outputDir.toAbsolutePath().resolve(entry!!.name).toString()
-        val f = File(name)
-        if (entry!!.isDirectory) {
-          if (!f.isDirectory && !f.mkdirs()) {
-            throw IOException("failed to create directory $f")
-          }
-        } else {
-          val parent = f.parentFile
-          if (!parent.isDirectory && !parent.mkdirs()) {
-            throw IOException("failed to create directory $parent")
-          }
-          Files.newOutputStream(f.toPath()).use { o -> IOUtils.copy(i, o) }
+    Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8).use { writer ->
+      writer.write(split[0])
+      writer.write("<script type=\"text/javascript\">window.outcomes=[")
+      testOutcomesIn(sourceDirectory).outcomes.forEachIndexed { index, outcome ->
+        if (index > 0) {
+          writer.write(",")
         }
-
+        writer.write(outcome.toJson())
       }
-
-    } catch (e: Exception) {
-      throw RuntimeException(e)
+      writer.write("];</script>")
+      writer.write(split[1])
     }
   }
 
   companion object {
     val logging: Log = LogFactory.getLog(GenerateReport::class.java)
+    private const val NAVIGATOR_BUNDLE = "serenity-report-navigator_v0.2.9.tar.gz"
   }
 
 }
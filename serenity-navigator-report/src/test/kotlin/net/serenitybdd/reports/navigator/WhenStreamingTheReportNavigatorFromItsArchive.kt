@@ -0,0 +1,79 @@
+package net.serenitybdd.reports.navigator
+
+import net.thucydides.model.environment.MockEnvironmentVariables
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import kotlin.streams.toList
+
+class WhenStreamingTheReportNavigatorFromItsArchive {
+
+    private val outcomesDir: Path = File(ClassLoader.getSystemResource("test_outcomes/with_different_results").file).toPath()
+
+    private fun reporterWritingTo(outputDirectory: Path): GenerateReport {
+        val reporter = GenerateReport(MockEnvironmentVariables())
+        reporter.setSourceDirectory(outcomesDir)
+        reporter.setOutputDirectory(outputDirectory)
+        return reporter
+    }
+
+    /**
+     * The files in the navigator archive, with their sizes. The index page is not listed, as the test outcomes are
+     * written into it.
+     */
+    private val archivedResources = mapOf(
+        "asset-manifest.json" to 1047L,
+        "browser-chrome.properties" to 60L,
+        "browser-firefox.properties" to 61L,
+        "favicon.ico" to 3150L,
+        "logo192.png" to 5347L,
+        "logo512.png" to 9664L,
+        "manifest.json" to 492L,
+        "precache-manifest.f127e49271f2b76cbdd844300c707680.js" to 663L,
+        "robots.txt" to 67L,
+        "service-worker.js" to 1185L,
+        "sourceIndex.html" to 1813L,
+        "static/css/main.5ab818d3.chunk.css" to 790L,
+        "static/css/main.5ab818d3.chunk.css.map" to 1229L,
+        "static/js/2.cae90c51.chunk.js" to 467154L,
+        "static/js/2.cae90c51.chunk.js.LICENSE.txt" to 1555L,
+        "static/js/2.cae90c51.chunk.js.map" to 2285670L,
+        "static/js/main.564ef671.chunk.js" to 53764L,
+        "static/js/main.564ef671.chunk.js.map" to 163883L,
+        "static/js/runtime-main.7b065930.js" to 1598L,
+        "static/js/runtime-main.7b065930.js.map" to 8311L
+    )
+
+    private fun filesIn(directory: Path): Map<String, Long> =
+        Files.walk(directory).use { paths ->
+            paths.filter { Files.isRegularFile(it) }
+                .toList()
+                .associate { directory.relativize(it).toString().replace(File.separatorChar, '/') to Files.size(it) }
+        }
+
+    @Test
+    fun `should write every file in the archive to the navigator directory`() {
+        val outputDirectory = Files.createTempDirectory("streamed-navigator")
+
+        val indexPage = reporterWritingTo(outputDirectory).generateReport()
+
+        val navigatorDirectory = outputDirectory.resolve("navigator")
+        assertThat(indexPage).isEqualTo(navigatorDirectory.resolve("index.html"))
+        assertThat(filesIn(navigatorDirectory).keys).containsExactlyInAnyOrderElementsOf(archivedResources.keys + "index.html")
+        assertThat(filesIn(navigatorDirectory).filterKeys { it != "index.html" }).isEqualTo(archivedResources)
+    }
+
+    @Test
+    fun `should write the test outcomes into the index page`() {
+        val outputDirectory = Files.createTempDirectory("streamed-navigator")
+
+        val indexPage = String(Files.readAllBytes(reporterWritingTo(outputDirectory).generateReport()), StandardCharsets.UTF_8)
+
+        assertThat(indexPage).startsWith("<!doctype html>")
+        assertThat(indexPage).contains("<script type=\"text/javascript\">window.outcomes=[{")
+        assertThat(indexPage).endsWith("</html>")
+    }
+}
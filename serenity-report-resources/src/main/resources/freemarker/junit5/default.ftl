@@ -425,6 +425,9 @@
                                     <#if restQuery.content?has_content>
                                         <h4>Content Body</h4>
                                         <pre>${(formatter.renderText(restQuery.content))!}</pre>
+                                        <#if restQuery.contentFile?has_content>
+                                            <p><a href="${restQuery.contentFile}" target="_blank">Full content body</a></p>
+                                        </#if>
                                     </#if>
                                     <#if restQuery.requestCookies?has_content>
                                         <h4>Request Cookies</h4>
@@ -436,7 +439,10 @@
                                     </#if>
                                     <h4>Response Body</h4>
                                     <#if restQuery.responseHeaders?has_content>
-                                        <pre>${formatter.renderText(restQuery.responseBody)}</pre>
+                                        <pre>${formatter.renderText(restQuery.prettyResponseBody)}</pre>
+                                        <#if restQuery.responseBodyFile?has_content>
+                                            <p><a href="${restQuery.responseBodyFile}" target="_blank">Full response body</a></p>
+                                        </#if>
                                     </#if>
                                     <#if restQuery.responseCookies?has_content && (!(restQuery.requestCookies?has_content) || restQuery.responseCookies!=restQuery.requestCookies)>
                                         <h4>Response Cookies</h4>
@@ -0,0 +1,133 @@
+<!DOCTYPE html>
+<html>
+<head>
+    <meta charset="UTF-8"/>
+
+    <meta http-equiv="X-UA-Compatible" content="IE=edge">
+    <meta name="viewport" content="width=device-width, initial-scale=1">
+
+    <title>Serenity Reports</title>
+
+    <link rel="shortcut icon" href="favicon.ico">
+
+    <#include "libraries/common.ftl">
+
+</head>
+
+<body class="results-page">
+<div id="topheader">
+    <div id="topbanner">
+        <div id="logo"><a href="index.html"><img src="images/serenity-logo.png" border="0"/></a></div>
+        <div id="projectname-banner" style="float:right">
+            <span class="projectname">
+                <span class="projecttitle">${projectName}</span>
+                <span class="projectsubtitle">Merged from ${aggregate.shards?size} shards</span>
+            </span>
+        </div>
+    </div>
+</div>
+
+<div class="middlecontent">
+    <div id="contenttop">
+        <div class="middlebg">
+            <span class="breadcrumbs"><a href="index.html">Home</a></span>
+        </div>
+        <div class="rightbg"></div>
+    </div>
+
+    <div class="clr"></div>
+    <div id="beforetable"></div>
+    <div id="results-dashboard">
+        <div class="middlb">
+            <div class="table">
+                <h2>Test Results</h2>
+                <p>Report generated ${timestamp} from the shards ${aggregate.shards?join(", ")}</p>
+
+                <table class="table table-striped">
+                    <tr><th>Tests</th><th>Passed</th><th>Failed</th><th>Errors</th><th>Compromised</th><th>Pending</th><th>Ignored</th><th>Skipped</th><th>Pass rate</th></tr>
+                    <tr>
+                        <td>${results.total}</td>
+                        <td>${results.getCount(SUCCESS)}</td>
+                        <td>${results.getCount(FAILURE)}</td>
+                        <td>${results.getCount(ERROR)}</td>
+                        <td>${results.getCount(COMPROMISED)}</td>
+                        <td>${results.getCount(PENDING)}</td>
+                        <td>${results.getCount(IGNORED)}</td>
+                        <td>${results.getCount(SKIPPED)}</td>
+                        <td>${(results.passRate * 100)?string("0.#")}%</td>
+                    </tr>
+                </table>
+
+                <h3>Durations</h3>
+                <table class="table table-striped">
+                    <tr><td style="width: 30%">Total test time</td><td>${durationFormat.of(results.duration)}</td></tr>
+                    <tr><td>Elapsed time</td><td>${durationFormat.of(aggregate.elapsedTime)}</td></tr>
+                    <tr><td>50% of tests took less than</td><td>${durationFormat.of(aggregate.durations.getApproximatePercentile(50))}</td></tr>
+                    <tr><td>95% of tests took less than</td><td>${durationFormat.of(aggregate.durations.getApproximatePercentile(95))}</td></tr>
+                </table>
+
+                <#if aggregate.failures?has_content>
+                <h3>Failures by error type</h3>
+                <table class="table table-striped">
+                    <tr><th>Error type</th><th>Tests</th><th>For example</th></tr>
+                    <#list aggregate.failures as failure>
+                    <tr>
+                        <td>${failure.errorType}</td>
+                        <td>${failure.count}</td>
+                        <td><#list failure.examples as example>${example}<#sep><br/></#sep></#list></td>
+                    </tr>
+                    </#list>
+                </table>
+                </#if>
+
+                <#if aggregate.requirements?has_content>
+                <h3>Requirements</h3>
+                <table class="table table-striped">
+                    <tr><th>Requirement</th><th>Tests</th><th>Passed</th><th>Unsuccessful</th><th>Duration</th></tr>
+                    <#list aggregate.requirements as requirement, tally>
+                    <tr>
+                        <td>${requirement}</td>
+                        <td>${tally.total}</td>
+                        <td>${tally.passing}</td>
+                        <td>${tally.unsuccessful}</td>
+                        <td>${durationFormat.of(tally.duration)}</td>
+                    </tr>
+                    </#list>
+                </table>
+                </#if>
+
+                <#if aggregate.tags?has_content>
+                <h3>Tags</h3>
+                <table class="table table-striped">
+                    <tr><th>Tag</th><th>Tests</th><th>Passed</th><th>Unsuccessful</th><th>Duration</th></tr>
+                    <#list aggregate.tags as tag, tally>
+                    <tr>
+                        <td>${tag}</td>
+                        <td>${tally.total}</td>
+                        <td>${tally.passing}</td>
+                        <td>${tally.unsuccessful}</td>
+                        <td>${durationFormat.of(tally.duration)}</td>
+                    </tr>
+                    </#list>
+                </table>
+                </#if>
+
+                <#if aggregate.slowestTests?has_content>
+                <h3>Slowest tests</h3>
+                <table class="table table-striped">
+                    <tr><th>Test</th><th>Shard</th><th>Duration</th></tr>
+                    <#list aggregate.slowestTests as slowTest>
+                    <tr>
+                        <td>${slowTest.title}</td>
+                        <td>${slowTest.shard}</td>
+                        <td>${durationFormat.of(slowTest.duration)}</td>
+                    </tr>
+                    </#list>
+                </table>
+                </#if>
+            </div>
+        </div>
+    </div>
+</div>
+</body>
+</html>
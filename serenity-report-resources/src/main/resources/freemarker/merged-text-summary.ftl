@@ -0,0 +1,12 @@
+Serenity report generated ${timestamp} from ${aggregate.shards?size} shards
+
+Test Cases:         ${results.total}
+Passed:             ${results.getCount(SUCCESS)}
+Failed:             ${results.getCount(FAILURE)}
+Failed with errors: ${results.getCount(ERROR)}
+Compromised:        ${results.getCount(COMPROMISED)}
+Pending:            ${results.getCount(PENDING)}
+Ignored:            ${results.getCount(IGNORED)}
+Skipped:            ${results.getCount(SKIPPED)}
+Total test time:    ${durationFormat.of(results.duration)}
+Elapsed time:       ${durationFormat.of(aggregate.elapsedTime)}
@@ -1,6 +1,9 @@
 package net.thucydides.core.reports;
 
+import net.thucydides.model.environment.SystemEnvironmentVariables;
 import net.thucydides.model.reports.NumberOfThreads;
+import net.thucydides.model.reports.util.ArtifactCopier;
+import net.thucydides.model.reports.util.ArtifactCopyMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,7 +12,6 @@ import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -18,32 +20,57 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class CopyFiles {
-    private final File sourceDirectory;
+    private final Path sourceDirectory;
+    private final ArtifactCopier copier;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CopyFiles.class);
 
     public CopyFiles(File sourceDirectory) {
+        this(sourceDirectory.toPath());
+    }
+
+    public CopyFiles(Path sourceDirectory) {
+        this(sourceDirectory, ArtifactCopier.configuredIn(SystemEnvironmentVariables.currentEnvironmentVariables()));
+    }
+
+    private CopyFiles(Path sourceDirectory, ArtifactCopier copier) {
         this.sourceDirectory = sourceDirectory;
+        this.copier = copier;
     }
 
     public static CopyFiles from(File sourceDirectory) {
         return new CopyFiles(sourceDirectory);
     }
 
+    public static CopyFiles from(Path sourceDirectory) {
+        return new CopyFiles(sourceDirectory);
+    }
+
+    /**
+     * Copy (or link) the files using the given copier, rather than one configured from the system properties.
+     */
+    public CopyFiles using(ArtifactCopier copier) {
+        return new CopyFiles(sourceDirectory, copier);
+    }
+
     public void to(File outputDirectory) {
-        if (sourceDirectoryIsTheSameAs(outputDirectory)) {
+        if (outputDirectory == null) {
             return;
         }
+        to(outputDirectory.toPath());
+    }
 
-        final Path sourcePath = Paths.get(sourceDirectory.toURI());
-        final Path targetDirectory = Paths.get(outputDirectory.toURI());
+    public void to(Path targetDirectory) {
+        if (sourceDirectoryIsTheSameAs(targetDirectory)) {
+            return;
+        }
 
-        List<Path> filesToCopy = filesToCopyBetween(sourcePath, targetDirectory);
+        List<Path> filesToCopy = filesIn(sourceDirectory);
         int numberOfThreads = NumberOfThreads.forIOOperations();
         final List<Callable<Path>> partitions = new ArrayList<>();
 
         for (Path fileToCopy : filesToCopy) {
-            partitions.add(new FileCopier(fileToCopy, targetDirectory));
+            partitions.add(new FileCopier(fileToCopy, targetDirectory, copier));
         }
 
         final ExecutorService executorPool = Executors.newFixedThreadPool(numberOfThreads);
@@ -57,22 +84,20 @@ public class CopyFiles {
         } finally {
             executorPool.shutdown();
         }
+        if (copier.getMode() == ArtifactCopyMode.LINK) {
+            LOGGER.info("Files from {}: {}", sourceDirectory, copier.summary());
+        }
     }
 
-
-    private boolean sourceDirectoryIsTheSameAs(File outputDirectory) {
-        return (outputDirectory == null) || (outputDirectory.equals(sourceDirectory));
+    private boolean sourceDirectoryIsTheSameAs(Path targetDirectory) {
+        return targetDirectory.toAbsolutePath().equals(sourceDirectory.toAbsolutePath());
     }
 
-
-    private List<Path> filesToCopyBetween(Path sourcePath, Path targetPath) {
+    private List<Path> filesIn(Path sourcePath) {
         List<Path> filesToCopy = new ArrayList<>();
         try (DirectoryStream<Path> directoryContents = Files.newDirectoryStream(sourcePath)) {
             for (Path sourceFile : directoryContents) {
-                Path destinationFile = targetPath.resolve(sourceFile.getFileName());
-                if (Files.notExists(destinationFile)) {
-                    filesToCopy.add(sourceFile);
-                }
+                filesToCopy.add(sourceFile);
             }
         } catch (IOException e) {
             LOGGER.error("Error during copying files to the target directory", e);
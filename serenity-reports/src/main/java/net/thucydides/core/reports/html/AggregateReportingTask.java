@@ -56,5 +56,10 @@ public class AggregateReportingTask extends BaseReportingTask implements Reporti
         return "index.html";
     }
 
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().size();
+    }
+
 
 }
@@ -43,6 +43,7 @@ public abstract class BaseReportingTask implements ReportingTask {
         try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
             mergeTemplate(template).withContext(context).to(writer);
         }
+        ReportOutputTally.recordPageWrittenTo(outputPath);
     }
 
     protected Merger mergeTemplate(final String templateFile) {
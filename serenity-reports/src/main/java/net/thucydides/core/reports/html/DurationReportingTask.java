@@ -77,4 +77,9 @@ public class DurationReportingTask extends BaseReportingTask implements Reportin
     public String reportName() {
         return reportName;
     }
+
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().size();
+    }
 }
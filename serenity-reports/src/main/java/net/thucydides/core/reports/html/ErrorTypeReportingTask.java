@@ -55,4 +55,9 @@ public class ErrorTypeReportingTask extends BaseReportingTask implements Reporti
         return filename;
     }
 
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().size();
+    }
+
 }
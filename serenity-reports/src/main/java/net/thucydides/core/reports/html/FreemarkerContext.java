@@ -119,8 +119,11 @@ public class FreemarkerContext {
         context.put("colorScheme", ChartColorScheme.forEnvironment(environmentVariables));
         context.put("testOutcomes", testOutcomes);
 
+        // Compute the dashboard figures in a single pass over the outcomes
+        DashboardStatistics statistics = DashboardStatistics.from(testOutcomes);
+
         // Calculate Duration
-        context.put("durations", new DurationDistribution(environmentVariables, testOutcomes));
+        context.put("durations", new DurationDistribution(environmentVariables, testOutcomes, statistics.getTestCaseDurations()));
 
         context.put("allTestOutcomes", testOutcomes.getRootOutcomes());
         if (useFiltering) {
@@ -173,8 +176,8 @@ public class FreemarkerContext {
         context.put("manualTestCases", manual(executedScenarios));
         context.put("evidence", EvidenceData.from(outcomeFilter.outcomesFilteredByTagIn(testOutcomes.getOutcomes())));
 
-        context.put("frequentFailures", FrequentFailures.from(testOutcomes).withMaxOf(5));
-        context.put("unstableFeatures", UnstableFeatures.from(testOutcomes)
+        context.put("frequentFailures", FrequentFailures.from(statistics).withMaxOf(5));
+        context.put("unstableFeatures", UnstableFeatures.from(statistics)
                 .withRequirementsFrom(requirementsService)
                 .withMaxOf(5));
 
@@ -192,10 +195,10 @@ public class FreemarkerContext {
                     .filter(requirementsFilter::inDisplayOnlyTags)
                     .map(Requirement::asTag)
                     .collect(Collectors.toSet());
-            coverage = TagCoverage.from(testOutcomes).showingTags(coveredTags).forTagTypes(tagTypes);
+            coverage = TagCoverage.from(statistics).showingTags(coveredTags).forTagTypes(tagTypes);
         } else {
             // Otherwise show coverage for all requirements
-            coverage = TagCoverage.from(testOutcomes).forTagTypes(requirements.getRequirementTypes());
+            coverage = TagCoverage.from(statistics).forTagTypes(requirements.getRequirementTypes());
         }
 
         boolean hideEmptyRequirements = EnvironmentSpecificConfiguration.from(environmentVariables).getBooleanProperty(SERENITY_REPORT_HIDE_EMPTY_REQUIREMENTS, true);
@@ -209,7 +212,7 @@ public class FreemarkerContext {
         );
 
         context.put("tagResults",
-                TagResults.from(testOutcomes)
+                TagResults.from(statistics)
                         .ignoringValues("ignore", "pending", "skip", "error", "compromised", "fail")
                         .ignoringTypes("Duration")
                         .groupedByType()
@@ -163,6 +163,7 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         try (BufferedWriter writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
             mergeTemplate(template).withContext(context).to(writer);
         }
+        ReportOutputTally.recordPageWrittenTo(outputPath);
 
         LOGGER.trace("Generated report {} in {} ms", outputFile, stopwatch.stop());
         return outputPath.toFile();
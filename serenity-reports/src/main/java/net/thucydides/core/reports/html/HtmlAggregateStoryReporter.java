@@ -1,6 +1,7 @@
 package net.thucydides.core.reports.html;
 
 import net.serenitybdd.model.SerenitySystemProperties;
+import net.serenitybdd.model.aggregates.PartialAggregate;
 import net.serenitybdd.model.di.ModelInfrastructure;
 import net.serenitybdd.model.time.Stopwatch;
 import net.serenitybdd.reports.model.DurationDistribution;
@@ -14,6 +15,7 @@ import net.thucydides.model.domain.TestTag;
 import net.thucydides.core.reports.*;
 import net.thucydides.model.reports.*;
 import net.thucydides.model.reports.html.ReportNameProvider;
+import net.thucydides.model.reports.util.ArtifactCopier;
 import net.thucydides.model.requirements.DefaultRequirements;
 import net.thucydides.model.requirements.Requirements;
 import net.thucydides.model.requirements.model.RequirementsConfiguration;
@@ -58,6 +60,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
 
     private final FormatConfiguration formatConfiguration;
     private boolean generateTestOutcomeReports = false;
+    private boolean liveReportResourcesCopied = false;
 
     public static final CopyOption[] COPY_OPTIONS = new CopyOption[]{StandardCopyOption.COPY_ATTRIBUTES};
 
@@ -145,13 +148,13 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private void copyScreenshotsFrom(File sourceDirectory) {
-        CopyFiles.from(sourceDirectory).to(getOutputDirectory());
+        CopyFiles.from(sourceDirectory).using(ArtifactCopier.configuredIn(environmentVariables)).to(getOutputDirectory());
     }
 
     public void generateReportsForTestResultsIn(TestOutcomes testOutcomes) throws IOException {
 
         Stopwatch stopwatch = Stopwatch.started();
-        try (Reporter reporter = new Reporter(environmentVariables)) {
+        try (Reporter reporter = new Reporter(environmentVariables, getOutputDirectory())) {
 
             LOGGER.debug("Generating test results for {} tests", testOutcomes.getTestCount());
 
@@ -184,7 +187,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
                             Stream.of(
                                     new TextSummaryReportTask(context, environmentVariables, getOutputDirectory(), testOutcomes),
                                     new CopyResourcesTask(),
-                                    new CopyTestResultsTask(),
+                                    new CopyTestResultsTask(testOutcomes.getOutcomes().size()),
                                     new AggregateReportingTask(context, environmentVariables, requirements.getRequirementsService(), getOutputDirectory(), testOutcomes)
                             ),
                             // CUSTOM TAG REPORTS
@@ -236,6 +239,48 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         LOGGER.info("Test results for {} tests generated in {} in directory: {}", testOutcomes.getTestCount(), stopwatch.executionTimeFormatted(), getOutputDirectory().toURI());
     }
 
+    /**
+     * Regenerates the report pages that change as new test outcomes arrive during a test run: the home page, build
+     * information and CSV and text summaries for all of the test outcomes, and the test outcome pages of the outcomes
+     * that have changed. Tag, requirement, result and error reports are only written by generateReportsForTestResultsIn().
+     *
+     * @param testOutcomes    all of the test outcomes recorded so far
+     * @param changedOutcomes the outcomes whose pages need to be rewritten
+     * @return the number of pages written by the reporting tasks that completed
+     */
+    public long generateLiveReportsFor(TestOutcomes testOutcomes, Collection<TestOutcome> changedOutcomes) {
+        try (Reporter reporter = new Reporter(environmentVariables, getOutputDirectory())) {
+            if (!liveReportResourcesCopied) {
+                copyResourcesToOutputDirectory();
+                liveReportResourcesCopied = true;
+            }
+            FreemarkerContext context = new FreemarkerContext(environmentVariables, requirements.getRequirementsService(), issueTracking, relativeLink);
+
+            Stream<ReportingTask> outcomeTasks = HtmlTestOutcomeReportingTask.testOutcomeReportsFor(TestOutcomes.of(changedOutcomes))
+                    .using(environmentVariables, requirements.getRequirementsService(), getOutputDirectory(), issueTracking);
+            Stream<ReportingTask> summaryTasks = Stream.of(
+                    new TextSummaryReportTask(context, environmentVariables, getOutputDirectory(), testOutcomes),
+                    new AggregateReportingTask(context, environmentVariables, requirements.getRequirementsService(), getOutputDirectory(), testOutcomes)
+            );
+            reporter.generateReportsFor(Stream.concat(outcomeTasks, summaryTasks));
+            return reporter.getProfile().getPagesWritten();
+        } catch (IOException e) {
+            throw new ReportGenerationFailedError("Could not refresh the live report", e);
+        }
+    }
+
+    /**
+     * Generates the summary pages of a test run that was split across several shards, from the merged partial
+     * aggregates of the shards rather than from the test outcomes themselves.
+     */
+    public void generateReportsForMergedShards(PartialAggregate mergedAggregate) throws IOException {
+        copyResourcesToOutputDirectory();
+        FreemarkerContext context = new FreemarkerContext(environmentVariables, requirements.getRequirementsService(), issueTracking, relativeLink);
+        new PartialAggregateReportingTask(context, environmentVariables, getOutputDirectory(), projectName, mergedAggregate).generateReports();
+        LOGGER.info("Summary of {} tests from {} shards generated in directory: {}",
+                mergedAggregate.getResults().getTotal(), mergedAggregate.getShards().size(), getOutputDirectory().toURI());
+    }
+
     private Stream<ReportingTask> tagReports(DurationDistribution durationDistribution,
                                              TestOutcomes testOutcomes,
                                              FreemarkerContext context,
@@ -272,7 +317,8 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private TestOutcomes loadTestOutcomesFrom(File sourceDirectory) throws IOException {
-        return TestOutcomeLoader.loadTestOutcomes().inFormat(getFormat()).from(sourceDirectory).withRequirementsTags();
+        TestOutcomeLoader loader = new TestOutcomeLoader(environmentVariables).forFormat(getFormat());
+        return TestOutcomes.of(loader.loadFrom(sourceDirectory)).withRequirementsTags();
     }
 
     protected SerenitySystemProperties getSystemProperties() {
@@ -372,6 +418,12 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private class CopyTestResultsTask implements ReportingTask {
+        private final long testOutcomeCount;
+
+        CopyTestResultsTask(long testOutcomeCount) {
+            this.testOutcomeCount = testOutcomeCount;
+        }
+
         @Override
         public void generateReports() throws IOException {
             copyTestResultsToOutputDirectory();
@@ -381,6 +433,11 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         public String reportName() {
             return "CopyTestResultsTask";
         }
+
+        @Override
+        public long estimatedCost() {
+            return testOutcomeCount;
+        }
     }
 
 }
@@ -8,6 +8,8 @@ import net.thucydides.model.logging.LoggingLevel;
 import net.thucydides.model.domain.TestOutcome;
 import net.thucydides.model.reports.ThucydidesReporter;
 import net.thucydides.model.reports.templates.TemplateManager;
+import net.thucydides.model.reports.util.ArtifactCopier;
+import net.thucydides.model.reports.util.ArtifactCopyMode;
 import net.thucydides.model.reports.util.CopyDirectory;
 import net.thucydides.model.util.EnvironmentVariables;
 import org.slf4j.Logger;
@@ -85,14 +87,18 @@ public abstract class HtmlReporter extends ThucydidesReporter {
         Path destinationPath = getOutputDirectory().toPath();
         if (Files.exists(sourcePath) && !Files.isSameFile(sourcePath, destinationPath)) {
             LOGGER.trace("Copying directory contents from {} to {}", sourcePath,destinationPath);
-            copyDirectoryContents(sourcePath, destinationPath);
+            ArtifactCopier copier = ArtifactCopier.configuredIn(environmentVariables);
+            copyDirectoryContents(sourcePath, destinationPath, copier);
             LOGGER.trace("Copying directory contents from {} to {} done", sourcePath,destinationPath);
+            if (copier.getMode() == ArtifactCopyMode.LINK) {
+                LOGGER.info("Test results {}", copier.summary());
+            }
         }
     }
 
-    private void copyDirectoryContents(Path sourcePath, Path destinationPath) throws IOException {
+    private void copyDirectoryContents(Path sourcePath, Path destinationPath, ArtifactCopier copier) throws IOException {
         Files.walkFileTree(sourcePath, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
-                Integer.MAX_VALUE, new CopyDirectory(sourcePath, destinationPath));
+                Integer.MAX_VALUE, new CopyDirectory(sourcePath, destinationPath, copier));
 
     }
 
@@ -41,6 +41,11 @@ public class HtmlTestOutcomeReportingTask implements ReportingTask {
         return testOutcome.getReportName();
     }
 
+    @Override
+    public long estimatedCost() {
+        return Math.max(1, testOutcome.getNestedStepCount());
+    }
+
     @Override
     public void generateReports() throws IOException {
 
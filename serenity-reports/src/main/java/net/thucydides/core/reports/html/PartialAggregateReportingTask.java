@@ -0,0 +1,65 @@
+package net.thucydides.core.reports.html;
+
+import net.serenitybdd.model.aggregates.PartialAggregate;
+import net.thucydides.model.domain.TestResult;
+import net.thucydides.model.requirements.reports.CompoundDuration;
+import net.thucydides.model.util.EnvironmentVariables;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the summary pages of a multi-node test run from the merged partial aggregates of its shards: the home page,
+ * the text summary, and the merged aggregate itself, so that merged runs can in turn be merged.
+ */
+public class PartialAggregateReportingTask extends BaseReportingTask implements ReportingTask {
+
+    private static final String MERGED_SUMMARY_TEMPLATE_PATH = "freemarker/merged-summary.ftl";
+    private static final String MERGED_TEXT_SUMMARY_TEMPLATE_PATH = "freemarker/merged-text-summary.ftl";
+
+    private final String projectName;
+    private final PartialAggregate aggregate;
+
+    public PartialAggregateReportingTask(FreemarkerContext context,
+                                         EnvironmentVariables environmentVariables,
+                                         File outputDirectory,
+                                         String projectName,
+                                         PartialAggregate aggregate) {
+        super(context, environmentVariables, outputDirectory);
+        this.projectName = projectName;
+        this.aggregate = aggregate;
+    }
+
+    @Override
+    public void generateReports() throws IOException {
+        Map<String, Object> context = new HashMap<>();
+        context.put("projectName", projectName);
+        context.put("aggregate", aggregate);
+        context.put("results", aggregate.getResults());
+        context.put("timestamp", ZonedDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss")));
+        context.put("durationFormat", new DurationFormat());
+        for (TestResult result : TestResult.values()) {
+            context.put(result.name(), result);
+        }
+
+        generateReportPage(context, MERGED_SUMMARY_TEMPLATE_PATH, "index.html");
+        generateReportPage(context, MERGED_TEXT_SUMMARY_TEMPLATE_PATH, "summary.txt");
+        aggregate.writeTo(outputDirectory.toPath());
+    }
+
+    @Override
+    public String reportName() {
+        return "index.html";
+    }
+
+    public static class DurationFormat {
+        public String of(Duration duration) {
+            return CompoundDuration.of(duration.toMillis());
+        }
+    }
+}
@@ -8,33 +8,84 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static net.thucydides.core.reports.html.ReportingTaskMetrics.Status.COMPLETED;
+
+class ReportExecutor implements Callable<ReportingTaskMetrics> {
+    private static final long NOT_STARTED = -1;
 
-class ReportExecutor implements Callable<Void> {
     private final ReportingTask reportingTask;
+    private final int batch;
+    private final long estimatedCost;
+
+    private volatile long startedAt = NOT_STARTED;
+    private volatile long pagesWritten;
+    private volatile long bytesWritten;
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(ReportExecutor.class);
 
     private final EnvironmentVariables environmentVariables = SystemEnvironmentVariables.currentEnvironmentVariables();
 
-    public ReportExecutor(ReportingTask reportingTask) {
+    ReportExecutor(ReportingTask reportingTask, int batch, long estimatedCost) {
         this.reportingTask = reportingTask;
+        this.batch = batch;
+        this.estimatedCost = estimatedCost;
     }
 
     public ReportingTask getReportingTask() {
         return reportingTask;
     }
 
+    long getEstimatedCost() {
+        return estimatedCost;
+    }
+
     @Override
-    public Void call() throws Exception {
+    public ReportingTaskMetrics call() throws Exception {
+        startedAt = System.nanoTime();
         Stopwatch reportingStopwatch = Stopwatch.started();
         if (verboseReporting()) {
             LOGGER.debug("Generating report {}...", reportingTask);
         }
-        reportingTask.generateReports();
+        ReportOutputTally tally = ReportOutputTally.startCounting();
+        try {
+            reportingTask.generateReports();
+        } finally {
+            pagesWritten = tally.getPagesWritten();
+            bytesWritten = tally.getBytesWritten();
+            ReportOutputTally.stopCounting();
+        }
         if (verboseReporting()) {
             LOGGER.debug("Report {} generated in {} ms", reportingTask, reportingStopwatch.stop());
         }
-        return null;
+        return metrics(COMPLETED, null);
+    }
+
+    /**
+     * Whether the task started running more than the given time ago and is therefore overdue.
+     * Tasks still waiting for a thread are never overdue.
+     */
+    boolean hasRunForLongerThan(long timeout, TimeUnit unit) {
+        return startedAt != NOT_STARTED && System.nanoTime() - startedAt > unit.toNanos(timeout);
+    }
+
+    ReportingTaskMetrics metrics(ReportingTaskMetrics.Status status, String error) {
+        long duration = (startedAt == NOT_STARTED) ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        return new ReportingTaskMetrics(reportingTask.reportName(),
+                                        reportingTask.toString(),
+                                        batch,
+                                        estimatedCost,
+                                        duration,
+                                        pagesWritten,
+                                        bytesWritten,
+                                        status,
+                                        error);
+    }
+
+    @Override
+    public String toString() {
+        return reportingTask.toString();
     }
 
     private Boolean verboseReporting() {
@@ -0,0 +1,68 @@
+package net.thucydides.core.reports.html;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.thucydides.core.reports.html.ReportingTaskMetrics.Status.COMPLETED;
+
+/**
+ * The metrics of every reporting task run by a {@link Reporter}, and how long each batch of tasks took overall.
+ * Written to report-generation-profile.json in the report directory when serenity.report.profile is set to true.
+ */
+public class ReportGenerationProfile {
+
+    public static final String PROFILE_FILENAME = "report-generation-profile.json";
+
+    private final List<ReportingTaskMetrics> tasks = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> batchDurations = Collections.synchronizedList(new ArrayList<>());
+
+    void record(ReportingTaskMetrics metrics) {
+        tasks.add(metrics);
+    }
+
+    void recordBatch(long durationInMilliseconds) {
+        batchDurations.add(durationInMilliseconds);
+    }
+
+    public List<ReportingTaskMetrics> getTasks() {
+        return new ArrayList<>(tasks);
+    }
+
+    public long getPagesWritten() {
+        return getTasks().stream().mapToLong(ReportingTaskMetrics::getPagesWritten).sum();
+    }
+
+    public long getBytesWritten() {
+        return getTasks().stream().mapToLong(ReportingTaskMetrics::getBytesWritten).sum();
+    }
+
+    public long getFailedTaskCount() {
+        return getTasks().stream().filter(task -> task.getStatus() != COMPLETED).count();
+    }
+
+    public void writeTo(Path outputFile) throws IOException {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("taskCount", getTasks().size());
+        profile.put("failedTaskCount", getFailedTaskCount());
+        profile.put("pagesWritten", getPagesWritten());
+        profile.put("bytesWritten", getBytesWritten());
+        profile.put("batchDurationsInMilliseconds", new ArrayList<>(batchDurations));
+        profile.put("tasks", getTasks());
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            gson.toJson(profile, writer);
+        }
+    }
+}
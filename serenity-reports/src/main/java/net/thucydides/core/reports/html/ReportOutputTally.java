@@ -0,0 +1,48 @@
+package net.thucydides.core.reports.html;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Counts the pages and bytes written by the reporting task running on the current thread.
+ * Pages written outside of a reporting task are not counted.
+ */
+class ReportOutputTally {
+
+    private static final ThreadLocal<ReportOutputTally> CURRENT_TALLY = new ThreadLocal<>();
+
+    private long pagesWritten;
+    private long bytesWritten;
+
+    static ReportOutputTally startCounting() {
+        ReportOutputTally tally = new ReportOutputTally();
+        CURRENT_TALLY.set(tally);
+        return tally;
+    }
+
+    static void stopCounting() {
+        CURRENT_TALLY.remove();
+    }
+
+    static void recordPageWrittenTo(Path outputPath) {
+        ReportOutputTally tally = CURRENT_TALLY.get();
+        if (tally == null) {
+            return;
+        }
+        tally.pagesWritten++;
+        try {
+            tally.bytesWritten += Files.size(outputPath);
+        } catch (IOException ignored) {
+            // The page was written, but its size is not worth failing the report for
+        }
+    }
+
+    long getPagesWritten() {
+        return pagesWritten;
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+}
@@ -9,65 +9,105 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static net.thucydides.model.ThucydidesSystemProperty.REPORT_TIMEOUT_THREADDUMPS;
-
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_REPORT_PROFILE;
+
+/**
+ * Runs batches of reporting tasks on a thread pool.
+ * <p>
+ * The tasks with the highest estimated cost are started first, so that a few large pages do not start last and
+ * stretch out the batch. Each task is given the report timeout from the moment it starts running, and a task that
+ * fails or times out is recorded without affecting the others. The duration and output of each task is kept in a
+ * {@link ReportGenerationProfile}, which is written to the report directory when the reporter is closed if
+ * serenity.report.profile is set to true.
+ */
 class Reporter implements Closeable {
 
     private static final TimeoutValue DEFAULT_TIMEOUT = new TimeoutValue(600, TimeUnit.SECONDS);
 
+    private static final long TIMEOUT_CHECK_INTERVAL_IN_MILLISECONDS = 100;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(HtmlAggregateStoryReporter.class);
 
     private final EnvironmentVariables environmentVariables;
 
     private final ExecutorService executorPool;
 
-    public Reporter(EnvironmentVariables environmentVariables) {
+    private final File outputDirectory;
+
+    private final ReportGenerationProfile profile = new ReportGenerationProfile();
+
+    private int batchCount = 0;
+
+    public Reporter(EnvironmentVariables environmentVariables, File outputDirectory) {
+        this(environmentVariables, outputDirectory, NumberOfThreads.forIOOperations());
+    }
+
+    Reporter(EnvironmentVariables environmentVariables, File outputDirectory, int threads) {
         this.environmentVariables = environmentVariables;
-        this.executorPool = Executors.newFixedThreadPool(NumberOfThreads.forIOOperations());
-        LOGGER.info("GENERATING REPORTS USING {} THREADS", NumberOfThreads.forIOOperations());
+        this.outputDirectory = outputDirectory;
+        this.executorPool = Executors.newFixedThreadPool(threads);
+        LOGGER.info("GENERATING REPORTS USING {} THREADS", threads);
     }
 
-    public void generateReportsFor(Stream<ReportingTask> reportingTasks) {
+    /**
+     * Runs the reporting tasks, returning the number that completed successfully.
+     */
+    public int generateReportsFor(Stream<ReportingTask> reportingTasks) {
         Stopwatch stopwatch = Stopwatch.started();
 
+        int batch = ++batchCount;
         ErrorTally errorTally = new ErrorTally();
-        AtomicInteger reportCounter = new AtomicInteger();
+        int reportCounter = 0;
         try {
             final TimeoutValue timeout = TimeoutConfiguration.from(environmentVariables).forProperty("report.timeout", DEFAULT_TIMEOUT);
 
-            reportingTasks
-                    .map(ReportExecutor::new)
-                    .map(executorPool::submit)
-                    .parallel()
-                    .forEach(future -> {
-                        try {
-                            future.get(timeout.getTimeout(), timeout.getUnit());
-                            reportCounter.incrementAndGet();
-                        } catch (TimeoutException reportGenerationTimedOut) {
-                            String errorMessage = reportFailureMessage("Report generation timed out", reportGenerationTimedOut);
-                            errorTally.recordReportFailure(errorMessage);
-                            LOGGER.warn(errorMessage);
-                        } catch (InterruptedException reportGenerationInterrupted) {
-                            String errorMessage = reportFailureMessage("Report generation interrupted", reportGenerationInterrupted);
-                            errorTally.recordReportFailure(errorMessage);
-                            LOGGER.warn(errorMessage);
-                        } catch (ExecutionException reportGenerationFailed) {
-                            String errorMessage = reportFailureMessage("Failed to generate report", reportGenerationFailed);
-                            errorTally.recordReportFailure(errorMessage);
-                            LOGGER.warn(errorMessage, reportGenerationFailed);
-                        }
-                    });
+            List<ReportExecutor> executors = reportingTasks
+                    .map(task -> new ReportExecutor(task, batch, task.estimatedCost()))
+                    .sorted(Comparator.comparingLong(ReportExecutor::getEstimatedCost).reversed())
+                    .collect(Collectors.toList());
+
+            CompletionService<ReportingTaskMetrics> completionService = new ExecutorCompletionService<>(executorPool);
+            Map<Future<ReportingTaskMetrics>, ReportExecutor> runningTasks = new HashMap<>();
+            for (ReportExecutor executor : executors) {
+                runningTasks.put(completionService.submit(executor), executor);
+            }
+
+            while (!runningTasks.isEmpty()) {
+                Future<ReportingTaskMetrics> completedTask;
+                try {
+                    completedTask = completionService.poll(TIMEOUT_CHECK_INTERVAL_IN_MILLISECONDS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException reportGenerationInterrupted) {
+                    for (Map.Entry<Future<ReportingTaskMetrics>, ReportExecutor> runningTask : runningTasks.entrySet()) {
+                        runningTask.getKey().cancel(true);
+                        String errorMessage = reportFailureMessage("Report generation interrupted", runningTask.getValue(), reportGenerationInterrupted);
+                        recordFailure(runningTask.getValue(), ReportingTaskMetrics.Status.INTERRUPTED, errorMessage, errorTally);
+                    }
+                    runningTasks.clear();
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (completedTask != null) {
+                    ReportExecutor executor = runningTasks.remove(completedTask);
+                    if (executor != null && recordCompletionOf(completedTask, executor, errorTally)) {
+                        reportCounter++;
+                    }
+                }
+                cancelOverdueTasks(runningTasks, timeout, errorTally);
+            }
         } catch (Exception e) {
             LOGGER.error("Report generation failed", e);
         }
-        LOGGER.debug("Generated {} pages in {} seconds", reportCounter.get(),(stopwatch.stop() / 1000));
+        long batchDuration = stopwatch.stop();
+        profile.recordBatch(batchDuration);
+        LOGGER.debug("Generated {} pages in {} seconds", reportCounter, (batchDuration / 1000));
         if (errorTally.hasErrors()) {
             LOGGER.warn(errorTally.errorSummary());
             if (showThreaddumpOnReportTimeout()) {
@@ -75,6 +115,51 @@ class Reporter implements Closeable {
                 System.err.println(ThreadDump.forAllThreads());
             }
         }
+        return reportCounter;
+    }
+
+    private boolean recordCompletionOf(Future<ReportingTaskMetrics> completedTask, ReportExecutor executor, ErrorTally errorTally) {
+        try {
+            profile.record(completedTask.get());
+            return true;
+        } catch (ExecutionException reportGenerationFailed) {
+            String errorMessage = reportFailureMessage("Failed to generate report", executor, reportGenerationFailed);
+            LOGGER.warn(errorMessage, reportGenerationFailed);
+            recordFailure(executor, ReportingTaskMetrics.Status.FAILED, errorMessage, errorTally);
+        } catch (InterruptedException | CancellationException reportGenerationInterrupted) {
+            String errorMessage = reportFailureMessage("Report generation interrupted", executor, reportGenerationInterrupted);
+            LOGGER.warn(errorMessage);
+            recordFailure(executor, ReportingTaskMetrics.Status.INTERRUPTED, errorMessage, errorTally);
+        }
+        return false;
+    }
+
+    private void cancelOverdueTasks(Map<Future<ReportingTaskMetrics>, ReportExecutor> runningTasks, TimeoutValue timeout, ErrorTally errorTally) {
+        Iterator<Map.Entry<Future<ReportingTaskMetrics>, ReportExecutor>> tasks = runningTasks.entrySet().iterator();
+        while (tasks.hasNext()) {
+            Map.Entry<Future<ReportingTaskMetrics>, ReportExecutor> runningTask = tasks.next();
+            ReportExecutor executor = runningTask.getValue();
+            if (!runningTask.getKey().isDone() && executor.hasRunForLongerThan(timeout.getTimeout(), timeout.getUnit())) {
+                runningTask.getKey().cancel(true);
+                tasks.remove();
+                String errorMessage = reportFailureMessage("Report generation timed out", executor,
+                        new TimeoutException("No result after " + timeout.getTimeout() + " " + timeout.getUnit().toString().toLowerCase()));
+                LOGGER.warn(errorMessage);
+                recordFailure(executor, ReportingTaskMetrics.Status.TIMED_OUT, errorMessage, errorTally);
+            }
+        }
+    }
+
+    private void recordFailure(ReportExecutor executor, ReportingTaskMetrics.Status status, String errorMessage, ErrorTally errorTally) {
+        errorTally.recordReportFailure(errorMessage);
+        profile.record(executor.metrics(status, errorMessage));
+    }
+
+    /**
+     * The metrics of every task run by this reporter so far.
+     */
+    public ReportGenerationProfile getProfile() {
+        return profile;
     }
 
     private String ultimateError(Throwable cause) {
@@ -89,21 +174,16 @@ class Reporter implements Closeable {
         return REPORT_TIMEOUT_THREADDUMPS.booleanFrom(environmentVariables, false);
     }
 
-    private String reportFailureMessage(String reason, ReportExecutorFuture executedTask, Exception e) {
-        return String.format("%s for %s - %s\n%s", reason, executedTask, e, errorCauseOf(e));
-    }
-
-    private String reportFailureMessage(String reason, Exception e) {
-        return String.format("%s - %s\n%s", reason, e, errorCauseOf(e));
-    }
-
-    private String reportFailureMessage(String reason, ReportingTask executedTask, Exception e) {
+    private String reportFailureMessage(String reason, ReportExecutor executedTask, Exception e) {
         return String.format("%s for %s - %s\n%s", reason, executedTask, e, errorCauseOf(e));
     }
 
     @Override
     public void close() throws IOException {
         executorPool.shutdown();
+        if (outputDirectory != null && SERENITY_REPORT_PROFILE.booleanFrom(environmentVariables, false)) {
+            profile.writeTo(outputDirectory.toPath().resolve(ReportGenerationProfile.PROFILE_FILENAME));
+        }
     }
 
     private static class ErrorRecord {
@@ -154,20 +234,4 @@ class Reporter implements Closeable {
             return elements[0].toString();
         }
     }
-    static class ReportExecutorFuture {
-        private final Future<Void> future;
-        private final ReportingTask reportTask;
-
-        ReportExecutorFuture(Future<Void> future, ReportingTask reportTask) {
-            this.future = future;
-            this.reportTask = reportTask;
-        }
-
-        Future<Void> getFuture() { return future; }
-
-        @Override
-        public String toString() {
-            return reportTask.toString();
-        }
-    }
 }
@@ -5,4 +5,12 @@ import java.io.IOException;
 public interface ReportingTask {
     void generateReports() throws IOException;
     String reportName();
+
+    /**
+     * A rough measure of how much work this task does, usually the number of test outcomes it reports on.
+     * The reporter starts the most expensive tasks first, so that a few large pages do not hold up the end of a batch.
+     */
+    default long estimatedCost() {
+        return 1;
+    }
 }
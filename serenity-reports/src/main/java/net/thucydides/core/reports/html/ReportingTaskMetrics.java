@@ -0,0 +1,80 @@
+package net.thucydides.core.reports.html;
+
+/**
+ * How long a reporting task took and how much it wrote, as recorded in the report generation profile.
+ */
+public class ReportingTaskMetrics {
+
+    public enum Status {COMPLETED, FAILED, TIMED_OUT, INTERRUPTED}
+
+    private final String reportName;
+    private final String task;
+    private final int batch;
+    private final long estimatedCost;
+    private final long durationInMilliseconds;
+    private final long pagesWritten;
+    private final long bytesWritten;
+    private final Status status;
+    private final String error;
+
+    ReportingTaskMetrics(String reportName,
+                         String task,
+                         int batch,
+                         long estimatedCost,
+                         long durationInMilliseconds,
+                         long pagesWritten,
+                         long bytesWritten,
+                         Status status,
+                         String error) {
+        this.reportName = reportName;
+        this.task = task;
+        this.batch = batch;
+        this.estimatedCost = estimatedCost;
+        this.durationInMilliseconds = durationInMilliseconds;
+        this.pagesWritten = pagesWritten;
+        this.bytesWritten = bytesWritten;
+        this.status = status;
+        this.error = error;
+    }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    public String getTask() {
+        return task;
+    }
+
+    public int getBatch() {
+        return batch;
+    }
+
+    public long getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    public long getDurationInMilliseconds() {
+        return durationInMilliseconds;
+    }
+
+    public long getPagesWritten() {
+        return pagesWritten;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s in %d ms (%d pages, %d bytes)", task, status, durationInMilliseconds, pagesWritten, bytesWritten);
+    }
+}
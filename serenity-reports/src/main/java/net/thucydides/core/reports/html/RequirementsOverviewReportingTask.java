@@ -95,6 +95,11 @@ class RequirementsOverviewReportingTask extends BaseReportingTask implements Rep
         return reportName;
     }
 
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().size();
+    }
+
 
     public RequirementsOverviewReportingTask asParentRequirement() {
         this.asParentRequirement = true;
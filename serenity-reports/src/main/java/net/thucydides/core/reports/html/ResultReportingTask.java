@@ -46,6 +46,11 @@ public class ResultReportingTask extends BaseReportingTask implements ReportingT
         return reportName;
     }
 
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().size();
+    }
+
     @Override
     public void generateReports() throws IOException {
         Map<String, Object> context = freemarker.getBuildContext(testOutcomes, reportNameProvider, true);
@@ -174,4 +174,9 @@ public class TagReportingTask extends BaseReportingTask implements ReportingTask
     public String reportName() {
         return reportName;
     }
+
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().stream().filter(outcome -> outcome.hasTag(tag)).count();
+    }
 }
@@ -44,6 +44,11 @@ public class TextSummaryReportTask extends BaseReportingTask implements Reportin
         return "summary.txt";
     }
 
+    @Override
+    public long estimatedCost() {
+        return testOutcomes.getOutcomes().size();
+    }
+
     @Override
     public String toString() {
         return "Test Summary Report";
@@ -0,0 +1,132 @@
+package net.thucydides.core.reports
+
+import com.google.common.jimfs.Configuration
+import com.google.common.jimfs.Jimfs
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.reports.util.ArtifactCopier
+import net.thucydides.model.reports.util.ArtifactCopyMode
+import net.thucydides.model.reports.util.CopyDirectory
+import spock.lang.Specification
+
+import java.nio.file.FileSystem
+import java.nio.file.Files
+import java.nio.file.Path
+
+class WhenCopyingTestResultFiles extends Specification {
+
+    Path sourceDirectory = Files.createTempDirectory("serenity-results")
+    Path reportDirectory = Files.createTempDirectory("serenity-report")
+
+    def setup() {
+        Files.write(sourceDirectory.resolve("screenshot-1.png"), ("a" * 1000).bytes)
+        Files.write(sourceDirectory.resolve("screenshot-2.png"), ("b" * 2000).bytes)
+        Files.write(sourceDirectory.resolve("outcome.json"), "{}".bytes)
+    }
+
+    def "should copy each file that is not already in the report directory by default"() {
+        given:
+            Files.write(reportDirectory.resolve("outcome.json"), "{\"existing\":true}".bytes)
+            def copier = new ArtifactCopier(ArtifactCopyMode.COPY)
+        when:
+            CopyFiles.from(sourceDirectory).using(copier).to(reportDirectory)
+        then:
+            contentOf(reportDirectory.resolve("screenshot-1.png")) == "a" * 1000
+            !Files.isSameFile(reportDirectory.resolve("screenshot-1.png"), sourceDirectory.resolve("screenshot-1.png"))
+            contentOf(reportDirectory.resolve("outcome.json")) == "{\"existing\":true}"
+            copier.filesCopied == 2
+            copier.bytesCopied == 3000
+            copier.bytesAvoided == 0
+    }
+
+    def "should link the files into a report directory on the same file system"() {
+        given:
+            def copier = new ArtifactCopier(ArtifactCopyMode.LINK)
+        when:
+            CopyFiles.from(sourceDirectory).using(copier).to(reportDirectory)
+        then:
+            Files.isSameFile(reportDirectory.resolve("screenshot-1.png"), sourceDirectory.resolve("screenshot-1.png"))
+            Files.isSameFile(reportDirectory.resolve("screenshot-2.png"), sourceDirectory.resolve("screenshot-2.png"))
+            copier.filesLinked == 3
+            copier.filesCopied == 0
+            copier.bytesAvoided == 3002
+    }
+
+    def "should copy the files when the report directory is on another file system"() {
+        given:
+            FileSystem otherFileSystem = Jimfs.newFileSystem(Configuration.unix())
+            Path otherReportDirectory = Files.createDirectories(otherFileSystem.getPath("/report"))
+            def copier = new ArtifactCopier(ArtifactCopyMode.LINK)
+        when:
+            CopyFiles.from(sourceDirectory).using(copier).to(otherReportDirectory)
+        then:
+            contentOf(otherReportDirectory.resolve("screenshot-2.png")) == "b" * 2000
+            copier.filesCopied == 3
+            copier.filesLinked == 0
+            copier.bytesCopied == 3002
+        cleanup:
+            otherFileSystem.close()
+    }
+
+    def "should skip files that are already in the report directory with the same content"() {
+        given:
+            Files.write(reportDirectory.resolve("screenshot-1.png"), ("a" * 1000).bytes)
+            def copier = new ArtifactCopier(ArtifactCopyMode.LINK)
+        when:
+            CopyFiles.from(sourceDirectory).using(copier).to(reportDirectory)
+        then:
+            copier.filesAlreadyPresent == 1
+            !Files.isSameFile(reportDirectory.resolve("screenshot-1.png"), sourceDirectory.resolve("screenshot-1.png"))
+            copier.bytesAvoided == 3002
+        when: "the files are copied again"
+            def secondCopier = new ArtifactCopier(ArtifactCopyMode.LINK)
+            CopyFiles.from(sourceDirectory).using(secondCopier).to(reportDirectory)
+        then:
+            secondCopier.filesAlreadyPresent == 3
+            secondCopier.filesLinked == 0
+            secondCopier.bytesAvoided == 3002
+    }
+
+    def "should replace files in the report directory whose content is different"() {
+        given:
+            Files.write(reportDirectory.resolve("screenshot-1.png"), ("z" * 1000).bytes)
+            def copier = new ArtifactCopier(ArtifactCopyMode.LINK)
+        when:
+            CopyFiles.from(sourceDirectory).using(copier).to(reportDirectory)
+        then:
+            contentOf(reportDirectory.resolve("screenshot-1.png")) == "a" * 1000
+            copier.filesAlreadyPresent == 0
+            copier.filesLinked == 3
+    }
+
+    def "should link nested test result directories into the report directory"() {
+        given:
+            Files.createDirectories(sourceDirectory.resolve("attachments"))
+            Files.write(sourceDirectory.resolve("attachments/log.txt"), "log".bytes)
+            def copier = new ArtifactCopier(ArtifactCopyMode.LINK)
+        when:
+            Files.walkFileTree(sourceDirectory, new CopyDirectory(sourceDirectory, reportDirectory, copier))
+        then:
+            Files.isSameFile(reportDirectory.resolve("attachments/log.txt"), sourceDirectory.resolve("attachments/log.txt"))
+            copier.filesLinked == 4
+    }
+
+    def "the copy mode should be configurable"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+        expect:
+            ArtifactCopyMode.configuredIn(environmentVariables) == ArtifactCopyMode.COPY
+        when:
+            environmentVariables.setProperty("serenity.report.copy.mode", "link")
+        then:
+            ArtifactCopyMode.configuredIn(environmentVariables) == ArtifactCopyMode.LINK
+        when:
+            environmentVariables.setProperty("serenity.report.copy.mode", "symlink")
+            ArtifactCopyMode.configuredIn(environmentVariables)
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    private static String contentOf(Path file) {
+        new String(Files.readAllBytes(file))
+    }
+}
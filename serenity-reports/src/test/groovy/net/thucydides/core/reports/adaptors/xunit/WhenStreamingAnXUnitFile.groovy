@@ -0,0 +1,201 @@
+package net.thucydides.core.reports.adaptors.xunit
+
+import net.thucydides.model.reports.adaptors.lettuce.LettuceXUnitAdaptor
+import net.thucydides.model.reports.adaptors.xunit.BasicXUnitLoader
+import net.thucydides.model.reports.adaptors.xunit.CouldNotReadXUnitFileException
+import net.thucydides.model.reports.adaptors.xunit.DefaultXUnitAdaptor
+import net.thucydides.model.reports.adaptors.xunit.StreamingXUnitLoader
+import net.thucydides.model.reports.adaptors.xunit.model.TestSuite
+import org.apache.commons.io.FileUtils
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+
+import static net.thucydides.model.util.TestResources.fileInClasspathCalled
+
+/**
+ * The streaming xUnit loader should read xUnit files exactly as the DOM-based loader does,
+ * without loading the whole document into memory.
+ */
+class WhenStreamingAnXUnitFile extends Specification {
+
+    File outputDirectory
+
+    def setup() {
+        outputDirectory = Files.createTempDirectory("xunit-reports").toFile()
+    }
+
+    def cleanup() {
+        FileUtils.deleteDirectory(outputDirectory)
+    }
+
+    @Unroll
+    def "should read #xunitFile in the same way as the DOM-based loader"() {
+        given:
+            def xunitFileSource = fileInClasspathCalled(xunitFile)
+        expect:
+            describe(new StreamingXUnitLoader().loadFrom(xunitFileSource)) == describe(new BasicXUnitLoader().loadFrom(xunitFileSource))
+        where:
+            xunitFile << ["/xunit/singleTestCase.xml",
+                          "/xunit/multipleTestCases.xml",
+                          "/xunit/failingTestCase.xml",
+                          "/xunit/errorTestCase.xml",
+                          "/xunit/skippedTestCase.xml",
+                          "/xunit-sample-output/singleTestCaseWithColonInName.xml",
+                          "/lettuce-xunit-reports/normal/normal-scenarios.xml",
+                          "/lettuce-xunit-reports/with-failures/scenarios-with-failures.xml",
+                          "/lettuce-xunit-reports/tables/using-tables.xml"]
+    }
+
+    def "should read nested test suites in the same way as the DOM-based loader"() {
+        given:
+            def xunitFile = new File(outputDirectory, "nested.xml")
+            xunitFile.text = """<?xml version="1.0" encoding="UTF-8"?>
+                <testsuites>
+                    <testsuite name="outer">
+                        <testcase name="first" classname="Outer" time="0.5"/>
+                        <testsuite name="inner">
+                            <testcase name="second" classname="Inner" time="2">
+                                <failure message="Expected 2 but was 3"><![CDATA[java.lang.AssertionError: <3>]]>
+    at Inner.second</failure>
+                                <system-out>Lots of output</system-out>
+                            </testcase>
+                        </testsuite>
+                        <testcase name="third" classname="Outer">
+                            <skipped/>
+                        </testcase>
+                    </testsuite>
+                </testsuites>"""
+        when:
+            def suites = new StreamingXUnitLoader().loadFrom(xunitFile)
+        then:
+            suites.collect { it.name } == ["outer", "inner"]
+            suites[0].testCases.collect { it.name } == ["first", "second", "third"]
+            suites[1].testCases.collect { it.name } == ["second"]
+            suites[1].testCases[0].failure.get().errorOutput.startsWith("java.lang.AssertionError: <3>")
+            suites[0].testCases[2].skipped.get().type == "unknown"
+        and:
+            describe(suites) == describe(new BasicXUnitLoader().loadFrom(xunitFile))
+    }
+
+    def "should not keep the whole of a very large failure output"() {
+        given:
+            def xunitFile = new File(outputDirectory, "large-output.xml")
+            xunitFile.text = """<testsuite name="aTestSuite">
+                <testcase name="should_fail" classname="SomeTestClass">
+                    <failure message="Something went wrong">${"at SomeTestClass.should_fail\n" * 100000}</failure>
+                </testcase>
+            </testsuite>"""
+        when:
+            def failure = new StreamingXUnitLoader().loadFrom(xunitFile)[0].testCases[0].failure.get()
+        then:
+            failure.message == "Something went wrong"
+            failure.errorOutput.length() == 64 * 1024
+    }
+
+    def "should keep the system output of a test case up to the same fixed length"() {
+        given:
+            def xunitFile = new File(outputDirectory, "large-system-output.xml")
+            xunitFile.text = """<testsuite name="aTestSuite">
+                <testcase name="should_log_a_lot" classname="SomeTestClass">
+                    <system-out>${"Some very verbose logging\n" * 100000}</system-out>
+                    <system-err>Some errors</system-err>
+                </testcase>
+                <testcase name="should_log_a_little" classname="SomeTestClass">
+                    <system-out>Some logging</system-out>
+                    <system-err><![CDATA[Some <errors>]]></system-err>
+                </testcase>
+            </testsuite>"""
+        when:
+            def testCases = new StreamingXUnitLoader().loadFrom(xunitFile)[0].testCases
+        then:
+            testCases[0].systemOutput.length() == 64 * 1024
+            testCases[0].systemOutput.startsWith("Some very verbose logging\nSome very verbose logging\n")
+            testCases[1].systemOutput == "Some loggingSome <errors>"
+    }
+
+    def "should throw CouldNotReadXUnitFileException for an invalid xUnit file"() {
+        when:
+            new StreamingXUnitLoader().loadFrom(fileInClasspathCalled("/xunit/badlyFormedTestCase.xml"))
+        then:
+            thrown(CouldNotReadXUnitFileException)
+    }
+
+    def "should throw CouldNotReadXUnitFileException for a file that is not well-formed"() {
+        given:
+            def xunitFile = new File(outputDirectory, "truncated.xml")
+            xunitFile.text = """<testsuite name="aTestSuite"><testcase name="should_do_something" classname="SomeTestClass">"""
+        when:
+            new StreamingXUnitLoader().loadFrom(xunitFile)
+        then:
+            thrown(CouldNotReadXUnitFileException)
+    }
+
+    def "should throw CouldNotReadXUnitFileException if the file can't be found"() {
+        when:
+            new StreamingXUnitLoader().loadFrom(new File(outputDirectory, "does-not-exist.xml"))
+        then:
+            thrown(CouldNotReadXUnitFileException)
+    }
+
+    def "should load many xUnit files in parallel, keeping the order of the files"() {
+        given:
+            (0..<20).each { fileNumber -> writeXUnitFile(fileNumber, 25) }
+            def filesInDirectoryOrder = outputDirectory.listFiles().findAll { it.name.endsWith(".xml") }
+        when:
+            def outcomes = new DefaultXUnitAdaptor().loadOutcomesFrom(outputDirectory)
+        then:
+            outcomes.size() == 500
+            outcomes.collect { it.name } == filesInDirectoryOrder.collectMany { xunitFile ->
+                new DefaultXUnitAdaptor(new BasicXUnitLoader()).testOutcomesIn(xunitFile).collect { it.name }
+            }
+    }
+
+    def "should load many lettuce xUnit files in parallel"() {
+        given:
+            (0..<10).each { fileNumber -> writeXUnitFile(fileNumber, 5) }
+        when:
+            def outcomes = new LettuceXUnitAdaptor().loadOutcomesFrom(outputDirectory)
+        then:
+            outcomes.size() == 10
+            outcomes.every { it.testSteps.size() == 5 }
+    }
+
+    def "should report an invalid xUnit file when loading files in parallel"() {
+        given:
+            (0..<5).each { fileNumber -> writeXUnitFile(fileNumber, 2) }
+            new File(outputDirectory, "invalid.xml").text = "<foo/>"
+        when:
+            new DefaultXUnitAdaptor().loadOutcomesFrom(outputDirectory)
+        then:
+            thrown(CouldNotReadXUnitFileException)
+    }
+
+    private File writeXUnitFile(int fileNumber, int numberOfTestCases) {
+        def xunitFile = new File(outputDirectory, "TEST-SomeTestClass${fileNumber}.xml")
+        xunitFile.withWriter { writer ->
+            writer.write("""<?xml version="1.0" encoding="UTF-8"?>\n<testsuite name="SomeTestClass${fileNumber}">\n""")
+            numberOfTestCases.times { testNumber ->
+                writer.write("""<testcase name="test_${fileNumber}_${testNumber}" classname="SomeTestClass${fileNumber}" time="0.${testNumber}">""")
+                if (testNumber % 5 == 0) {
+                    writer.write("""<failure message="Failure ${testNumber}">Stack trace</failure>""")
+                }
+                writer.write("<system-out>Some output</system-out></testcase>\n")
+            }
+            writer.write("</testsuite>\n")
+        }
+        return xunitFile
+    }
+
+    private static List<String> describe(List<TestSuite> testSuites) {
+        testSuites.collectMany { suite ->
+            suite.testCases.collect { testCase ->
+                [suite.name, testCase.name, testCase.classname, testCase.time,
+                 testCase.failure.map { [it.message, it.errorOutput, it.type] }.orElse(null),
+                 testCase.error.map { [it.message, it.errorOutput, it.type] }.orElse(null),
+                 testCase.skipped.map { it.type }.orElse(null)].toString()
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package net.thucydides.core.reports.html
+
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.issues.IssueTracking
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Paths
+
+class WhenGeneratingReportsFromCompactOutcomes extends Specification {
+
+    static final File SAMPLE_OUTCOMES = Paths.get("src/test/resources/sample-full-json-report").toFile()
+
+    def "should generate the same report pages from compact outcomes as from fully loaded outcomes"() {
+        given:
+            def fullReport = reportGeneratedWith([:])
+            def compactReport = reportGeneratedWith(["serenity.compactOutcomes": "true"])
+        expect:
+            new File(compactReport, "index.html").exists()
+            pagesIn(compactReport) == pagesIn(fullReport)
+        and: "the pages have the same content"
+            pagesIn(fullReport).every { page -> contentOf(new File(compactReport, page)) == contentOf(new File(fullReport, page)) }
+    }
+
+    private File reportGeneratedWith(Map<String, String> properties) {
+        def environmentVariables = new MockEnvironmentVariables()
+        properties.each { name, value -> environmentVariables.setProperty(name, value) }
+        def outputDirectory = Files.createTempDirectory("serenity-report").toFile()
+        def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking), environmentVariables)
+        reporter.outputDirectory = outputDirectory
+        reporter.generateReportsForTestResultsFrom(SAMPLE_OUTCOMES)
+        return outputDirectory
+    }
+
+    private static Set<String> pagesIn(File reportDirectory) {
+        reportDirectory.list().findAll { it.endsWith(".html") } as Set
+    }
+
+    private static List<String> contentOf(File page) {
+        page.readLines().findAll { !it.contains("Report generated") }
+    }
+}
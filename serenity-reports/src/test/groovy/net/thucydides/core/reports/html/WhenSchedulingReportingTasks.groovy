@@ -0,0 +1,162 @@
+package net.thucydides.core.reports.html
+
+import com.google.gson.Gson
+import net.thucydides.model.environment.MockEnvironmentVariables
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.concurrent.CopyOnWriteArrayList
+
+import static net.thucydides.core.reports.html.ReportingTaskMetrics.Status.*
+
+class WhenSchedulingReportingTasks extends Specification {
+
+    def environmentVariables = new MockEnvironmentVariables()
+    def outputDirectory = Files.createTempDirectory("serenity-report").toFile()
+    def startedTasks = new CopyOnWriteArrayList<String>()
+
+    class SyntheticReportingTask implements ReportingTask {
+        final String name
+        final long cost
+        long durationInMillis = 0
+        int pages = 1
+        boolean fails = false
+
+        SyntheticReportingTask(String name, long cost) {
+            this.name = name
+            this.cost = cost
+        }
+
+        @Override
+        void generateReports() throws IOException {
+            startedTasks.add(name)
+            Thread.sleep(durationInMillis)
+            if (fails) {
+                throw new IOException("Could not write " + name)
+            }
+            pages.times { page ->
+                def outputPath = outputDirectory.toPath().resolve("${name}-${page}.html")
+                Files.write(outputPath, ("x" * (cost as int)).bytes)
+                ReportOutputTally.recordPageWrittenTo(outputPath)
+            }
+        }
+
+        @Override
+        String reportName() {
+            return name
+        }
+
+        @Override
+        long estimatedCost() {
+            return cost
+        }
+
+        @Override
+        String toString() {
+            return "SyntheticReportingTask for " + name
+        }
+    }
+
+    def task(String name, long cost) {
+        new SyntheticReportingTask(name, cost)
+    }
+
+    def "should start the most expensive tasks first"() {
+        given:
+            def reporter = new Reporter(environmentVariables, outputDirectory, 1)
+        when:
+            def completed = reporter.generateReportsFor([task("small", 1), task("large", 50), task("medium", 5), task("huge", 500)].stream())
+        then:
+            completed == 4
+            startedTasks == ["huge", "large", "medium", "small"]
+        cleanup:
+            reporter.close()
+    }
+
+    def "a failing task should not prevent the other tasks from completing"() {
+        given:
+            def reporter = new Reporter(environmentVariables, outputDirectory, 2)
+            def brokenTask = task("broken", 100)
+            brokenTask.fails = true
+        when:
+            def completed = reporter.generateReportsFor([task("first", 10), brokenTask, task("second", 20)].stream())
+        then:
+            completed == 2
+            reporter.profile.tasks.find { it.reportName == "broken" }.status == FAILED
+            reporter.profile.tasks.find { it.reportName == "broken" }.error.contains("Could not write broken")
+            reporter.profile.tasks.findAll { it.status == COMPLETED }*.reportName as Set == ["first", "second"] as Set
+        cleanup:
+            reporter.close()
+    }
+
+    def "a task that runs for too long should be cancelled without holding up the others"() {
+        given:
+            environmentVariables.setProperty("report.timeout", "500 milliseconds")
+            def reporter = new Reporter(environmentVariables, outputDirectory, 2)
+            def slowTask = task("slow", 1000)
+            slowTask.durationInMillis = 30000
+        when:
+            long startTime = System.currentTimeMillis()
+            def completed = reporter.generateReportsFor([slowTask, task("quick", 1), task("also-quick", 2)].stream())
+            long elapsedTime = System.currentTimeMillis() - startTime
+        then:
+            completed == 2
+            elapsedTime < 10000
+            reporter.profile.tasks.find { it.reportName == "slow" }.status == TIMED_OUT
+        cleanup:
+            reporter.close()
+    }
+
+    def "the timeout of each task should start when the task starts rather than when it is submitted"() {
+        given:
+            environmentVariables.setProperty("report.timeout", "1000 milliseconds")
+            def reporter = new Reporter(environmentVariables, outputDirectory, 1)
+            def tasks = (1..4).collect { task("task-$it", 10) }
+            tasks.each { it.durationInMillis = 400 }
+        when:
+            def completed = reporter.generateReportsFor(tasks.stream())
+        then:
+            completed == 4
+        cleanup:
+            reporter.close()
+    }
+
+    def "should record the duration and output of each task in the report generation profile"() {
+        given:
+            environmentVariables.setProperty("serenity.report.profile", "true")
+            def reporter = new Reporter(environmentVariables, outputDirectory, 2)
+            def largeTask = task("large", 1000)
+            largeTask.pages = 3
+            largeTask.durationInMillis = 50
+        when:
+            reporter.generateReportsFor([largeTask, task("small", 10)].stream())
+            reporter.generateReportsFor([task("next-batch", 100)].stream())
+            reporter.close()
+            def profile = new Gson().fromJson(new File(outputDirectory, ReportGenerationProfile.PROFILE_FILENAME).text, Map)
+        then:
+            profile.taskCount == 3
+            profile.failedTaskCount == 0
+            profile.pagesWritten == 5
+            profile.bytesWritten == 3000 + 10 + 100
+            profile.batchDurationsInMilliseconds.size() == 2
+        and:
+            def large = profile.tasks.find { it.reportName == "large" }
+            large.estimatedCost == 1000
+            large.pagesWritten == 3
+            large.bytesWritten == 3000
+            large.durationInMilliseconds >= 50
+            large.batch == 1
+            large.status == "COMPLETED"
+            profile.tasks.find { it.reportName == "next-batch" }.batch == 2
+    }
+
+    def "should not write a profile unless asked to"() {
+        given:
+            def reporter = new Reporter(environmentVariables, outputDirectory, 1)
+        when:
+            reporter.generateReportsFor([task("only", 1)].stream())
+            reporter.close()
+        then:
+            !new File(outputDirectory, ReportGenerationProfile.PROFILE_FILENAME).exists()
+    }
+}
@@ -8,11 +8,14 @@ import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import net.serenitybdd.rest.utils.RestBodyCapture;
+import net.serenitybdd.rest.utils.RestBodyCapture.CapturedBody;
+
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * User: YamStranger
@@ -20,9 +23,16 @@ import java.nio.charset.StandardCharsets;
  * Time: 7:40 AM
  */
 public class FieldsRecordingFilter implements Filter {
+    private static final Pattern SECTION_TITLE = Pattern.compile("^(" +
+            "(Proxy:)|(Body:)|(Cookies:)|(Headers:)|(Multiparts:)|(Request path:)" +
+            ")\\s*\\n*");
+    private static final Pattern NO_VALUE = Pattern.compile("^(<none>)");
+    private static final Pattern TRAILING_NEW_LINE = Pattern.compile("\n$");
+
     private final LogDetail logDetail;
     private final boolean shouldPrettyPrint;
     private String recorded = "";
+    private String recordedFile;
 
     public FieldsRecordingFilter(final boolean shouldPrettyPrint, final LogDetail detail) {
         this.logDetail = detail;
@@ -34,23 +44,23 @@ public class FieldsRecordingFilter implements Filter {
                            final FilterableResponseSpecification responseSpec, final FilterContext ctx) {
 
         BlacklistFilter blacklistFilter = new BlacklistFilter(requestSpec.getConfig().getLogConfig().blacklistedHeaders());
-        try (ByteArrayOutputStream output = new ByteArrayOutputStream();
-             PrintStream recordingStream = new PrintStream(output, true, StandardCharsets.UTF_8.toString())) {
+        RestBodyCapture bodyCapture = RestBodyCapture.fromConfiguration();
+        boolean boundedBody = (logDetail == LogDetail.BODY) && bodyCapture.isBounded();
+        RestBodyCapture.SpillingOutputStream output = boundedBody ? bodyCapture.newOutputStream()
+                : bodyCapture.newUnboundedOutputStream();
+        try (PrintStream recordingStream = new PrintStream(output, true, StandardCharsets.UTF_8.toString())) {
             final RequestLoggingFilter filter = new RequestLoggingFilter(this.logDetail, shouldPrettyPrint, recordingStream);
             final Response response = filter.filter(requestSpec, responseSpec, ctx);
             recordingStream.flush();
-            this.recorded = new String(output.toByteArray(), StandardCharsets.UTF_8);
-            this.recorded = this.recorded.replaceAll("^(" +
-                    "(Proxy:)|(Body:)|(Cookies:)|(Headers:)|(Multiparts:)|(Request path:)" +
-                    ")\\s*\\n*", "");
-            this.recorded = this.recorded.replaceAll("^(<none>)", "");
+            CapturedBody capturedBody = output.captured(StandardCharsets.UTF_8);
+            this.recordedFile = capturedBody.getBodyFile().orElse(null);
+            this.recorded = SECTION_TITLE.matcher(capturedBody.getText()).replaceAll("");
+            this.recorded = NO_VALUE.matcher(this.recorded).replaceAll("");
             this.recorded = blacklistFilter.filter(this.recorded);
-            this.recorded = this.recorded.replaceAll("\n$", "");
+            this.recorded = TRAILING_NEW_LINE.matcher(this.recorded).replaceAll("");
             return response;
         } catch (UnsupportedEncodingException e) {
             throw new RuntimeException("Incorrect implementation, should be used correct charset", e);
-        } catch (IOException e) {
-            throw new RuntimeException("Some exception during recording fields", e);
         }
     }
 
@@ -61,4 +71,11 @@ public class FieldsRecordingFilter implements Filter {
     public String recorded() {
         return this.recorded;
     }
+
+    /**
+     * The file in the output directory holding the full recorded value, if it was too large to be kept in memory.
+     */
+    public Optional<String> recordedFile() {
+        return Optional.ofNullable(this.recordedFile);
+    }
 }
@@ -0,0 +1,314 @@
+package net.serenitybdd.rest.utils;
+
+import net.serenitybdd.core.di.SerenityInfrastructure;
+import net.thucydides.model.util.EnvironmentVariables;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_REST_BODY_CAPTURE_MODE;
+import static net.thucydides.model.ThucydidesSystemProperty.SERENITY_REST_BODY_MAX_INLINE_SIZE;
+
+/**
+ * Decides how much of a REST request or response body is kept in the test outcome.
+ * In the default 'full' mode, bodies are recorded as they are. In 'bounded' mode, only the start of a large body
+ * is kept in memory, and the full body is written to a content-addressed file in the output directory,
+ * so that identical bodies are only stored once. If the full body cannot be written, only its start is kept,
+ * rather than failing the REST call.
+ */
+public class RestBodyCapture {
+
+    public static final int DEFAULT_MAX_INLINE_SIZE = 64 * 1024;
+
+    private static final String BODY_FILE_PREFIX = "rest-body-";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestBodyCapture.class);
+
+    private final boolean bounded;
+    private final int maxInlineSize;
+    private final File outputDirectory;
+
+    public RestBodyCapture(EnvironmentVariables environmentVariables, File outputDirectory) {
+        this.bounded = SERENITY_REST_BODY_CAPTURE_MODE.from(environmentVariables, "full").equalsIgnoreCase("bounded");
+        this.maxInlineSize = SERENITY_REST_BODY_MAX_INLINE_SIZE.integerFrom(environmentVariables, DEFAULT_MAX_INLINE_SIZE);
+        this.outputDirectory = outputDirectory;
+    }
+
+    public static RestBodyCapture fromConfiguration() {
+        return new RestBodyCapture(SerenityInfrastructure.getEnvironmentVariables(),
+                                   SerenityInfrastructure.getConfiguration().getOutputDirectory());
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public int getMaxInlineSize() {
+        return maxInlineSize;
+    }
+
+    /**
+     * Capture a body that is already held in memory.
+     */
+    public CapturedBody capture(byte[] body, Charset charset) {
+        if (!bounded || body.length <= maxInlineSize) {
+            return CapturedBody.inline(new String(body, charset), body.length);
+        }
+        String preview = previewOf(body, maxInlineSize, charset);
+        String fileName = BODY_FILE_PREFIX + DigestUtils.sha256Hex(body) + ".txt";
+        Path bodyFile = outputDirectory.toPath().resolve(fileName);
+        Path temporaryFile = null;
+        try {
+            if (!Files.exists(bodyFile)) {
+                Files.createDirectories(outputDirectory.toPath());
+                temporaryFile = Files.createTempFile(outputDirectory.toPath(), BODY_FILE_PREFIX, ".tmp");
+                Files.write(temporaryFile, body);
+                moveIntoPlace(temporaryFile, bodyFile);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not record the full REST body in {}, only the first {} bytes will be reported", bodyFile, maxInlineSize, e);
+            deleteQuietly(temporaryFile);
+            return CapturedBody.truncated(preview, body.length);
+        }
+        return CapturedBody.spilled(preview, fileName, body.length);
+    }
+
+    /**
+     * Decode the first bytes of a body, leaving out a multi-byte character cut in two at the end.
+     */
+    static String previewOf(byte[] body, int length, Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer preview = CharBuffer.allocate((int) Math.ceil(length * (double) decoder.maxCharsPerByte()));
+        decoder.decode(ByteBuffer.wrap(body, 0, length), preview, false);
+        preview.flip();
+        return preview.toString();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete {}", file, e);
+        }
+    }
+
+    /**
+     * An output stream that keeps at most the maximum inline size in memory in bounded mode,
+     * and spills the whole stream to a temporary file once this limit is passed.
+     */
+    public SpillingOutputStream newOutputStream() {
+        return new SpillingOutputStream(bounded);
+    }
+
+    /**
+     * An output stream that keeps everything written to it in memory, whatever the capture mode.
+     */
+    public SpillingOutputStream newUnboundedOutputStream() {
+        return new SpillingOutputStream(false);
+    }
+
+    private static void moveIntoPlace(Path temporaryFile, Path bodyFile) throws IOException {
+        try {
+            Files.move(temporaryFile, bodyFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException identicalBodyAlreadyRecorded) {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    public class SpillingOutputStream extends OutputStream {
+        private final boolean bounded;
+        private final ByteArrayOutputStream inMemory = new ByteArrayOutputStream();
+        private final MessageDigest digest = DigestUtils.getSha256Digest();
+        private Path spillFile;
+        private OutputStream spillStream;
+        private boolean spillFailed;
+        private long size;
+
+        private SpillingOutputStream(boolean bounded) {
+            this.bounded = bounded;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            size += length;
+            if (!bounded) {
+                inMemory.write(bytes, offset, length);
+                return;
+            }
+            digest.update(bytes, offset, length);
+            if (spillStream == null && !spillFailed && size > maxInlineSize) {
+                startSpilling();
+            }
+            if (spillStream != null) {
+                try {
+                    spillStream.write(bytes, offset, length);
+                } catch (IOException e) {
+                    abandonSpilling(e);
+                }
+            }
+            if (isTruncated()) {
+                int remainingPreview = maxInlineSize - inMemory.size();
+                if (remainingPreview > 0) {
+                    inMemory.write(bytes, offset, Math.min(remainingPreview, length));
+                }
+            } else {
+                inMemory.write(bytes, offset, length);
+            }
+        }
+
+        private boolean isTruncated() {
+            return spillFile != null || spillFailed;
+        }
+
+        private void startSpilling() {
+            try {
+                Files.createDirectories(outputDirectory.toPath());
+                spillFile = Files.createTempFile(outputDirectory.toPath(), BODY_FILE_PREFIX, ".tmp");
+                spillStream = new BufferedOutputStream(Files.newOutputStream(spillFile));
+                inMemory.writeTo(spillStream);
+            } catch (IOException e) {
+                abandonSpilling(e);
+            }
+        }
+
+        private void abandonSpilling(IOException cause) {
+            LOGGER.warn("Could not record the full REST body in {}, only the first {} bytes will be reported",
+                        outputDirectory, maxInlineSize, cause);
+            if (spillStream != null) {
+                try {
+                    spillStream.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Could not close {}", spillFile, e);
+                }
+            }
+            deleteQuietly(spillFile);
+            spillStream = null;
+            spillFile = null;
+            spillFailed = true;
+        }
+
+        @Override
+        public void flush() {
+            if (spillStream != null) {
+                try {
+                    spillStream.flush();
+                } catch (IOException e) {
+                    abandonSpilling(e);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (spillStream != null) {
+                try {
+                    spillStream.close();
+                } catch (IOException e) {
+                    abandonSpilling(e);
+                }
+            }
+        }
+
+        /**
+         * Close the stream and return what was written to it.
+         */
+        public CapturedBody captured(Charset charset) {
+            close();
+            byte[] kept = inMemory.toByteArray();
+            if (!isTruncated()) {
+                return CapturedBody.inline(new String(kept, charset), size);
+            }
+            String preview = previewOf(kept, kept.length, charset);
+            if (spillFailed) {
+                return CapturedBody.truncated(preview, size);
+            }
+            String fileName = BODY_FILE_PREFIX + Hex.encodeHexString(digest.digest()) + ".txt";
+            Path bodyFile = outputDirectory.toPath().resolve(fileName);
+            try {
+                if (Files.exists(bodyFile)) {
+                    Files.deleteIfExists(spillFile);
+                } else {
+                    moveIntoPlace(spillFile, bodyFile);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not record the full REST body in {}, only the first {} bytes will be reported", bodyFile, maxInlineSize, e);
+                deleteQuietly(spillFile);
+                return CapturedBody.truncated(preview, size);
+            }
+            return CapturedBody.spilled(preview, fileName, size);
+        }
+
+        public CapturedBody captured() {
+            return captured(StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class CapturedBody {
+        private final String text;
+        private final String bodyFile;
+        private final long size;
+
+        private CapturedBody(String text, String bodyFile, long size) {
+            this.text = text;
+            this.bodyFile = bodyFile;
+            this.size = size;
+        }
+
+        static CapturedBody inline(String text, long size) {
+            return new CapturedBody(text, null, size);
+        }
+
+        static CapturedBody spilled(String preview, String bodyFile, long size) {
+            return new CapturedBody(preview, bodyFile, size);
+        }
+
+        static CapturedBody truncated(String preview, long size) {
+            return new CapturedBody(preview, null, size);
+        }
+
+        /**
+         * The full body, or the start of the body if it was too large to be kept in memory.
+         * A body that was too large to be kept in memory but could not be written to a file is reported truncated,
+         * with no body file.
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * The name of the file in the output directory containing the full body, if the body was too large to keep in memory.
+         */
+        public Optional<String> getBodyFile() {
+            return Optional.ofNullable(bodyFile);
+        }
+
+        /**
+         * The size of the full body, in bytes.
+         */
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.restassured.filter.Filter;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.internal.support.Prettifier;
+import io.restassured.internal.http.CharsetExtractor;
 import io.restassured.response.Response;
 import io.restassured.response.ResponseOptions;
 import net.serenitybdd.core.Serenity;
@@ -13,6 +14,7 @@ import net.serenitybdd.rest.RestStepListener;
 import net.serenitybdd.rest.decorators.request.RequestSpecificationDecorated;
 import net.serenitybdd.rest.event.RecordRestQueryEvent;
 import net.serenitybdd.rest.filters.FieldsRecordingFilter;
+import net.serenitybdd.rest.utils.RestBodyCapture.CapturedBody;
 import net.thucydides.model.domain.TestResult;
 import net.thucydides.model.screenshots.ScreenshotAndHtmlSource;
 import net.thucydides.model.steps.ExecutedStepDescription;
@@ -22,6 +24,8 @@ import net.thucydides.core.steps.events.StepStartedEvent;
 import net.thucydides.core.steps.session.TestSession;
 import org.apache.commons.lang3.ObjectUtils;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,10 +56,14 @@ public class RestReportingHelper {
     public RestQuery recordRestSpecificationData(final RestMethod method, final RequestSpecificationDecorated spec,
                                                  final String path, final Object... params) {
         final Map<LogDetail, String> values = new HashMap<>();
+        String contentFile = null;
         for (final Filter filter : spec.getDefinedFilters()) {
             if (filter instanceof FieldsRecordingFilter) {
                 final FieldsRecordingFilter internal = (FieldsRecordingFilter) filter;
                 values.put(internal.logDetail(), internal.recorded());
+                if (internal.logDetail() == LogDetail.BODY) {
+                    contentFile = internal.recordedFile().orElse(null);
+                }
             }
         }
         final RestQuery query = RestQuery.
@@ -65,7 +73,8 @@ public class RestReportingHelper {
                 ).
                 withContent(firstNonNull(values.get(LogDetail.BODY), "")).
                 withRequestCookies(firstNonNull(values.get(LogDetail.COOKIES), "")).
-                withRequestHeaders(firstNonNull(values.get(LogDetail.HEADERS), ""));
+                withRequestHeaders(firstNonNull(values.get(LogDetail.HEADERS), "")).
+                withContentFile(contentFile);
         return query;
     }
 
@@ -78,10 +87,15 @@ public class RestReportingHelper {
                 LogDetail.HEADERS, LogDetail.COOKIES);
         final Map<LogDetail, String> values = helper.print(response);
         if (shouldRecordResponseBodyFor(response)) {
-            String renderedBody = new Prettifier().getPrettifiedBodyIfPossible(
-                    (ResponseOptions) response.getBody(), response.getBody());
+            RestBodyCapture bodyCapture = RestBodyCapture.fromConfiguration();
+            if (bodyCapture.isBounded()) {
+                restQuery = recordBoundedResponseBody(restQuery, response, bodyCapture);
+            } else {
+                String renderedBody = new Prettifier().getPrettifiedBodyIfPossible(
+                        (ResponseOptions) response.getBody(), response.getBody());
 
-            restQuery = restQuery.withResponse(renderedBody.isEmpty() ? response.asString() : renderedBody);
+                restQuery = restQuery.withResponse(renderedBody.isEmpty() ? response.asString() : renderedBody);
+            }
         }
         restQuery = restQuery.withStatusCode(response.getStatusCode())
                 .withResponseHeaders(firstNonNull(values.get(LogDetail.HEADERS), ""))
@@ -94,6 +108,18 @@ public class RestReportingHelper {
 
     }
 
+    /**
+     * Record the raw response body, leaving pretty-printing to the report, and move large bodies out of the test outcome.
+     */
+    private RestQuery recordBoundedResponseBody(RestQuery restQuery, Response response, RestBodyCapture bodyCapture) {
+        Charset charset = Charset.forName(firstNonNull(CharsetExtractor.getCharsetFromContentType(response.contentType()),
+                                                       StandardCharsets.UTF_8.name()));
+        CapturedBody capturedBody = bodyCapture.capture(response.asByteArray(), charset);
+        return restQuery.withResponse(capturedBody.getText())
+                        .withResponseContentType(response.contentType())
+                        .withResponseBodyFile(capturedBody.getBodyFile().orElse(null));
+    }
+
     public void registerCall(final RestMethod method, final RequestSpecificationDecorated spec, final String path,
                              final RuntimeException throwable, final Object... params) {
         RestQuery restQuery = recordRestSpecificationData(method, spec, path, params);
@@ -0,0 +1,221 @@
+package net.serenitybdd.rest.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import net.serenitybdd.core.di.SerenityInfrastructure;
+import net.serenitybdd.model.rest.RestQuery;
+import net.serenitybdd.rest.utils.RestBodyCapture.CapturedBody;
+import net.thucydides.core.steps.BaseStepListener;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.model.domain.TestStep;
+import net.thucydides.model.environment.MockEnvironmentVariables;
+import net.thucydides.model.environment.TestLocalEnvironmentVariables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static net.serenitybdd.rest.SerenityRest.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WhenCapturingLargeRestBodies {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private BaseStepListener listener;
+    private HttpServer server;
+
+    private File outputDirectory;
+    private File originalOutputDirectory;
+
+    @Before
+    public void startTest() throws IOException {
+        originalOutputDirectory = SerenityInfrastructure.getConfiguration().getOutputDirectory();
+        outputDirectory = temporaryFolder.newFolder("output");
+        SerenityInfrastructure.getConfiguration().setOutputDirectory(outputDirectory);
+
+        TestLocalEnvironmentVariables.setProperty("serenity.rest.body.capture.mode", "bounded");
+        TestLocalEnvironmentVariables.setProperty("serenity.rest.body.max.inline.size", "1024");
+
+        listener = new BaseStepListener(temporaryFolder.newFolder());
+        StepEventBus.getEventBus().clear();
+        StepEventBus.getEventBus().registerListener(listener);
+        StepEventBus.getEventBus().testStarted("a REST test");
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+    }
+
+    private String serve(String path, int status, String body) {
+        server.createContext(path, exchange -> {
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+            }
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(response);
+            }
+        });
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    @After
+    public void resetEnvironment() {
+        server.stop(0);
+        SerenityInfrastructure.getConfiguration().setOutputDirectory(originalOutputDirectory);
+        TestLocalEnvironmentVariables.clear();
+        StepEventBus.getEventBus().clear();
+    }
+
+    private static String jsonArrayOf(int entries) {
+        return IntStream.rangeClosed(1, entries)
+                .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item number " + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private RestQuery recordedQuery() {
+        List<TestStep> steps = listener.latestTestOutcome().get().getTestSteps();
+        return steps.get(steps.size() - 1).getRestQuery();
+    }
+
+    @Test
+    public void largeResponseBodiesShouldBeStoredOutsideTheTestOutcome() throws IOException {
+        String body = jsonArrayOf(50000);
+        String url = serve("/items", 200, body);
+
+        given().get(url).then().statusCode(200);
+
+        RestQuery query = recordedQuery();
+        assertThat(query.getResponseBody()).hasSize(1024);
+        assertThat(query.getResponseBodyFile()).startsWith("rest-body-");
+        assertThat(new String(Files.readAllBytes(outputDirectory.toPath().resolve(query.getResponseBodyFile())),
+                              StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    public void smallResponseBodiesShouldBePrettyPrintedWhenTheReportIsRendered() {
+        String body = jsonArrayOf(2);
+        String url = serve("/few-items", 200, body);
+
+        given().get(url).then().statusCode(200);
+
+        RestQuery query = recordedQuery();
+        assertThat(query.getResponseBody()).isEqualTo(body);
+        assertThat(query.getResponseBodyFile()).isNull();
+        assertThat(query.getPrettyResponseBody()).contains("\"name\": \"item number 1\"");
+    }
+
+    @Test
+    public void largeRequestBodiesShouldBeStoredOutsideTheTestOutcome() {
+        String requestBody = jsonArrayOf(20000);
+        String url = serve("/items", 201, "{}");
+
+        given().contentType("application/json").body(requestBody).post(url).then().statusCode(201);
+
+        RestQuery query = recordedQuery();
+        assertThat(query.getContent().length()).isLessThanOrEqualTo(1024);
+        assertThat(outputDirectory.toPath().resolve(query.getContentFile()).toFile().length())
+                .isGreaterThanOrEqualTo(requestBody.length());
+    }
+
+    @Test
+    public void identicalLargeBodiesShouldOnlyBeStoredOnce() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.rest.body.capture.mode", "bounded");
+        environmentVariables.setProperty("serenity.rest.body.max.inline.size", "100");
+        RestBodyCapture capture = new RestBodyCapture(environmentVariables, directory);
+        byte[] body = jsonArrayOf(100).getBytes(StandardCharsets.UTF_8);
+
+        CapturedBody first = capture.capture(body, StandardCharsets.UTF_8);
+        RestBodyCapture.SpillingOutputStream stream = capture.newOutputStream();
+        for (byte b : body) {
+            stream.write(b);
+        }
+        CapturedBody second = stream.captured();
+
+        assertThat(second.getBodyFile()).isEqualTo(first.getBodyFile());
+        assertThat(second.getText()).hasSize(100);
+        assertThat(second.getSize()).isEqualTo(body.length);
+        assertThat(directory.list()).containsExactly(first.getBodyFile().get());
+    }
+
+    @Test
+    public void bodiesShouldBeKeptInFullInTheDefaultCaptureMode() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        RestBodyCapture capture = new RestBodyCapture(new MockEnvironmentVariables(), directory);
+        String body = jsonArrayOf(10000);
+
+        CapturedBody captured = capture.capture(body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+        assertThat(captured.getText()).isEqualTo(body);
+        assertThat(captured.getBodyFile()).isEmpty();
+        assertThat(directory.list()).isEmpty();
+    }
+
+    private RestBodyCapture boundedCapture(File directory, int maxInlineSize) {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.rest.body.capture.mode", "bounded");
+        environmentVariables.setProperty("serenity.rest.body.max.inline.size", Integer.toString(maxInlineSize));
+        return new RestBodyCapture(environmentVariables, directory);
+    }
+
+    @Test
+    public void thePreviewShouldNotEndInTheMiddleOfAMultiByteCharacter() throws IOException {
+        RestBodyCapture capture = boundedCapture(temporaryFolder.newFolder(), 100);
+        byte[] body = "{\"name\":\"é\"}".repeat(20).getBytes(StandardCharsets.UTF_8);
+
+        CapturedBody captured = capture.capture(body, StandardCharsets.UTF_8);
+        RestBodyCapture.SpillingOutputStream stream = capture.newOutputStream();
+        stream.write(body);
+
+        assertThat(captured.getText()).doesNotContain("\uFFFD").endsWith("{\"name\":\"");
+        assertThat(stream.captured().getText()).isEqualTo(captured.getText());
+    }
+
+    @Test
+    public void theSizeOfABodyShouldAlwaysBeInBytes() throws IOException {
+        RestBodyCapture capture = boundedCapture(temporaryFolder.newFolder(), 100);
+        byte[] smallBody = "ééé".getBytes(StandardCharsets.UTF_8);
+        byte[] largeBody = "é".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(capture.capture(smallBody, StandardCharsets.UTF_8).getSize()).isEqualTo(6);
+        assertThat(capture.capture(largeBody, StandardCharsets.UTF_8).getSize()).isEqualTo(200);
+        RestBodyCapture.SpillingOutputStream stream = capture.newOutputStream();
+        stream.write(smallBody);
+        assertThat(stream.captured().getSize()).isEqualTo(6);
+    }
+
+    @Test
+    public void aBodyThatCannotBeWrittenToAFileShouldBeReportedTruncated() throws IOException {
+        File notADirectory = temporaryFolder.newFile();
+        RestBodyCapture capture = boundedCapture(notADirectory, 100);
+        byte[] body = jsonArrayOf(100).getBytes(StandardCharsets.UTF_8);
+
+        CapturedBody captured = capture.capture(body, StandardCharsets.UTF_8);
+        RestBodyCapture.SpillingOutputStream stream = capture.newOutputStream();
+        stream.write(body);
+        CapturedBody streamed = stream.captured();
+
+        assertThat(captured.getText()).hasSize(100);
+        assertThat(captured.getBodyFile()).isEmpty();
+        assertThat(captured.getSize()).isEqualTo(body.length);
+        assertThat(streamed.getText()).isEqualTo(captured.getText());
+        assertThat(streamed.getBodyFile()).isEmpty();
+        assertThat(streamed.getSize()).isEqualTo(body.length);
+    }
+}
@@ -107,7 +107,33 @@ public enum PlayWrightConfigurationProperties {
     PROXY_SERVER("playwright.proxy.server"),
     PROXY_BYPASS("playwright.proxy.bypass"),
     PROXY_USERNAME("playwright.proxy.username"),
-    PROXY_PASSWORD("playwright.proxy.password");
+    PROXY_PASSWORD("playwright.proxy.password"),
+
+    /**
+     * Share one browser between all the actors that use the same browser type and launch options, rather than launching
+     * a new browser for each actor. Each actor still gets its own browser context, taken from a pool of contexts that
+     * are cleaned up and reused between tests. Defaults to {@code false}.
+     */
+    SHARED_BROWSER("playwright.sharedBrowser"),
+
+    /**
+     * The maximum number of idle browser contexts kept in the pool of each shared browser. Defaults to {@code 4}.
+     * This does not limit the number of contexts in use at the same time, as each actor using a shared browser needs
+     * a context of its own: a context that is released when the pool is already full of idle contexts is closed.
+     */
+    CONTEXT_POOL_MAX_IDLE("playwright.contextPool.maxIdle"),
+
+    /**
+     * The number of browser contexts created in advance when a shared browser is launched, and kept ready afterwards.
+     * Defaults to {@code 1}.
+     */
+    CONTEXT_POOL_PREWARM("playwright.contextPool.prewarm"),
+
+    /**
+     * The number of tests a pooled browser context is used for before it is closed and replaced by a new one.
+     * Use {@code 1} to get a fresh context for every test. Defaults to {@code 25}.
+     */
+    CONTEXT_POOL_MAX_USES("playwright.contextPool.maxUses");
 
     private final String property;
 
@@ -123,6 +149,10 @@ public enum PlayWrightConfigurationProperties {
         return environmentVariables.optionalProperty(property).map(Boolean::valueOf);
     }
 
+    public Optional<Integer> asIntegerFrom(EnvironmentVariables environmentVariables) {
+        return environmentVariables.optionalProperty(property).map(String::trim).map(Integer::valueOf);
+    }
+
     public Optional<Double> asDoubleFrom(EnvironmentVariables environmentVariables) {
         return environmentVariables.optionalProperty(property).map(Double::valueOf);
     }
@@ -74,6 +74,11 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
      */
     private BrowserContext currentContext;
 
+    /**
+     * The pool the current browser context was taken from, when the browser is shared between actors
+     */
+    private BrowserContextPool contextPool;
+
     /**
      * Page provides methods to interact with a single tab in a Browser
      */
@@ -127,7 +132,15 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
      */
     private BrowserContext getCurrentContext() {
         if (currentContext == null) {
-            currentContext = getBrowser().newContext(contextOptions);
+            if (usesASharedBrowser()) {
+                contextPool = SharedPlaywrightBrowsers.forCurrentThread().contextPoolFor(
+                    configuredBrowser(), browserTypeFactory(), launchOptionsDefinedIn(environmentVariables),
+                    contextOptions, BrowserContextPoolSettings.from(environmentVariables)
+                );
+                currentContext = contextPool.acquire();
+            } else {
+                currentContext = getBrowser().newContext(contextOptions);
+            }
         }
         return currentContext;
     }
@@ -162,6 +175,10 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
         return currentPage;
     }
 
+    private boolean usesASharedBrowser() {
+        return SHARED_BROWSER.asBooleanFrom(environmentVariables).orElse(false);
+    }
+
     private final static Map<String, Function<Playwright, BrowserType>> OPEN_BROWSER = new HashMap<>();
 
     static {
@@ -175,14 +192,22 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
      * You can define the browser in the environment variables using playwright.browsertype
      */
     private Browser initialiseBrowser() {
+        final Function<Playwright, BrowserType> browserTypeFactory = browserTypeFactory();
+        final BrowserType.LaunchOptions options = launchOptionsDefinedIn(environmentVariables);
+        if (usesASharedBrowser()) {
+            return SharedPlaywrightBrowsers.forCurrentThread().browserFor(configuredBrowser(), browserTypeFactory, options);
+        }
         if (playwright == null) {
             playwright = Playwright.create();
         }
-        final BrowserType.LaunchOptions options = launchOptionsDefinedIn(environmentVariables);
+        return browserTypeFactory.apply(playwright).launch(options);
+    }
+
+    private Function<Playwright, BrowserType> browserTypeFactory() {
         if (!OPEN_BROWSER.containsKey(configuredBrowser())) {
             throw new InvalidPlaywrightBrowserType(configuredBrowser());
         }
-        return OPEN_BROWSER.get(configuredBrowser()).apply(playwright).launch(options);
+        return OPEN_BROWSER.get(configuredBrowser());
     }
 
     private String configuredBrowser() {
@@ -317,6 +342,7 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
 
     /**
      * Shut down the Playwright instance and browser cleanly at the end of a Screenplay test.
+     * When the browser is shared between actors, the browser is left open and the browser context goes back to its pool.
      */
     @Subscribe
     public void testFinishes(TestLifecycleEvents.TestFinished testFinished) {
@@ -326,7 +352,7 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
                 new Tracing.StopOptions().setPath(Paths.get(String.format("%s/%s.zip", TRACES_PATH, traceName)))
             );
         }
-        if (playwright != null) {
+        if (playwright != null || contextPool != null) {
             BaseStepListener baseStepListener = StepEventBus.getParallelEventBus().getBaseStepListener();
             ScreenshotPermission screenshots = new ScreenshotPermission(ConfiguredEnvironment.getConfiguration());
             // Take screenshot for failed test when SERENITY_TAKE_SCREENSHOTS is FOR_FAILURES
@@ -338,10 +364,16 @@ public class BrowseTheWebWithPlaywright implements Ability, RefersToActor {
                 );
             }
 
-            playwright.close();
+            if (contextPool != null) {
+                contextPool.release(currentContext);
+                contextPool = null;
+            }
+            if (playwright != null) {
+                playwright.close();
+                playwright = null;
+            }
             currentPage = null;
             currentContext = null;
-            playwright = null;
         }
     }
 
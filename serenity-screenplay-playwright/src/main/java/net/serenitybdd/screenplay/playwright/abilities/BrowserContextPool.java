@@ -0,0 +1,154 @@
+package net.serenitybdd.screenplay.playwright.abilities;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A pool of browser contexts created by a shared browser.
+ * Contexts returned to the pool are cleaned up before they are handed out again: their pages are closed, and their
+ * cookies, permissions and the web storage of their open pages are cleared. A context is closed and replaced once it
+ * has been used the maximum number of times, which limits how much state (such as cached resources) it can build up.
+ * Each context still isolates the actor using it from the actors using the other contexts of the same browser.
+ * Only the number of idle contexts is limited: a new context is created whenever an actor needs one and none are idle,
+ * and contexts released once the pool holds the maximum number of idle contexts are closed.
+ */
+public class BrowserContextPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserContextPool.class);
+
+    private static final String CLEAR_WEB_STORAGE
+            = "() => { try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {} }";
+
+    private final Browser browser;
+    private final Browser.NewContextOptions contextOptions;
+    private final BrowserContextPoolSettings settings;
+    private final BrowserPoolMetrics metrics;
+
+    private final Deque<PooledContext> idleContexts = new ArrayDeque<>();
+    private final Map<BrowserContext, PooledContext> contextsInUse = new IdentityHashMap<>();
+
+    BrowserContextPool(Browser browser,
+                       Browser.NewContextOptions contextOptions,
+                       BrowserContextPoolSettings settings,
+                       BrowserPoolMetrics metrics) {
+        this.browser = browser;
+        this.contextOptions = contextOptions;
+        this.settings = settings;
+        this.metrics = metrics;
+    }
+
+    private static class PooledContext {
+        private final BrowserContext context;
+        private int uses;
+
+        PooledContext(BrowserContext context) {
+            this.context = context;
+        }
+    }
+
+    boolean belongsTo(Browser browser) {
+        return this.browser == browser;
+    }
+
+    /**
+     * Create the configured number of contexts in advance, so that they are ready when the actors need them.
+     */
+    public synchronized void prewarm() {
+        while (idleContexts.size() < settings.getPrewarmedContexts()) {
+            idleContexts.addLast(newContext());
+        }
+    }
+
+    /**
+     * Take an idle context from the pool, or create a new one if there are no idle contexts left.
+     */
+    public synchronized BrowserContext acquire() {
+        PooledContext pooledContext = idleContexts.pollFirst();
+        if (pooledContext == null) {
+            pooledContext = newContext();
+        } else if (pooledContext.uses > 0) {
+            metrics.contextReused();
+        }
+        pooledContext.uses++;
+        contextsInUse.put(pooledContext.context, pooledContext);
+        return pooledContext.context;
+    }
+
+    /**
+     * Return a context to the pool once an actor has finished with it.
+     * The context is cleaned up and kept for later use, unless it has reached its maximum number of uses, could not be
+     * cleaned up, or the pool already holds as many idle contexts as it is allowed to.
+     */
+    public synchronized void release(BrowserContext context) {
+        PooledContext pooledContext = contextsInUse.remove(context);
+        if (pooledContext == null) {
+            return;
+        }
+        if (pooledContext.uses >= settings.getMaxUses()) {
+            close(pooledContext);
+            metrics.contextRecycled();
+        } else if (idleContexts.size() >= settings.getMaxIdleContexts() || !reset(context)) {
+            close(pooledContext);
+            metrics.contextDiscarded();
+        } else {
+            idleContexts.addFirst(pooledContext);
+        }
+        if (browser.isConnected()) {
+            prewarm();
+        }
+    }
+
+    /**
+     * Close all of the contexts in this pool, including those still in use.
+     */
+    public synchronized void close() {
+        idleContexts.forEach(this::close);
+        contextsInUse.values().forEach(this::close);
+        idleContexts.clear();
+        contextsInUse.clear();
+    }
+
+    public synchronized int getIdleContextCount() {
+        return idleContexts.size();
+    }
+
+    public synchronized int getContextsInUseCount() {
+        return contextsInUse.size();
+    }
+
+    private PooledContext newContext() {
+        PooledContext pooledContext = new PooledContext(browser.newContext(contextOptions));
+        metrics.contextCreated();
+        return pooledContext;
+    }
+
+    private boolean reset(BrowserContext context) {
+        try {
+            for (Page page : context.pages()) {
+                page.evaluate(CLEAR_WEB_STORAGE);
+                page.close();
+            }
+            context.clearCookies();
+            context.clearPermissions();
+            return true;
+        } catch (RuntimeException couldNotResetContext) {
+            LOGGER.debug("Could not clean up a pooled browser context, so it will be closed", couldNotResetContext);
+            return false;
+        }
+    }
+
+    private void close(PooledContext pooledContext) {
+        try {
+            pooledContext.context.close();
+        } catch (RuntimeException couldNotCloseContext) {
+            LOGGER.debug("Could not close a pooled browser context", couldNotCloseContext);
+        }
+    }
+}
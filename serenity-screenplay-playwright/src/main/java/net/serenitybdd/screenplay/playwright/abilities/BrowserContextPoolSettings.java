@@ -0,0 +1,55 @@
+package net.serenitybdd.screenplay.playwright.abilities;
+
+import net.thucydides.model.util.EnvironmentVariables;
+
+import static net.serenitybdd.screenplay.playwright.PlayWrightConfigurationProperties.*;
+
+/**
+ * How many idle browser contexts a {@link BrowserContextPool} keeps, and how often each context is reused.
+ * The number of contexts in use is not limited, as each actor using a shared browser has a context of its own.
+ */
+public class BrowserContextPoolSettings {
+
+    private static final int DEFAULT_MAX_IDLE_CONTEXTS = 4;
+    private static final int DEFAULT_PREWARMED_CONTEXTS = 1;
+    private static final int DEFAULT_MAX_USES = 25;
+
+    private final int maxIdleContexts;
+    private final int prewarmedContexts;
+    private final int maxUses;
+
+    public BrowserContextPoolSettings(int maxIdleContexts, int prewarmedContexts, int maxUses) {
+        this.maxIdleContexts = Math.max(0, maxIdleContexts);
+        this.prewarmedContexts = Math.max(0, Math.min(prewarmedContexts, this.maxIdleContexts));
+        this.maxUses = Math.max(1, maxUses);
+    }
+
+    public static BrowserContextPoolSettings from(EnvironmentVariables environmentVariables) {
+        return new BrowserContextPoolSettings(
+                CONTEXT_POOL_MAX_IDLE.asIntegerFrom(environmentVariables).orElse(DEFAULT_MAX_IDLE_CONTEXTS),
+                CONTEXT_POOL_PREWARM.asIntegerFrom(environmentVariables).orElse(DEFAULT_PREWARMED_CONTEXTS),
+                CONTEXT_POOL_MAX_USES.asIntegerFrom(environmentVariables).orElse(DEFAULT_MAX_USES)
+        );
+    }
+
+    /**
+     * The maximum number of idle contexts kept in the pool. Contexts in use are not counted.
+     */
+    public int getMaxIdleContexts() {
+        return maxIdleContexts;
+    }
+
+    /**
+     * The number of idle contexts the pool keeps ready in advance.
+     */
+    public int getPrewarmedContexts() {
+        return prewarmedContexts;
+    }
+
+    /**
+     * The number of times a context is handed out before it is closed and replaced.
+     */
+    public int getMaxUses() {
+        return maxUses;
+    }
+}
@@ -0,0 +1,79 @@
+package net.serenitybdd.screenplay.playwright.abilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how often shared browsers are launched, and how browser contexts are created, reused and closed by the
+ * context pools of the shared browsers.
+ */
+public class BrowserPoolMetrics {
+
+    private final AtomicLong browserLaunches = new AtomicLong();
+    private final AtomicLong contextsCreated = new AtomicLong();
+    private final AtomicLong contextsReused = new AtomicLong();
+    private final AtomicLong contextsRecycled = new AtomicLong();
+    private final AtomicLong contextsDiscarded = new AtomicLong();
+
+    void browserLaunched() {
+        browserLaunches.incrementAndGet();
+    }
+
+    void contextCreated() {
+        contextsCreated.incrementAndGet();
+    }
+
+    void contextReused() {
+        contextsReused.incrementAndGet();
+    }
+
+    void contextRecycled() {
+        contextsRecycled.incrementAndGet();
+    }
+
+    void contextDiscarded() {
+        contextsDiscarded.incrementAndGet();
+    }
+
+    void add(BrowserPoolMetrics other) {
+        browserLaunches.addAndGet(other.getBrowserLaunches());
+        contextsCreated.addAndGet(other.getContextsCreated());
+        contextsReused.addAndGet(other.getContextsReused());
+        contextsRecycled.addAndGet(other.getContextsRecycled());
+        contextsDiscarded.addAndGet(other.getContextsDiscarded());
+    }
+
+    public long getBrowserLaunches() {
+        return browserLaunches.get();
+    }
+
+    public long getContextsCreated() {
+        return contextsCreated.get();
+    }
+
+    /**
+     * The number of times a context was handed out again after being returned to the pool.
+     */
+    public long getContextsReused() {
+        return contextsReused.get();
+    }
+
+    /**
+     * The number of contexts closed because they had reached the maximum number of uses.
+     */
+    public long getContextsRecycled() {
+        return contextsRecycled.get();
+    }
+
+    /**
+     * The number of contexts closed because the pool was full or because they could not be cleaned up.
+     */
+    public long getContextsDiscarded() {
+        return contextsDiscarded.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d browser launches, %d contexts created, %d reused, %d recycled, %d discarded",
+                getBrowserLaunches(), getContextsCreated(), getContextsReused(), getContextsRecycled(), getContextsDiscarded());
+    }
+}
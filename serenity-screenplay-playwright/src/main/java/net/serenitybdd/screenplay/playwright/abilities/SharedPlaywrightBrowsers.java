@@ -0,0 +1,187 @@
+package net.serenitybdd.screenplay.playwright.abilities;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the browsers that are shared between actors when the playwright.sharedBrowser property is set.
+ * One browser is launched for each browser type and set of launch options, and each browser hands out its contexts
+ * from a {@link BrowserContextPool}.
+ * <p>
+ * Playwright objects must only be used by one thread at a time, so the shared browsers belong to the thread that uses
+ * them: all of the tests that run on the same thread (which is all the tests in the JVM for a sequential test run)
+ * share the same browsers. The browsers are closed when the JVM shuts down.
+ */
+public class SharedPlaywrightBrowsers {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedPlaywrightBrowsers.class);
+
+    private static final List<SharedPlaywrightBrowsers> ALL_SHARED_BROWSERS = new CopyOnWriteArrayList<>();
+
+    private static final ThreadLocal<SharedPlaywrightBrowsers> SHARED_BROWSERS_FOR_THIS_THREAD
+            = ThreadLocal.withInitial(() -> registered(new SharedPlaywrightBrowsers(Playwright::create)));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SharedPlaywrightBrowsers::closeAll, "Close shared Playwright browsers"));
+    }
+
+    private final Supplier<Playwright> playwrightFactory;
+    private final BrowserPoolMetrics metrics = new BrowserPoolMetrics();
+    private final Map<String, Browser> browsers = new HashMap<>();
+    private final Map<String, BrowserContextPool> contextPools = new HashMap<>();
+    private Playwright playwright;
+
+    SharedPlaywrightBrowsers(Supplier<Playwright> playwrightFactory) {
+        this.playwrightFactory = playwrightFactory;
+    }
+
+    /**
+     * The shared browsers used by the tests running on the current thread.
+     */
+    public static SharedPlaywrightBrowsers forCurrentThread() {
+        return SHARED_BROWSERS_FOR_THIS_THREAD.get();
+    }
+
+    /**
+     * The combined metrics of the shared browsers of all threads.
+     */
+    public static BrowserPoolMetrics totalMetrics() {
+        BrowserPoolMetrics totalMetrics = new BrowserPoolMetrics();
+        ALL_SHARED_BROWSERS.forEach(sharedBrowsers -> totalMetrics.add(sharedBrowsers.getMetrics()));
+        return totalMetrics;
+    }
+
+    private static SharedPlaywrightBrowsers registered(SharedPlaywrightBrowsers sharedBrowsers) {
+        ALL_SHARED_BROWSERS.add(sharedBrowsers);
+        return sharedBrowsers;
+    }
+
+    private static void closeAll() {
+        if (ALL_SHARED_BROWSERS.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Shared Playwright browsers: {}", totalMetrics());
+        ALL_SHARED_BROWSERS.forEach(SharedPlaywrightBrowsers::close);
+    }
+
+    /**
+     * The shared browser for a browser type and set of launch options, launched the first time it is needed, or
+     * launched again if the previous browser has been disconnected.
+     */
+    public synchronized Browser browserFor(String browserType,
+                                           Function<Playwright, BrowserType> browserTypeFactory,
+                                           BrowserType.LaunchOptions launchOptions) {
+        String browserKey = browserKeyFor(browserType, launchOptions);
+        Browser browser = browsers.get(browserKey);
+        if (browser == null || !browser.isConnected()) {
+            browser = browserTypeFactory.apply(playwright()).launch(launchOptions);
+            metrics.browserLaunched();
+            browsers.put(browserKey, browser);
+        }
+        return browser;
+    }
+
+    /**
+     * The pool of contexts created with the given context options by the shared browser for a browser type and set of
+     * launch options. New pools are pre-warmed before they are returned.
+     */
+    public synchronized BrowserContextPool contextPoolFor(String browserType,
+                                                          Function<Playwright, BrowserType> browserTypeFactory,
+                                                          BrowserType.LaunchOptions launchOptions,
+                                                          Browser.NewContextOptions contextOptions,
+                                                          BrowserContextPoolSettings settings) {
+        Browser browser = browserFor(browserType, browserTypeFactory, launchOptions);
+        String poolKey = browserKeyFor(browserType, launchOptions) + "|" + fingerprintOf(contextOptions);
+        BrowserContextPool contextPool = contextPools.get(poolKey);
+        if (contextPool == null || !contextPool.belongsTo(browser)) {
+            contextPool = new BrowserContextPool(browser, contextOptions, settings, metrics);
+            contextPool.prewarm();
+            contextPools.put(poolKey, contextPool);
+        }
+        return contextPool;
+    }
+
+    public BrowserPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Close the shared browsers and their contexts.
+     */
+    public synchronized void close() {
+        contextPools.values().forEach(BrowserContextPool::close);
+        contextPools.clear();
+        browsers.clear();
+        if (playwright != null) {
+            try {
+                playwright.close();
+            } catch (RuntimeException couldNotClosePlaywright) {
+                LOGGER.debug("Could not close the shared Playwright instance", couldNotClosePlaywright);
+            }
+            playwright = null;
+        }
+    }
+
+    private Playwright playwright() {
+        if (playwright == null) {
+            playwright = playwrightFactory.get();
+        }
+        return playwright;
+    }
+
+    private static String browserKeyFor(String browserType, BrowserType.LaunchOptions launchOptions) {
+        return browserType + "|" + fingerprintOf(launchOptions);
+    }
+
+    /**
+     * Playwright option classes do not implement equals(), so options are compared using their public fields.
+     */
+    static String fingerprintOf(Object options) {
+        if (options == null) {
+            return "";
+        }
+        return Arrays.stream(options.getClass().getFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .sorted(Comparator.comparing(Field::getName))
+                .map(field -> fieldFingerprint(field, options))
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(";"));
+    }
+
+    private static String fieldFingerprint(Field field, Object options) {
+        try {
+            Object value = field.get(options);
+            return (value == null) ? null : field.getName() + "=" + valueFingerprint(value);
+        } catch (IllegalAccessException unreadableField) {
+            return null;
+        }
+    }
+
+    private static String valueFingerprint(Object value) {
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).map(SharedPlaywrightBrowsers::valueFingerprint).orElse("none");
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream()
+                    .map(SharedPlaywrightBrowsers::valueFingerprint)
+                    .collect(Collectors.joining(",", "[", "]"));
+        }
+        if (value instanceof Map) {
+            return new TreeMap<>((Map<?, ?>) value).toString();
+        }
+        if (!(value instanceof Enum) && value.getClass().getName().startsWith("com.microsoft.playwright.")) {
+            return "{" + fingerprintOf(value) + "}";
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,279 @@
+package net.serenitybdd.screenplay.playwright.abilities;
+
+import com.microsoft.playwright.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("When actors share a Playwright browser")
+class WhenSharingABrowserBetweenActors {
+
+    FakePlaywright fakePlaywright = new FakePlaywright();
+    SharedPlaywrightBrowsers sharedBrowsers = new SharedPlaywrightBrowsers(fakePlaywright::create);
+
+    @AfterEach
+    void closeSharedBrowsers() {
+        sharedBrowsers.close();
+    }
+
+    private BrowserContextPool contextPoolFor(BrowserType.LaunchOptions launchOptions, BrowserContextPoolSettings settings) {
+        return sharedBrowsers.contextPoolFor("chromium", Playwright::chromium, launchOptions, null, settings);
+    }
+
+    private BrowserContextPool contextPoolWith(BrowserContextPoolSettings settings) {
+        return contextPoolFor(new BrowserType.LaunchOptions(), settings);
+    }
+
+    @DisplayName("The browser is launched once")
+    @Nested
+    class LaunchingTheBrowser {
+
+        @DisplayName("for all actors using the same browser type and launch options")
+        @Test
+        void oneBrowserIsLaunchedForTheSameOptions() {
+            Browser firstBrowser = sharedBrowsers.browserFor("chromium", Playwright::chromium, new BrowserType.LaunchOptions().setHeadless(true));
+            Browser secondBrowser = sharedBrowsers.browserFor("chromium", Playwright::chromium, new BrowserType.LaunchOptions().setHeadless(true));
+
+            assertThat(secondBrowser).isSameAs(firstBrowser);
+            assertThat(fakePlaywright.playwrightInstances).isEqualTo(1);
+            assertThat(fakePlaywright.browserLaunches).isEqualTo(1);
+            assertThat(sharedBrowsers.getMetrics().getBrowserLaunches()).isEqualTo(1);
+        }
+
+        @DisplayName("for each different set of launch options")
+        @Test
+        void differentOptionsUseDifferentBrowsers() {
+            Browser headlessBrowser = sharedBrowsers.browserFor("chromium", Playwright::chromium, new BrowserType.LaunchOptions().setHeadless(true));
+            Browser headedBrowser = sharedBrowsers.browserFor("chromium", Playwright::chromium, new BrowserType.LaunchOptions().setHeadless(false));
+            Browser firefoxBrowser = sharedBrowsers.browserFor("firefox", Playwright::firefox, new BrowserType.LaunchOptions().setHeadless(true));
+
+            assertThat(headedBrowser).isNotSameAs(headlessBrowser);
+            assertThat(firefoxBrowser).isNotSameAs(headlessBrowser);
+            assertThat(fakePlaywright.browserLaunches).isEqualTo(3);
+        }
+
+        @DisplayName("and launched again if it has been disconnected")
+        @Test
+        void disconnectedBrowsersAreLaunchedAgain() {
+            BrowserContextPool contextPool = contextPoolWith(new BrowserContextPoolSettings(2, 1, 10));
+
+            fakePlaywright.disconnectBrowsers();
+
+            BrowserContextPool newContextPool = contextPoolWith(new BrowserContextPoolSettings(2, 1, 10));
+
+            assertThat(fakePlaywright.browserLaunches).isEqualTo(2);
+            assertThat(newContextPool).isNotSameAs(contextPool);
+        }
+    }
+
+    @DisplayName("Browser contexts are pooled")
+    @Nested
+    class PoolingBrowserContexts {
+
+        @DisplayName("and created in advance")
+        @Test
+        void contextsArePrewarmed() {
+            BrowserContextPool contextPool = contextPoolWith(new BrowserContextPoolSettings(4, 2, 10));
+
+            assertThat(fakePlaywright.contextsCreated).isEqualTo(2);
+            assertThat(contextPool.getIdleContextCount()).isEqualTo(2);
+        }
+
+        @DisplayName("and handed out again once they have been cleaned up")
+        @Test
+        void contextsAreResetAndReused() {
+            BrowserContextPool contextPool = contextPoolWith(new BrowserContextPoolSettings(4, 1, 10));
+
+            BrowserContext firstContext = contextPool.acquire();
+            firstContext.newPage();
+            contextPool.release(firstContext);
+
+            BrowserContext secondContext = contextPool.acquire();
+
+            assertThat(secondContext).isSameAs(firstContext);
+            assertThat(fakePlaywright.contextsCreated).isEqualTo(1);
+            assertThat(fakePlaywright.pagesClosed).isEqualTo(1);
+            assertThat(fakePlaywright.webStorageClears).isEqualTo(1);
+            assertThat(fakePlaywright.cookieClears).isEqualTo(1);
+            assertThat(fakePlaywright.permissionClears).isEqualTo(1);
+            assertThat(sharedBrowsers.getMetrics().getContextsReused()).isEqualTo(1);
+        }
+
+        @DisplayName("and each actor gets a different context")
+        @Test
+        void actorsUseDifferentContexts() {
+            BrowserContextPool contextPool = contextPoolWith(new BrowserContextPoolSettings(4, 1, 10));
+
+            BrowserContext contextForWilliam = contextPool.acquire();
+            BrowserContext contextForWendy = contextPool.acquire();
+
+            assertThat(contextForWendy).isNotSameAs(contextForWilliam);
+            assertThat(contextPool.getContextsInUseCount()).isEqualTo(2);
+        }
+
+        @DisplayName("and replaced once they have been used the maximum number of times")
+        @Test
+        void contextsAreRecycled() {
+            BrowserContextPool contextPool = contextPoolWith(new BrowserContextPoolSettings(4, 1, 2));
+
+            BrowserContext context = contextPool.acquire();
+            contextPool.release(context);
+            contextPool.acquire();
+            contextPool.release(context);
+
+            assertThat(fakePlaywright.contextsClosed).isEqualTo(1);
+            assertThat(contextPool.getIdleContextCount()).isEqualTo(1);
+            assertThat(contextPool.acquire()).isNotSameAs(context);
+            assertThat(sharedBrowsers.getMetrics().getContextsRecycled()).isEqualTo(1);
+        }
+
+        @DisplayName("keeping no more than the maximum number of idle contexts")
+        @Test
+        void theIdleContextsAreBounded() {
+            BrowserContextPool contextPool = contextPoolWith(new BrowserContextPoolSettings(1, 1, 10));
+
+            List<BrowserContext> contexts = new ArrayList<>();
+            for (int actor = 0; actor < 3; actor++) {
+                contexts.add(contextPool.acquire());
+            }
+            contexts.forEach(contextPool::release);
+
+            assertThat(contextPool.getIdleContextCount()).isEqualTo(1);
+            assertThat(fakePlaywright.contextsClosed).isEqualTo(2);
+            assertThat(sharedBrowsers.getMetrics().getContextsDiscarded()).isEqualTo(2);
+        }
+
+        @DisplayName("separately for each set of context options")
+        @Test
+        void differentContextOptionsUseDifferentPools() {
+            BrowserContextPoolSettings settings = new BrowserContextPoolSettings(4, 1, 10);
+            BrowserContextPool desktopPool = sharedBrowsers.contextPoolFor("chromium", Playwright::chromium,
+                    new BrowserType.LaunchOptions(), new Browser.NewContextOptions().setViewportSize(1280, 800), settings);
+            BrowserContextPool mobilePool = sharedBrowsers.contextPoolFor("chromium", Playwright::chromium,
+                    new BrowserType.LaunchOptions(), new Browser.NewContextOptions().setViewportSize(375, 812), settings);
+            BrowserContextPool anotherDesktopPool = sharedBrowsers.contextPoolFor("chromium", Playwright::chromium,
+                    new BrowserType.LaunchOptions(), new Browser.NewContextOptions().setViewportSize(1280, 800), settings);
+
+            assertThat(mobilePool).isNotSameAs(desktopPool);
+            assertThat(anotherDesktopPool).isSameAs(desktopPool);
+            assertThat(fakePlaywright.browserLaunches).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Stands in for Playwright and the browsers it launches, counting the browsers and contexts it creates.
+     */
+    static class FakePlaywright {
+        int playwrightInstances;
+        int browserLaunches;
+        int contextsCreated;
+        int contextsClosed;
+        int pagesClosed;
+        int webStorageClears;
+        int cookieClears;
+        int permissionClears;
+        private final List<boolean[]> browserConnections = new ArrayList<>();
+
+        Playwright create() {
+            playwrightInstances++;
+            BrowserType browserType = fake(BrowserType.class, (method, args) -> {
+                if (method.equals("launch")) {
+                    browserLaunches++;
+                    return browser();
+                }
+                return null;
+            });
+            return fake(Playwright.class, (method, args) -> method.equals("close") ? null : browserType);
+        }
+
+        void disconnectBrowsers() {
+            browserConnections.forEach(connected -> connected[0] = false);
+        }
+
+        private Browser browser() {
+            boolean[] connected = {true};
+            browserConnections.add(connected);
+            return fake(Browser.class, (method, args) -> {
+                switch (method) {
+                    case "isConnected":
+                        return connected[0];
+                    case "newContext":
+                        contextsCreated++;
+                        return context();
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private BrowserContext context() {
+            List<Page> pages = new ArrayList<>();
+            return fake(BrowserContext.class, (method, args) -> {
+                switch (method) {
+                    case "newPage":
+                        Page page = page(pages);
+                        pages.add(page);
+                        return page;
+                    case "pages":
+                        return new ArrayList<>(pages);
+                    case "clearCookies":
+                        cookieClears++;
+                        return null;
+                    case "clearPermissions":
+                        permissionClears++;
+                        return null;
+                    case "close":
+                        contextsClosed++;
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+        }
+
+        private Page page(List<Page> openPages) {
+            Page[] page = new Page[1];
+            page[0] = fake(Page.class, (method, args) -> {
+                switch (method) {
+                    case "evaluate":
+                        webStorageClears++;
+                        return null;
+                    case "close":
+                        pagesClosed++;
+                        openPages.remove(page[0]);
+                        return null;
+                    default:
+                        return null;
+                }
+            });
+            return page[0];
+        }
+
+        interface FakeMethod {
+            Object invoke(String method, Object[] args);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T fake(Class<T> type, FakeMethod behaviour) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Fake " + type.getSimpleName();
+                    default:
+                        return behaviour.invoke(method.getName(), args);
+                }
+            });
+        }
+    }
+}
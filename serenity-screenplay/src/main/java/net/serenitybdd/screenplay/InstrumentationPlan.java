@@ -0,0 +1,133 @@
+package net.serenitybdd.screenplay;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * Everything InstrumentedTask needs to know about a task class, worked out once per class.
+ * This includes whether the class can be instrumented at all, and the field accessors needed to copy
+ * the state of a task into its instrumented counterpart, so that repeated instrumentation needs no reflection.
+ */
+class InstrumentationPlan {
+
+    private static final ClassValue<InstrumentationPlan> PLANS = new ClassValue<InstrumentationPlan>() {
+        @Override
+        protected InstrumentationPlan computeValue(Class<?> type) {
+            return new InstrumentationPlan(type);
+        }
+    };
+
+    private final boolean instrumented;
+    private final boolean instrumentable;
+    private volatile List<FieldCopier> fieldCopiers;
+    private final Class<?> taskClass;
+
+    private InstrumentationPlan(Class<?> taskClass) {
+        this.taskClass = taskClass;
+        this.instrumented = taskClass.getSimpleName().contains("ByteBuddy");
+        this.instrumentable = hasAPerformAsMethod(taskClass) && defaultConstructorPresentFor(taskClass);
+    }
+
+    static InstrumentationPlan forClass(Class<?> taskClass) {
+        return PLANS.get(taskClass);
+    }
+
+    /**
+     * Is this class already a Serenity-instrumented subclass?
+     */
+    boolean isInstrumented() {
+        return instrumented;
+    }
+
+    /**
+     * Does this class have a performAs() method and a default constructor, so that it can be instrumented?
+     */
+    boolean canBeInstrumented() {
+        return instrumentable;
+    }
+
+    /**
+     * Copy the non-null instance fields of the source object to the target object.
+     * The source object is expected to be an instance of the class this plan was built for.
+     */
+    void copyNonNullProperties(Object source, Object target) {
+        for (FieldCopier fieldCopier : fieldCopiers()) {
+            fieldCopier.copyNonNullValue(source, target);
+        }
+    }
+
+    private List<FieldCopier> fieldCopiers() {
+        if (fieldCopiers == null) {
+            fieldCopiers = CopyNonNullProperties.getFields(taskClass)
+                    .stream()
+                    .filter(field -> !field.isSynthetic())
+                    .filter(field -> !isStatic(field.getModifiers()))
+                    .map(FieldCopier::forField)
+                    .collect(Collectors.toList());
+        }
+        return fieldCopiers;
+    }
+
+    private static boolean hasAPerformAsMethod(Class<?> taskClass) {
+        for (Method method : taskClass.getMethods()) {
+            if (method.getName().equals("performAs")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean defaultConstructorPresentFor(Class<?> taskClass) {
+        return Arrays.stream(taskClass.getConstructors()).anyMatch(constructor -> constructor.getParameterCount() == 0)
+                || Arrays.stream(taskClass.getDeclaredConstructors()).anyMatch(constructor -> constructor.getParameterCount() == 0);
+    }
+
+    private static class FieldCopier {
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldCopier(Field field, MethodHandle getter, MethodHandle setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        static FieldCopier forField(Field field) {
+            field.setAccessible(true);
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                return new FieldCopier(field, lookup.unreflectGetter(field), lookup.unreflectSetter(field));
+            } catch (IllegalAccessException fieldCannotBeWrittenWithAMethodHandle) {
+                return new FieldCopier(field, null, null);
+            }
+        }
+
+        void copyNonNullValue(Object source, Object target) {
+            try {
+                if (getter != null) {
+                    Object sourceValue = getter.invoke(source);
+                    if (sourceValue != null) {
+                        setter.invoke(target, sourceValue);
+                    }
+                } else {
+                    Object sourceValue = field.get(source);
+                    if (sourceValue != null) {
+                        field.set(target, sourceValue);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
@@ -2,24 +2,32 @@ package net.serenitybdd.screenplay;
 
 import net.serenitybdd.core.steps.Instrumented;
 import net.thucydides.model.environment.SystemEnvironmentVariables;
+import net.thucydides.model.environment.TestLocalEnvironmentVariables;
 import net.thucydides.model.util.EnvironmentVariables;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
-
-import static java.util.Arrays.stream;
 import static net.thucydides.model.ThucydidesSystemProperty.MANUAL_TASK_INSTRUMENTATION;
 
+/**
+ * Creates instrumented copies of tasks, so that they appear in the test reports.
+ * The reflective work needed to do this is cached per task class in an {@link InstrumentationPlan}, and
+ * the configured manual.task.instrumentation setting is read once, when this class is loaded. Only a value set
+ * for the current test with {@link TestLocalEnvironmentVariables} is looked up each time.
+ */
 public class InstrumentedTask {
 
-    public static <T extends Performable> T of(T task) {
-        EnvironmentVariables environmentVariables = SystemEnvironmentVariables.currentEnvironmentVariables();
+    private static final boolean CONFIGURED_MANUAL_INSTRUMENTATION = manualInstrumentationConfiguredIn(SystemEnvironmentVariables.currentEnvironmentVariables());
+
+    private static boolean manualInstrumentationConfiguredIn(EnvironmentVariables environmentVariables) {
+        return MANUAL_TASK_INSTRUMENTATION.booleanFrom(environmentVariables, false);
+    }
 
-        if (MANUAL_TASK_INSTRUMENTATION.booleanFrom(environmentVariables, false)) {
+    private static boolean manualInstrumentation() {
+        String testLocalValue = TestLocalEnvironmentVariables.getProperty(MANUAL_TASK_INSTRUMENTATION.toString());
+        return (testLocalValue != null) ? Boolean.parseBoolean(testLocalValue) : CONFIGURED_MANUAL_INSTRUMENTATION;
+    }
+
+    public static <T extends Performable> T of(T task) {
+        if (manualInstrumentation()) {
             return task;
         } else if(isInstrumented(task) || !shouldInstrument(task)) {
             return task;
@@ -28,26 +36,7 @@ public class InstrumentedTask {
     }
 
     static <T extends Performable> boolean shouldInstrument(T task) {
-        Optional<Method> performAs = stream(task.getClass().getMethods())
-                .filter(method -> method.getName().equals("performAs"))
-                .findFirst();
-
-        return performAs.isPresent() && defaultConstructorPresentFor(task.getClass());
-    }
-
-    private static boolean defaultConstructorPresentFor(Class<? extends Performable> taskClass) {
-
-        return findAllConstructorsIn(taskClass).stream()
-                         .anyMatch( constructor -> constructor.getParameterCount() == 0 );
-    }
-
-    private static List<Constructor<?>> findAllConstructorsIn(Class<? extends Performable> taskClass) {
-        List<Constructor<?>> allConstructors = new ArrayList<>();
-
-        allConstructors.addAll(Arrays.asList(taskClass.getConstructors()));
-        allConstructors.addAll(Arrays.asList(taskClass.getDeclaredConstructors()));
-
-        return allConstructors;
+        return InstrumentationPlan.forClass(task.getClass()).canBeInstrumented();
     }
 
     private static Performable instrumentedCopyOf(Performable task, Class taskClass) {
@@ -61,14 +50,14 @@ public class InstrumentedTask {
                                                 + ". If you are not instrumenting a Task class explicitly you need to give the class a default constructor."
                                                 + "A task class cannot be instrumented if it is final (so if you are writing in Kotlin, make sure the task class is 'open'.");
         }
-        CopyNonNullProperties.from(task).to(instrumentedTask);
+        InstrumentationPlan.forClass(taskClass).copyNonNullProperties(task, instrumentedTask);
         return instrumentedTask;
     }
 
     static boolean isInstrumented(Performable task) {
 
         try {
-            return task.getClass().getSimpleName().contains("ByteBuddy");
+            return InstrumentationPlan.forClass(task.getClass()).isInstrumented();
         } catch(NullPointerException ignore) {
             throw new TaskInstantiationException("Your Task class must have a public constructor.");
         }
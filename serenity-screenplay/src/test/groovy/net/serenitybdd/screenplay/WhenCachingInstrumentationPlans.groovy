@@ -0,0 +1,54 @@
+package net.serenitybdd.screenplay
+
+import net.thucydides.core.steps.StepFactory
+import spock.lang.Specification
+
+class WhenCachingInstrumentationPlans extends Specification {
+
+    def "the instrumentation plan for a class should only be built once"() {
+        expect:
+        InstrumentationPlan.forClass(EatsFruit).is(InstrumentationPlan.forClass(EatsFruit))
+    }
+
+    def "the plan should record whether a task can be instrumented"() {
+        expect:
+        InstrumentationPlan.forClass(taskClass).canBeInstrumented() == canBeInstrumented
+        where:
+        taskClass      | canBeInstrumented
+        EatsFruit      | true
+        EatsAnApple    | true
+        EatsARockmelon | false
+    }
+
+    def "the plan should copy fields to the target"() {
+        given:
+        def person1 = new Person("Jill", 40, true)
+        def person2 = new Person()
+        when:
+        InstrumentationPlan.forClass(Person).copyNonNullProperties(person1, person2)
+        then:
+        person1 == person2
+    }
+
+    def "the plan should not copy null fields to the target"() {
+        given:
+        def target = EatsFruit.loudly()
+        when:
+        InstrumentationPlan.forClass(EatsFruit).copyNonNullProperties(new EatsFruit(), target)
+        then:
+        target.@fruit == "peach"
+    }
+
+    def "repeated instrumentation should reuse the plan and the instrumented constructor"() {
+        when:
+        def firstCopy = InstrumentedTask.of(EatsFruit.loudly())
+        def secondCopy = InstrumentedTask.of(EatsFruit.loudly())
+        then:
+        !firstCopy.is(secondCopy)
+        firstCopy.getClass().is(secondCopy.getClass())
+        InstrumentationPlan.forClass(firstCopy.getClass()).is(InstrumentationPlan.forClass(secondCopy.getClass()))
+        StepFactory.defaultConstructorFor(secondCopy.getClass()) != null
+        StepFactory.defaultConstructorFor(firstCopy.getClass()).is(StepFactory.defaultConstructorFor(secondCopy.getClass()))
+        EatsFruit.getDeclaredField("fruit").with { accessible = true; get(secondCopy) } == "peach"
+    }
+}
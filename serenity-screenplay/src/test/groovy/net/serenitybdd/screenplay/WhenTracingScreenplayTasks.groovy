@@ -0,0 +1,55 @@
+package net.serenitybdd.screenplay
+
+import com.google.gson.Gson
+import net.serenitybdd.core.tracing.AsyncSpanExporter
+import net.serenitybdd.core.tracing.OtlpJsonLinesFileExporter
+import net.serenitybdd.core.tracing.TraceSpanListener
+import net.serenitybdd.screenplay.shopping.PeelABanana
+import net.thucydides.core.steps.BaseStepListener
+import net.thucydides.core.steps.StepEventBus
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class WhenTracingScreenplayTasks extends Specification {
+
+    Path traceFile = Files.createTempDirectory("traces").resolve("spans.jsonl")
+    AsyncSpanExporter exporter = new AsyncSpanExporter(new OtlpJsonLinesFileExporter(traceFile, "screenplay-tests"), 100)
+    TraceSpanListener tracer = new TraceSpanListener(exporter)
+
+    def setup() {
+        StepEventBus.eventBus.clear()
+        StepEventBus.eventBus.registerListener(new BaseStepListener(Files.createTempDirectory("outcomes").toFile()))
+        StepEventBus.eventBus.registerListener(tracer)
+        StepEventBus.eventBus.testStarted("some test")
+    }
+
+    def cleanup() {
+        StepEventBus.eventBus.dropListener(tracer)
+        exporter.close()
+    }
+
+    def "should record a span for each task an actor performs"() {
+        when:
+            Actor.named("Eddie").attemptsTo(new PeelABanana())
+            StepEventBus.eventBus.testFinished()
+            StepEventBus.eventBus.testRunFinished()
+        then:
+            def task = exportedSpans().find { it.name == "Eddie peels a banana" }
+            def test = exportedSpans().find { it.name == "some test" }
+            task.parentSpanId == test.spanId
+            attribute(task, "serenity.span.kind") == "performable"
+            attribute(task, "serenity.actor") == "Eddie"
+    }
+
+    private List<Map> exportedSpans() {
+        Files.readAllLines(traceFile).collectMany { line ->
+            new Gson().fromJson(line, Map).resourceSpans.collectMany { it.scopeSpans.collectMany { it.spans } }
+        }
+    }
+
+    private static Object attribute(Map span, String key) {
+        span.attributes.find { it.key == key }?.value?.stringValue
+    }
+}
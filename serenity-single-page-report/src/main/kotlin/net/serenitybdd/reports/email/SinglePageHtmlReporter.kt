@@ -70,6 +70,7 @@ class SinglePageHtmlReporter(
         val tagCategoryTitle = SerenitySinglePageReport.tagCategoryTitle().configuredIn(environmentVariables)
         val showFullTestResults = SerenitySinglePageReport.showFullTestResults().configuredIn(environmentVariables)
 
+        val statistics = DashboardStatistics.from(testOutcomes)
         val fields = hashMapOf(
                 "testOutcomes" to testOutcomes,
                 "showFullTestResults" to showFullTestResults,
@@ -93,9 +94,9 @@ class SinglePageHtmlReporter(
                 "testFailuresPresent" to (FailuresByFeature.from(testOutcomes).size > 0),
                 "failuresByFeature" to FailuresByFeature.from(testOutcomes),
                 "resultsByFeature" to TestResultsByFeature.from(testOutcomes),
-                "frequentFailures" to FrequentFailures.from(testOutcomes).withMaxOf(scoreboardSize),
-                "unstableFeatures" to UnstableFeatures.from(testOutcomes).withMaxOf(scoreboardSize),
-                "coverage" to TagCoverage.from(testOutcomes).forTagTypes(tagTypes),
+                "frequentFailures" to FrequentFailures.from(statistics).withMaxOf(scoreboardSize),
+                "unstableFeatures" to UnstableFeatures.from(statistics).withMaxOf(scoreboardSize),
+                "coverage" to TagCoverage.from(statistics).forTagTypes(tagTypes),
                 "customFields" to customReportFields.fieldNames,
                 "customFieldValues" to customReportFields.values,
                 "formatted" to Formatted(),
@@ -0,0 +1,175 @@
+package net.serenitybdd.reports.model
+
+import net.thucydides.model.domain.TestOutcome
+import net.thucydides.model.domain.TestResult
+import net.thucydides.model.domain.TestTag
+import net.thucydides.model.reports.TestOutcomes
+import net.thucydides.model.reports.html.ReportNameProvider
+import net.thucydides.model.requirements.ParentRequirementProvider
+import org.apache.commons.lang3.StringUtils
+import java.util.*
+
+/**
+ * Collects the figures needed by the dashboard widgets (unstable features, frequent failures, tag coverage,
+ * tag results and duration distributions) in a single pass over a set of test outcomes.
+ * The widgets used to filter the complete list of outcomes again for every feature and every tag,
+ * which made report generation quadratic in the number of features and tags.
+ *
+ * Outcomes are indexed by tag in the same pass, using the same matching rules as TestOutcomes.withTag(),
+ * so that the outcomes for a tag can be found without scanning every outcome again.
+ */
+class DashboardStatistics(val testOutcomes: TestOutcomes) {
+
+    companion object {
+        @JvmStatic
+        fun from(testOutcomes: TestOutcomes) = DashboardStatistics(testOutcomes)
+
+        private const val UNDEFINED_STORY = "Undefined Story"
+
+        /**
+         * The part of a tag name that a more general tag of the same type can match, as in TestTag.isAsOrMoreSpecificThan()
+         */
+        private fun lastSegmentOf(tagName: String) = tagName.replaceFirst(Regex(".*?([^.]+)$"), "$1")
+
+        private fun failureIn(outcome: TestOutcome) =
+            TestResult.UNSUCCESSFUL.expanded().any { result -> outcome.hasResult(result) }
+    }
+
+    private val outcomes: List<TestOutcome> = testOutcomes.outcomes
+
+    private val testCountByStory = HashMap<String?, Int>()
+    private val unsuccessfulOutcomesByStory = LinkedHashMap<String, MutableList<TestOutcome>>()
+    private val failuresByErrorType = LinkedHashMap<String, MutableList<ScenarioSummaryResult>>()
+
+    private val outcomesByTag = HashMap<TestTag, MutableList<Int>>()
+    private val outcomesByTypeAndName = HashMap<Pair<String, String>, MutableList<Int>>()
+    private val outcomesByTypeAndLastSegment = HashMap<Pair<String, String>, MutableList<Int>>()
+    private val outcomesByTagType = HashMap<String, MutableList<Int>>()
+    private val outcomeSetsByTagType = HashMap<String, Set<Int>>()
+
+    val testCaseDurations: List<TestCaseDuration>
+
+    init {
+        val durations = mutableListOf<TestCaseDuration>()
+        outcomes.forEachIndexed { index, outcome ->
+            val storyName = outcome.userStory?.displayName
+            testCountByStory.merge(storyName, outcome.testCount, Int::plus)
+
+            if (failureIn(outcome)) {
+                val unsuccessfulOutcome = outcome.withExamplesHavingResult(TestResult.UNSUCCESSFUL)
+                unsuccessfulOutcomesByStory.getOrPut(storyName ?: UNDEFINED_STORY) { mutableListOf() }.add(unsuccessfulOutcome)
+                ScenarioSummary.ofFailingScenariosIn(unsuccessfulOutcome).results
+                    .filter { StringUtils.isNotEmpty(it.testFailureErrorType) }
+                    .forEach { failuresByErrorType.getOrPut(it.testFailureErrorType) { mutableListOf() }.add(it) }
+            }
+
+            indexTagsOf(outcome, index)
+            durations.addAll(DurationDistribution.testCaseDurationsIn(outcome))
+        }
+        testCaseDurations = durations
+    }
+
+    private fun indexTagsOf(outcome: TestOutcome, index: Int) {
+        val tags = outcome.allTags ?: return
+        val tagTypes = HashSet<String>()
+        for (tag in tags) {
+            addTo(outcomesByTag, tag, index)
+            addTo(outcomesByTypeAndName, Pair(tag.type, tag.normalisedName()), index)
+            addTo(outcomesByTypeAndLastSegment, Pair(tag.type, lastSegmentOf(tag.normalisedName())), index)
+            tagTypes.add(tag.type.lowercase(Locale.ROOT))
+        }
+        tagTypes.forEach { tagType -> addTo(outcomesByTagType, tagType, index) }
+    }
+
+    private fun <K> addTo(index: MutableMap<K, MutableList<Int>>, key: K, outcomeIndex: Int) {
+        val matchingOutcomes = index.getOrPut(key) { mutableListOf() }
+        if (matchingOutcomes.isEmpty() || matchingOutcomes.last() != outcomeIndex) {
+            matchingOutcomes.add(outcomeIndex)
+        }
+    }
+
+    /**
+     * The features with the highest proportion of failing scenarios, as displayed in the dashboard.
+     */
+    fun unstableFeatures(maxEntries: Int, parentNameProvider: ParentRequirementProvider): List<UnstableFeature> {
+        return unsuccessfulOutcomesByStory
+            .map { (userStoryName, unsuccessfulOutcomes) ->
+                UnstableFeature(
+                    userStoryName,
+                    unsuccessfulOutcomes.size,
+                    percentageFailures(unsuccessfulOutcomes.size, testCountByStory[userStoryName] ?: 0),
+                    featureReport(unsuccessfulOutcomes[0], parentNameProvider)
+                )
+            }
+            .sortedWith(compareByDescending<UnstableFeature> { it.failurePercentage }.thenByDescending { it.failureCount })
+            .take(maxEntries)
+    }
+
+    private fun featureReport(outcome: TestOutcome, parentNameProvider: ParentRequirementProvider): String {
+        val parentRequirement = parentNameProvider.getParentRequirementFor(outcome)
+        return if (parentRequirement.isPresent) ReportNameProvider().forRequirement(parentRequirement.get()) else "#"
+    }
+
+    private fun percentageFailures(failingScenarios: Int, totalScenarios: Int): Int =
+        if (totalScenarios == 0) 0 else failingScenarios * 100 / totalScenarios
+
+    /**
+     * The most common types of errors in the failing scenarios.
+     */
+    fun frequentFailures(maxEntries: Int): List<FrequentFailure> =
+        failuresByErrorType
+            .map { (error, failures) ->
+                FrequentFailure(error, failures.size, TestResult.valueOf(failures.first().result.uppercase(Locale.getDefault())))
+            }
+            .sortedByDescending { it.count }
+            .take(maxEntries)
+
+    /**
+     * The outcomes matching a tag, equivalent to testOutcomes.withTag(tag).
+     */
+    fun outcomesWithTag(tag: TestTag): TestOutcomes {
+        if (tag.type.equals("issue", ignoreCase = true)) {
+            return testOutcomes.withTag(tag)
+        }
+        return TestOutcomes.of(indexesOfOutcomesWithTag(tag).map { outcomes[it].withDataRowsfilteredbyTag(tag) })
+            .withLabel(tag.shortName)
+    }
+
+    /**
+     * The outcomes matching a tag that also have a tag of a given type,
+     * equivalent to testOutcomes.withTagType(tagType).withTag(tag).
+     */
+    fun outcomesWithTypeAndTag(tagType: String, tag: TestTag): TestOutcomes {
+        if (tag.type.equals("issue", ignoreCase = true)) {
+            return outcomesWithTagType(tagType).withTag(tag)
+        }
+        val outcomesOfType = outcomeSetsByTagType.getOrPut(tagType.lowercase(Locale.ROOT)) {
+            outcomesByTagType[tagType.lowercase(Locale.ROOT)]?.toHashSet() ?: setOf()
+        }
+        return TestOutcomes.of(indexesOfOutcomesWithTag(tag)
+                                   .filter { outcomesOfType.contains(it) }
+                                   .map { outcomes[it].withDataRowsfilteredbyTag(tag) })
+            .withLabel(tag.shortName)
+    }
+
+    /**
+     * The outcomes with at least one tag of a given type, equivalent to testOutcomes.withTagType(tagType).
+     */
+    fun outcomesWithTagType(tagType: String): TestOutcomes =
+        TestOutcomes.of((outcomesByTagType[tagType.lowercase(Locale.ROOT)] ?: listOf<Int>()).map { outcomes[it] })
+            .withLabel(tagType)
+
+    private fun indexesOfOutcomesWithTag(tag: TestTag): SortedSet<Int> {
+        val matchingOutcomes = TreeSet<Int>()
+        outcomesByTag[tag]?.let { matchingOutcomes.addAll(it) }
+        outcomesByTypeAndLastSegment[Pair(tag.type, tag.normalisedName())]?.let { matchingOutcomes.addAll(it) }
+        // A tag like 'capability/feature' also matches outcomes tagged with 'feature'
+        val tagName = tag.normalisedName()
+        tagName.forEachIndexed { position, character ->
+            if (character == '/') {
+                outcomesByTypeAndName[Pair(tag.type, tagName.substring(position + 1))]?.let { matchingOutcomes.addAll(it) }
+            }
+        }
+        return matchingOutcomes
+    }
+}
@@ -14,17 +14,33 @@ class DurationDistribution {
     val environmentVariables: EnvironmentVariables
     val testOutcomes: TestOutcomes
 
-    constructor(environmentVariables: EnvironmentVariables, testOutcomes: TestOutcomes) {
+    constructor(environmentVariables: EnvironmentVariables, testOutcomes: TestOutcomes)
+            : this(environmentVariables, testOutcomes, testOutcomes.tests.flatMap { testCase -> testCaseDurationsIn(testCase) })
+
+    /**
+     * Use test case durations that have already been collected, e.g. by the DashboardStatistics.
+     */
+    constructor(environmentVariables: EnvironmentVariables, testOutcomes: TestOutcomes, testCaseDurations: List<TestCaseDuration>) {
         this.environmentVariables = environmentVariables
         this.testOutcomes = testOutcomes
         this.durationLimits = durationLimitsDefinedIn(environmentVariables)
         this.durationBuckets = durationBucketsFrom(durationLimits)
-        populateDurationBuckets()
+        populateDurationBuckets(testCaseDurations)
     }
 
     companion object {
         const val DEFAULT_DURATION_RANGES_IN_SECONDS = "1, 10, 30, 60, 120, 300, 600"
 
+        @JvmStatic
+        fun testCaseDurationsIn(testOutcome: TestOutcome): List<TestCaseDuration> {
+            return if (testOutcome.isDataDriven) {
+                testOutcome.testSteps.map { testStep ->
+                    TestCaseDuration(testStep.description, testStep.duration, testOutcome.fromStep(testStep))
+                }
+            } else {
+                listOf(TestCaseDuration(testOutcome.title, testOutcome.duration, testOutcome))
+            }
+        }
     }
 
     var durationLimits: List<Duration>
@@ -57,9 +73,7 @@ class DurationDistribution {
         return asFormattedList(durationCounts)
     }
 
-    private fun populateDurationBuckets() {
-        // Find all the test case durations in the current test outcomes
-        val testCaseDurations = testOutcomes.tests.flatMap { testCase -> testCaseDurationsIn(testCase) }
+    private fun populateDurationBuckets(testCaseDurations: List<TestCaseDuration>) {
         // Find the bucket or buckets that match the test results in each test outcome and add the test outcome to the corresponding buckets
         for (testCaseDuration in testCaseDurations) {
             // Assign each test outcome containing a scenario
@@ -67,16 +81,6 @@ class DurationDistribution {
         }
     }
 
-    private fun testCaseDurationsIn(testOutcome: TestOutcome): List<TestCaseDuration> {
-        return if (testOutcome.isDataDriven) {
-            testOutcome.testSteps.map { testStep ->
-                TestCaseDuration(testStep.description, testStep.duration, testOutcome.fromStep(testStep))
-            }
-        } else {
-            listOf(TestCaseDuration(testOutcome.title, testOutcome.duration, testOutcome))
-        }
-    }
-
     fun distributionLabels(): List<String> {
 
         val labels: MutableList<String> = mutableListOf()
@@ -5,30 +5,24 @@ import net.thucydides.model.reports.TestOutcomes
 import net.thucydides.model.reports.html.ReportNameProvider
 import net.thucydides.model.reports.html.ResultIconFormatter
 import net.thucydides.model.util.NameConverter.humanize
-import org.apache.commons.lang3.StringUtils
-import java.util.*
 
 class FrequentFailures {
     companion object {
         @JvmStatic
         fun from(testOutcomes: TestOutcomes) = FrequentFailuresBuilder(testOutcomes)
+
+        @JvmStatic
+        fun from(statistics: DashboardStatistics) = FrequentFailuresBuilder(statistics.testOutcomes, statistics)
     }
 }
 
-class FrequentFailuresBuilder(val testOutcomes: TestOutcomes) {
+class FrequentFailuresBuilder(val testOutcomes: TestOutcomes, statistics: DashboardStatistics?) {
+
+    constructor(testOutcomes: TestOutcomes) : this(testOutcomes, null)
 
-    fun withMaxOf(maxEntries: Int): List<FrequentFailure> =
-            testOutcomes.unsuccessfulTests.outcomes
-                    .map { outcome -> ScenarioSummary.ofFailingScenariosIn(outcome).results.toList() }
-                    .flatten()
-                    .filter { StringUtils.isNotEmpty(it.testFailureErrorType) }
-                    .groupBy { it.testFailureErrorType }
-                    .map { (error, outcomes) -> FrequentFailure(error, outcomes.size, testResultOf(outcomes)) }
-                    .sortedByDescending { it.count }
-                    .take(maxEntries)
+    private val dashboardStatistics by lazy { statistics ?: DashboardStatistics.from(testOutcomes) }
 
-    private fun testResultOf(outcomes: List<ScenarioSummaryResult>) =
-            TestResult.valueOf(outcomes.first().result.uppercase(Locale.getDefault()))
+    fun withMaxOf(maxEntries: Int): List<FrequentFailure> = dashboardStatistics.frequentFailures(maxEntries)
 }
 
 class FrequentFailure(val type: String, val count: Int, val result: TestResult) {
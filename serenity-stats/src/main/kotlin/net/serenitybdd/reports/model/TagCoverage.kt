@@ -21,21 +21,33 @@ class TagCoverage(val environmentVariables: EnvironmentVariables, val testOutcom
         @JvmStatic
         fun from(testOutcomes: TestOutcomes) =
             TagCoverageBuilder(testOutcomes, ModelInfrastructure.getEnvironmentVariables())
+
+        @JvmStatic
+        fun from(statistics: DashboardStatistics) =
+            TagCoverageBuilder(statistics, setOf(), ModelInfrastructure.getEnvironmentVariables())
     }
 }
 
 class TagCoverageBuilder(
-    val testOutcomes: TestOutcomes,
+    val statistics: DashboardStatistics,
     val tagsToDisplay: Collection<TestTag>,
     val environmentVariables: EnvironmentVariables
 ) {
 
+    constructor(testOutcomes: TestOutcomes, tagsToDisplay: Collection<TestTag>, environmentVariables: EnvironmentVariables) : this(
+        DashboardStatistics.from(testOutcomes),
+        tagsToDisplay,
+        environmentVariables
+    )
+
     constructor(testOutcomes: TestOutcomes, environmentVariables: EnvironmentVariables) : this(
         testOutcomes,
         setOf(),
         environmentVariables
     )
 
+    val testOutcomes: TestOutcomes = statistics.testOutcomes
+
     var hideEmptyRequirements: Boolean = false
 
     init {
@@ -48,14 +60,15 @@ class TagCoverageBuilder(
         var coveragesByTagType = mutableListOf<CoverageByTagType>()
 
         for (displayedTagType in displayedTagTypes) {
-            val testOutcomesWithTag = testOutcomes.withTagType(displayedTagType)
+            val testOutcomesWithTag = statistics.outcomesWithTagType(displayedTagType)
             if (shouldShow(testOutcomesWithTag)) {
                 coveragesByTagType.add(
                     CoverageByTagType(
                         displayedTagType.replaceFirstChar { if (it.isLowerCase()) it.titlecase(Locale.getDefault()) else it.toString() },
                         humanize(displayedTagType),
-                        testOutcomes.withTagType(displayedTagType),
-                        tagsToDisplay.filter { t -> t.type.equals(displayedTagType) })
+                        testOutcomesWithTag,
+                        tagsToDisplay.filter { t -> t.type.equals(displayedTagType) },
+                        { tag -> statistics.outcomesWithTypeAndTag(displayedTagType, tag) })
                 )
             }
         }
@@ -74,7 +87,7 @@ class TagCoverageBuilder(
     }
 
     fun showingTags(tagsOfType: Collection<TestTag>): TagCoverageBuilder {
-        return TagCoverageBuilder(testOutcomes, tagsOfType, environmentVariables)
+        return TagCoverageBuilder(statistics, tagsOfType, environmentVariables)
     }
 }
 
@@ -82,8 +95,13 @@ class CoverageByTagType(
     val tagType: String,
     val tagTitle: String,
     val testOutcomes: TestOutcomes,
-    tagsToDisplay: Collection<TestTag>
+    tagsToDisplay: Collection<TestTag>,
+    private val outcomesWithTag: (TestTag) -> TestOutcomes
 ) {
+
+    constructor(tagType: String, tagTitle: String, testOutcomes: TestOutcomes, tagsToDisplay: Collection<TestTag>)
+            : this(tagType, tagTitle, testOutcomes, tagsToDisplay, { tag -> testOutcomes.withTag(tag) })
+
     val tagCoverage = coverageForEachTagOfType(tagType, testOutcomes, tagsToDisplay)
     val featureNamesAreUnique = eachFeatureNameIsUniqueIn(tagCoverage)
 
@@ -144,7 +162,7 @@ class CoverageByTagType(
         coverageFromTestOutcomes.count { coverage -> StringUtils.equalsIgnoreCase(coverage.tagName, tag.name) } == 0
 
     private fun coverageFor(testTag: TestTag): CoverageByTag {
-        val testOutcomesForTag = testOutcomes.withTag(testTag)
+        val testOutcomesForTag = outcomesWithTag(testTag)
         val successRate = testOutcomesForTag.formattedPercentage.withResult(SUCCESS, 0)
 
         return CoverageByTag(
@@ -10,7 +10,11 @@ import net.thucydides.model.reports.html.TagFilter
 import org.apache.commons.lang3.StringUtils
 
 
-class TagResults(val testOutcomes: TestOutcomes) {
+class TagResults(val statistics: DashboardStatistics) {
+
+    constructor(testOutcomes: TestOutcomes) : this(DashboardStatistics.from(testOutcomes))
+
+    val testOutcomes: TestOutcomes = statistics.testOutcomes
 
     val requirementsService =  ModelInfrastructure.getRequirementsService()
     val environmentVariables = ModelInfrastructure.getEnvironmentVariables()
@@ -21,6 +25,9 @@ class TagResults(val testOutcomes: TestOutcomes) {
     companion object {
         @JvmStatic
         fun from(testOutcomes: TestOutcomes) = TagResults(testOutcomes)
+
+        @JvmStatic
+        fun from(statistics: DashboardStatistics) = TagResults(statistics)
     }
 
     fun groupedByType(): List<TagResultSet> {
@@ -42,11 +49,12 @@ class TagResults(val testOutcomes: TestOutcomes) {
             .filter { tag -> !ignoredValues.contains(tag.name) }
             .filter { tag -> !ignoredTypes.contains(tag.type) }
             .map { tag ->
+                val outcomesWithTag = statistics.outcomesWithTag(tag)
                 TagResult(
                     tag,
                     ReportNameProvider().forTag(tag),
-                    testOutcomes.withTag(tag).total,
-                    testOutcomes.withTag(tag).result
+                    outcomesWithTag.total,
+                    outcomesWithTag.result
                 )
             }
 
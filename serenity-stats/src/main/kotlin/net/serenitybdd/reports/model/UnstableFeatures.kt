@@ -11,10 +11,15 @@ class UnstableFeatures{
 
     companion object {
         @JvmStatic fun from(testOutcomes: TestOutcomes) = UnstableFeaturesBuilder(testOutcomes)
+        @JvmStatic fun from(statistics: DashboardStatistics) = UnstableFeaturesBuilder(statistics.testOutcomes, statistics)
     }
 }
 
-class UnstableFeaturesBuilder(val testOutcomes: TestOutcomes) {
+class UnstableFeaturesBuilder(val testOutcomes: TestOutcomes, statistics: DashboardStatistics?) {
+
+    constructor(testOutcomes: TestOutcomes) : this(testOutcomes, null)
+
+    private val dashboardStatistics by lazy { statistics ?: DashboardStatistics.from(testOutcomes) }
 
     var parentNameProvider : ParentRequirementProvider = DummyParentRequirementProvider()
 
@@ -23,28 +28,8 @@ class UnstableFeaturesBuilder(val testOutcomes: TestOutcomes) {
         return this
     }
 
-    fun withMaxOf(maxEntries: Int): List<UnstableFeature> {
-        return testOutcomes.unsuccessfulTests.outcomes
-                .groupBy { outcome -> defaultStoryNameOr(outcome.userStory.displayName) }
-                .map { (userStoryName, outcomes) ->
-                    UnstableFeature(userStoryName,
-                            outcomes.size,
-                            percentageFailures(outcomes.size, userStoryName, testOutcomes),
-                            featureReport(outcomes[0]))
-                }
-                .sortedWith(compareByDescending<UnstableFeature> { it.failurePercentage }
-                            .thenByDescending { it.failureCount })
-                .take(maxEntries)
-    }
-
-    private fun defaultStoryNameOr(displayName: String?): String = displayName ?: "Undefined Story"
-
-    private fun percentageFailures(failingScenarios: Int, userStoryName: String, testOutcomes: TestOutcomes): Int {
-        val totalScenarios = TestOutcomes.of(testOutcomes.outcomes.filter {
-                                                outcome -> userStoryName == outcome.userStory?.displayName }
-                                            ).total
-        return if (totalScenarios == 0) 0 else failingScenarios * 100 / totalScenarios
-    }
+    fun withMaxOf(maxEntries: Int): List<UnstableFeature> =
+            dashboardStatistics.unstableFeatures(maxEntries, parentNameProvider)
 
     fun featureReport(outcome : TestOutcome) : String {
 
@@ -0,0 +1,195 @@
+package net.serenitybdd.reports.model
+
+import net.thucydides.model.domain.Story
+import net.thucydides.model.domain.TestOutcome
+import net.thucydides.model.domain.TestResult
+import net.thucydides.model.domain.TestStep
+import net.thucydides.model.domain.TestTag
+import net.thucydides.model.domain.TestTagCache
+import net.thucydides.model.environment.MockEnvironmentVariables
+import net.thucydides.model.reports.OutcomeFormat
+import net.thucydides.model.reports.TestOutcomeLoader
+import net.thucydides.model.reports.TestOutcomes
+import net.thucydides.model.util.NameConverter.humanize
+import org.apache.commons.lang3.StringUtils
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.nio.file.Paths
+import java.util.*
+
+/**
+ * The dashboard statistics should produce exactly the same figures as the original widget implementations,
+ * which are reproduced here as the reference.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WhenComputingDashboardStatistics {
+
+    private val fixtures = listOf(
+        "/test_outcomes/with_a_single_test",
+        "/test_outcomes/with_data_driven_scenarios",
+        "/test_outcomes/with_different_results",
+        "/test_outcomes/with_varied_durations"
+    )
+
+    @Test
+    fun `should match the original widgets for recorded test outcomes`() {
+        fixtures.forEach { directory -> assertMatchesTheOriginalWidgets(testOutcomesIn(directory)) }
+    }
+
+    @Test
+    fun `should match the original widgets for all the recorded test outcomes together`() {
+        // The original tag matching caches its results by outcome hash code, so outcomes with the same hash code would share them
+        assertMatchesTheOriginalWidgets(TestOutcomes.of(fixtures.flatMap { testOutcomesIn(it).outcomes }.distinctBy { it.hashCode() }))
+    }
+
+    @Test
+    fun `should match the original tag matching rules`() {
+        val testOutcomes = TestOutcomes.of(outcomesWithVariedTags())
+
+        assertMatchesTheOriginalWidgets(testOutcomes)
+
+        val statistics = DashboardStatistics.from(testOutcomes)
+        listOf(
+            TestTag.withName("Shop/Checkout/Payments").andType("feature"),
+            TestTag.withName("payments").andType("feature"),
+            TestTag.withName("Payments").andType("Feature"),
+            TestTag.withName("Refunds").andType("feature"),
+            TestTag.withName("PROJ-1").andType("issue")
+        ).forEach { tag ->
+            assertThat(idsOf(statistics.outcomesWithTag(tag))).describedAs(tag.toString())
+                .isEqualTo(idsOf(originalOutcomesWithTag(testOutcomes, tag)))
+        }
+    }
+
+    @Test
+    fun `should compute unstable features in a single pass for many features`() {
+        val outcomes = (0 until 4000).map { testNumber ->
+            val outcome = TestOutcome.forTestInStory("Scenario $testNumber", Story.called("Feature ${testNumber % 400}"))
+            outcome.recordStep(TestStep.forStepCalled("A step").withResult(if (testNumber % 4 == 0) TestResult.FAILURE else TestResult.SUCCESS))
+            outcome
+        }
+
+        val unstableFeatures = UnstableFeatures.from(TestOutcomes.of(outcomes)).withMaxOf(5)
+
+        assertThat(unstableFeatures).hasSize(5)
+        assertThat(unstableFeatures).allSatisfy { feature ->
+            assertThat(feature.failureCount).isEqualTo(10)
+            assertThat(feature.failurePercentage).isEqualTo(100)
+        }
+    }
+
+    private fun assertMatchesTheOriginalWidgets(testOutcomes: TestOutcomes) {
+        val statistics = DashboardStatistics.from(testOutcomes)
+
+        assertThat(describe(UnstableFeatures.from(statistics).withMaxOf(1000)))
+            .isEqualTo(describe(originalUnstableFeatures(testOutcomes)))
+
+        assertThat(FrequentFailures.from(statistics).withMaxOf(1000).map { "${it.type}:${it.count}:${it.result}" })
+            .isEqualTo(originalFrequentFailures(testOutcomes))
+
+        testOutcomes.tags.forEach { tag ->
+            val outcomesWithTag = statistics.outcomesWithTag(tag)
+            val originalOutcomesWithTag = originalOutcomesWithTag(testOutcomes, tag)
+            assertThat(idsOf(outcomesWithTag)).describedAs(tag.toString()).isEqualTo(idsOf(originalOutcomesWithTag))
+            assertThat(outcomesWithTag.total).isEqualTo(originalOutcomesWithTag.total)
+            assertThat(outcomesWithTag.result).isEqualTo(originalOutcomesWithTag.result)
+        }
+
+        val tagTypes = testOutcomes.tagTypes
+        val coverage = TagCoverageBuilder(testOutcomes, MockEnvironmentVariables()).forTagTypes(tagTypes)
+        val originalCoverage = tagTypes.map { tagType ->
+            CoverageByTagType(
+                tagType.replaceFirstChar { if (it.isLowerCase()) it.titlecase(Locale.getDefault()) else it.toString() },
+                humanize(tagType),
+                testOutcomes.withTagType(tagType),
+                listOf()
+            )
+        }
+        assertThat(coverage.map { describe(it) }).isEqualTo(originalCoverage.map { describe(it) })
+
+        val environmentVariables = MockEnvironmentVariables()
+        assertThat(DurationDistribution(environmentVariables, testOutcomes, statistics.testCaseDurations).getNumberOfTestsPerDuration())
+            .isEqualTo(originalDurationDistribution(testOutcomes))
+    }
+
+    private fun originalUnstableFeatures(testOutcomes: TestOutcomes): List<UnstableFeature> =
+        testOutcomes.unsuccessfulTests.outcomes
+            .groupBy { outcome -> outcome.userStory.displayName ?: "Undefined Story" }
+            .map { (userStoryName, outcomes) ->
+                val totalScenarios = TestOutcomes.of(testOutcomes.outcomes.filter { outcome -> userStoryName == outcome.userStory?.displayName }).total
+                UnstableFeature(userStoryName,
+                    outcomes.size,
+                    if (totalScenarios == 0) 0 else outcomes.size * 100 / totalScenarios,
+                    "#")
+            }
+            .sortedWith(compareByDescending<UnstableFeature> { it.failurePercentage }.thenByDescending { it.failureCount })
+
+    private fun originalFrequentFailures(testOutcomes: TestOutcomes): List<String> =
+        testOutcomes.unsuccessfulTests.outcomes
+            .map { outcome -> ScenarioSummary.ofFailingScenariosIn(outcome).results.toList() }
+            .flatten()
+            .filter { StringUtils.isNotEmpty(it.testFailureErrorType) }
+            .groupBy { it.testFailureErrorType }
+            .map { (error, outcomes) -> "$error:${outcomes.size}:${TestResult.valueOf(outcomes.first().result.uppercase(Locale.getDefault()))}" }
+            .sortedByDescending { it.substringAfter(":").substringBefore(":").toInt() }
+
+    /**
+     * The original tag matching caches its results with case-insensitive tag types, so start from an empty cache
+     * to avoid picking up matches recorded for a differently-cased tag.
+     */
+    private fun originalOutcomesWithTag(testOutcomes: TestOutcomes, tag: TestTag): TestOutcomes {
+        TestTagCache.clear()
+        return testOutcomes.withTag(tag)
+    }
+
+    private fun originalDurationDistribution(testOutcomes: TestOutcomes) =
+        DurationDistribution(MockEnvironmentVariables(), testOutcomes).getNumberOfTestsPerDuration()
+
+    private fun describe(unstableFeatures: List<UnstableFeature>) =
+        unstableFeatures.map { "${it.name}:${it.failureCount}:${it.failurePercentage}:${it.report}" }
+
+    private fun describe(coverage: CoverageByTagType) =
+        "${coverage.tagType}:${idsOf(coverage.testOutcomes)}:" + coverage.tagCoverage.joinToString {
+            "${it.tagName}|${it.parentName}|${it.scenarioCount}|${it.testCount}|${it.successRate}|${it.result}|${it.countByResult}|${it.percentageByResult}"
+        }
+
+    private fun idsOf(testOutcomes: TestOutcomes) = testOutcomes.outcomes.map { it.id + ":" + it.testCount }
+
+    private fun outcomesWithVariedTags(): List<TestOutcome> {
+        val checkout = TestTag.withName("Checkout/Payments").andType("feature")
+        val payments = TestTag.withName("Payments").andType("feature")
+        val dottedPayments = TestTag.withName("com.acme.Payments").andType("feature")
+        val smoke = TestTag.withName("smoke").andType("tag")
+        val upperCaseSmoke = TestTag.withName("Smoke").andType("TAG")
+        val issue = TestTag.withName("PROJ-1").andType("issue")
+
+        return listOf(
+            outcomeFor("Pay by card", "Payments", TestResult.SUCCESS, setOf(checkout, smoke)),
+            outcomeFor("Pay by cash", "Payments", TestResult.FAILURE, setOf(payments, issue)),
+            outcomeFor("Pay on delivery", "Payments", TestResult.ERROR, setOf(dottedPayments)),
+            outcomeFor("Refund an order", "Refunds", TestResult.FAILURE, setOf(upperCaseSmoke)),
+            outcomeFor("Cancel an order", "Refunds", TestResult.COMPROMISED, setOf(smoke, issue)),
+            outcomeFor("Browse the catalog", "Catalog", TestResult.SUCCESS, setOf()),
+            outcomeFor("Search the catalog", "Catalog", TestResult.PENDING, setOf(upperCaseSmoke, payments))
+        )
+    }
+
+    private fun outcomeFor(name: String, story: String, result: TestResult, tags: Set<TestTag>): TestOutcome {
+        val outcome = TestOutcome.forTestInStory(name, Story.called(story))
+        outcome.recordStep(TestStep.forStepCalled("A step in $name").withResult(result))
+        outcome.setTags(tags)
+        when (result) {
+            TestResult.FAILURE -> outcome.testFailedWith(AssertionError("Expected something else"))
+            TestResult.ERROR -> outcome.testFailedWith(IllegalStateException("Something broke"))
+            TestResult.COMPROMISED -> outcome.testFailedWith(AssertionError("Compromised"))
+            else -> {}
+        }
+        return outcome
+    }
+
+    private fun testOutcomesIn(directory: String): TestOutcomes {
+        val outcomeDir = Paths.get(javaClass.getResource(directory).toURI()).toFile()
+        return TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.JSON).from(outcomeDir)
+    }
+}